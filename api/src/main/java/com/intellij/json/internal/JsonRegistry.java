@@ -6,4 +6,12 @@ package com.intellij.json.internal;
  */
 public class JsonRegistry {
     public static final boolean JSON_SCHEME_OBJECT_V2 = true;
+
+    public static final boolean JSON_SCHEMA_PERSISTENT_SNAPSHOTS = true;
+
+    public static final boolean JSON_SCHEMA_COMPACT_NODES = true;
+
+    public static final boolean JSON_SCHEMA_INCREMENTAL_VALIDATION = true;
+
+    public static final boolean JSON_SCHEMA_PARALLEL_VALIDATION = true;
 }
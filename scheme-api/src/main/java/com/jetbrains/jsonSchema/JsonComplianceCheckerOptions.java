@@ -3,6 +3,8 @@ package com.jetbrains.jsonSchema;
 
 import jakarta.annotation.Nonnull;
 
+import java.util.Objects;
+
 public final class JsonComplianceCheckerOptions {
   public static final JsonComplianceCheckerOptions RELAX_ENUM_CHECK = new JsonComplianceCheckerOptions(true, false);
 
@@ -55,4 +57,20 @@ public final class JsonComplianceCheckerOptions {
   public boolean shouldStopValidationAfterAnyErrorFound() {
     return JsonAnnotationsCollectionMode.FIND_FIRST.equals(errorsCollectionMode);
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof JsonComplianceCheckerOptions)) return false;
+    JsonComplianceCheckerOptions options = (JsonComplianceCheckerOptions)o;
+    return isCaseInsensitiveEnumCheck == options.isCaseInsensitiveEnumCheck &&
+           isForceStrict == options.isForceStrict &&
+           isReportMissingOptionalProperties == options.isReportMissingOptionalProperties &&
+           errorsCollectionMode == options.errorsCollectionMode;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(isCaseInsensitiveEnumCheck, isForceStrict, isReportMissingOptionalProperties, errorsCollectionMode);
+  }
 }
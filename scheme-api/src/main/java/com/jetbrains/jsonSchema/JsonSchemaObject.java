@@ -3,7 +3,9 @@ package com.jetbrains.jsonSchema;
 
 import com.jetbrains.jsonSchema.extension.JsonSchemaValidation;
 import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import com.jetbrains.jsonSchema.internal.JsonSchemaEnumIndex;
 import com.jetbrains.jsonSchema.internal.JsonSchemaObjectReadingUtils;
+import com.jetbrains.jsonSchema.internal.PropertyNameTypoIndex;
 import consulo.virtualFileSystem.VirtualFile;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -11,6 +13,8 @@ import jakarta.annotation.Nullable;
 import java.util.*;
 
 public abstract class JsonSchemaObject {
+    private volatile @Nullable JsonSchemaEnumIndex myEnumIndex;
+
     @Override
     public boolean equals(@Nullable Object o) {
         if (o == null) {
@@ -111,6 +115,20 @@ public abstract class JsonSchemaObject {
 
     public abstract @Nullable List<Object> getEnum();
 
+    /**
+     * @return hash index of the {@link #getEnum()} values, cached until {@link #getEnum()} returns a different list
+     */
+    public @Nullable JsonSchemaEnumIndex getEnumIndex() {
+        List<Object> values = getEnum();
+        if (values == null) return null;
+        JsonSchemaEnumIndex index = myEnumIndex;
+        if (index == null || index.getValues() != values) {
+            index = new JsonSchemaEnumIndex(values);
+            myEnumIndex = index;
+        }
+        return index;
+    }
+
     public abstract @Nullable JsonSchemaObject getNot();
 
     public abstract @Nullable List<IfThenElse> getIfThenElse();
@@ -149,6 +167,13 @@ public abstract class JsonSchemaObject {
 
     public abstract @Nullable Map<String, List<String>> getPropertyDependencies();
 
+    /**
+     * @return index of the {@link #getPropertyNames()} used to suggest the intended name of a misspelled property
+     */
+    public @Nonnull PropertyNameTypoIndex getPropertyNameTypoIndex() {
+        return new PropertyNameTypoIndex(getPropertyNames());
+    }
+
 
     // Recently introduced methods that replace old inconvenient ones
     public abstract @Nullable JsonSchemaObject getDefinitionByName(@Nonnull String name);
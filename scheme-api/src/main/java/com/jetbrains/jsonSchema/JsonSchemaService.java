@@ -54,10 +54,6 @@ public interface JsonSchemaService {
 
     void unregisterResetAction(Runnable action);
 
-    void registerReference(String ref);
-
-    boolean possiblyHasReference(String ref);
-
     void triggerUpdateRemote();
 
     @Nullable
@@ -1,6 +1,7 @@
 // Copyright 2000-2023 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
 package com.jetbrains.jsonSchema;
 
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
 import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -42,6 +43,8 @@ public enum JsonSchemaType {
     if (value.isArray()) return _array;
     if (value.isObject()) return _object;
     if (value.isNumberLiteral()) {
+      JsonLiteralValue literal = value.getLiteral();
+      if (literal != null) return literal.isIntegral() ? _integer : _number;
       return isInteger(value.getDelegate().getText()) ? _integer : _number;
     }
     return null;
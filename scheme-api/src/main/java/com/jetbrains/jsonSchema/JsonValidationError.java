@@ -3,16 +3,35 @@ package com.jetbrains.jsonSchema;
 
 import com.jetbrains.jsonSchema.extension.JsonErrorPriority;
 import consulo.json.localize.JsonLocalize;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * An error found by a validation. The message and the issue data may be computed lazily, see
+ * {@link #JsonValidationError(Supplier, FixableIssueKind, Supplier, JsonErrorPriority)}:
+ * most of the errors found while choosing between {@code oneOf}/{@code anyOf} branches, or while only checking the validity,
+ * are never shown.
+ */
 public final class JsonValidationError {
 
     public IssueData getIssueData() {
+        Supplier<? extends IssueData> supplier = myIssueDataSupplier;
+        if (supplier != null) {
+            synchronized (this) {
+                supplier = myIssueDataSupplier;
+                if (supplier != null) {
+                    myIssueData = supplier.get();
+                    myIssueDataSupplier = null;
+                }
+            }
+        }
         return myIssueData;
     }
 
@@ -132,9 +151,11 @@ public final class JsonValidationError {
         }
     }
 
-    private final String myMessage;
+    private volatile String myMessage;
+    private volatile Supplier<String> myMessageSupplier;
     private final FixableIssueKind myFixableIssueKind;
-    private final IssueData myIssueData;
+    private volatile IssueData myIssueData;
+    private volatile Supplier<? extends IssueData> myIssueDataSupplier;
     private final JsonErrorPriority myPriority;
 
     public JsonValidationError(String message, FixableIssueKind fixableIssueKind, IssueData issueData,
@@ -145,7 +166,31 @@ public final class JsonValidationError {
         myPriority = priority;
     }
 
+    /**
+     * Creates an error rendering its message and issue data on the first request only.
+     * The suppliers are called at most once, in the read action the error is reported in or a later one.
+     */
+    public JsonValidationError(@Nonnull Supplier<String> messageSupplier,
+                               FixableIssueKind fixableIssueKind,
+                               @Nullable Supplier<? extends IssueData> issueDataSupplier,
+                               JsonErrorPriority priority) {
+        myMessageSupplier = messageSupplier;
+        myFixableIssueKind = fixableIssueKind;
+        myIssueDataSupplier = issueDataSupplier;
+        myPriority = priority;
+    }
+
     public String getMessage() {
+        Supplier<String> supplier = myMessageSupplier;
+        if (supplier != null) {
+            synchronized (this) {
+                supplier = myMessageSupplier;
+                if (supplier != null) {
+                    myMessage = supplier.get();
+                    myMessageSupplier = null;
+                }
+            }
+        }
         return myMessage;
     }
 
@@ -21,4 +21,16 @@ public interface JsonSchemaValidation {
                    @Nullable JsonSchemaType schemaType,
                    @Nonnull JsonValidationHost consumer,
                    @Nonnull JsonComplianceCheckerOptions options);
+
+  /**
+   * Specializes the validation for the given schema node. The returned validation may keep the keyword values of the node read in advance,
+   * it is only called with this node. The result is cached on the node together with the other validations of its plan,
+   * see {@link com.jetbrains.jsonSchema.internal.JsonSchemaValidationPlan}.
+   *
+   * @return the validation to run against the node, null if the node has nothing to check for this validation
+   */
+  @Nullable
+  default JsonSchemaValidation compile(@Nonnull JsonSchemaObject schema) {
+    return this;
+  }
 }
@@ -10,7 +10,9 @@ import consulo.language.psi.PsiElement;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.MatchResult;
 
 public interface JsonValidationHost {
@@ -23,6 +25,22 @@ public interface JsonValidationHost {
                JsonValidationError.IssueData data,
                JsonErrorPriority priority);
 
+    /**
+     * Same as {@link #error(String, PsiElement, JsonValidationError.FixableIssueKind, JsonValidationError.IssueData, JsonErrorPriority)},
+     * but the message and the issue data are computed only if the error is ever shown or merged with the errors of other branches.
+     */
+    default void error(@Nonnull Supplier<String> error,
+                       final PsiElement holder,
+                       JsonValidationError.FixableIssueKind fixableIssueKind,
+                       @Nullable Supplier<? extends JsonValidationError.IssueData> data,
+                       JsonErrorPriority priority) {
+        error(holder, new JsonValidationError(error, fixableIssueKind, data, priority));
+    }
+
+    default void error(@Nonnull Supplier<String> error, final PsiElement holder, JsonErrorPriority priority) {
+        error(error, holder, JsonValidationError.FixableIssueKind.None, null, priority);
+    }
+
     void typeError(final @Nonnull PsiElement value, @Nullable JsonSchemaType currentType, final JsonSchemaType... allowedTypes);
 
     MatchResult resolve(JsonSchemaObject schemaObject, @Nullable JsonValueAdapter inspectedElementAdapter);
@@ -34,6 +52,17 @@ public interface JsonValidationHost {
 
     void checkObjectBySchemaRecordErrors(@Nonnull JsonSchemaObject schema, @Nonnull JsonValueAdapter object);
 
+    /**
+     * Same as {@link #checkObjectBySchemaRecordErrors} called for every object with the schema at the same index,
+     * but the host is free to check the independent objects concurrently. The errors are recorded in the order of the objects.
+     */
+    default void checkObjectsBySchemaRecordErrors(@Nonnull List<? extends JsonSchemaObject> schemas,
+                                                  @Nonnull List<? extends JsonValueAdapter> objects) {
+        for (int i = 0; i < objects.size(); i++) {
+            checkObjectBySchemaRecordErrors(schemas.get(i), objects.get(i));
+        }
+    }
+
     void addErrorsFrom(JsonValidationHost otherHost);
 
     boolean hasRecordedErrorsFor(@Nonnull JsonValueAdapter inspectedValueAdapter);
@@ -0,0 +1,232 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.extension.adapter;
+
+import com.jetbrains.jsonSchema.walker.JsonLikePsiWalker;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
+import consulo.language.psi.PsiElement;
+import consulo.util.dataholder.Key;
+import consulo.util.lang.StringUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.math.BigDecimal;
+
+/**
+ * Typed view of a scalar value as seen by the validations, see {@link JsonValueAdapter#getLiteral()}.
+ * <p>
+ * The literal of a PSI value is created once per PSI element and cached until the next PSI modification,
+ * the string and numeric forms are computed on the first request.
+ */
+public final class JsonLiteralValue {
+  private static final Key<CachedValue<JsonLiteralValue>> LITERAL_KEY = Key.create("JsonSchemaLiteralValue");
+  private static final Key<CachedValue<String>> PROPERTY_NAME_KEY = Key.create("JsonSchemaPropertyName");
+
+  private final @Nonnull String myText;
+  private volatile String myStringValue;
+  private volatile int myCodePointLength = -1;
+  private volatile boolean myNumberParsed;
+  private BigDecimal myDecimalValue;
+  private double myDoubleValue = Double.NaN;
+  private boolean myNumber;
+
+  private JsonLiteralValue(@Nonnull String text) {
+    myText = text;
+  }
+
+  @Nullable
+  static JsonLiteralValue of(@Nonnull JsonValueAdapter adapter) {
+    PsiElement delegate = adapter.getDelegate();
+    JsonLikePsiWalker walker = JsonLikePsiWalker.getWalker(delegate);
+    if (walker == null) return null;
+    return CachedValuesManager.getManager(delegate.getProject()).getCachedValue(
+      delegate,
+      LITERAL_KEY,
+      () -> CachedValueProvider.Result.create(new JsonLiteralValue(StringUtil.notNullize(walker.getNodeTextForValidation(delegate))),
+                                              delegate.getManager().getModificationTracker()),
+      false
+    );
+  }
+
+  /**
+   * Creates a literal of the given text, for adapters which are not backed by PSI and cache their literals themselves.
+   */
+  @Nonnull
+  public static JsonLiteralValue ofText(@Nonnull String text) {
+    return new JsonLiteralValue(text);
+  }
+
+  @Nonnull
+  static String nameOf(@Nonnull JsonPropertyAdapter property) {
+    PsiElement delegate = property.getDelegate();
+    return CachedValuesManager.getManager(delegate.getProject()).getCachedValue(
+      delegate,
+      PROPERTY_NAME_KEY,
+      () -> CachedValueProvider.Result.create(StringUtil.notNullize(property.getName()), delegate.getManager().getModificationTracker()),
+      false
+    );
+  }
+
+  /**
+   * @return the text of the value as is, including the quotes
+   */
+  @Nonnull
+  public String getText() {
+    return myText;
+  }
+
+  /**
+   * @return the value without the quotes, with the escape sequences of double-quoted strings resolved
+   */
+  @Nonnull
+  public String getStringValue() {
+    String value = myStringValue;
+    if (value == null) {
+      value = myText.length() >= 2 && myText.charAt(0) == '"' && StringUtil.endsWithChar(myText, '"')
+              ? unescape(myText, 1, myText.length() - 1)
+              : StringUtil.unquoteString(myText);
+      myStringValue = value;
+    }
+    return value;
+  }
+
+  /**
+   * @return the length of the {@link #getStringValue() string value} in Unicode code points, as required by {@code minLength}/{@code maxLength}
+   */
+  public int getCodePointLength() {
+    int length = myCodePointLength;
+    if (length < 0) {
+      String value = getStringValue();
+      length = value.codePointCount(0, value.length());
+      myCodePointLength = length;
+    }
+    return length;
+  }
+
+  public boolean isNumber() {
+    parseNumber();
+    return myNumber;
+  }
+
+  /**
+   * @return whether the value is an integral number written without a fraction or an exponent, of any magnitude
+   */
+  public boolean isIntegral() {
+    parseNumber();
+    return myDecimalValue != null && myDecimalValue.scale() <= 0 && !containsAny(myText, ".eE");
+  }
+
+  /**
+   * @return the exact value of the number, null if the value is not a number or cannot be represented exactly, e.g. {@code Infinity}
+   */
+  @Nullable
+  public BigDecimal getDecimalValue() {
+    parseNumber();
+    return myDecimalValue;
+  }
+
+  /**
+   * @return the value of the number, {@code NaN} if the value is not a number
+   */
+  public double getDoubleValue() {
+    parseNumber();
+    return myDoubleValue;
+  }
+
+  /**
+   * @return whether the integral value fits into a {@code long}, see {@link #getLongValue()}
+   */
+  public boolean isLong() {
+    if (!isIntegral()) return false;
+    return myDecimalValue.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) >= 0 && myDecimalValue.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0;
+  }
+
+  public long getLongValue() {
+    return isLong() ? myDecimalValue.longValueExact() : (long)getDoubleValue();
+  }
+
+  /**
+   * @return the boolean value, null if the value is not a boolean literal
+   */
+  @Nullable
+  public Boolean getBooleanValue() {
+    String text = myText.trim();
+    if ("true".equals(text)) return Boolean.TRUE;
+    if ("false".equals(text)) return Boolean.FALSE;
+    return null;
+  }
+
+  private void parseNumber() {
+    if (myNumberParsed) return;
+    synchronized (this) {
+      if (myNumberParsed) return;
+      String text = myText.trim();
+      try {
+        myDecimalValue = new BigDecimal(text);
+        myDoubleValue = myDecimalValue.doubleValue();
+        myNumber = true;
+      }
+      catch (NumberFormatException e) {
+        try {
+          // the notations not representable exactly: Infinity, NaN, hexadecimal floating point literals
+          myDoubleValue = Double.parseDouble(text);
+          myNumber = true;
+        }
+        catch (NumberFormatException ignored) {
+        }
+      }
+      myNumberParsed = true;
+    }
+  }
+
+  private static boolean containsAny(@Nonnull String text, @Nonnull String chars) {
+    for (int i = 0; i < text.length(); i++) {
+      if (chars.indexOf(text.charAt(i)) >= 0) return true;
+    }
+    return false;
+  }
+
+  @Nonnull
+  private static String unescape(@Nonnull String text, int start, int end) {
+    int escape = text.indexOf('\\', start);
+    if (escape < 0 || escape >= end) return text.substring(start, end);
+
+    StringBuilder result = new StringBuilder(end - start);
+    result.append(text, start, escape);
+    int i = escape;
+    while (i < end) {
+      char c = text.charAt(i);
+      if (c != '\\' || i + 1 >= end) {
+        result.append(c);
+        i++;
+        continue;
+      }
+      char escaped = text.charAt(i + 1);
+      switch (escaped) {
+        case 'b': result.append('\b'); break;
+        case 'f': result.append('\f'); break;
+        case 'n': result.append('\n'); break;
+        case 'r': result.append('\r'); break;
+        case 't': result.append('\t'); break;
+        case 'u':
+          if (i + 6 <= end) {
+            try {
+              result.append((char)Integer.parseInt(text, i + 2, i + 6, 16));
+              i += 6;
+              continue;
+            }
+            catch (NumberFormatException ignored) {
+            }
+          }
+          // a malformed escape is kept as is
+          result.append(c).append(escaped);
+          break;
+        default:
+          result.append(escaped);
+      }
+      i += 2;
+    }
+    return result.toString();
+  }
+}
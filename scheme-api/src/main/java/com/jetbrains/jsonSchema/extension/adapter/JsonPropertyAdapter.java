@@ -23,6 +23,15 @@ import java.util.Collection;
 
 public interface JsonPropertyAdapter {
   @Nullable String getName();
+
+  /**
+   * Returns the property name, or an empty string if the property has no name; cached until the next PSI modification.
+   */
+  @Nonnull
+  default String getNameOrEmpty() {
+    return JsonLiteralValue.nameOf(this);
+  }
+
   @Nullable
   JsonValueAdapter getNameValueAdapter();
   @Nonnull
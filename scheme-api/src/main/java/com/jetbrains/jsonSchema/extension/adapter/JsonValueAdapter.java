@@ -49,6 +49,15 @@ public interface JsonValueAdapter {
   default boolean shouldCheckIntegralRequirements() { return true; }
   default boolean shouldCheckAsValue() { return true; }
 
+  /**
+   * Returns the typed literal value of this node as seen by the validations, cached until the next PSI modification,
+   * or null if the node is not checked as a value.
+   */
+  @Nullable
+  default JsonLiteralValue getLiteral() {
+    return shouldCheckAsValue() ? JsonLiteralValue.of(this) : null;
+  }
+
   /**
    * For some languages, the same node may represent values of different types depending on the context
    * This happens, for instance, in YAML, where empty objects and null values are the same thing
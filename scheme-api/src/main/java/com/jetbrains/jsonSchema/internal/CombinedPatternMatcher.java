@@ -0,0 +1,80 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Matches a string against a list of schema patterns at once.
+ * <p>
+ * Patterns supported by {@link LinearPatternAutomaton} are compiled into a single union automaton, so all of them are
+ * checked in one scan of the string. The remaining patterns are matched one by one with their own {@link SchemaPatternMatcher}.
+ */
+final class CombinedPatternMatcher {
+  private static final int[] NO_MATCHES = new int[0];
+
+  private final @Nullable LinearPatternAutomaton myUnion;
+  // pattern index for every union automaton tag
+  private final int[] myUnionPatternIndices;
+  private final int[] myFallbackPatternIndices;
+  private final SchemaPatternMatcher[] myFallbackMatchers;
+
+  CombinedPatternMatcher(@Nonnull List<SchemaPatternMatcher> matchers) {
+    List<String> unionPatterns = new ArrayList<>();
+    int[] unionIndices = new int[matchers.size()];
+    int[] fallbackIndices = new int[matchers.size()];
+    int fallbackCount = 0;
+    for (int i = 0; i < matchers.size(); i++) {
+      SchemaPatternMatcher matcher = matchers.get(i);
+      if (matcher.isLinear()) {
+        unionIndices[unionPatterns.size()] = i;
+        unionPatterns.add(matcher.getPattern().pattern());
+      }
+      else {
+        fallbackIndices[fallbackCount++] = i;
+      }
+    }
+
+    LinearPatternAutomaton union = LinearPatternAutomaton.tryCompileUnion(unionPatterns);
+    if (union == null && !unionPatterns.isEmpty()) {
+      // the union exceeds the automaton size limit, every pattern is matched on its own
+      fallbackIndices = new int[matchers.size()];
+      for (int i = 0; i < fallbackIndices.length; i++) fallbackIndices[i] = i;
+      fallbackCount = fallbackIndices.length;
+      unionPatterns.clear();
+    }
+
+    myUnion = union;
+    myUnionPatternIndices = Arrays.copyOf(unionIndices, unionPatterns.size());
+    myFallbackPatternIndices = Arrays.copyOf(fallbackIndices, fallbackCount);
+    myFallbackMatchers = new SchemaPatternMatcher[fallbackCount];
+    for (int i = 0; i < fallbackCount; i++) {
+      myFallbackMatchers[i] = matchers.get(myFallbackPatternIndices[i]);
+    }
+  }
+
+  /**
+   * @return indices of all patterns matching the string, in ascending order
+   */
+  @Nonnull
+  int[] matchAll(@Nonnull String s) {
+    int[] unionMatches = myUnion != null ? myUnion.matchAll(s) : NO_MATCHES;
+    if (myFallbackMatchers.length == 0 && unionMatches.length == 0) return NO_MATCHES;
+
+    int[] result = new int[unionMatches.length + myFallbackMatchers.length];
+    int count = 0;
+    for (int tag : unionMatches) {
+      result[count++] = myUnionPatternIndices[tag];
+    }
+    for (int i = 0; i < myFallbackMatchers.length; i++) {
+      if (myFallbackMatchers[i].matches(s)) result[count++] = myFallbackPatternIndices[i];
+    }
+    result = Arrays.copyOf(result, count);
+    Arrays.sort(result);
+    return result;
+  }
+}
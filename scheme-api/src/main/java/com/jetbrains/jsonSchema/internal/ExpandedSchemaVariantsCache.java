@@ -0,0 +1,103 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reduced {@code anyOf}/{@code oneOf} groups of the schema nodes of a single schema root, see {@link JsonSchemaVariantsTreeBuilder}.
+ * <p>
+ * The cache lives as long as the root schema object, so it is dropped together with the parsed schema.
+ * Since the expansion may follow references into other schema files, every entry is also stamped with the modification count
+ * of the schema service and is ignored once any schema has changed.
+ * Nodes are compared by identity, which also works for merged views since they are interned per root, see {@link MergedSchemaViewsCache}.
+ * <p>
+ * The expansion of {@code if}/{@code then}/{@code else} depends on the request: without an inspected value, or when the branch choice
+ * is not strict, both branches are taken, otherwise the branch valid against the value only.
+ * So the reductions are kept separately for the two modes, a strict reduction is only cached when it did not consult the value.
+ * The number of entries is bounded.
+ */
+final class ExpandedSchemaVariantsCache {
+  private static final int MAX_CACHED_EXPANSIONS = 1000;
+
+  // identity keys and insertion order, the oldest entry is evicted first
+  private final IdentityHashMap<JsonSchemaObject, Entry[]> myEntries = new IdentityHashMap<>();
+  private final ArrayList<JsonSchemaObject> myInsertionOrder = new ArrayList<>();
+
+  /**
+   * @return whether the request selects the {@code if}/{@code then}/{@code else} branches by the inspected value
+   */
+  static boolean isStrict(@Nullable JsonSchemaNodeExpansionRequest expansionRequest) {
+    return expansionRequest != null && expansionRequest.isStrictIfElseBranchChoice() && expansionRequest.getInspectedValueAdapter() != null;
+  }
+
+  @Nullable
+  synchronized Operation get(@Nonnull JsonSchemaObject node, boolean strict, long modificationCount) {
+    Entry[] entries = myEntries.get(node);
+    Entry entry = entries == null ? null : entries[strict ? 1 : 0];
+    if (entry == null || entry.myModificationCount != modificationCount) return null;
+    return new ExpandedOperation(node, entry);
+  }
+
+  synchronized void put(@Nonnull JsonSchemaObject node, boolean strict, long modificationCount, @Nonnull Operation reduced) {
+    List<List<JsonSchemaObject>> oneOfGroup = new ArrayList<>(reduced.myOneOfGroup.size());
+    for (List<JsonSchemaObject> group : reduced.myOneOfGroup) {
+      oneOfGroup.add(List.copyOf(group));
+    }
+    Entry entry = new Entry(modificationCount, reduced.myState, List.copyOf(reduced.myAnyOfGroup), Collections.unmodifiableList(oneOfGroup));
+    Entry[] entries = myEntries.get(node);
+    if (entries == null) {
+      entries = new Entry[2];
+      myEntries.put(node, entries);
+      myInsertionOrder.add(node);
+      if (myInsertionOrder.size() > MAX_CACHED_EXPANSIONS) {
+        myEntries.remove(myInsertionOrder.remove(0));
+      }
+    }
+    entries[strict ? 1 : 0] = entry;
+  }
+
+  private static final class Entry {
+    private final long myModificationCount;
+    private final SchemaResolveState myState;
+    private final List<JsonSchemaObject> myAnyOfGroup;
+    private final List<List<JsonSchemaObject>> myOneOfGroup;
+
+    Entry(long modificationCount,
+          @Nonnull SchemaResolveState state,
+          @Nonnull List<JsonSchemaObject> anyOfGroup,
+          @Nonnull List<List<JsonSchemaObject>> oneOfGroup) {
+      myModificationCount = modificationCount;
+      myState = state;
+      myAnyOfGroup = anyOfGroup;
+      myOneOfGroup = oneOfGroup;
+    }
+  }
+
+  /**
+   * An already reduced operation restored from the cache, the {@code oneOf} groups are shared between all the restored copies.
+   */
+  private static final class ExpandedOperation extends Operation {
+    ExpandedOperation(@Nonnull JsonSchemaObject sourceNode, @Nonnull Entry entry) {
+      super(sourceNode, null);
+      myState = entry.myState;
+      myAnyOfGroup.addAll(entry.myAnyOfGroup);
+      myOneOfGroup.addAll(entry.myOneOfGroup);
+    }
+
+    @Override
+    protected void map(@Nonnull Set<JsonSchemaObject> visited) {
+    }
+
+    @Override
+    protected void reduce() {
+    }
+  }
+}
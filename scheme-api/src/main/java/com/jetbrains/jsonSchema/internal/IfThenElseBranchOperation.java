@@ -79,6 +79,7 @@ class IfThenElseBranchOperation extends Operation {
             }
         }
         else {
+            myDependsOnInspectedValue = true;
             for (IfThenElse condition : conditionsList) {
                 JsonSchemaObject branch;
                 if (JsonSchemaResolver.isCorrect(effectiveElementAdapter, condition.getIf())) {
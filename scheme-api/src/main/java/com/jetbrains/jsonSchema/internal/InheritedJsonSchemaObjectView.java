@@ -15,6 +15,8 @@ import static com.jetbrains.jsonSchema.internal.LightweightJsonSchemaObjectMerge
 public class InheritedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonSchemaObject {
   private final JsonSchemaObject base;
   private final JsonSchemaObject other;
+  private volatile @Nullable JsonSchemaValidationPlan validationPlan;
+  private volatile @Nullable PropertyNameTypoIndex propertyNameTypoIndex;
 
   public InheritedJsonSchemaObjectView(@Nonnull JsonSchemaObject base, @Nonnull JsonSchemaObject other) {
     this.base = base;
@@ -94,6 +96,14 @@ public class InheritedJsonSchemaObjectView extends JsonSchemaObject implements M
     JsonSchemaInterpretationStrategy strategy = getMergedSchemaInterpretationStrategy();
     if (strategy == null) return Collections.emptyList();
 
+    if (value != null) {
+      JsonSchemaValidationPlan plan = validationPlan;
+      if (plan == null || plan.getStrategy() != strategy) {
+        plan = new JsonSchemaValidationPlan(this, strategy);
+        validationPlan = plan;
+      }
+      return plan.getValidations(type, value);
+    }
     Iterable<JsonSchemaValidation> validations = strategy.getValidations(this, type, value);
     return validations != null ? validations : Collections.emptyList();
   }
@@ -145,6 +155,17 @@ public class InheritedJsonSchemaObjectView extends JsonSchemaObject implements M
     return names.iterator();
   }
 
+  @Override
+  @Nonnull
+  public PropertyNameTypoIndex getPropertyNameTypoIndex() {
+    PropertyNameTypoIndex index = propertyNameTypoIndex;
+    if (index == null) {
+      index = new PropertyNameTypoIndex(getPropertyNames());
+      propertyNameTypoIndex = index;
+    }
+    return index;
+  }
+
   @Override
   @Nullable
   public JsonSchemaObject getPropertyByName(@Nonnull String name) {
@@ -376,6 +397,12 @@ public class InheritedJsonSchemaObjectView extends JsonSchemaObject implements M
     return baseIfConditionOrOther(other, base, JsonSchemaObject::getEnum, LightweightJsonSchemaObjectMerger::isNotNull);
   }
 
+  @Override
+  @Nullable
+  public JsonSchemaEnumIndex getEnumIndex() {
+    return baseIfConditionOrOther(other, base, JsonSchemaObject::getEnumIndex, LightweightJsonSchemaObjectMerger::isNotNull);
+  }
+
   @Override
   @Nullable
   public List<? extends JsonSchemaObject> getAllOf() {
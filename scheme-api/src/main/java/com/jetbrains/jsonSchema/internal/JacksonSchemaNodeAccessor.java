@@ -42,6 +42,16 @@ public final class JacksonSchemaNodeAccessor implements RawJsonSchemaNodeAccesso
     return node.isObject() && !getExistingChildByNonEmptyPathOrSelf(node, relativeChildPath).isMissingNode();
   }
 
+  @Override
+  public boolean isObjectNode(JsonNode node) {
+    return node.isObject();
+  }
+
+  @Override
+  public boolean isArrayNode(JsonNode node) {
+    return node.isArray();
+  }
+
   @Override
   @Nullable
   public String readUntypedNodeValueAsText(JsonNode node, @Nullable String relativeChildPath) {
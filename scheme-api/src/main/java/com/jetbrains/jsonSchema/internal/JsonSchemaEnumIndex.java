@@ -0,0 +1,89 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Hash index of the {@code enum} (or {@code const}) values of a schema, so that membership checks do not depend on the enum size.
+ * <p>
+ * Values are indexed by their {@link JsonStructuralValue}. The index variants for the case-insensitive and for the
+ * {@link JsonStructuralValue#relax relaxed} scalar comparison are built lazily on the first request.
+ */
+public final class JsonSchemaEnumIndex {
+  /**
+   * Marks the absence of the enum in caches which do not store nulls
+   */
+  static final JsonSchemaEnumIndex EMPTY = new JsonSchemaEnumIndex(List.of());
+
+  private static final int IGNORE_CASE = 1;
+  private static final int SCALARS_AS_TEXT = 2;
+
+  private final @Nonnull List<Object> myValues;
+  private final @Nonnull Set<JsonStructuralValue> myStrictValues;
+  private final AtomicReferenceArray<Set<JsonStructuralValue>> myRelaxedValues = new AtomicReferenceArray<>(4);
+  private final boolean myHasContainerValues;
+  private volatile String myPresentableText;
+
+  public JsonSchemaEnumIndex(@Nonnull List<Object> values) {
+    myValues = values;
+    myStrictValues = new HashSet<>(values.size());
+    boolean hasContainerValues = false;
+    for (Object value : values) {
+      myStrictValues.add(JsonStructuralValue.ofSchemaValue(value));
+      hasContainerValues |= value instanceof EnumArrayValueWrapper || value instanceof EnumObjectValueWrapper;
+    }
+    myHasContainerValues = hasContainerValues;
+    myRelaxedValues.set(0, myStrictValues);
+  }
+
+  @Nonnull
+  public List<Object> getValues() {
+    return myValues;
+  }
+
+  /**
+   * @return whether some of the values are arrays or objects
+   */
+  public boolean hasContainerValues() {
+    return myHasContainerValues;
+  }
+
+  /**
+   * @param value         the value to look up, as computed by {@link JsonStructuralValue#of}
+   * @param ignoreCase    compare strings case-insensitively
+   * @param scalarsAsText compare scalars of any type by their unquoted text
+   */
+  public boolean contains(@Nonnull JsonStructuralValue value, boolean ignoreCase, boolean scalarsAsText) {
+    int variant = (ignoreCase ? IGNORE_CASE : 0) | (scalarsAsText ? SCALARS_AS_TEXT : 0);
+    Set<JsonStructuralValue> values = myRelaxedValues.get(variant);
+    if (values == null) {
+      values = new HashSet<>(myStrictValues.size());
+      for (JsonStructuralValue strictValue : myStrictValues) {
+        values.add(strictValue.relax(ignoreCase, scalarsAsText));
+      }
+      if (!myRelaxedValues.compareAndSet(variant, null, values)) {
+        values = myRelaxedValues.get(variant);
+      }
+    }
+    return values.contains(value.relax(ignoreCase, scalarsAsText));
+  }
+
+  /**
+   * @return comma-separated values for error messages, computed once
+   */
+  @Nonnull
+  public String getPresentableText() {
+    String text = myPresentableText;
+    if (text == null) {
+      text = myValues.stream().map(Object::toString).collect(Collectors.joining(", "));
+      myPresentableText = text;
+    }
+    return text;
+  }
+}
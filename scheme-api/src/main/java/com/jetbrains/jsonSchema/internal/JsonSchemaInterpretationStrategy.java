@@ -252,6 +252,10 @@ public interface JsonSchemaInterpretationStrategy {
 
     Iterable<JsonSchemaRefResolver> getReferenceResolvers();
 
+    /**
+     * The result must depend only on the schema node, the type and the traits of the value checked by {@link JsonSchemaValidationPlan}:
+     * it is computed once per combination of those and cached on the node.
+     */
     Iterable<JsonSchemaValidation> getValidations(JsonSchemaObject schemaNode, @Nullable JsonSchemaType type, JsonValueAdapter value);
 
     default JsonSchemaObject inheritBaseSchema(JsonSchemaObject baseSchema, JsonSchemaObject childSchema) {
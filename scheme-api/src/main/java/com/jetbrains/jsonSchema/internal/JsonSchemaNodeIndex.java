@@ -0,0 +1,241 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+
+import static com.jetbrains.jsonSchema.internal.JacksonSchemaNodeAccessor.escapeForbiddenJsonPointerSymbols;
+import static com.jetbrains.jsonSchema.internal.SchemaKeywords.X_INTELLIJ_LANGUAGE_INJECTION;
+
+/**
+ * Index of the schema nodes that are looked up by keyword rather than by pointer: ids, dynamic anchors,
+ * language injections and deprecations.
+ * <p>
+ * Built by a single iterative pre-order walk over the raw schema tree or its {@link SchemaTape} when the root schema object is created.
+ * The walk keeps only a chain of parent frames, so json pointers are materialized for matched nodes only.
+ */
+final class JsonSchemaNodeIndex {
+  private final Map<String, String> myIds;
+  private final Map<String, String> myDynamicAnchors;
+  private final Set<String> myInjectionPointers;
+  private final Set<String> myDeprecationPointers;
+
+  private JsonSchemaNodeIndex(@Nonnull Map<String, String> ids,
+                              @Nonnull Map<String, String> dynamicAnchors,
+                              @Nonnull Set<String> injectionPointers,
+                              @Nonnull Set<String> deprecationPointers) {
+    myIds = ids;
+    myDynamicAnchors = dynamicAnchors;
+    myInjectionPointers = injectionPointers;
+    myDeprecationPointers = deprecationPointers;
+  }
+
+  @Nullable
+  String resolveId(@Nonnull String id) {
+    return myIds.get(id);
+  }
+
+  @Nullable
+  String resolveDynamicAnchor(@Nonnull String anchor) {
+    return myDynamicAnchors.get(anchor);
+  }
+
+  /**
+   * Pointers of the schema nodes declaring a {@code x-intellij-language-injection}
+   */
+  @Nonnull
+  Set<String> getInjectionPointers() {
+    return myInjectionPointers;
+  }
+
+  /**
+   * Pointers of the schema nodes carrying the deprecation keyword of the schema's interpretation strategy
+   */
+  @Nonnull
+  Set<String> getDeprecationPointers() {
+    return myDeprecationPointers;
+  }
+
+  @Nonnull
+  static JsonSchemaNodeIndex build(@Nonnull JsonNode rootNode, @Nonnull JsonSchemaInterpretationStrategy strategy) {
+    return build(new JsonNodeFrame(rootNode, null, null), strategy);
+  }
+
+  @Nonnull
+  static JsonSchemaNodeIndex build(@Nonnull SchemaTape tape, @Nonnull JsonSchemaInterpretationStrategy strategy) {
+    return build(new TapeFrame(tape, 0, null, null), strategy);
+  }
+
+  @Nonnull
+  private static JsonSchemaNodeIndex build(@Nonnull Frame root, @Nonnull JsonSchemaInterpretationStrategy strategy) {
+    String idKeyword = strategy.getIdKeyword();
+    String dynamicAnchorKeyword = strategy.getDynamicAnchorKeyword();
+    String deprecationKeyword = strategy.getDeprecationKeyword();
+
+    Map<String, String> ids = new HashMap<>();
+    Map<String, String> dynamicAnchors = new HashMap<>();
+    Set<String> injections = new HashSet<>();
+    Set<String> deprecations = new HashSet<>();
+
+    Deque<Frame> stack = new ArrayDeque<>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      Frame frame = stack.peek();
+      Frame child = frame.nextChild();
+      if (child == null) {
+        stack.pop();
+        continue;
+      }
+
+      String segment = child.segment;
+      String text = child.getText();
+      boolean container = child.isContainer();
+      if (!container && text == null) continue;
+
+      if (text != null) {
+        if (segment.equals(idKeyword)) {
+          ids.put(text, frame.getPointer());
+        }
+        else if (segment.equals(dynamicAnchorKeyword)) {
+          dynamicAnchors.put(text, frame.getPointer());
+        }
+      }
+      if (segment.equals(X_INTELLIJ_LANGUAGE_INJECTION)) {
+        injections.add(frame.getPointer());
+        continue;
+      }
+      if (segment.equals(deprecationKeyword)) {
+        deprecations.add(frame.getPointer());
+        continue;
+      }
+
+      if (container) {
+        stack.push(child);
+      }
+    }
+
+    return new JsonSchemaNodeIndex(ids, dynamicAnchors, injections, deprecations);
+  }
+
+  /**
+   * A node of the walk, either a Jackson node or a tape node, with the chain of its parents for the pointer
+   */
+  private abstract static class Frame {
+    private final Frame parent;
+    private final String segment;
+    private String myPointer;
+
+    private Frame(@Nullable Frame parent, @Nullable String segment) {
+      this.parent = parent;
+      this.segment = segment;
+    }
+
+    @Nullable
+    abstract Frame nextChild();
+
+    abstract boolean isContainer();
+
+    /**
+     * @return the value of a textual node, null for the other nodes
+     */
+    @Nullable
+    abstract String getText();
+
+    @Nonnull
+    private String getPointer() {
+      if (myPointer != null) return myPointer;
+
+      List<String> segments = new ArrayList<>();
+      for (Frame current = this; current.parent != null; current = current.parent) {
+        segments.add(current.segment);
+      }
+      StringBuilder pointer = new StringBuilder("/");
+      for (int i = segments.size() - 1; i >= 0; i--) {
+        pointer.append(escapeForbiddenJsonPointerSymbols(segments.get(i)));
+        if (i > 0) pointer.append("/");
+      }
+      myPointer = pointer.toString();
+      return myPointer;
+    }
+  }
+
+  private static final class JsonNodeFrame extends Frame {
+    private final JsonNode node;
+    private Iterator<Map.Entry<String, JsonNode>> myFields;
+    private Iterator<JsonNode> myElements;
+    private int myElementIndex;
+
+    private JsonNodeFrame(@Nonnull JsonNode node, @Nullable Frame parent, @Nullable String segment) {
+      super(parent, segment);
+      this.node = node;
+    }
+
+    @Override
+    @Nullable
+    Frame nextChild() {
+      if (node.isObject()) {
+        if (myFields == null) myFields = node.fields();
+        if (!myFields.hasNext()) return null;
+        Map.Entry<String, JsonNode> field = myFields.next();
+        return new JsonNodeFrame(field.getValue(), this, field.getKey());
+      }
+      if (node.isArray()) {
+        if (myElements == null) myElements = node.elements();
+        if (!myElements.hasNext()) return null;
+        return new JsonNodeFrame(myElements.next(), this, String.valueOf(myElementIndex++));
+      }
+      return null;
+    }
+
+    @Override
+    boolean isContainer() {
+      return node.isContainerNode();
+    }
+
+    @Override
+    @Nullable
+    String getText() {
+      return node.isTextual() ? node.asText() : null;
+    }
+  }
+
+  private static final class TapeFrame extends Frame {
+    private final SchemaTape tape;
+    private final int node;
+    private int myNextChild = -2;
+    private int myElementIndex;
+
+    private TapeFrame(@Nonnull SchemaTape tape, int node, @Nullable Frame parent, @Nullable String segment) {
+      super(parent, segment);
+      this.tape = tape;
+      this.node = node;
+    }
+
+    @Override
+    @Nullable
+    Frame nextChild() {
+      int child = myNextChild == -2 ? tape.getFirstChild(node) : myNextChild;
+      if (child == -1) {
+        myNextChild = -1;
+        return null;
+      }
+      myNextChild = tape.getNextSibling(node, child);
+      String key = tape.getKey(child);
+      return new TapeFrame(tape, child, this, key != null ? key : String.valueOf(myElementIndex++));
+    }
+
+    @Override
+    boolean isContainer() {
+      return tape.isContainer(node);
+    }
+
+    @Override
+    @Nullable
+    String getText() {
+      return tape.getText(node);
+    }
+  }
+}
@@ -15,6 +15,13 @@ public class JsonSchemaObjectBackedByJackson extends JsonSchemaObjectBackedByJac
     this.rootObject = rootObject;
   }
 
+  JsonSchemaObjectBackedByJackson(@Nonnull RootJsonSchemaObjectBackedByJackson rootObject,
+                                  @Nonnull Object rawNode,
+                                  @Nonnull String jsonPointer) {
+    super(rawNode, rootObject.getNodeAccessor(), jsonPointer);
+    this.rootObject = rootObject;
+  }
+
   @Nonnull
   @Override
   public RootJsonSchemaObjectBackedByJackson getRootSchemaObject() {
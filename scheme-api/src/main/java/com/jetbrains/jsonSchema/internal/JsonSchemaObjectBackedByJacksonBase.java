@@ -2,7 +2,6 @@
 package com.jetbrains.jsonSchema.internal;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.intellij.json.pointer.JsonPointerUtil;
 import com.jetbrains.jsonSchema.*;
 import com.jetbrains.jsonSchema.extension.JsonSchemaValidation;
@@ -33,22 +32,71 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   private static final Key<Set<JsonSchemaType>> TYPE_VARIANTS_KEY = Key.create("typeVariants");
   private static final Key<PropertyNamePattern> PATTERN_KEY = Key.create("pattern");
   private static final Key<PatternProperties> PATTERN_PROPERTIES_KEY = Key.create("patternProperties");
+  private static final Key<JsonSchemaEnumIndex> ENUM_INDEX_KEY = Key.create("enumIndex");
+  private static final Key<PropertyNameTypoIndex> PROPERTY_NAME_TYPO_INDEX_KEY = Key.create("propertyNameTypoIndex");
+  private static final Key<JsonSchemaValidationPlan> VALIDATION_PLAN_KEY = Key.create("validationPlan");
 
   private static final String INVALID_PATTERN_FALLBACK = "__invalid_ij_pattern";
 
-  private final JsonNode rawSchemaNode;
+  private final Object rawNode;
+  private final RawJsonSchemaNodeAccessor<Object> nodeAccessor;
   private final String jsonPointer;
   private final AtomicReference<KeyFMap> myCompositeObjectsCache = new AtomicReference<>(KeyFMap.EMPTY_MAP);
 
   public JsonSchemaObjectBackedByJacksonBase(@Nonnull JsonNode rawSchemaNode, @Nonnull String jsonPointer) {
-    this.rawSchemaNode = rawSchemaNode;
+    this(rawSchemaNode, JacksonSchemaNodeAccessor.INSTANCE, jsonPointer);
+  }
+
+  @SuppressWarnings("unchecked")
+  JsonSchemaObjectBackedByJacksonBase(@Nonnull Object rawNode,
+                                      @Nonnull RawJsonSchemaNodeAccessor<?> nodeAccessor,
+                                      @Nonnull String jsonPointer) {
+    this.rawNode = rawNode;
+    this.nodeAccessor = (RawJsonSchemaNodeAccessor<Object>)nodeAccessor;
     this.jsonPointer = jsonPointer;
   }
 
+  /**
+   * Schema objects loaded in the compact mode are backed by a {@link SchemaTape},
+   * in that case the returned tree is materialized once per schema file and shared, so it must not be modified.
+   * Prefer {@link #readChildText} and {@link #readChildKeys} which work with both representations directly.
+   */
   @Override
   @Nonnull
   public JsonNode getRawSchemaNode() {
-    return rawSchemaNode;
+    return rawNode instanceof SchemaTapeNode ? ((SchemaTapeNode)rawNode).toJsonNode() : (JsonNode)rawNode;
+  }
+
+  /**
+   * @return the textual value at the given path of property names relative to this schema object, null if there is none
+   */
+  @Nullable
+  public String readChildText(@Nonnull String... relativeChildPath) {
+    Object node = rawNode;
+    for (String childName : relativeChildPath) {
+      if (!nodeAccessor.isObjectNode(node)) return null;
+      node = nodeAccessor.resolveRelativeNode(node, childName);
+      if (node == null) return null;
+    }
+    return nodeAccessor.readTextNodeValue(node);
+  }
+
+  /**
+   * @return the property names of the given child object, null if there is no such object or it is empty
+   */
+  @Nullable
+  public Iterable<String> readChildKeys(@Nonnull String childName) {
+    return nodeAccessor.readNodeKeys(rawNode, childName);
+  }
+
+  @Nonnull
+  Object getRawNode() {
+    return rawNode;
+  }
+
+  @Nonnull
+  RawJsonSchemaNodeAccessor<Object> getNodeAccessor() {
+    return nodeAccessor;
   }
 
   @Nonnull
@@ -81,14 +129,19 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   @Override
   @Nonnull
   public Iterable<JsonSchemaValidation> getValidations(@Nullable JsonSchemaType type, @Nullable JsonValueAdapter value) {
-    Iterable<JsonSchemaValidation> validations = getSchemaInterpretationStrategy().getValidations(this, type, value);
+    JsonSchemaInterpretationStrategy strategy = getSchemaInterpretationStrategy();
+    if (value != null) {
+      JsonSchemaValidationPlan plan = getOrComputeValue(VALIDATION_PLAN_KEY, () -> new JsonSchemaValidationPlan(this, strategy));
+      if (plan.getStrategy() == strategy) return plan.getValidations(type, value);
+    }
+    Iterable<JsonSchemaValidation> validations = strategy.getValidations(this, type, value);
     return validations != null ? validations : Collections.emptyList();
   }
 
   @Override
   @Nullable
   public String getSchema() {
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, SCHEMA_KEYWORD_INVARIANT);
+    return nodeAccessor.readTextNodeValue(rawNode, SCHEMA_KEYWORD_INVARIANT);
   }
 
   @Override
@@ -105,7 +158,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
 
   @Override
   public boolean hasChildFieldsExcept(@Nonnull List<String> namesToSkip) {
-    Iterable<String> keys = JacksonSchemaNodeAccessor.INSTANCE.readNodeKeys(rawSchemaNode, null);
+    Iterable<String> keys = nodeAccessor.readNodeKeys(rawNode, null);
     if (keys == null) return false;
 
     for (String key : keys) {
@@ -118,19 +171,19 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
 
   @Override
   public boolean hasChildNode(@Nonnull String childNodeName) {
-    return JacksonSchemaNodeAccessor.INSTANCE.hasChildNode(rawSchemaNode, childNodeName);
+    return nodeAccessor.hasChildNode(rawNode, childNodeName);
   }
 
   @Override
   @Nullable
   public String readChildNodeValue(@Nonnull String childNodeName) {
-    return JacksonSchemaNodeAccessor.INSTANCE.readUntypedNodeValueAsText(rawSchemaNode, childNodeName);
+    return nodeAccessor.readUntypedNodeValueAsText(rawNode, childNodeName);
   }
 
   @Override
   @Nullable
   public Boolean getConstantSchema() {
-    return JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, null);
+    return nodeAccessor.readBooleanNodeValue(rawNode, null);
   }
 
   @Override
@@ -143,7 +196,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public String getDeprecationMessage() {
     String schemaFeature = getSchemaInterpretationStrategy().getDeprecationKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readTextNodeValue(rawNode, schemaFeature);
   }
 
   @Override
@@ -153,7 +206,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     if (schemaFeature == null) return null;
 
     Set<JsonSchemaType> result = getOrComputeValue(TYPE_VARIANTS_KEY, () -> {
-      Iterable<Object> collection = JacksonSchemaNodeAccessor.INSTANCE.readUntypedNodesCollection(rawSchemaNode, schemaFeature);
+      Iterable<Object> collection = nodeAccessor.readUntypedNodesCollection(rawNode, schemaFeature);
       if (collection == null) return Collections.emptySet();
 
       Set<JsonSchemaType> types = new HashSet<>();
@@ -178,7 +231,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String schemaFeature = getSchemaInterpretationStrategy().getTypeKeyword();
     if (schemaFeature == null) return null;
 
-    String typeText = JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, schemaFeature);
+    String typeText = nodeAccessor.readTextNodeValue(rawNode, schemaFeature);
     return typeText != null ? JsonSchemaReader.parseType(typeText) : null;
   }
 
@@ -187,7 +240,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Number getMultipleOf() {
     String schemaFeature = getSchemaInterpretationStrategy().getMultipleOfKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
   }
 
   @Override
@@ -195,14 +248,14 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Number getMaximum() {
     String schemaFeature = getSchemaInterpretationStrategy().getMaximumKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
   }
 
   @Override
   public boolean isExclusiveMaximum() {
     String schemaFeature = getSchemaInterpretationStrategy().getExclusiveMaximumKeyword();
     if (schemaFeature == null) return false;
-    Boolean result = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, schemaFeature);
+    Boolean result = nodeAccessor.readBooleanNodeValue(rawNode, schemaFeature);
     return result != null && result;
   }
 
@@ -211,7 +264,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Number getExclusiveMaximumNumber() {
     String schemaFeature = getSchemaInterpretationStrategy().getExclusiveMaximumKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
   }
 
   @Override
@@ -219,7 +272,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Number getExclusiveMinimumNumber() {
     String schemaFeature = getSchemaInterpretationStrategy().getExclusiveMinimumKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
   }
 
   @Override
@@ -227,14 +280,14 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Number getMinimum() {
     String schemaFeature = getSchemaInterpretationStrategy().getMinimumKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
   }
 
   @Override
   public boolean isExclusiveMinimum() {
     String schemaFeature = getSchemaInterpretationStrategy().getExclusiveMaximumKeyword();
     if (schemaFeature == null) return false;
-    Boolean result = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, schemaFeature);
+    Boolean result = nodeAccessor.readBooleanNodeValue(rawNode, schemaFeature);
     return result != null && result;
   }
 
@@ -243,7 +296,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Integer getMaxLength() {
     String schemaFeature = getSchemaInterpretationStrategy().getMaxLengthKeyword();
     if (schemaFeature == null) return null;
-    Number number = JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    Number number = nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
     return number instanceof Integer ? (Integer) number : null;
   }
 
@@ -252,7 +305,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Integer getMinLength() {
     String schemaFeature = getSchemaInterpretationStrategy().getMinLengthKeyword();
     if (schemaFeature == null) return null;
-    Number number = JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    Number number = nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
     return number instanceof Integer ? (Integer) number : null;
   }
 
@@ -261,7 +314,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public String getPattern() {
     String schemaFeature = getSchemaInterpretationStrategy().getPatternKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readTextNodeValue(rawNode, schemaFeature);
   }
 
   @Nonnull
@@ -291,7 +344,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public boolean getAdditionalPropertiesAllowed() {
     String schemaFeature = getSchemaInterpretationStrategy().getAdditionalPropertiesKeyword();
     if (schemaFeature == null) return true;
-    Boolean result = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, schemaFeature);
+    Boolean result = nodeAccessor.readBooleanNodeValue(rawNode, schemaFeature);
     return result == null || result;
   }
 
@@ -307,8 +360,8 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     if (schemaFeature == null) return null;
 
     JsonSchemaObjectBackedByJacksonBase child = createResolvableChild(schemaFeature);
-    if (child == null || child.getRawSchemaNode() == null) return null;
-    return child.getRawSchemaNode().isObject() ? child : null;
+    if (child == null) return null;
+    return child.nodeAccessor.isObjectNode(child.rawNode) ? child : null;
   }
 
   @Override
@@ -316,7 +369,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public JsonSchemaObject getUnevaluatedPropertiesSchema() {
     String additionalPropertiesKeyword = getSchemaInterpretationStrategy().getAdditionalPropertiesKeyword();
     if (additionalPropertiesKeyword != null
-        && JacksonSchemaNodeAccessor.INSTANCE.hasChildNode(rawSchemaNode, additionalPropertiesKeyword)) {
+        && nodeAccessor.hasChildNode(rawNode, additionalPropertiesKeyword)) {
       return null;
     }
 
@@ -338,7 +391,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Boolean getAdditionalItemsAllowed() {
     String schemaFeature = getSchemaInterpretationStrategy().getNonPositionalItemsKeyword();
     if (schemaFeature == null) return true;
-    Boolean result = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, schemaFeature);
+    Boolean result = nodeAccessor.readBooleanNodeValue(rawNode, schemaFeature);
     return result == null || result;
   }
 
@@ -372,7 +425,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public JsonSchemaObject getUnevaluatedItemsSchema() {
     String nonPositionalItemsKeyword = getSchemaInterpretationStrategy().getNonPositionalItemsKeyword();
     if (nonPositionalItemsKeyword != null
-        && JacksonSchemaNodeAccessor.INSTANCE.hasChildNode(rawSchemaNode, nonPositionalItemsKeyword)) {
+        && nodeAccessor.hasChildNode(rawNode, nonPositionalItemsKeyword)) {
       return null;
     }
 
@@ -394,7 +447,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Integer getMaxItems() {
     String schemaFeature = getSchemaInterpretationStrategy().getMaxItemsKeyword();
     if (schemaFeature == null) return null;
-    Number number = JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    Number number = nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
     return number instanceof Integer ? (Integer) number : null;
   }
 
@@ -403,7 +456,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Integer getMinItems() {
     String schemaFeature = getSchemaInterpretationStrategy().getMinItemsKeyword();
     if (schemaFeature == null) return null;
-    Number number = JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    Number number = nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
     return number instanceof Integer ? (Integer) number : null;
   }
 
@@ -411,7 +464,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public boolean isUniqueItems() {
     String schemaFeature = getSchemaInterpretationStrategy().getUniqueItemsKeyword();
     if (schemaFeature == null) return false;
-    Boolean result = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, schemaFeature);
+    Boolean result = nodeAccessor.readBooleanNodeValue(rawNode, schemaFeature);
     return result != null && result;
   }
 
@@ -420,7 +473,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Integer getMaxProperties() {
     String schemaFeature = getSchemaInterpretationStrategy().getMaxPropertiesKeyword();
     if (schemaFeature == null) return null;
-    Number number = JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    Number number = nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
     return number instanceof Integer ? (Integer) number : null;
   }
 
@@ -429,7 +482,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public Integer getMinProperties() {
     String schemaFeature = getSchemaInterpretationStrategy().getMinPropertiesKeyword();
     if (schemaFeature == null) return null;
-    Number number = JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    Number number = nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
     return number instanceof Integer ? (Integer) number : null;
   }
 
@@ -439,7 +492,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String schemaFeature = getSchemaInterpretationStrategy().getRequiredKeyword();
     if (schemaFeature == null) return null;
 
-    Iterable<Object> collection = JacksonSchemaNodeAccessor.INSTANCE.readUntypedNodesCollection(rawSchemaNode, schemaFeature);
+    Iterable<Object> collection = nodeAccessor.readUntypedNodesCollection(rawNode, schemaFeature);
     if (collection == null) return null;
 
     Set<String> required = new HashSet<>();
@@ -459,7 +512,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
 
     for (String referenceFeature : Arrays.asList(ordinaryReferenceFeature, dynamicReferenceFeature)) {
       if (referenceFeature != null) {
-        String ref = JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, referenceFeature);
+        String ref = nodeAccessor.readTextNodeValue(rawNode, referenceFeature);
         if (ref != null) return ref;
       }
     }
@@ -470,7 +523,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public boolean isRefRecursive() {
     String schemaFeature = getSchemaInterpretationStrategy().getDynamicReferenceKeyword();
     if (schemaFeature == null) return false;
-    Boolean result = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, schemaFeature);
+    Boolean result = nodeAccessor.readBooleanNodeValue(rawNode, schemaFeature);
     return result != null && result;
   }
 
@@ -478,7 +531,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public boolean isRecursiveAnchor() {
     String schemaFeature = getSchemaInterpretationStrategy().getDynamicAnchorKeyword();
     if (schemaFeature == null) return false;
-    Boolean result = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, schemaFeature);
+    Boolean result = nodeAccessor.readBooleanNodeValue(rawNode, schemaFeature);
     return result != null && result;
   }
 
@@ -488,13 +541,13 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String schemaFeature = getSchemaInterpretationStrategy().getDefaultKeyword();
     if (schemaFeature == null) return null;
 
-    Number number = JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, schemaFeature);
+    Number number = nodeAccessor.readNumberNodeValue(rawNode, schemaFeature);
     if (number != null) return number;
 
-    Boolean bool = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, schemaFeature);
+    Boolean bool = nodeAccessor.readBooleanNodeValue(rawNode, schemaFeature);
     if (bool != null) return bool;
 
-    String text = JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, schemaFeature);
+    String text = nodeAccessor.readTextNodeValue(rawNode, schemaFeature);
     if (text != null) return text;
 
     return createResolvableChild(schemaFeature);
@@ -513,7 +566,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public String getFormat() {
     String schemaFeature = getSchemaInterpretationStrategy().getFormatKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readTextNodeValue(rawNode, schemaFeature);
   }
 
   @Override
@@ -524,7 +577,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
 
     for (String schemaFeature : Arrays.asList(idFeature, anchorFeature)) {
       if (schemaFeature != null) {
-        String rawId = JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, schemaFeature);
+        String rawId = nodeAccessor.readTextNodeValue(rawNode, schemaFeature);
         if (rawId != null) {
           return JsonPointerUtil.normalizeId(rawId);
         }
@@ -538,7 +591,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public String getDescription() {
     String schemaFeature = getSchemaInterpretationStrategy().getDescriptionKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readTextNodeValue(rawNode, schemaFeature);
   }
 
   @Override
@@ -546,7 +599,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public String getTitle() {
     String schemaFeature = getSchemaInterpretationStrategy().getTitleKeyword();
     if (schemaFeature == null) return null;
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, schemaFeature);
+    return nodeAccessor.readTextNodeValue(rawNode, schemaFeature);
   }
 
   @Override
@@ -572,13 +625,13 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String schemaFeature = getSchemaInterpretationStrategy().getPropertyDependenciesKeyword();
     if (schemaFeature == null) return null;
 
-    Iterable<Map.Entry<String, List<String>>> entries =
-      JacksonSchemaNodeAccessor.INSTANCE.readNodeAsMultiMapEntries(rawSchemaNode, schemaFeature);
+    Iterable<RawJsonSchemaNodeAccessor.Pair<String, List<String>>> entries =
+      nodeAccessor.readNodeAsMultiMapEntries(rawNode, schemaFeature);
     if (entries == null) return null;
 
     Map<String, List<String>> result = new HashMap<>();
-    for (Map.Entry<String, List<String>> entry : entries) {
-      result.put(entry.getKey(), entry.getValue());
+    for (RawJsonSchemaNodeAccessor.Pair<String, List<String>> entry : entries) {
+      result.put(entry.getFirst(), entry.getSecond());
     }
     return result;
   }
@@ -588,7 +641,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public List<Object> getEnum() {
     String enumFeature = getSchemaInterpretationStrategy().getEnumKeyword();
     if (enumFeature != null) {
-      Iterable<Object> enumCollection = JacksonSchemaNodeAccessor.INSTANCE.readUntypedNodesCollection(rawSchemaNode, ENUM);
+      Iterable<Object> enumCollection = nodeAccessor.readUntypedNodesCollection(rawNode, ENUM);
       if (enumCollection != null) {
         List<Object> enumList = new ArrayList<>();
         for (Object item : enumCollection) {
@@ -601,18 +654,28 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String constKeyword = getSchemaInterpretationStrategy().getConstKeyword();
     if (constKeyword == null) return null;
 
-    Number number = JacksonSchemaNodeAccessor.INSTANCE.readNumberNodeValue(rawSchemaNode, constKeyword);
+    Number number = nodeAccessor.readNumberNodeValue(rawNode, constKeyword);
     if (number != null) return Collections.singletonList(number);
 
-    Boolean bool = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, constKeyword);
+    Boolean bool = nodeAccessor.readBooleanNodeValue(rawNode, constKeyword);
     if (bool != null) return Collections.singletonList(bool);
 
-    String text = JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, constKeyword);
+    String text = nodeAccessor.readTextNodeValue(rawNode, constKeyword);
     if (text != null) return Collections.singletonList(asDoubleQuotedString(text));
 
     return null;
   }
 
+  @Override
+  @Nullable
+  public JsonSchemaEnumIndex getEnumIndex() {
+    JsonSchemaEnumIndex index = getOrComputeValue(ENUM_INDEX_KEY, () -> {
+      List<Object> values = getEnum();
+      return values != null ? new JsonSchemaEnumIndex(values) : JsonSchemaEnumIndex.EMPTY;
+    });
+    return index == JsonSchemaEnumIndex.EMPTY ? null : index;
+  }
+
   @Override
   @Nullable
   public List<? extends JsonSchemaObject> getAllOf() {
@@ -659,7 +722,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String elseFeature = getSchemaInterpretationStrategy().getElseKeyword();
 
     if (ifFeature == null || thenFeature == null || elseFeature == null) return null;
-    if (!JacksonSchemaNodeAccessor.INSTANCE.hasChildNode(rawSchemaNode, ifFeature)) return null;
+    if (!nodeAccessor.hasChildNode(rawNode, ifFeature)) return null;
 
     return Collections.singletonList(new IfThenElse(
       createResolvableChild(ifFeature),
@@ -680,7 +743,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   @Nonnull
   public Iterator<String> getDefinitionNames() {
     Supplier<Iterator<String>> defaultValue = () -> {
-      Iterable<String> keys = JacksonSchemaNodeAccessor.INSTANCE.readNodeKeys(rawSchemaNode, null);
+      Iterable<String> keys = nodeAccessor.readNodeKeys(rawNode, null);
       if (keys == null) return Collections.emptyIterator();
 
       List<String> filtered = new ArrayList<>();
@@ -695,7 +758,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String schemaFeature = getSchemaInterpretationStrategy().getDefinitionsKeyword();
     if (schemaFeature == null) return defaultValue.get();
 
-    Iterable<String> keys = JacksonSchemaNodeAccessor.INSTANCE.readNodeKeys(rawSchemaNode, schemaFeature);
+    Iterable<String> keys = nodeAccessor.readNodeKeys(rawNode, schemaFeature);
     if (keys == null) return defaultValue.get();
 
     List<String> keyList = new ArrayList<>();
@@ -705,6 +768,12 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     return keyList.iterator();
   }
 
+  @Override
+  @Nonnull
+  public PropertyNameTypoIndex getPropertyNameTypoIndex() {
+    return getOrComputeValue(PROPERTY_NAME_TYPO_INDEX_KEY, () -> new PropertyNameTypoIndex(getPropertyNames()));
+  }
+
   @Override
   @Nullable
   public JsonSchemaObject getPropertyByName(@Nonnull String name) {
@@ -719,7 +788,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String schemaFeature = getSchemaInterpretationStrategy().getPropertiesKeyword();
     if (schemaFeature == null) return Collections.emptyIterator();
 
-    Iterable<String> keys = JacksonSchemaNodeAccessor.INSTANCE.readNodeKeys(rawSchemaNode, schemaFeature);
+    Iterable<String> keys = nodeAccessor.readNodeKeys(rawNode, schemaFeature);
     if (keys == null) return Collections.emptyIterator();
 
     List<String> keyList = new ArrayList<>();
@@ -733,7 +802,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   public boolean hasPatternProperties() {
     String schemaFeature = getSchemaInterpretationStrategy().getPatternPropertiesKeyword();
     if (schemaFeature == null) return false;
-    return JacksonSchemaNodeAccessor.INSTANCE.hasChildNode(rawSchemaNode, schemaFeature);
+    return nodeAccessor.hasChildNode(rawNode, schemaFeature);
   }
 
   @Override
@@ -755,7 +824,7 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
     String schemaFeature = getSchemaInterpretationStrategy().getDependencySchemasKeyword();
     if (schemaFeature == null) return Collections.emptyIterator();
 
-    Iterable<String> keys = JacksonSchemaNodeAccessor.INSTANCE.readNodeKeys(rawSchemaNode, schemaFeature);
+    Iterable<String> keys = nodeAccessor.readNodeKeys(rawNode, schemaFeature);
     if (keys == null) return Collections.emptyIterator();
 
     List<String> keyList = new ArrayList<>();
@@ -788,18 +857,18 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
 
   @Nullable
   private Map<String, JsonSchemaObject> createChildMap(@Nonnull String childMapName) {
-    Iterable<Map.Entry<String, JsonNode>> entries =
-      JacksonSchemaNodeAccessor.INSTANCE.readNodeAsMapEntries(rawSchemaNode, childMapName);
+    Iterable<RawJsonSchemaNodeAccessor.Pair<String, Object>> entries =
+      nodeAccessor.readNodeAsMapEntries(rawNode, childMapName);
     if (entries == null) return null;
 
     Map<String, JsonSchemaObject> result = new HashMap<>();
-    for (Map.Entry<String, JsonNode> entry : entries) {
-      if (!entry.getValue().isObject()) continue;
+    for (RawJsonSchemaNodeAccessor.Pair<String, Object> entry : entries) {
+      if (!nodeAccessor.isObjectNode(entry.getSecond())) continue;
 
-      JsonSchemaObjectBackedByJacksonBase childObject = createResolvableChild(childMapName, entry.getKey());
+      JsonSchemaObjectBackedByJacksonBase childObject = createResolvableChild(childMapName, entry.getFirst());
       if (childObject == null) continue;
 
-      result.put(entry.getKey(), childObject);
+      result.put(entry.getFirst(), childObject);
     }
     return result;
   }
@@ -813,41 +882,47 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
 
   @Override
   public boolean isForceCaseInsensitive() {
-    Boolean result = JacksonSchemaNodeAccessor.INSTANCE.readBooleanNodeValue(rawSchemaNode, X_INTELLIJ_CASE_INSENSITIVE);
+    Boolean result = nodeAccessor.readBooleanNodeValue(rawNode, X_INTELLIJ_CASE_INSENSITIVE);
     return result != null && result;
   }
 
   @Override
   @Nullable
   public String getHtmlDescription() {
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, X_INTELLIJ_HTML_DESCRIPTION);
+    return nodeAccessor.readTextNodeValue(rawNode, X_INTELLIJ_HTML_DESCRIPTION);
   }
 
   @Override
   @Nullable
   public List<JsonSchemaMetadataEntry> getMetadata() {
-    Iterable<Map.Entry<String, JsonNode>> entries =
-      JacksonSchemaNodeAccessor.INSTANCE.readNodeAsMapEntries(rawSchemaNode, X_INTELLIJ_METADATA);
+    Iterable<RawJsonSchemaNodeAccessor.Pair<String, Object>> entries =
+      nodeAccessor.readNodeAsMapEntries(rawNode, X_INTELLIJ_METADATA);
     if (entries == null) return null;
 
     List<JsonSchemaMetadataEntry> metadata = new ArrayList<>();
-    for (Map.Entry<String, JsonNode> entry : entries) {
+    for (RawJsonSchemaNodeAccessor.Pair<String, Object> entry : entries) {
       List<String> values = null;
 
-      if (entry.getValue() instanceof ArrayNode) {
-        ArrayNode arrayNode = (ArrayNode) entry.getValue();
+      if (nodeAccessor.isArrayNode(entry.getSecond())) {
         values = new ArrayList<>();
-        for (JsonNode element : arrayNode) {
-          if (element.isTextual()) {
-            values.add(element.asText());
+        Iterable<Object> elements = nodeAccessor.readUntypedNodesCollection(entry.getSecond(), null);
+        if (elements != null) {
+          for (Object element : elements) {
+            // textual elements are the only ones read as double-quoted strings
+            if (element instanceof String && ((String)element).startsWith("\"")) {
+              values.add(asUnquotedString((String)element));
+            }
           }
         }
-      } else if (entry.getValue().isTextual()) {
-        values = Collections.singletonList(entry.getValue().asText());
+      } else {
+        String text = nodeAccessor.readTextNodeValue(entry.getSecond(), null);
+        if (text != null) {
+          values = Collections.singletonList(text);
+        }
       }
 
       if (values != null && !values.isEmpty()) {
-        metadata.add(new JsonSchemaMetadataEntry(entry.getKey(), values));
+        metadata.add(new JsonSchemaMetadataEntry(entry.getFirst(), values));
       }
     }
     return metadata.isEmpty() ? null : metadata;
@@ -856,37 +931,37 @@ public abstract class JsonSchemaObjectBackedByJacksonBase extends JsonSchemaObje
   @Override
   @Nullable
   public String getLanguageInjection() {
-    String directChild = JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rawSchemaNode, X_INTELLIJ_LANGUAGE_INJECTION);
+    String directChild = nodeAccessor.readTextNodeValue(rawNode, X_INTELLIJ_LANGUAGE_INJECTION);
     if (directChild != null) return directChild;
 
-    JsonNode intermediateNode = JacksonSchemaNodeAccessor.INSTANCE.resolveRelativeNode(rawSchemaNode, X_INTELLIJ_LANGUAGE_INJECTION);
+    Object intermediateNode = nodeAccessor.resolveRelativeNode(rawNode, X_INTELLIJ_LANGUAGE_INJECTION);
     if (intermediateNode == null) return null;
 
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(intermediateNode, LANGUAGE);
+    return nodeAccessor.readTextNodeValue(intermediateNode, LANGUAGE);
   }
 
   @Override
   @Nullable
   public String getLanguageInjectionPrefix() {
-    JsonNode intermediateNode = JacksonSchemaNodeAccessor.INSTANCE.resolveRelativeNode(rawSchemaNode, X_INTELLIJ_LANGUAGE_INJECTION);
+    Object intermediateNode = nodeAccessor.resolveRelativeNode(rawNode, X_INTELLIJ_LANGUAGE_INJECTION);
     if (intermediateNode == null) return null;
 
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(intermediateNode, PREFIX);
+    return nodeAccessor.readTextNodeValue(intermediateNode, PREFIX);
   }
 
   @Override
   @Nullable
   public String getLanguageInjectionPostfix() {
-    JsonNode intermediateNode = JacksonSchemaNodeAccessor.INSTANCE.resolveRelativeNode(rawSchemaNode, X_INTELLIJ_LANGUAGE_INJECTION);
+    Object intermediateNode = nodeAccessor.resolveRelativeNode(rawNode, X_INTELLIJ_LANGUAGE_INJECTION);
     if (intermediateNode == null) return null;
 
-    return JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(intermediateNode, SUFFIX);
+    return nodeAccessor.readTextNodeValue(intermediateNode, SUFFIX);
   }
 
   @Override
   public boolean isShouldValidateAgainstJSType() {
-    return JacksonSchemaNodeAccessor.INSTANCE.hasChildNode(rawSchemaNode, INSTANCE_OF)
-           || JacksonSchemaNodeAccessor.INSTANCE.hasChildNode(rawSchemaNode, TYPE_OF);
+    return nodeAccessor.hasChildNode(rawNode, INSTANCE_OF)
+           || nodeAccessor.hasChildNode(rawNode, TYPE_OF);
   }
 
   @Override
@@ -2,6 +2,7 @@
 package com.jetbrains.jsonSchema.internal;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.jetbrains.jsonSchema.JsonSchemaObject;
 import consulo.application.util.ConcurrentFactoryMap;
 import jakarta.annotation.Nonnull;
@@ -46,11 +47,12 @@ class JsonSchemaObjectBackedByJacksonFactory implements JsonSchemaObjectFactory<
 
   @Nonnull
   private JsonSchemaObjectBackedByJacksonBase computeSchemaObjectByPointer(@Nonnull String jsonPointer) {
-    JsonNode resolvedRelativeChildSchemaNode = JacksonSchemaNodeAccessor.INSTANCE.resolveNode(rootSchemaObject.getRawSchemaNode(), jsonPointer);
+    RawJsonSchemaNodeAccessor<Object> nodeAccessor = rootSchemaObject.getNodeAccessor();
+    Object resolvedRelativeChildSchemaNode = nodeAccessor.resolveNode(rootSchemaObject.getRawNode(), jsonPointer);
 
     if (resolvedRelativeChildSchemaNode == null
-        || resolvedRelativeChildSchemaNode.isMissingNode()
-        || resolvedRelativeChildSchemaNode.isArray()) {
+        || resolvedRelativeChildSchemaNode instanceof MissingNode
+        || nodeAccessor.isArrayNode(resolvedRelativeChildSchemaNode)) {
       return MissingJsonSchemaObject.INSTANCE;
     } else {
       return new JsonSchemaObjectBackedByJackson(rootSchemaObject, resolvedRelativeChildSchemaNode, jsonPointer);
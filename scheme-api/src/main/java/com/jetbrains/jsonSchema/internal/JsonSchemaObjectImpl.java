@@ -7,6 +7,7 @@ import com.jetbrains.jsonSchema.extension.JsonSchemaValidation;
 import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
 import consulo.application.util.CachedValueProvider;
 import consulo.application.util.CachedValuesManager;
+import consulo.component.util.ModificationTracker;
 import consulo.logging.Logger;
 import consulo.project.Project;
 import consulo.util.collection.ContainerUtil;
@@ -1041,10 +1042,19 @@ public class JsonSchemaObjectImpl extends JsonSchemaObject {
   public ConcurrentMap<String, JsonSchemaObject> getComputedRefsStorage(@Nonnull Project project) {
     return CachedValuesManager.getManager(project).getCachedValue(
       myUserDataHolder,
-      () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), JsonDependencyModificationTracker.forProject(project))
+      () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), getReferencesTracker(project))
     );
   }
 
+  // the references of a schema file only depend on the files it references, see JsonSchemaReferenceGraph;
+  // a schema without a file falls back to the changes of the mapped schemas
+  private @Nonnull ModificationTracker getReferencesTracker(@Nonnull Project project) {
+    JsonSchemaService service = JsonSchemaService.get(project);
+    VirtualFile file = service.resolveSchemaFile(this);
+    if (file != null) return JsonSchemaReferenceGraph.getInstance(project).getDependenciesTracker(file);
+    return service instanceof ModificationTracker tracker ? tracker : ModificationTracker.EVER_CHANGED;
+  }
+
   public static @Nonnull JsonSchemaObjectImpl merge(@Nonnull JsonSchemaObjectImpl base,
                                                     @Nonnull JsonSchemaObjectImpl other,
                                                     @Nonnull JsonSchemaObjectImpl pointTo) {
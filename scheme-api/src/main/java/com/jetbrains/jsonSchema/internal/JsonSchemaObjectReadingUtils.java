@@ -51,16 +51,6 @@ public final class JsonSchemaObjectReadingUtils {
         }
 
         var value = fetchSchemaFromRefDefinition(ref, schemaNode, service, schemaNode.isRefRecursive());
-        if (!JsonFileResolver.isHttpPath(ref)) {
-            service.registerReference(ref);
-        }
-        else if (value != null) {
-            // our aliases - if http ref actually refers to a local file with specific ID
-            VirtualFile virtualFile = service.resolveSchemaFile(value);
-            if (virtualFile != null && !(virtualFile instanceof HttpVirtualFile)) {
-                service.registerReference(virtualFile.getName());
-            }
-        }
 
         if (schemaNode instanceof JsonSchemaObjectImpl schemaImpl && value instanceof JsonSchemaObjectImpl valueImpl) {
             if (value != NULL_OBJ && !Objects.equals(value.getFileUrl(), schemaNode.getFileUrl())) {
@@ -92,11 +82,7 @@ public final class JsonSchemaObjectReadingUtils {
         }
         String schemaId = splitter.getSchemaId();
         if (schemaId != null) {
-            var refSchema = resolveSchemaByReference(service, schemaFile, schemaId);
-            if (refSchema == null || refSchema == NULL_OBJ) {
-                return null;
-            }
-            return findRelativeDefinition(refSchema, splitter, service);
+            return resolveDefinitionByReference(service, schemaFile, ref, splitter, schemaId);
         }
         var rootSchema = service.getSchemaObjectForSchemaFile(schemaFile);
         if (rootSchema == null) {
@@ -125,9 +111,11 @@ public final class JsonSchemaObjectReadingUtils {
         return findRelativeDefinition(rootSchema, splitter, service);
     }
 
-    private static @Nullable JsonSchemaObject resolveSchemaByReference(@Nonnull JsonSchemaService service,
-                                                                       @Nonnull VirtualFile schemaFile,
-                                                                       @Nonnull String schemaId) {
+    private static @Nullable JsonSchemaObject resolveDefinitionByReference(@Nonnull JsonSchemaService service,
+                                                                           @Nonnull VirtualFile schemaFile,
+                                                                           @Nonnull String ref,
+                                                                           @Nonnull JsonSchemaVariantsTreeBuilder.SchemaUrlSplitter splitter,
+                                                                           @Nonnull String schemaId) {
         final VirtualFile refFile = service.findSchemaFileByReference(schemaId, schemaFile);
         if (refFile == null) {
             LOG.debug(String.format("Schema file not found by reference: '%s' from %s", schemaId, schemaFile.getPath()));
@@ -137,7 +125,19 @@ public final class JsonSchemaObjectReadingUtils {
         if (refSchema == null) {
             LOG.debug(String.format("Schema object not found by reference: '%s' from %s", schemaId, schemaFile.getPath()));
         }
-        return refSchema;
+        if (refSchema == null || refSchema == NULL_OBJ) {
+            return null;
+        }
+
+        JsonSchemaReferenceGraph graph = JsonSchemaReferenceGraph.getInstance(service.getProject());
+        JsonSchemaReferenceGraph.ResolvedReference resolved = graph.getResolvedReference(schemaFile, ref, refSchema);
+        if (resolved != null) {
+            JsonSchemaObject target = resolved.getTarget();
+            if (target != null || !resolved.hasTarget()) return target;
+        }
+        var definition = findRelativeDefinition(refSchema, splitter, service);
+        graph.recordReference(schemaFile, ref, refFile, definition, refSchema);
+        return definition;
     }
 
     public static @Nullable JsonSchemaObject downloadAndParseRemoteSchema(@Nonnull JsonSchemaService service, @Nonnull VirtualFile refFile) {
@@ -406,6 +406,11 @@ public final class JsonSchemaObjectReadingUtils {
         }
     }
 
+    public static Pair<SchemaPatternMatcher, String> compileSchemaPattern(final @Nonnull String pattern) {
+        final Pair<Pattern, String> compiled = compilePattern(pattern);
+        return Pair.create(compiled.getFirst() == null ? null : new SchemaPatternMatcher(compiled.getFirst()), compiled.getSecond());
+    }
+
     private static @Nonnull String adaptSchemaPattern(String pattern) {
         pattern = pattern.startsWith("^") || pattern.startsWith("*") || pattern.startsWith(".") ? pattern : (".*" + pattern);
         pattern = pattern.endsWith("+") || pattern.endsWith("*") || pattern.endsWith("$") ? pattern : (pattern + ".*");
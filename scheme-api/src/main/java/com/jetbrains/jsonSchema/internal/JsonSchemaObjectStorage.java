@@ -3,11 +3,13 @@ package com.jetbrains.jsonSchema.internal;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intellij.json.internal.JsonRegistry;
 import com.jetbrains.jsonSchema.JsonSchemaObject;
 import consulo.annotation.component.ComponentScope;
 import consulo.annotation.component.ServiceAPI;
 import consulo.annotation.component.ServiceImpl;
-import consulo.application.util.ConcurrentFactoryMap;
+import consulo.application.util.LowMemoryWatcher;
+import consulo.disposer.Disposable;
 import consulo.language.file.light.LightVirtualFile;
 import consulo.logging.Logger;
 import consulo.project.Project;
@@ -19,16 +21,16 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.inject.Singleton;
 
-import java.io.InputStream;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
+import java.io.IOException;
+import java.util.*;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ServiceAPI(ComponentScope.PROJECT)
 @ServiceImpl
 @Singleton
-public class JsonSchemaObjectStorage {
+public class JsonSchemaObjectStorage implements Disposable {
   private static final Logger LOG = Logger.getInstance(JsonSchemaObjectStorage.class);
   private static final Set<String> SUPPORTED_FILE_TYPE_NAMES = Set.of("JSON", "JSON5", "YAML");
 
@@ -36,49 +38,169 @@ public class JsonSchemaObjectStorage {
     return project.getInstance(JsonSchemaObjectStorage.class);
   }
 
-  private static class SchemaId {
-    private final VirtualFile schemaFile;
+  // rough ratio between the schema text size and the size of its parsed Jackson tree
+  private static final int RETAINED_SIZE_PER_CONTENT_BYTE = 8;
+  private static final long MIN_RETAINED_SIZE = 1024;
+  private static final long MAX_RETAINED_SIZE = 256L * 1024 * 1024;
+
+  private static final class CachedSchemaRoot {
     private final long modificationStamp;
+    private final JsonSchemaObject schemaRoot;
+    private final long retainedSize;
+    // the tick of the last access, orders the entries for the eviction
+    private volatile long lastAccess;
 
-    SchemaId(@Nonnull VirtualFile schemaFile, long modificationStamp) {
-      this.schemaFile = schemaFile;
+    CachedSchemaRoot(long modificationStamp, @Nonnull JsonSchemaObject schemaRoot, long retainedSize, long lastAccess) {
       this.modificationStamp = modificationStamp;
+      this.schemaRoot = schemaRoot;
+      this.retainedSize = retainedSize;
+      this.lastAccess = lastAccess;
     }
+  }
 
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
-      SchemaId schemaId = (SchemaId) o;
-      return modificationStamp == schemaId.modificationStamp && schemaFile.equals(schemaId.schemaFile);
+  public static final class CacheStatistics {
+    public final long hits;
+    public final long misses;
+    public final long evictions;
+    public final long retainedBytes;
+    public final int cachedRoots;
+
+    CacheStatistics(long hits, long misses, long evictions, long retainedBytes, int cachedRoots) {
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+      this.retainedBytes = retainedBytes;
+      this.cachedRoots = cachedRoots;
     }
 
     @Override
-    public int hashCode() {
-      return Objects.hash(schemaFile, modificationStamp);
+    public String toString() {
+      return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions +
+             ", retainedBytes=" + retainedBytes + ", cachedRoots=" + cachedRoots;
     }
   }
 
-  private final Map<SchemaId, JsonSchemaObject> parsedSchemaById =
-    ConcurrentFactoryMap.createMap(id -> createRootSchemaObject(id.schemaFile));
+  // only the latest modification stamp of every file is kept; reads are lock-free, the least recently used entries
+  // are evicted by the thread caching a new root once the retained size is exceeded
+  private final ConcurrentHashMap<VirtualFile, CachedSchemaRoot> parsedSchemaByFile = new ConcurrentHashMap<>();
+  private final AtomicLong retainedSize = new AtomicLong();
+  private final AtomicLong accessTick = new AtomicLong();
+  private final Object evictionLock = new Object();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  public JsonSchemaObjectStorage() {
+    LowMemoryWatcher.register(this::clear, this);
+  }
 
   @Nullable
   public JsonSchemaObject getOrComputeSchemaRootObject(@Nonnull VirtualFile schemaFile) {
     if (!isSupportedSchemaFile(schemaFile)) return null;
 
-    JsonSchemaObject result = parsedSchemaById.get(asSchemaId(schemaFile));
+    long modificationStamp = getModificationStamp(schemaFile);
+    JsonSchemaObject result = getCachedRoot(schemaFile, modificationStamp);
+    if (result != null) {
+      hitCount.incrementAndGet();
+    }
+    else {
+      missCount.incrementAndGet();
+      result = cacheRoot(schemaFile, modificationStamp, createRootSchemaObject(schemaFile));
+    }
     return result instanceof MissingJsonSchemaObject ? null : result;
   }
 
   @Nullable
   public JsonSchemaObject getComputedSchemaRootOrNull(@Nonnull VirtualFile maybeSchemaFile) {
-    SchemaId schemaId = asSchemaId(maybeSchemaFile);
-    if (!parsedSchemaById.containsKey(schemaId)) return null;
-
-    JsonSchemaObject result = parsedSchemaById.get(schemaId);
+    JsonSchemaObject result = getCachedRoot(maybeSchemaFile, getModificationStamp(maybeSchemaFile));
     return result instanceof MissingJsonSchemaObject ? null : result;
   }
 
+  @Nonnull
+  public CacheStatistics getStatistics() {
+    return new CacheStatistics(hitCount.get(), missCount.get(), evictionCount.get(), retainedSize.get(), parsedSchemaByFile.size());
+  }
+
+  public void clear() {
+    for (Map.Entry<VirtualFile, CachedSchemaRoot> entry : parsedSchemaByFile.entrySet()) {
+      evict(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public void dispose() {
+    clear();
+  }
+
+  @Nullable
+  private JsonSchemaObject getCachedRoot(@Nonnull VirtualFile schemaFile, long modificationStamp) {
+    CachedSchemaRoot cached = parsedSchemaByFile.get(schemaFile);
+    if (cached == null || cached.modificationStamp != modificationStamp) return null;
+    cached.lastAccess = accessTick.incrementAndGet();
+    return cached.schemaRoot;
+  }
+
+  @Nonnull
+  private JsonSchemaObject cacheRoot(@Nonnull VirtualFile schemaFile, long modificationStamp, @Nonnull JsonSchemaObject schemaRoot) {
+    long size = estimateRetainedSize(schemaFile, schemaRoot);
+    JsonSchemaObject[] result = {schemaRoot};
+    parsedSchemaByFile.compute(schemaFile, (file, existing) -> {
+      if (existing != null) {
+        // another thread has computed the same stamp in the meantime
+        if (existing.modificationStamp == modificationStamp) {
+          result[0] = existing.schemaRoot;
+          return existing;
+        }
+        // the previous stamp is superseded and can never be requested again
+        if (existing.modificationStamp > modificationStamp && modificationStamp != -1) return existing;
+        retainedSize.addAndGet(-existing.retainedSize);
+        evictionCount.incrementAndGet();
+      }
+      retainedSize.addAndGet(size);
+      return new CachedSchemaRoot(modificationStamp, schemaRoot, size, accessTick.incrementAndGet());
+    });
+    if (retainedSize.get() > MAX_RETAINED_SIZE) {
+      evictLeastRecentlyUsed(schemaFile);
+    }
+    return result[0];
+  }
+
+  private void evictLeastRecentlyUsed(@Nonnull VirtualFile justCachedFile) {
+    // a single evicting thread, the readers are not blocked
+    synchronized (evictionLock) {
+      if (retainedSize.get() <= MAX_RETAINED_SIZE) return;
+      // the access ticks are copied, they keep changing while the entries are sorted
+      List<Map.Entry<VirtualFile, CachedSchemaRoot>> entries = new ArrayList<>(parsedSchemaByFile.entrySet());
+      Map<CachedSchemaRoot, Long> ticks = new IdentityHashMap<>(entries.size());
+      for (Map.Entry<VirtualFile, CachedSchemaRoot> entry : entries) {
+        ticks.put(entry.getValue(), entry.getValue().lastAccess);
+      }
+      entries.sort(Comparator.comparingLong(entry -> ticks.get(entry.getValue())));
+      for (Map.Entry<VirtualFile, CachedSchemaRoot> eldest : entries) {
+        if (retainedSize.get() <= MAX_RETAINED_SIZE) break;
+        if (eldest.getKey().equals(justCachedFile)) continue;
+        evict(eldest.getKey(), eldest.getValue());
+      }
+    }
+  }
+
+  private void evict(@Nonnull VirtualFile file, @Nonnull CachedSchemaRoot cached) {
+    // a concurrently replaced entry is accounted by its replacement
+    if (parsedSchemaByFile.remove(file, cached)) {
+      retainedSize.addAndGet(-cached.retainedSize);
+      evictionCount.incrementAndGet();
+    }
+  }
+
+  private static long estimateRetainedSize(@Nonnull VirtualFile schemaFile, @Nonnull JsonSchemaObject schemaRoot) {
+    if (schemaRoot instanceof MissingJsonSchemaObject) return 0;
+    if (schemaRoot instanceof RootJsonSchemaObjectBackedByJackson) {
+      SchemaTape tape = ((RootJsonSchemaObjectBackedByJackson)schemaRoot).getTape();
+      if (tape != null) return Math.max(MIN_RETAINED_SIZE, tape.estimateRetainedSize());
+    }
+    return Math.max(MIN_RETAINED_SIZE, schemaFile.getLength() * RETAINED_SIZE_PER_CONTENT_BYTE);
+  }
+
   private boolean isSupportedSchemaFile(@Nonnull VirtualFile maybeSchemaFile) {
     return isSupportedSchemaFileType(maybeSchemaFile.getFileType())
            && (!(maybeSchemaFile instanceof HttpVirtualFile) || isLoadedHttpFile((HttpVirtualFile) maybeSchemaFile));
@@ -92,25 +214,24 @@ public class JsonSchemaObjectStorage {
     return maybeHttpFile.getFileInfo() != null && maybeHttpFile.getFileInfo().getState() == RemoteFileState.DOWNLOADED;
   }
 
-  @Nonnull
-  private SchemaId asSchemaId(@Nonnull VirtualFile file) {
-    if (file instanceof LightVirtualFile) {
-      return new SchemaId(file, -1);
-    } else {
-      return new SchemaId(file, file.getModificationStamp());
-    }
+  private static long getModificationStamp(@Nonnull VirtualFile file) {
+    return file instanceof LightVirtualFile ? -1 : file.getModificationStamp();
   }
 
   @Nonnull
   private JsonSchemaObject createRootSchemaObject(@Nonnull VirtualFile schemaFile) {
-    JsonNode parsedSchemaRoot = parseSchemaFileSafe(schemaFile);
-    return parsedSchemaRoot == null
+    SharedJsonSchemaData sharedSchemaData = loadSharedSchemaDataSafe(schemaFile);
+    return sharedSchemaData == null
            ? MissingJsonSchemaObject.INSTANCE
-           : new RootJsonSchemaObjectBackedByJackson(parsedSchemaRoot, schemaFile);
+           : new RootJsonSchemaObjectBackedByJackson(sharedSchemaData, schemaFile);
   }
 
+  /**
+   * Parsed schemas are shared between projects by their content, so only a lightweight per-project view
+   * bound to the schema file is created for a schema already loaded by another project
+   */
   @Nullable
-  private JsonNode parseSchemaFileSafe(@Nonnull VirtualFile schemaFile) {
+  private SharedJsonSchemaData loadSharedSchemaDataSafe(@Nonnull VirtualFile schemaFile) {
     String providedFileTypeId = schemaFile.getFileType().getName();
     ObjectMapper suitableReader;
 
@@ -127,8 +248,16 @@ public class JsonSchemaObjectStorage {
         return null;
     }
 
-    try (InputStream inputStream = schemaFile.getInputStream()) {
-      return suitableReader.readTree(inputStream);
+    try {
+      byte[] content = schemaFile.contentsToByteArray();
+      String contentKey = JsonSchemaSnapshotStorage.getInstance().computeSnapshotKey(content, providedFileTypeId);
+      JsonSchemaSharedStore sharedStore = JsonSchemaSharedStore.getInstance();
+      SharedJsonSchemaData sharedSchemaData = sharedStore.get(contentKey);
+      if (sharedSchemaData != null) return sharedSchemaData;
+
+      SharedJsonSchemaData parsedSchemaData = parseSchemaContent(schemaFile, content, contentKey, suitableReader);
+      if (parsedSchemaData == null) return null;
+      return sharedStore.share(contentKey, parsedSchemaData);
     } catch (CancellationException e) {
       throw e;
     } catch (Exception exception) {
@@ -136,5 +265,33 @@ public class JsonSchemaObjectStorage {
       return null;
     }
   }
-}
 
+  @Nullable
+  private static SharedJsonSchemaData parseSchemaContent(@Nonnull VirtualFile schemaFile,
+                                                         @Nonnull byte[] content,
+                                                         @Nonnull String contentKey,
+                                                         @Nonnull ObjectMapper suitableReader) throws IOException {
+    boolean compact = JsonRegistry.JSON_SCHEMA_COMPACT_NODES;
+    if (!isSnapshotAllowed(schemaFile, content)) {
+      JsonNode parsedSchema = suitableReader.readTree(content);
+      return parsedSchema == null ? null : SharedJsonSchemaData.create(parsedSchema, compact);
+    }
+
+    JsonSchemaSnapshotStorage snapshotStorage = JsonSchemaSnapshotStorage.getInstance();
+    SchemaTape snapshot = snapshotStorage.load(contentKey);
+    if (snapshot != null) return SharedJsonSchemaData.create(snapshot, compact);
+
+    JsonNode parsedSchema = suitableReader.readTree(content);
+    if (parsedSchema == null) return null;
+    SharedJsonSchemaData parsedSchemaData = SharedJsonSchemaData.create(parsedSchema, compact);
+    SchemaTape tape = parsedSchemaData.getTape();
+    snapshotStorage.save(contentKey, tape != null ? tape : SchemaTape.build(parsedSchema));
+    return parsedSchemaData;
+  }
+
+  private static boolean isSnapshotAllowed(@Nonnull VirtualFile schemaFile, @Nonnull byte[] content) {
+    return JsonRegistry.JSON_SCHEMA_PERSISTENT_SNAPSHOTS
+           && !(schemaFile instanceof LightVirtualFile)
+           && JsonSchemaSnapshotStorage.getInstance().isSnapshotWorthy(content);
+  }
+}
@@ -0,0 +1,265 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.component.util.ModificationTracker;
+import consulo.component.util.SimpleModificationTracker;
+import consulo.disposer.Disposable;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Graph of the {@code $ref}s between schema files: every schema file is mapped to the files its references point to,
+ * together with the resolved target schema nodes.
+ * <p>
+ * A change of a schema file invalidates only the files which depend on it, directly or through other references,
+ * instead of all the references resolved in the project. Every file has its own {@link #getDependenciesTracker tracker}
+ * which is incremented when one of its dependencies is invalidated, so the caches of resolved references can depend on it.
+ * Invalidation keeps the edges and only marks their resolutions stale, so a target changing again before its dependents
+ * are resolved again still reaches them. The edges and the tracker of a file are dropped once the file is deleted.
+ * <p>
+ * The graph holds the resolved nodes and their roots weakly, so it never keeps a parsed schema alive after the schema caches
+ * have dropped it. A resolved target is also checked against the schema root currently parsed from the target file,
+ * so a change not reported through {@link #invalidate} never yields a node of an outdated schema.
+ */
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+@Singleton
+public class JsonSchemaReferenceGraph implements Disposable {
+  // source file -> reference text -> resolved reference
+  private final ConcurrentMap<VirtualFile, ConcurrentMap<String, ResolvedReference>> myOutgoing = new ConcurrentHashMap<>();
+  // target file -> files referencing it
+  private final ConcurrentMap<VirtualFile, Set<VirtualFile>> myIncoming = new ConcurrentHashMap<>();
+  private final ConcurrentMap<VirtualFile, SimpleModificationTracker> myTrackers = new ConcurrentHashMap<>();
+
+  public static JsonSchemaReferenceGraph getInstance(@Nonnull Project project) {
+    return project.getInstance(JsonSchemaReferenceGraph.class);
+  }
+
+  /**
+   * Remembers that the reference from the source file has been resolved into the target file.
+   *
+   * @param target the resolved node, null if the target file does not contain the referenced definition
+   * @param targetRoot the schema root the node was resolved in, used to detect outdated targets
+   */
+  public void recordReference(@Nonnull VirtualFile source,
+                              @Nonnull String reference,
+                              @Nonnull VirtualFile targetFile,
+                              @Nullable JsonSchemaObject target,
+                              @Nullable JsonSchemaObject targetRoot) {
+    ConcurrentMap<String, ResolvedReference> references = myOutgoing.computeIfAbsent(source, __ -> new ConcurrentHashMap<>());
+    myIncoming.computeIfAbsent(targetFile, __ -> ConcurrentHashMap.newKeySet()).add(source);
+    ResolvedReference previous = references.put(reference, new ResolvedReference(targetFile, target, targetRoot, false));
+    if (previous != null && !previous.myTargetFile.equals(targetFile)) {
+      removeIncomingEdgeIfUnused(source, previous.myTargetFile);
+    }
+  }
+
+  private void removeIncomingEdgeIfUnused(@Nonnull VirtualFile source, @Nonnull VirtualFile targetFile) {
+    Map<String, ResolvedReference> references = myOutgoing.get(source);
+    if (references != null) {
+      for (ResolvedReference reference : references.values()) {
+        if (reference.myTargetFile.equals(targetFile)) return;
+      }
+    }
+    Set<VirtualFile> sources = myIncoming.get(targetFile);
+    if (sources != null) sources.remove(source);
+  }
+
+  /**
+   * @param currentTargetRoot the schema root currently parsed from the target file of the reference
+   * @return the remembered resolution of the reference, or null if it is unknown or was made against another version of the target file
+   */
+  @Nullable
+  public ResolvedReference getResolvedReference(@Nonnull VirtualFile source,
+                                                @Nonnull String reference,
+                                                @Nullable JsonSchemaObject currentTargetRoot) {
+    Map<String, ResolvedReference> references = myOutgoing.get(source);
+    ResolvedReference resolved = references == null ? null : references.get(reference);
+    if (resolved == null || !resolved.isResolvedIn(currentTargetRoot)) return null;
+    return resolved;
+  }
+
+  /**
+   * Marks the references resolved in the changed file and in all the files depending on it, directly or transitively, stale.
+   * The edges are kept, so that the dependents are found again if the file changes before they are resolved again.
+   * A deleted file is removed from the graph together with its tracker.
+   *
+   * @return the changed file together with all its dependents
+   */
+  @Nonnull
+  public Set<VirtualFile> invalidate(@Nonnull VirtualFile changedFile) {
+    Set<VirtualFile> affected = getTransitiveDependents(changedFile);
+    affected.add(changedFile);
+    for (VirtualFile file : affected) {
+      ConcurrentMap<String, ResolvedReference> references = myOutgoing.get(file);
+      if (references != null) {
+        references.replaceAll((reference, resolved) -> resolved.asStale());
+      }
+      SimpleModificationTracker tracker = myTrackers.get(file);
+      if (tracker != null) tracker.incModificationCount();
+    }
+    if (!changedFile.isValid()) {
+      remove(changedFile);
+    }
+    return affected;
+  }
+
+  private void remove(@Nonnull VirtualFile file) {
+    ConcurrentMap<String, ResolvedReference> references = myOutgoing.remove(file);
+    if (references != null) {
+      for (ResolvedReference reference : references.values()) {
+        Set<VirtualFile> sources = myIncoming.get(reference.myTargetFile);
+        if (sources != null) sources.remove(file);
+      }
+    }
+    // the dependents of a deleted file keep their edges, so they are invalidated again once the file is recreated
+    myTrackers.remove(file);
+  }
+
+  /**
+   * @return a tracker incremented whenever the file itself or any file it references, directly or transitively, is invalidated
+   */
+  @Nonnull
+  public ModificationTracker getDependenciesTracker(@Nonnull VirtualFile file) {
+    return myTrackers.computeIfAbsent(file, __ -> new SimpleModificationTracker());
+  }
+
+  /**
+   * @return the files referenced from the given one, as recorded so far
+   */
+  @Nonnull
+  public Set<VirtualFile> getReferencedFiles(@Nonnull VirtualFile source) {
+    Map<String, ResolvedReference> references = myOutgoing.get(source);
+    if (references == null) return Collections.emptySet();
+    Set<VirtualFile> result = new LinkedHashSet<>();
+    for (ResolvedReference reference : references.values()) {
+      result.add(reference.myTargetFile);
+    }
+    return result;
+  }
+
+  /**
+   * @return the references of the given file resolved so far, mapped to their target files
+   */
+  @Nonnull
+  public Map<String, VirtualFile> getResolvedReferences(@Nonnull VirtualFile source) {
+    Map<String, ResolvedReference> references = myOutgoing.get(source);
+    if (references == null) return Collections.emptyMap();
+    Map<String, VirtualFile> result = new TreeMap<>();
+    references.forEach((reference, resolved) -> result.put(reference, resolved.myTargetFile));
+    return result;
+  }
+
+  /**
+   * @return the files referencing the given one directly
+   */
+  @Nonnull
+  public Set<VirtualFile> getDependentFiles(@Nonnull VirtualFile target) {
+    Set<VirtualFile> sources = myIncoming.get(target);
+    return sources == null ? Collections.emptySet() : Set.copyOf(sources);
+  }
+
+  /**
+   * @return the files referencing the given one directly or through other files, not including the file itself
+   */
+  @Nonnull
+  public Set<VirtualFile> getTransitiveDependents(@Nonnull VirtualFile target) {
+    Set<VirtualFile> result = new LinkedHashSet<>();
+    ArrayDeque<VirtualFile> queue = new ArrayDeque<>();
+    queue.add(target);
+    while (!queue.isEmpty()) {
+      Set<VirtualFile> sources = myIncoming.get(queue.removeFirst());
+      if (sources == null) continue;
+      for (VirtualFile source : sources) {
+        if (!source.equals(target) && result.add(source)) {
+          queue.add(source);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return all the files having resolved references
+   */
+  @Nonnull
+  public Set<VirtualFile> getSourceFiles() {
+    return Set.copyOf(myOutgoing.keySet());
+  }
+
+  public void clear() {
+    for (ConcurrentMap<String, ResolvedReference> references : myOutgoing.values()) {
+      references.replaceAll((reference, resolved) -> resolved.asStale());
+    }
+    for (SimpleModificationTracker tracker : myTrackers.values()) {
+      tracker.incModificationCount();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    myOutgoing.clear();
+    myIncoming.clear();
+    myTrackers.clear();
+  }
+
+  public static final class ResolvedReference {
+    private final VirtualFile myTargetFile;
+    private final @Nullable Reference<JsonSchemaObject> myTarget;
+    private final @Nullable Reference<JsonSchemaObject> myTargetRoot;
+    private final boolean myStale;
+
+    ResolvedReference(@Nonnull VirtualFile targetFile,
+                      @Nullable JsonSchemaObject target,
+                      @Nullable JsonSchemaObject targetRoot,
+                      boolean stale) {
+      myTargetFile = targetFile;
+      myTarget = target == null ? null : new WeakReference<>(target);
+      myTargetRoot = targetRoot == null ? null : new WeakReference<>(targetRoot);
+      myStale = stale;
+    }
+
+    @Nonnull
+    private ResolvedReference asStale() {
+      return myStale ? this : new ResolvedReference(myTargetFile, null, null, true);
+    }
+
+    // a collected target or root is resolved again, like a stale one
+    private boolean isResolvedIn(@Nullable JsonSchemaObject currentTargetRoot) {
+      if (myStale) return false;
+      JsonSchemaObject targetRoot = myTargetRoot == null ? null : myTargetRoot.get();
+      if (targetRoot != currentTargetRoot || myTargetRoot != null && targetRoot == null) return false;
+      return myTarget == null || myTarget.get() != null;
+    }
+
+    @Nonnull
+    public VirtualFile getTargetFile() {
+      return myTargetFile;
+    }
+
+    @Nullable
+    public JsonSchemaObject getTarget() {
+      return myTarget == null ? null : myTarget.get();
+    }
+
+    /**
+     * @return whether the reference was resolved into a node, the node itself may have been collected since
+     */
+    public boolean hasTarget() {
+      return myTarget != null;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.application.ApplicationManager;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Application-wide store of parsed schemas keyed by the schema content hash.
+ * <p>
+ * The same bundled or remote schema is usually requested by every open project, so the parsed tree and its keyword index
+ * are kept once here and shared read-only. Projects hold their own {@link RootJsonSchemaObjectBackedByJackson} views
+ * (see {@link JsonSchemaObjectStorage}) which are bound to the schema file and resolve relative references against it.
+ * Entries are weakly referenced: a parsed schema stays in the store only while some project view still uses it,
+ * the eviction policy is therefore driven by the project caches.
+ */
+@ServiceAPI(ComponentScope.APPLICATION)
+@ServiceImpl
+@Singleton
+public class JsonSchemaSharedStore {
+  private final ConcurrentMap<String, KeyedReference> sharedByContentKey = new ConcurrentHashMap<>();
+  private final ReferenceQueue<SharedJsonSchemaData> collectedQueue = new ReferenceQueue<>();
+
+  public static JsonSchemaSharedStore getInstance() {
+    return ApplicationManager.getApplication().getService(JsonSchemaSharedStore.class);
+  }
+
+  @Nullable
+  SharedJsonSchemaData get(@Nonnull String contentKey) {
+    processCollected();
+    KeyedReference reference = sharedByContentKey.get(contentKey);
+    return reference != null ? reference.get() : null;
+  }
+
+  /**
+   * Registers the parsed schema under the given content key.
+   *
+   * @return the data registered for the key, which may be an instance shared by another thread parsing the same content
+   */
+  @Nonnull
+  SharedJsonSchemaData share(@Nonnull String contentKey, @Nonnull SharedJsonSchemaData schemaData) {
+    processCollected();
+    KeyedReference result = sharedByContentKey.compute(contentKey, (key, existing) -> {
+      if (existing != null && existing.get() != null) return existing;
+      return new KeyedReference(key, schemaData, collectedQueue);
+    });
+    SharedJsonSchemaData shared = result.get();
+    return shared != null ? shared : schemaData;
+  }
+
+  /**
+   * @return the number of distinct schema contents currently shared between projects
+   */
+  public int getSharedSchemaCount() {
+    processCollected();
+    return sharedByContentKey.size();
+  }
+
+  private void processCollected() {
+    KeyedReference collected;
+    while ((collected = (KeyedReference)collectedQueue.poll()) != null) {
+      sharedByContentKey.remove(collected.contentKey, collected);
+    }
+  }
+
+  private static final class KeyedReference extends WeakReference<SharedJsonSchemaData> {
+    private final String contentKey;
+
+    KeyedReference(@Nonnull String contentKey,
+                   @Nonnull SharedJsonSchemaData referent,
+                   @Nonnull ReferenceQueue<? super SharedJsonSchemaData> queue) {
+      super(referent, queue);
+      this.contentKey = contentKey;
+    }
+  }
+}
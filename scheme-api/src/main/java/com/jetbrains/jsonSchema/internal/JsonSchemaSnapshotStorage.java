@@ -0,0 +1,268 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.application.ApplicationManager;
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.container.boot.ContainerPathManager;
+import consulo.logging.Logger;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Persistent, content-hash keyed storage of parsed schemas in their {@link SchemaTape} form.
+ * <p>
+ * Every snapshot is a single file named after the SHA-256 of the schema bytes and the parser used to read them,
+ * so a changed schema simply maps to another snapshot. The file starts with a magic number and {@link #FORMAT_VERSION};
+ * a snapshot written by an incompatible version is deleted and the schema is parsed again.
+ * <p>
+ * Layout: {@code magic, version, digest, tape}, the tape is stored as its string pool followed by its node arrays,
+ * so a snapshot is loaded straight into a {@link SchemaTape} without building a Jackson tree. The file is memory-mapped
+ * and the arrays are copied out of the mapping in bulk.
+ * <p>
+ * A mapped file cannot be deleted on Windows until its mapping is collected, so deleting a rejected snapshot may fail.
+ * The format makes this harmless: the snapshot is named after its content hash and carries its key and version in the header,
+ * so it is rejected again on every load until it is overwritten, deleted on a later attempt or pruned.
+ * <p>
+ * Snapshots are written by a background writer, off the schema parsing path. Every edit of a schema produces a new snapshot,
+ * so the directory is pruned after every write: the least recently used snapshots are deleted once
+ * {@link #MAX_SNAPSHOT_COUNT} or {@link #MAX_TOTAL_SIZE} is exceeded, and the temporary files left by interrupted writes are deleted.
+ */
+@ServiceAPI(ComponentScope.APPLICATION)
+@ServiceImpl
+@Singleton
+public class JsonSchemaSnapshotStorage {
+  private static final Logger LOG = Logger.getInstance(JsonSchemaSnapshotStorage.class);
+
+  static final int FORMAT_VERSION = 2;
+  private static final int MAGIC = 0x4A535348; // "JSSH"
+  private static final String SNAPSHOT_EXTENSION = ".snapshot";
+  private static final String TEMP_EXTENSION = ".tmp";
+  // a temporary file this old is not being written anymore, it was left behind by a crash or a killed process
+  private static final long STALE_TEMP_FILE_AGE_MILLIS = 60 * 60 * 1000L;
+
+  // smaller schemas are parsed faster than a snapshot file can be opened
+  private static final int MIN_SNAPSHOT_CONTENT_LENGTH = 64 * 1024;
+  private static final int MAX_SNAPSHOT_COUNT = 256;
+  private static final long MAX_TOTAL_SIZE = 256L * 1024 * 1024;
+
+  private final ExecutorService myWriter = AppExecutorUtil.createBoundedApplicationPoolExecutor("JsonSchemaSnapshotWriter", 1);
+  // the snapshots scheduled for writing, a schema parsed by several threads at once is written once
+  private final Set<String> myPendingKeys = ConcurrentHashMap.newKeySet();
+
+  public static JsonSchemaSnapshotStorage getInstance() {
+    return ApplicationManager.getApplication().getService(JsonSchemaSnapshotStorage.class);
+  }
+
+  public boolean isSnapshotWorthy(@Nonnull byte[] content) {
+    return content.length >= MIN_SNAPSHOT_CONTENT_LENGTH;
+  }
+
+  @Nonnull
+  public String computeSnapshotKey(@Nonnull byte[] content, @Nonnull String parserId) {
+    MessageDigest digest = createDigest();
+    digest.update(parserId.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte)0);
+    digest.update(content);
+    return toHex(digest.digest());
+  }
+
+  @Nullable
+  SchemaTape load(@Nonnull String snapshotKey) {
+    Path snapshotPath = getSnapshotPath(snapshotKey);
+    if (!Files.isRegularFile(snapshotPath)) return null;
+
+    try {
+      SchemaTape result;
+      try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+        result = readSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), snapshotKey);
+      }
+      if (result == null) {
+        // fails on Windows while the mapping is not collected yet, the header keeps rejecting the snapshot until it is pruned
+        deleteQuietly(snapshotPath);
+        return null;
+      }
+      // the modification time orders the snapshots for the pruning
+      Files.setLastModifiedTime(snapshotPath, FileTime.fromMillis(System.currentTimeMillis()));
+      return result;
+    }
+    catch (IOException | RuntimeException e) {
+      LOG.info("Unable to read JSON schema snapshot " + snapshotPath + ", it will be recomputed", e);
+      deleteQuietly(snapshotPath);
+      return null;
+    }
+  }
+
+  /**
+   * Schedules the snapshot of the immutable tape to be written in background
+   */
+  void save(@Nonnull String snapshotKey, @Nonnull SchemaTape tape) {
+    if (!myPendingKeys.add(snapshotKey)) return;
+    try {
+      myWriter.execute(() -> {
+        try {
+          write(snapshotKey, tape);
+          prune(getSnapshotPath(snapshotKey).getParent());
+        }
+        finally {
+          myPendingKeys.remove(snapshotKey);
+        }
+      });
+    }
+    catch (RejectedExecutionException e) {
+      myPendingKeys.remove(snapshotKey);
+    }
+  }
+
+  private static void write(@Nonnull String snapshotKey, @Nonnull SchemaTape tape) {
+    Path snapshotPath = getSnapshotPath(snapshotKey);
+    Path tempPath = null;
+    try {
+      Files.createDirectories(snapshotPath.getParent());
+      tempPath = Files.createTempFile(snapshotPath.getParent(), snapshotKey, TEMP_EXTENSION);
+      try (OutputStream fileStream = Files.newOutputStream(tempPath);
+           DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream))) {
+        writeSnapshot(out, snapshotKey, tape);
+      }
+      Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch (IOException e) {
+      LOG.info("Unable to save JSON schema snapshot " + snapshotPath, e);
+      if (tempPath != null) {
+        deleteQuietly(tempPath);
+      }
+    }
+  }
+
+  // deletes the least recently used snapshots above the count and the size limits, superseded snapshots are never read again
+  private static void prune(@Nonnull Path directory) {
+    deleteStaleTempFiles(directory);
+
+    List<Path> snapshots = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SNAPSHOT_EXTENSION)) {
+      for (Path snapshot : stream) {
+        snapshots.add(snapshot);
+      }
+    }
+    catch (IOException e) {
+      LOG.debug(e);
+      return;
+    }
+
+    Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+    long totalSize = 0;
+    for (Path snapshot : snapshots) {
+      try {
+        BasicFileAttributes snapshotAttributes = Files.readAttributes(snapshot, BasicFileAttributes.class);
+        attributes.put(snapshot, snapshotAttributes);
+        totalSize += snapshotAttributes.size();
+      }
+      catch (IOException e) {
+        LOG.debug(e);
+      }
+    }
+    if (attributes.size() <= MAX_SNAPSHOT_COUNT && totalSize <= MAX_TOTAL_SIZE) return;
+
+    List<Path> leastRecentlyUsedFirst = new ArrayList<>(attributes.keySet());
+    leastRecentlyUsedFirst.sort(Comparator.comparing(snapshot -> attributes.get(snapshot).lastModifiedTime()));
+    int count = leastRecentlyUsedFirst.size();
+    for (Path snapshot : leastRecentlyUsedFirst) {
+      if (count <= MAX_SNAPSHOT_COUNT && totalSize <= MAX_TOTAL_SIZE) break;
+      deleteQuietly(snapshot);
+      count--;
+      totalSize -= attributes.get(snapshot).size();
+    }
+  }
+
+  private static void deleteStaleTempFiles(@Nonnull Path directory) {
+    long staleBefore = System.currentTimeMillis() - STALE_TEMP_FILE_AGE_MILLIS;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + TEMP_EXTENSION)) {
+      for (Path tempFile : stream) {
+        try {
+          if (Files.getLastModifiedTime(tempFile).toMillis() < staleBefore) {
+            deleteQuietly(tempFile);
+          }
+        }
+        catch (IOException e) {
+          LOG.debug(e);
+        }
+      }
+    }
+    catch (IOException e) {
+      LOG.debug(e);
+    }
+  }
+
+  @Nonnull
+  private static Path getSnapshotPath(@Nonnull String snapshotKey) {
+    return Paths.get(ContainerPathManager.get().getSystemPath(), "json-schema-snapshots", snapshotKey + SNAPSHOT_EXTENSION);
+  }
+
+  @Nullable
+  private static SchemaTape readSnapshot(@Nonnull ByteBuffer buffer, @Nonnull String expectedKey) {
+    if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return null;
+
+    byte[] storedKey = new byte[buffer.getInt()];
+    buffer.get(storedKey);
+    if (!Arrays.equals(storedKey, expectedKey.getBytes(StandardCharsets.US_ASCII))) return null;
+    return SchemaTape.read(buffer);
+  }
+
+  private static void writeSnapshot(@Nonnull DataOutputStream out, @Nonnull String snapshotKey, @Nonnull SchemaTape tape)
+    throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    byte[] keyBytes = snapshotKey.getBytes(StandardCharsets.US_ASCII);
+    out.writeInt(keyBytes.length);
+    out.write(keyBytes);
+    tape.write(out);
+  }
+
+  @Nonnull
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Nonnull
+  private static String toHex(@Nonnull byte[] bytes) {
+    StringBuilder builder = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return builder.toString();
+  }
+
+  private static void deleteQuietly(@Nonnull Path path) {
+    try {
+      Files.deleteIfExists(path);
+    }
+    catch (IOException e) {
+      LOG.debug(e);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import com.jetbrains.jsonSchema.JsonSchemaType;
+import com.jetbrains.jsonSchema.extension.JsonSchemaValidation;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Validations of a single schema node compiled under a single interpretation strategy.
+ * <p>
+ * The strategy selects the validations by the node, the type of the instance and a few traits of the instance only:
+ * whether it is ignored, a number or a string literal, an array or an object. So the selection is made once per such combination.
+ * Every selected validation is {@link JsonSchemaValidation#compile compiled} for the node once, with its keyword values read in advance,
+ * and the validations having nothing to check for the node are dropped. The host then just runs the validations of the plan.
+ * <p>
+ * The plan is cached on the schema node, its lifetime is the one of the node.
+ */
+public final class JsonSchemaValidationPlan {
+  private static final int IGNORED = 1;
+  private static final int NUMBER_LITERAL = 1 << 1;
+  private static final int STRING_LITERAL = 1 << 2;
+  private static final int ARRAY = 1 << 3;
+  private static final int OBJECT = 1 << 4;
+  private static final int TRAIT_BITS = 5;
+
+  private final JsonSchemaObject myNode;
+  private final JsonSchemaInterpretationStrategy myStrategy;
+  // instance type and traits -> compiled validations
+  private final ConcurrentMap<Integer, List<JsonSchemaValidation>> myValidations = new ConcurrentHashMap<>(4);
+  // selected validation -> its compiled form for the node, empty if there is nothing to check
+  private final Map<JsonSchemaValidation, Optional<JsonSchemaValidation>> myCompiledValidations = new IdentityHashMap<>();
+
+  JsonSchemaValidationPlan(@Nonnull JsonSchemaObject node, @Nonnull JsonSchemaInterpretationStrategy strategy) {
+    myNode = node;
+    myStrategy = strategy;
+  }
+
+  @Nonnull
+  JsonSchemaInterpretationStrategy getStrategy() {
+    return myStrategy;
+  }
+
+  @Nonnull
+  public List<JsonSchemaValidation> getValidations(@Nullable JsonSchemaType type, @Nonnull JsonValueAdapter value) {
+    int key = (type == null ? 0 : type.ordinal() + 1) << TRAIT_BITS | getTraits(value);
+    List<JsonSchemaValidation> validations = myValidations.get(key);
+    if (validations == null) {
+      validations = compile(myStrategy.getValidations(myNode, type, value));
+      List<JsonSchemaValidation> existing = myValidations.putIfAbsent(key, validations);
+      if (existing != null) validations = existing;
+    }
+    return validations;
+  }
+
+  @Nonnull
+  private List<JsonSchemaValidation> compile(@Nullable Iterable<JsonSchemaValidation> validations) {
+    if (validations == null) return Collections.emptyList();
+    List<JsonSchemaValidation> result = new ArrayList<>();
+    for (JsonSchemaValidation validation : validations) {
+      Optional<JsonSchemaValidation> compiled;
+      synchronized (myCompiledValidations) {
+        compiled = myCompiledValidations.get(validation);
+      }
+      if (compiled == null) {
+        compiled = Optional.ofNullable(validation.compile(myNode));
+        synchronized (myCompiledValidations) {
+          Optional<JsonSchemaValidation> existing = myCompiledValidations.putIfAbsent(validation, compiled);
+          if (existing != null) compiled = existing;
+        }
+      }
+      // a validation selected twice would only report the same errors again
+      if (compiled.isPresent() && !containsIdentical(result, compiled.get())) {
+        result.add(compiled.get());
+      }
+    }
+    return List.copyOf(result);
+  }
+
+  private static boolean containsIdentical(@Nonnull List<JsonSchemaValidation> validations, @Nonnull JsonSchemaValidation validation) {
+    for (JsonSchemaValidation existing : validations) {
+      if (existing == validation) return true;
+    }
+    return false;
+  }
+
+  private static int getTraits(@Nonnull JsonValueAdapter value) {
+    // the traits of an ignored value are never inspected by the strategies
+    if (value.isShouldBeIgnored()) return IGNORED;
+    int traits = 0;
+    if (value.isNumberLiteral()) traits |= NUMBER_LITERAL;
+    if (value.isStringLiteral()) traits |= STRING_LITERAL;
+    if (value.isArray()) traits |= ARRAY;
+    if (value.isObject()) traits |= OBJECT;
+    return traits;
+  }
+}
@@ -6,46 +6,245 @@ import com.jetbrains.jsonSchema.JsonComplianceCheckerOptions;
 import com.jetbrains.jsonSchema.JsonSchemaObject;
 import com.jetbrains.jsonSchema.JsonSchemaService;
 import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTreeElement;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
 import consulo.application.util.CachedValue;
 import consulo.application.util.CachedValueProvider;
 import consulo.application.util.CachedValuesManager;
+import consulo.application.util.LowMemoryWatcher;
+import consulo.component.util.ModificationTracker;
+import consulo.disposer.Disposable;
 import consulo.language.psi.PsiElement;
+import consulo.project.Project;
 import consulo.util.dataholder.Key;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class JsonSchemaValidityCache {
-  private static final Key<CachedValue<Map<JsonSchemaObject, Boolean>>> JSON_SCHEMA_VALIDATION_MAP =
-    Key.create("JSON_SCHEMA_VALIDATION_MAP");
+/**
+ * Cache of the verdicts "the value is valid against the schema" used to pick {@code oneOf}/{@code anyOf} branches.
+ * <p>
+ * Verdicts are keyed by the content of the inspected value subtree rather than by the PSI element,
+ * so an edit re-evaluates only the branches whose instance subtree has actually changed,
+ * while the verdicts for untouched values, or for identical values anywhere in the project, are reused.
+ * Besides the text, the key holds the kind of the value adapter and of its element, so that the same text validated
+ * in a different role, e.g. as a property name, does not share the verdict.
+ * The content fingerprint of a value is cached on its PSI element until the next PSI modification,
+ * the one of a {@link JsonTreeElement tree value} as long as the tree, without touching the PSI infrastructure.
+ * Values longer than {@link #MAX_FINGERPRINTED_LENGTH} are validated without the cache, hashing them would cost about as much.
+ * <p>
+ * The verdicts are stored on the root of the schema they were computed against, see {@link RootJsonSchemaObjectBackedByJackson},
+ * so they are dropped together with the parsed schema and never keep it alive.
+ * Since the validation may follow references into other schema files, the verdicts of a root are discarded once any schema has changed.
+ */
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+@Singleton
+public class JsonSchemaValidityCache implements Disposable {
+  private static final Key<CachedValue<ValueFingerprint>> VALUE_FINGERPRINT_KEY = Key.create("JsonSchemaValueFingerprint");
+  private static final Key<ValueFingerprint> TREE_VALUE_FINGERPRINT_KEY = Key.create("JsonSchemaTreeValueFingerprint");
+  private static final int MAX_CACHED_VERDICTS = 2_000;
+  private static final int MAX_FINGERPRINTED_LENGTH = 64 * 1024;
+
+  private final Project myProject;
+  // incremented on clear, the verdicts of every root stamped with an older generation are discarded
+  private final AtomicLong myGeneration = new AtomicLong();
+
+  @Inject
+  public JsonSchemaValidityCache(@Nonnull Project project) {
+    myProject = project;
+    LowMemoryWatcher.register(this::clear, this);
+  }
+
+  public static JsonSchemaValidityCache getInstance(@Nonnull Project project) {
+    return project.getInstance(JsonSchemaValidityCache.class);
+  }
 
   public static boolean getOrComputeAdapterValidityAgainstGivenSchema(JsonValueAdapter value, JsonSchemaObject schema) {
-    PsiElement delegatePsi = value.getDelegate();
-    Map<JsonSchemaObject, Boolean> cachedMap = CachedValuesManager.getManager(delegatePsi.getProject()).getCachedValue(
-      delegatePsi,
-      JSON_SCHEMA_VALIDATION_MAP,
-      () -> CachedValueProvider.Result.create(
-        new ConcurrentHashMap<>(),
-        delegatePsi.getManager().getModificationTracker().getModificationTracker(),
-        //delegatePsi.getManager().getModificationTracker().forLanguage(delegatePsi.getLanguage()),
-        JsonSchemaService.get(delegatePsi.getProject())
-      ),
-      false
-    );
+    return getInstance(value.getDelegate().getProject()).getOrComputeValidity(value, schema);
+  }
+
+  public boolean getOrComputeValidity(@Nonnull JsonValueAdapter value, @Nonnull JsonSchemaObject schema) {
+    Verdicts verdicts = schema.getRootSchemaObject() instanceof RootJsonSchemaObjectBackedByJackson root ? root.getValidityVerdicts() : null;
+    PsiElement delegate = value.getDelegate();
+    if (verdicts == null || delegate.getTextLength() > MAX_FINGERPRINTED_LENGTH) {
+      return computeValidity(value, schema);
+    }
 
-    Boolean cachedValue = cachedMap.get(schema);
+    ValidityKey key = new ValidityKey(getFingerprint(delegate), value, schema);
+    long generation = myGeneration.get();
+    long modificationCount = JsonSchemaService.get(myProject) instanceof ModificationTracker tracker ? tracker.getModificationCount() : -1;
+    Boolean cachedValue = verdicts.get(key, generation, modificationCount);
     if (cachedValue != null) {
       return cachedValue;
     }
 
+    boolean computedValue = computeValidity(value, schema);
+    verdicts.put(key, generation, modificationCount, computedValue);
+    return computedValue;
+  }
+
+  private static boolean computeValidity(@Nonnull JsonValueAdapter value, @Nonnull JsonSchemaObject schema) {
     JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(
       value.getDelegate().getProject(),
       new JsonComplianceCheckerOptions(false, false, false, JsonAnnotationsCollectionMode.FIND_FIRST)
     );
     checker.checkByScheme(value, schema);
-    boolean computedValue = checker.isCorrect();
+    return checker.isCorrect();
+  }
 
-    cachedMap.put(schema, computedValue);
-    return computedValue;
+  /**
+   * Discards all the cached verdicts, the roots drop theirs on the next access
+   */
+  public void clear() {
+    myGeneration.incrementAndGet();
+  }
+
+  @Override
+  public void dispose() {
+    clear();
+  }
+
+  @Nonnull
+  private static ValueFingerprint getFingerprint(@Nonnull PsiElement delegatePsi) {
+    if (delegatePsi instanceof JsonTreeElement) {
+      // the tree never changes, the fingerprint lives as long as the tree
+      ValueFingerprint fingerprint = delegatePsi.getUserData(TREE_VALUE_FINGERPRINT_KEY);
+      if (fingerprint == null) {
+        boolean json5 = ((JsonTreeElement)delegatePsi).getNode().getTree().isJson5();
+        fingerprint = ValueFingerprint.compute(delegatePsi.getText(), json5 ? "JsonTree5" : "JsonTree");
+        delegatePsi.putUserData(TREE_VALUE_FINGERPRINT_KEY, fingerprint);
+      }
+      return fingerprint;
+    }
+    return CachedValuesManager.getManager(delegatePsi.getProject()).getCachedValue(
+      delegatePsi,
+      VALUE_FINGERPRINT_KEY,
+      () -> CachedValueProvider.Result.create(
+        ValueFingerprint.compute(delegatePsi.getText(), delegatePsi.getLanguage().getID()),
+        delegatePsi.getManager().getModificationTracker().getModificationTracker()
+      ),
+      false
+    );
+  }
+
+  /**
+   * Content of a value subtree: the language (validation depends on the walker) and two independent hashes of the text.
+   * The text is used as is, since the validation depends on the literal representation, e.g. {@code 1} is an integer and {@code 1.0} is not.
+   */
+  private static final class ValueFingerprint {
+    private final String myLanguageId;
+    private final int myLength;
+    private final int myTextHash;
+    private final long myLongHash;
+
+    private ValueFingerprint(@Nonnull String languageId, int length, int textHash, long longHash) {
+      myLanguageId = languageId;
+      myLength = length;
+      myTextHash = textHash;
+      myLongHash = longHash;
+    }
+
+    @Nonnull
+    static ValueFingerprint compute(@Nonnull String text, @Nonnull String languageId) {
+      // 64-bit FNV-1a
+      long longHash = 0xcbf29ce484222325L;
+      for (int i = 0; i < text.length(); i++) {
+        longHash ^= text.charAt(i);
+        longHash *= 0x100000001b3L;
+      }
+      return new ValueFingerprint(languageId, text.length(), text.hashCode(), longHash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof ValueFingerprint)) return false;
+      ValueFingerprint that = (ValueFingerprint)o;
+      return myLength == that.myLength &&
+             myTextHash == that.myTextHash &&
+             myLongHash == that.myLongHash &&
+             myLanguageId.equals(that.myLanguageId);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * myTextHash + Long.hashCode(myLongHash);
+    }
+  }
+
+  /**
+   * The value together with its role: the same text may be validated as a value or as a property name,
+   * or be a different kind of element depending on its surroundings, e.g. a YAML key or scalar.
+   * Schema nodes are compared by identity, merged views are interned per root, see {@link MergedSchemaViewsCache}.
+   */
+  private static final class ValidityKey {
+    private final ValueFingerprint myValue;
+    private final Class<?> myAdapterClass;
+    private final Class<?> myElementClass;
+    private final boolean myCheckedAsValue;
+    private final JsonSchemaObject mySchema;
+
+    private ValidityKey(@Nonnull ValueFingerprint fingerprint, @Nonnull JsonValueAdapter value, @Nonnull JsonSchemaObject schema) {
+      myValue = fingerprint;
+      myAdapterClass = value.getClass();
+      myElementClass = value.getDelegate().getClass();
+      myCheckedAsValue = value.shouldCheckAsValue();
+      mySchema = schema;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof ValidityKey)) return false;
+      ValidityKey that = (ValidityKey)o;
+      return mySchema == that.mySchema &&
+             myCheckedAsValue == that.myCheckedAsValue &&
+             myAdapterClass == that.myAdapterClass &&
+             myElementClass == that.myElementClass &&
+             myValue.equals(that.myValue);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * myValue.hashCode() + System.identityHashCode(mySchema);
+    }
+  }
+
+  /**
+   * Verdicts computed against the schema nodes of a single root, the least recently used ones are evicted first.
+   */
+  static final class Verdicts {
+    // access order is used for LRU eviction
+    private final Map<ValidityKey, Boolean> myVerdicts = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<ValidityKey, Boolean> eldest) {
+        return size() > MAX_CACHED_VERDICTS;
+      }
+    };
+    private long myGeneration;
+    private long myModificationCount;
+
+    @Nullable
+    private synchronized Boolean get(@Nonnull ValidityKey key, long generation, long modificationCount) {
+      if (generation != myGeneration || modificationCount != myModificationCount) return null;
+      return myVerdicts.get(key);
+    }
+
+    private synchronized void put(@Nonnull ValidityKey key, long generation, long modificationCount, boolean verdict) {
+      if (generation != myGeneration || modificationCount != myModificationCount) {
+        myVerdicts.clear();
+        myGeneration = generation;
+        myModificationCount = modificationCount;
+      }
+      myVerdicts.put(key, verdict);
+    }
   }
 }
@@ -6,6 +6,7 @@ import com.intellij.json.pointer.JsonPointerPosition;
 import com.jetbrains.jsonSchema.JsonSchemaObject;
 import com.jetbrains.jsonSchema.JsonSchemaService;
 import com.jetbrains.jsonSchema.JsonSchemaType;
+import consulo.component.util.ModificationTracker;
 import consulo.project.Project;
 import consulo.util.lang.Pair;
 import consulo.util.lang.ThreeState;
@@ -103,12 +104,29 @@ public final class JsonSchemaVariantsTreeBuilder {
     private static @Nonnull Operation getOperation(@Nonnull JsonSchemaService service,
                                                    @Nonnull JsonSchemaObject param,
                                                    @Nullable JsonSchemaNodeExpansionRequest expansionRequest) {
+        ExpandedSchemaVariantsCache cache = getExpandedVariantsCache(param);
+        long modificationCount = service instanceof ModificationTracker tracker ? tracker.getModificationCount() : -1;
+        boolean strict = ExpandedSchemaVariantsCache.isStrict(expansionRequest);
+        if (cache != null && modificationCount >= 0) {
+            Operation cached = cache.get(param, strict, modificationCount);
+            if (cached != null) return cached;
+        }
+
         final Operation expand = new ProcessDefinitionsOperation(param, service, expansionRequest);
         expand.doMap(new HashSet<>());
         expand.doReduce();
+        // if/then/else branches chosen against the instance make the result specific to the request
+        if (cache != null && modificationCount >= 0 && !expand.dependsOnInspectedValue()) {
+            cache.put(param, strict, modificationCount, expand);
+        }
         return expand;
     }
 
+    private static @Nullable ExpandedSchemaVariantsCache getExpandedVariantsCache(@Nonnull JsonSchemaObject schema) {
+        // the legacy schema objects are mutated by the reduction, see Operation.clearVariants
+        return schema.getRootSchemaObject() instanceof RootJsonSchemaObjectBackedByJackson root ? root.getExpandedVariantsCache() : null;
+    }
+
     public static @Nonnull Pair<ThreeState, JsonSchemaObject> doSingleStep(@Nonnull JsonPointerPosition step,
                                                                            @Nonnull JsonSchemaObject parent) {
         final String name = step.getFirstName();
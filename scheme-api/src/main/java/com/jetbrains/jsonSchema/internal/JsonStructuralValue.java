@@ -0,0 +1,248 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.jetbrains.jsonSchema.extension.adapter.JsonArrayValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonObjectValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonPropertyAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTreeElement;
+import com.jetbrains.jsonSchema.walker.JsonLikePsiWalker;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
+import consulo.language.psi.PsiElement;
+import consulo.util.dataholder.Key;
+import consulo.util.lang.StringUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Canonical form of a JSON value used for the structural equality required by {@code uniqueItems}, {@code enum} and {@code const}:
+ * formatting and the order of object properties are ignored, numbers are compared by their mathematical value
+ * and strings by their unquoted content.
+ * Numbers remember their source text, the {@link #relax relaxed} comparison uses it the way the text of the document is compared.
+ * <p>
+ * Values are immutable and cache their hash code, the canonical form of a PSI value is cached on the PSI element
+ * until the next PSI modification, the one of a {@link JsonTreeElement tree value} as long as the tree.
+ */
+public final class JsonStructuralValue {
+  private static final Key<CachedValue<JsonStructuralValue>> STRUCTURAL_VALUE_KEY = Key.create("JsonSchemaStructuralValue");
+  private static final Key<JsonStructuralValue> TREE_STRUCTURAL_VALUE_KEY = Key.create("JsonSchemaTreeStructuralValue");
+
+  private static final byte NULL = 0;
+  private static final byte BOOLEAN = 1;
+  private static final byte NUMBER = 2;
+  private static final byte STRING = 3;
+  private static final byte ARRAY = 4;
+  private static final byte OBJECT = 5;
+  // values of unknown types are compared by their text
+  private static final byte OTHER = 6;
+
+  private final byte myKind;
+  private final Object myPayload;
+  // source text of a number, not a part of the identity
+  private final @Nullable String myText;
+  private final int myHash;
+
+  private JsonStructuralValue(byte kind, @Nonnull Object payload) {
+    this(kind, payload, null);
+  }
+
+  private JsonStructuralValue(byte kind, @Nonnull Object payload, @Nullable String text) {
+    myKind = kind;
+    myPayload = payload;
+    myText = text;
+    myHash = 31 * kind + payload.hashCode();
+  }
+
+  @Nonnull
+  public static JsonStructuralValue of(@Nonnull JsonValueAdapter adapter, @Nonnull JsonLikePsiWalker walker) {
+    PsiElement delegate = adapter.getDelegate();
+    if (delegate instanceof JsonTreeElement) {
+      // the tree never changes, the value lives as long as the tree
+      JsonStructuralValue value = delegate.getUserData(TREE_STRUCTURAL_VALUE_KEY);
+      if (value == null) {
+        value = compute(adapter, walker);
+        delegate.putUserData(TREE_STRUCTURAL_VALUE_KEY, value);
+      }
+      return value;
+    }
+    return CachedValuesManager.getManager(delegate.getProject()).getCachedValue(
+      delegate,
+      STRUCTURAL_VALUE_KEY,
+      () -> CachedValueProvider.Result.create(compute(adapter, walker), delegate.getManager().getModificationTracker()),
+      false
+    );
+  }
+
+  @Nonnull
+  public static JsonStructuralValue ofString(@Nonnull String unquotedValue) {
+    return new JsonStructuralValue(STRING, unquotedValue);
+  }
+
+  @Nonnull
+  public static JsonStructuralValue ofNumber(@Nonnull BigDecimal value) {
+    return new JsonStructuralValue(NUMBER, normalize(value));
+  }
+
+  /**
+   * @param text the number as it is written in the source, e.g. {@code 1.0}
+   */
+  @Nonnull
+  public static JsonStructuralValue ofNumber(@Nonnull BigDecimal value, @Nonnull String text) {
+    return new JsonStructuralValue(NUMBER, normalize(value), text);
+  }
+
+  @Nonnull
+  public static JsonStructuralValue ofBoolean(boolean value) {
+    return new JsonStructuralValue(BOOLEAN, value);
+  }
+
+  @Nonnull
+  public static JsonStructuralValue ofNull() {
+    return new JsonStructuralValue(NULL, "null");
+  }
+
+  /**
+   * Converts a value read from the schema, e.g. an {@code enum} item, see {@link JacksonSchemaNodeAccessor}:
+   * strings are kept double-quoted, objects and arrays are wrapped into {@link EnumObjectValueWrapper} and {@link EnumArrayValueWrapper}.
+   */
+  @Nonnull
+  public static JsonStructuralValue ofSchemaValue(@Nonnull Object value) {
+    if (value instanceof EnumArrayValueWrapper) {
+      Object[] values = ((EnumArrayValueWrapper)value).getValues();
+      List<JsonStructuralValue> items = new ArrayList<>(values.length);
+      for (Object item : values) {
+        items.add(ofSchemaValue(item));
+      }
+      return new JsonStructuralValue(ARRAY, items);
+    }
+    if (value instanceof EnumObjectValueWrapper) {
+      Map<String, JsonStructuralValue> properties = new HashMap<>();
+      for (Map.Entry<String, Object> entry : ((EnumObjectValueWrapper)value).getValues().entrySet()) {
+        properties.put(entry.getKey(), ofSchemaValue(entry.getValue()));
+      }
+      return new JsonStructuralValue(OBJECT, properties);
+    }
+    if (value instanceof Boolean) return ofBoolean((Boolean)value);
+    if (value instanceof Number) {
+      try {
+        return ofNumber(new BigDecimal(value.toString()), value.toString());
+      }
+      catch (NumberFormatException e) {
+        return new JsonStructuralValue(OTHER, value.toString());
+      }
+    }
+
+    String text = value.toString();
+    if (StringUtil.isQuotedString(text)) return ofString(StringUtil.unquoteString(text));
+    if ("null".equals(text)) return ofNull();
+    return ofString(text);
+  }
+
+  /**
+   * Relaxes the value for the comparison with values of languages where scalars do not need to be quoted, like YAML,
+   * and for the case-insensitive comparison. Object property names are never relaxed.
+   *
+   * @param ignoreCase    compare strings case-insensitively
+   * @param scalarsAsText compare scalars of any type by their unquoted text, e.g. {@code 1} is equal to {@code "1"},
+   *                      numbers use their source text, so {@code 1.0} is equal to {@code "1.0"} but not to {@code "1"}
+   */
+  @Nonnull
+  public JsonStructuralValue relax(boolean ignoreCase, boolean scalarsAsText) {
+    if (!ignoreCase && !scalarsAsText) return this;
+    switch (myKind) {
+      case ARRAY: {
+        @SuppressWarnings("unchecked") List<JsonStructuralValue> items = (List<JsonStructuralValue>)myPayload;
+        List<JsonStructuralValue> relaxed = new ArrayList<>(items.size());
+        for (JsonStructuralValue item : items) {
+          relaxed.add(item.relax(ignoreCase, scalarsAsText));
+        }
+        return new JsonStructuralValue(ARRAY, relaxed);
+      }
+      case OBJECT: {
+        @SuppressWarnings("unchecked") Map<String, JsonStructuralValue> properties = (Map<String, JsonStructuralValue>)myPayload;
+        Map<String, JsonStructuralValue> relaxed = new HashMap<>();
+        for (Map.Entry<String, JsonStructuralValue> entry : properties.entrySet()) {
+          relaxed.put(entry.getKey(), entry.getValue().relax(ignoreCase, scalarsAsText));
+        }
+        return new JsonStructuralValue(OBJECT, relaxed);
+      }
+      case STRING:
+        return ignoreCase ? new JsonStructuralValue(STRING, ((String)myPayload).toLowerCase(Locale.ROOT)) : this;
+      case OTHER:
+        return this;
+      default: {
+        if (!scalarsAsText) return this;
+        String text = myText != null ? myText :
+                      myPayload instanceof BigDecimal ? ((BigDecimal)myPayload).toPlainString() : myPayload.toString();
+        return new JsonStructuralValue(STRING, ignoreCase ? text.toLowerCase(Locale.ROOT) : text);
+      }
+    }
+  }
+
+  @Nonnull
+  private static JsonStructuralValue compute(@Nonnull JsonValueAdapter adapter, @Nonnull JsonLikePsiWalker walker) {
+    JsonArrayValueAdapter array = adapter.getAsArray();
+    if (array != null) {
+      List<JsonValueAdapter> elements = array.getElements();
+      List<JsonStructuralValue> items = new ArrayList<>(elements.size());
+      for (JsonValueAdapter element : elements) {
+        items.add(compute(element, walker));
+      }
+      return new JsonStructuralValue(ARRAY, items);
+    }
+
+    JsonObjectValueAdapter object = adapter.getAsObject();
+    if (object != null) {
+      Map<String, JsonStructuralValue> properties = new HashMap<>();
+      for (JsonPropertyAdapter property : object.getPropertyList()) {
+        Collection<JsonValueAdapter> values = property.getValues();
+        JsonStructuralValue value = values.size() == 1 ? compute(values.iterator().next(), walker) : ofNull();
+        properties.put(property.getNameOrEmpty(), value);
+      }
+      return new JsonStructuralValue(OBJECT, properties);
+    }
+
+    String text = StringUtil.notNullize(walker.getNodeTextForValidation(adapter.getDelegate()));
+    if (adapter.isNull()) return ofNull();
+    if (adapter.isBooleanLiteral()) return ofBoolean(Boolean.parseBoolean(text.trim()));
+    if (adapter.isStringLiteral()) return ofString(StringUtil.unquoteString(text));
+    if (adapter.isNumberLiteral()) {
+      try {
+        return ofNumber(new BigDecimal(text.trim()), text.trim());
+      }
+      catch (NumberFormatException e) {
+        return new JsonStructuralValue(OTHER, text);
+      }
+    }
+    return new JsonStructuralValue(OTHER, text);
+  }
+
+  @Nonnull
+  private static BigDecimal normalize(@Nonnull BigDecimal value) {
+    // 1, 1.0 and 1e0 are the same number
+    return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof JsonStructuralValue)) return false;
+    JsonStructuralValue value = (JsonStructuralValue)o;
+    return myHash == value.myHash && myKind == value.myKind && myPayload.equals(value.myPayload);
+  }
+
+  @Override
+  public int hashCode() {
+    return myHash;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(myPayload);
+  }
+}
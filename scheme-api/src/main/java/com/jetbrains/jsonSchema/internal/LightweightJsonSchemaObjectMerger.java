@@ -25,6 +25,10 @@ public class LightweightJsonSchemaObjectMerger implements JsonSchemaObjectMerger
     if (base == other) {
       return base;
     }
+    // the merged view answers with the root of its base
+    if (base.getRootSchemaObject() instanceof RootJsonSchemaObjectBackedByJackson root) {
+      return root.getMergedViewsCache().intern(base, other, pointTo);
+    }
     return new MergedJsonSchemaObjectView(base, other, pointTo);
   }
 
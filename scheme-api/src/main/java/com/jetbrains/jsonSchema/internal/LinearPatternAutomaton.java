@@ -0,0 +1,764 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import consulo.application.progress.ProgressManager;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Automaton based matcher for the regular expression subset used by JSON schema patterns.
+ * <p>
+ * The pattern is compiled to a Thompson NFA and matched by simulating all NFA states at once, so the matching time is
+ * linear in the length of the input whatever the pattern is. Sets of NFA states reached on ASCII input are memoized as
+ * states of a lazily built DFA, which makes the common case a single array lookup per character.
+ * <p>
+ * The semantics follow {@link java.util.regex.Pattern#matcher(CharSequence) java.util.regex} full matching without flags,
+ * since the automaton replaces it for already adapted schema patterns. Constructs which can't be expressed by an automaton
+ * (backreferences, lookaround, word boundaries) or whose semantics differ between dialects are not supported:
+ * {@link #tryCompile(String)} returns null for them and the caller is expected to use {@code java.util.regex} instead.
+ */
+final class LinearPatternAutomaton {
+  private static final int MAX_NFA_STATES = 10_000;
+  private static final int MAX_DFA_STATES = 2_000;
+  private static final int DFA_ALPHABET_SIZE = 128;
+  private static final int CANCELLATION_CHECK_INTERVAL = 8192;
+
+  private static final byte RANGES = 0;
+  private static final byte SPLIT = 1;
+  private static final byte EPSILON = 2;
+  private static final byte LINE_START = 3;
+  private static final byte LINE_END = 4;
+  private static final byte MATCH = 5;
+
+  private static final int AT_START = 1;
+  private static final int AT_END = 2;
+
+  private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+  private static final int[] DIGITS = {'0', '9'};
+  private static final int[] WORD_CHARS = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+  private static final int[] SPACES = {'\t', '\r', ' ', ' '};
+  private static final int[] ANY_BUT_LINE_TERMINATORS = complement(normalize(new int[]{
+    '\n', '\n', '\r', '\r', '\u0085', '\u0085', '\u2028', '\u2029'
+  }));
+
+  private final byte[] myKinds;
+  private final int[] myOut1;
+  private final int[] myOut2;
+  private final int[][] myRanges;
+  private final int myStart;
+  private final ConcurrentMap<StateSetKey, DfaState> myDfaStates = new ConcurrentHashMap<>();
+
+  private LinearPatternAutomaton(@Nonnull NfaBuilder builder, int start) {
+    myKinds = Arrays.copyOf(builder.kinds, builder.size);
+    myOut1 = Arrays.copyOf(builder.out1, builder.size);
+    myOut2 = Arrays.copyOf(builder.out2, builder.size);
+    myRanges = builder.ranges.toArray(new int[0][]);
+    myStart = start;
+  }
+
+  /**
+   * @param pattern a pattern already adapted for {@code java.util.regex} full matching
+   * @return the automaton or null if the pattern uses constructs the automaton can't handle
+   */
+  @Nullable
+  static LinearPatternAutomaton tryCompile(@Nonnull String pattern) {
+    return tryCompileUnion(Collections.singletonList(pattern));
+  }
+
+  /**
+   * Compiles the patterns into a single automaton whose match states are tagged by the pattern index,
+   * see {@link #matchAll(CharSequence)}
+   *
+   * @param patterns patterns already adapted for {@code java.util.regex} full matching
+   * @return the automaton or null if any of the patterns uses constructs the automaton can't handle
+   */
+  @Nullable
+  static LinearPatternAutomaton tryCompileUnion(@Nonnull List<String> patterns) {
+    if (patterns.isEmpty()) return null;
+
+    NfaBuilder builder = new NfaBuilder();
+    int start = -1;
+    for (int i = patterns.size() - 1; i >= 0; i--) {
+      Node root = new Parser(patterns.get(i)).parse();
+      if (root == null) return null;
+      int patternStart = builder.compile(root, builder.add(MATCH, i, -1, null));
+      if (patternStart < 0) return null;
+      start = start < 0 ? patternStart : builder.add(SPLIT, patternStart, start, null);
+      if (start < 0) return null;
+    }
+    return new LinearPatternAutomaton(builder, start);
+  }
+
+  boolean matches(@Nonnull CharSequence text) {
+    int[] finalStates = run(text);
+    for (int state : finalStates) {
+      if (myKinds[state] == MATCH) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Matches all patterns of a {@link #tryCompileUnion(List) union automaton} in a single pass over the text
+   *
+   * @return indices of the matched patterns in ascending order
+   */
+  @Nonnull
+  int[] matchAll(@Nonnull CharSequence text) {
+    int[] finalStates = run(text);
+    int[] matched = new int[finalStates.length];
+    int count = 0;
+    for (int state : finalStates) {
+      if (myKinds[state] == MATCH) matched[count++] = myOut1[state];
+    }
+    int[] result = Arrays.copyOf(matched, count);
+    Arrays.sort(result);
+    return result;
+  }
+
+  @Nonnull
+  private int[] run(@Nonnull CharSequence text) {
+    Simulation simulation = new Simulation();
+    int length = text.length();
+    int[] current = simulation.closure(new int[]{myStart}, 1, getPositionFlags(text, 0, length));
+    DfaState dfaState = null;
+
+    int position = 0;
+    int steps = 0;
+    while (position < length) {
+      if (current.length == 0) return current;
+      if (++steps % CANCELLATION_CHECK_INTERVAL == 0) ProgressManager.checkCanceled();
+
+      int codePoint = Character.codePointAt(text, position);
+      int nextPosition = position + Character.charCount(codePoint);
+      int nextFlags = getPositionFlags(text, nextPosition, length);
+
+      if (nextFlags == 0 && codePoint < DFA_ALPHABET_SIZE) {
+        if (dfaState == null) dfaState = internDfaState(current);
+        if (dfaState != null) {
+          DfaState target = dfaState.transitions[codePoint];
+          if (target == null) {
+            target = internDfaState(simulation.step(dfaState.states, codePoint, 0));
+            if (target != null) dfaState.transitions[codePoint] = target;
+          }
+          if (target != null) {
+            dfaState = target;
+            current = target.states;
+            position = nextPosition;
+            continue;
+          }
+        }
+      }
+
+      current = simulation.step(current, codePoint, nextFlags);
+      dfaState = null;
+      position = nextPosition;
+    }
+    return current;
+  }
+
+  @Nullable
+  private DfaState internDfaState(@Nonnull int[] states) {
+    StateSetKey key = new StateSetKey(states);
+    DfaState existing = myDfaStates.get(key);
+    if (existing != null) return existing;
+    // the automaton is still correct without the cache, it just falls back to the plain NFA simulation
+    if (myDfaStates.size() >= MAX_DFA_STATES) return null;
+    DfaState created = new DfaState(states);
+    existing = myDfaStates.putIfAbsent(key, created);
+    return existing != null ? existing : created;
+  }
+
+  /**
+   * Zero-width assertions which hold at the given position, {@code $} also holds before a final line terminator
+   */
+  private static int getPositionFlags(@Nonnull CharSequence text, int position, int length) {
+    int flags = position == 0 ? AT_START : 0;
+    if (position == length
+        || position == length - 1 && isLineTerminator(text.charAt(position))
+        || position == length - 2 && text.charAt(position) == '\r' && text.charAt(position + 1) == '\n') {
+      flags |= AT_END;
+    }
+    return flags;
+  }
+
+  private static boolean isLineTerminator(char ch) {
+    return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+  }
+
+  private static boolean containsCodePoint(@Nonnull int[] ranges, int codePoint) {
+    int low = 0;
+    int high = ranges.length / 2 - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (codePoint < ranges[2 * middle]) {
+        high = middle - 1;
+      }
+      else if (codePoint > ranges[2 * middle + 1]) {
+        low = middle + 1;
+      }
+      else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private final class Simulation {
+    private final int[] myMarks = new int[myKinds.length];
+    private int myGeneration;
+    private int[] myStack = new int[16];
+
+    @Nonnull
+    int[] step(@Nonnull int[] states, int codePoint, int flags) {
+      int[] targets = new int[states.length];
+      int count = 0;
+      for (int state : states) {
+        if (myKinds[state] == RANGES && containsCodePoint(myRanges[state], codePoint)) {
+          targets[count++] = myOut1[state];
+        }
+      }
+      return closure(targets, count, flags);
+    }
+
+    /**
+     * Follows the epsilon transitions from the given states, the result contains consuming and match states only
+     */
+    @Nonnull
+    int[] closure(@Nonnull int[] seeds, int seedCount, int flags) {
+      int generation = ++myGeneration;
+      int[] result = new int[Math.max(4, seedCount)];
+      int resultSize = 0;
+      int stackSize = 0;
+      for (int i = seedCount - 1; i >= 0; i--) {
+        stackSize = push(stackSize, seeds[i]);
+      }
+
+      while (stackSize > 0) {
+        int state = myStack[--stackSize];
+        if (myMarks[state] == generation) continue;
+        myMarks[state] = generation;
+
+        switch (myKinds[state]) {
+          case RANGES:
+          case MATCH:
+            if (resultSize == result.length) result = Arrays.copyOf(result, resultSize * 2);
+            result[resultSize++] = state;
+            break;
+          case SPLIT:
+            stackSize = push(stackSize, myOut2[state]);
+            stackSize = push(stackSize, myOut1[state]);
+            break;
+          case EPSILON:
+            stackSize = push(stackSize, myOut1[state]);
+            break;
+          case LINE_START:
+            if ((flags & AT_START) != 0) stackSize = push(stackSize, myOut1[state]);
+            break;
+          case LINE_END:
+            if ((flags & AT_END) != 0) stackSize = push(stackSize, myOut1[state]);
+            break;
+        }
+      }
+
+      int[] states = Arrays.copyOf(result, resultSize);
+      // canonical order lets equal state sets share a single DFA state
+      Arrays.sort(states);
+      return states;
+    }
+
+    private int push(int stackSize, int state) {
+      if (stackSize == myStack.length) myStack = Arrays.copyOf(myStack, stackSize * 2);
+      myStack[stackSize] = state;
+      return stackSize + 1;
+    }
+  }
+
+  private static final class DfaState {
+    private final int[] states;
+    private final DfaState[] transitions = new DfaState[DFA_ALPHABET_SIZE];
+
+    private DfaState(@Nonnull int[] states) {
+      this.states = states;
+    }
+  }
+
+  private static final class StateSetKey {
+    private final int[] states;
+    private final int hash;
+
+    private StateSetKey(@Nonnull int[] states) {
+      this.states = states;
+      this.hash = Arrays.hashCode(states);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof StateSetKey && Arrays.equals(states, ((StateSetKey)o).states);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static final class NfaBuilder {
+    private byte[] kinds = new byte[64];
+    private int[] out1 = new int[64];
+    private int[] out2 = new int[64];
+    private final List<int[]> ranges = new ArrayList<>();
+    private int size;
+
+    int add(byte kind, int first, int second, @Nullable int[] codePointRanges) {
+      if (size == MAX_NFA_STATES) return -1;
+      if (size == kinds.length) {
+        kinds = Arrays.copyOf(kinds, size * 2);
+        out1 = Arrays.copyOf(out1, size * 2);
+        out2 = Arrays.copyOf(out2, size * 2);
+      }
+      kinds[size] = kind;
+      out1[size] = first;
+      out2[size] = second;
+      ranges.add(codePointRanges);
+      return size++;
+    }
+
+    /**
+     * Compiles the node so that it continues to the given state, the construction goes backwards from the match state
+     *
+     * @return the entry state of the node or -1 if the automaton grows too large
+     */
+    int compile(@Nonnull Node node, int next) {
+      if (next < 0) return -1;
+      if (node instanceof CharsNode) {
+        return add(RANGES, next, -1, ((CharsNode)node).ranges);
+      }
+      if (node instanceof AssertionNode) {
+        return add(((AssertionNode)node).lineStart ? LINE_START : LINE_END, next, -1, null);
+      }
+      if (node instanceof ConcatNode) {
+        List<Node> items = ((ConcatNode)node).items;
+        int current = next;
+        for (int i = items.size() - 1; i >= 0 && current >= 0; i--) {
+          current = compile(items.get(i), current);
+        }
+        return current;
+      }
+      if (node instanceof AlternationNode) {
+        List<Node> alternatives = ((AlternationNode)node).alternatives;
+        int current = compile(alternatives.get(alternatives.size() - 1), next);
+        for (int i = alternatives.size() - 2; i >= 0 && current >= 0; i--) {
+          int alternative = compile(alternatives.get(i), next);
+          current = alternative < 0 ? -1 : add(SPLIT, alternative, current, null);
+        }
+        return current;
+      }
+      if (node instanceof RepeatNode) {
+        RepeatNode repeat = (RepeatNode)node;
+        int current = next;
+        if (repeat.max < 0) {
+          current = compileStar(repeat.body, next);
+        }
+        else {
+          for (int i = repeat.min; i < repeat.max && current >= 0; i++) {
+            int body = compile(repeat.body, current);
+            current = body < 0 ? -1 : add(SPLIT, body, next, null);
+          }
+        }
+        for (int i = 0; i < repeat.min && current >= 0; i++) {
+          current = compile(repeat.body, current);
+        }
+        return current;
+      }
+      return add(EPSILON, next, -1, null);
+    }
+
+    private int compileStar(@Nonnull Node body, int next) {
+      int loop = add(SPLIT, -1, next, null);
+      if (loop < 0) return -1;
+      int bodyStart = compile(body, loop);
+      if (bodyStart < 0) return -1;
+      out1[loop] = bodyStart;
+      return loop;
+    }
+  }
+
+  private interface Node {
+  }
+
+  private static final class CharsNode implements Node {
+    private final int[] ranges;
+
+    private CharsNode(@Nonnull int[] ranges) {
+      this.ranges = ranges;
+    }
+  }
+
+  private static final class AssertionNode implements Node {
+    private final boolean lineStart;
+
+    private AssertionNode(boolean lineStart) {
+      this.lineStart = lineStart;
+    }
+  }
+
+  private static final class ConcatNode implements Node {
+    private final List<Node> items;
+
+    private ConcatNode(@Nonnull List<Node> items) {
+      this.items = items;
+    }
+  }
+
+  private static final class AlternationNode implements Node {
+    private final List<Node> alternatives;
+
+    private AlternationNode(@Nonnull List<Node> alternatives) {
+      this.alternatives = alternatives;
+    }
+  }
+
+  private static final class RepeatNode implements Node {
+    private final Node body;
+    private final int min;
+    private final int max;
+
+    private RepeatNode(@Nonnull Node body, int min, int max) {
+      this.body = body;
+      this.min = min;
+      this.max = max;
+    }
+  }
+
+  private static final class UnsupportedPatternException extends Exception {
+    private UnsupportedPatternException() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * Recursive descent parser of the supported subset, everything else is reported as unsupported rather than as an error:
+   * the pattern has already been accepted by {@code java.util.regex}
+   */
+  private static final class Parser {
+    private static final int MAX_REPETITION = 1000;
+
+    private final String myPattern;
+    private int myPosition;
+
+    private Parser(@Nonnull String pattern) {
+      myPattern = pattern;
+    }
+
+    @Nullable
+    Node parse() {
+      try {
+        Node result = parseAlternation();
+        return myPosition == myPattern.length() ? result : null;
+      }
+      catch (UnsupportedPatternException e) {
+        return null;
+      }
+    }
+
+    @Nonnull
+    private Node parseAlternation() throws UnsupportedPatternException {
+      List<Node> alternatives = new ArrayList<>();
+      alternatives.add(parseConcatenation());
+      while (!atEnd() && peek() == '|') {
+        myPosition++;
+        alternatives.add(parseConcatenation());
+      }
+      return alternatives.size() == 1 ? alternatives.get(0) : new AlternationNode(alternatives);
+    }
+
+    @Nonnull
+    private Node parseConcatenation() throws UnsupportedPatternException {
+      List<Node> items = new ArrayList<>();
+      while (!atEnd() && peek() != '|' && peek() != ')') {
+        items.add(parseRepetition());
+      }
+      return items.size() == 1 ? items.get(0) : new ConcatNode(items);
+    }
+
+    @Nonnull
+    private Node parseRepetition() throws UnsupportedPatternException {
+      Node atom = parseAtom();
+      if (atEnd()) return atom;
+
+      int min;
+      int max;
+      switch (peek()) {
+        case '*':
+          min = 0;
+          max = -1;
+          myPosition++;
+          break;
+        case '+':
+          min = 1;
+          max = -1;
+          myPosition++;
+          break;
+        case '?':
+          min = 0;
+          max = 1;
+          myPosition++;
+          break;
+        case '{':
+          myPosition++;
+          min = parseNumber();
+          max = min;
+          if (!atEnd() && peek() == ',') {
+            myPosition++;
+            max = !atEnd() && peek() == '}' ? -1 : parseNumber();
+          }
+          expect('}');
+          if (max >= 0 && max < min) throw new UnsupportedPatternException();
+          break;
+        default:
+          return atom;
+      }
+
+      if (atom instanceof AssertionNode) throw new UnsupportedPatternException();
+      // lazy quantifiers accept the same set of strings, possessive ones don't
+      if (!atEnd() && peek() == '?') {
+        myPosition++;
+      }
+      if (!atEnd() && (peek() == '+' || peek() == '*' || peek() == '?' || peek() == '{')) {
+        throw new UnsupportedPatternException();
+      }
+      return new RepeatNode(atom, min, max);
+    }
+
+    @Nonnull
+    private Node parseAtom() throws UnsupportedPatternException {
+      int ch = nextCodePoint();
+      switch (ch) {
+        case '(':
+          return parseGroup();
+        case '[':
+          return new CharsNode(parseCharClass());
+        case '.':
+          return new CharsNode(ANY_BUT_LINE_TERMINATORS);
+        case '^':
+          return new AssertionNode(true);
+        case '$':
+          return new AssertionNode(false);
+        case '\\':
+          return new CharsNode(parseEscape(false));
+        case ')':
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+          throw new UnsupportedPatternException();
+        default:
+          return new CharsNode(new int[]{ch, ch});
+      }
+    }
+
+    @Nonnull
+    private Node parseGroup() throws UnsupportedPatternException {
+      if (!atEnd() && peek() == '?') {
+        myPosition++;
+        if (!atEnd() && peek() == ':') {
+          myPosition++;
+        }
+        else if (!atEnd() && peek() == '<' && myPosition + 1 < myPattern.length() && Character.isLetter(myPattern.charAt(myPosition + 1))) {
+          // named group, lookbehind starts with '<=' or '<!'
+          int nameEnd = myPattern.indexOf('>', myPosition);
+          if (nameEnd < 0) throw new UnsupportedPatternException();
+          myPosition = nameEnd + 1;
+        }
+        else {
+          // lookaround, atomic groups, inline flags
+          throw new UnsupportedPatternException();
+        }
+      }
+      Node body = parseAlternation();
+      expect(')');
+      return body;
+    }
+
+    @Nonnull
+    private int[] parseCharClass() throws UnsupportedPatternException {
+      boolean negated = false;
+      if (!atEnd() && peek() == '^') {
+        negated = true;
+        myPosition++;
+      }
+      // java.util.regex and ECMAScript disagree on a leading ']'
+      if (atEnd() || peek() == ']') throw new UnsupportedPatternException();
+
+      List<int[]> items = new ArrayList<>();
+      while (true) {
+        if (atEnd()) throw new UnsupportedPatternException();
+        int ch = nextCodePoint();
+        if (ch == ']') break;
+        // nested classes and intersections are java.util.regex extensions
+        if (ch == '[' || ch == '&' && !atEnd() && peek() == '&') throw new UnsupportedPatternException();
+
+        int[] item = ch == '\\' ? parseEscape(true) : new int[]{ch, ch};
+        boolean singleChar = item.length == 2 && item[0] == item[1];
+        if (!atEnd() && peek() == '-' && myPosition + 1 < myPattern.length() && myPattern.charAt(myPosition + 1) != ']') {
+          if (!singleChar) throw new UnsupportedPatternException();
+          myPosition++;
+          int upper = nextCodePoint();
+          if (upper == '[') throw new UnsupportedPatternException();
+          int[] upperItem = upper == '\\' ? parseEscape(true) : new int[]{upper, upper};
+          if (upperItem.length != 2 || upperItem[0] != upperItem[1] || upperItem[0] < item[0]) throw new UnsupportedPatternException();
+          item = new int[]{item[0], upperItem[0]};
+        }
+        items.add(item);
+      }
+
+      int totalLength = 0;
+      for (int[] item : items) totalLength += item.length;
+      int[] ranges = new int[totalLength];
+      int offset = 0;
+      for (int[] item : items) {
+        System.arraycopy(item, 0, ranges, offset, item.length);
+        offset += item.length;
+      }
+      ranges = normalize(ranges);
+      return negated ? complement(ranges) : ranges;
+    }
+
+    @Nonnull
+    private int[] parseEscape(boolean insideClass) throws UnsupportedPatternException {
+      if (atEnd()) throw new UnsupportedPatternException();
+      int ch = nextCodePoint();
+      switch (ch) {
+        case 'd':
+          return DIGITS;
+        case 'D':
+          return complement(DIGITS);
+        case 'w':
+          return WORD_CHARS;
+        case 'W':
+          return complement(WORD_CHARS);
+        case 's':
+          return SPACES;
+        case 'S':
+          return complement(SPACES);
+        case 't':
+          return single('\t');
+        case 'n':
+          return single('\n');
+        case 'r':
+          return single('\r');
+        case 'f':
+          return single('\f');
+        case 'a':
+          return single('\u0007');
+        case 'e':
+          return single('\u001B');
+        case 'x':
+          return single(parseHex(2));
+        case 'u':
+          return single(parseHex(4));
+        default:
+          // backreferences, octal escapes, boundaries, unicode properties, quotations and other dialect specific escapes
+          if (Character.isLetterOrDigit(ch)) throw new UnsupportedPatternException();
+          return single(ch);
+      }
+    }
+
+    private int parseHex(int digits) throws UnsupportedPatternException {
+      if (myPosition + digits > myPattern.length()) throw new UnsupportedPatternException();
+      int value = 0;
+      for (int i = 0; i < digits; i++) {
+        int digit = Character.digit(myPattern.charAt(myPosition++), 16);
+        if (digit < 0) throw new UnsupportedPatternException();
+        value = value * 16 + digit;
+      }
+      return value;
+    }
+
+    private int parseNumber() throws UnsupportedPatternException {
+      int start = myPosition;
+      int value = 0;
+      while (!atEnd() && peek() >= '0' && peek() <= '9') {
+        value = value * 10 + (myPattern.charAt(myPosition++) - '0');
+        if (value > MAX_REPETITION) throw new UnsupportedPatternException();
+      }
+      if (start == myPosition) throw new UnsupportedPatternException();
+      return value;
+    }
+
+    private void expect(char expected) throws UnsupportedPatternException {
+      if (atEnd() || peek() != expected) throw new UnsupportedPatternException();
+      myPosition++;
+    }
+
+    private int nextCodePoint() {
+      int codePoint = myPattern.codePointAt(myPosition);
+      myPosition += Character.charCount(codePoint);
+      return codePoint;
+    }
+
+    private char peek() {
+      return myPattern.charAt(myPosition);
+    }
+
+    private boolean atEnd() {
+      return myPosition >= myPattern.length();
+    }
+
+    @Nonnull
+    private static int[] single(int codePoint) {
+      return new int[]{codePoint, codePoint};
+    }
+  }
+
+  /**
+   * Sorts and merges the given pairs of inclusive code point bounds
+   */
+  @Nonnull
+  private static int[] normalize(@Nonnull int[] ranges) {
+    int count = ranges.length / 2;
+    long[] packed = new long[count];
+    for (int i = 0; i < count; i++) {
+      packed[i] = ((long)ranges[2 * i] << 32) | (ranges[2 * i + 1] & 0xFFFFFFFFL);
+    }
+    Arrays.sort(packed);
+
+    int[] result = new int[ranges.length];
+    int size = 0;
+    for (long range : packed) {
+      int low = (int)(range >>> 32);
+      int high = (int)range;
+      if (size > 0 && low <= result[size - 1] + 1) {
+        result[size - 1] = Math.max(result[size - 1], high);
+      }
+      else {
+        result[size++] = low;
+        result[size++] = high;
+      }
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  @Nonnull
+  private static int[] complement(@Nonnull int[] ranges) {
+    int[] result = new int[ranges.length + 2];
+    int size = 0;
+    int next = 0;
+    for (int i = 0; i < ranges.length; i += 2) {
+      if (ranges[i] > next) {
+        result[size++] = next;
+        result[size++] = ranges[i] - 1;
+      }
+      next = ranges[i + 1] + 1;
+    }
+    if (next <= MAX_CODE_POINT) {
+      result[size++] = next;
+      result[size++] = MAX_CODE_POINT;
+    }
+    return Arrays.copyOf(result, size);
+  }
+}
@@ -9,13 +9,28 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
 
 import static com.jetbrains.jsonSchema.internal.LightweightJsonSchemaObjectMerger.*;
 
 class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonSchemaObject {
+    // views nested deeper than this remember the values they have read from the chain
+    private static final int FLATTENING_DEPTH = 4;
+    private static final Object NULL_VALUE = new Object();
+    private static final int KEYWORDS_COUNT = Keyword.values().length;
+
     private final JsonSchemaObject base;
     private final JsonSchemaObject other;
     private final JsonSchemaObject pointTo;
+    private final int depth;
+    // the values read through the base/other chain by the keyword ordinal, null until the view is deep enough to be flattened
+    private final @Nullable AtomicReferenceArray<Object> keywordTable;
+    private final @Nullable ConcurrentMap<String, Object> propertyTable;
+    private volatile @Nullable JsonSchemaValidationPlan validationPlan;
+    private volatile @Nullable PropertyNameTypoIndex propertyNameTypoIndex;
 
     public MergedJsonSchemaObjectView(@Nonnull JsonSchemaObject base,
                                       @Nonnull JsonSchemaObject other,
@@ -23,6 +38,32 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
         this.base = base;
         this.other = other;
         this.pointTo = pointTo;
+        this.depth = 1 + Math.max(getDepth(base), getDepth(other));
+        boolean flatten = depth > FLATTENING_DEPTH;
+        this.keywordTable = flatten ? new AtomicReferenceArray<>(KEYWORDS_COUNT) : null;
+        this.propertyTable = flatten ? new ConcurrentHashMap<>() : null;
+    }
+
+    private static int getDepth(@Nonnull JsonSchemaObject schema) {
+        return schema instanceof MergedJsonSchemaObjectView ? ((MergedJsonSchemaObjectView) schema).depth : 0;
+    }
+
+    /**
+     * Reads a keyword through the base/other chain, once per keyword for the views deeper than {@link #FLATTENING_DEPTH},
+     * so that the reads on deep allOf/$ref hierarchies do not cost the depth of the chain every time.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T flattened(@Nonnull Keyword keyword) {
+        AtomicReferenceArray<Object> table = keywordTable;
+        if (table == null) return (T) keyword.computation.apply(this);
+        Object value = table.get(keyword.ordinal());
+        if (value == null) {
+            // computed outside of any lock: the computation may read other keywords of the same view
+            Object computed = keyword.computation.apply(this);
+            table.compareAndSet(keyword.ordinal(), null, computed == null ? NULL_VALUE : computed);
+            return (T) computed;
+        }
+        return value == NULL_VALUE ? null : (T) value;
     }
 
     @Override
@@ -102,6 +143,15 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
             return Collections.emptyList();
         }
 
+        if (value != null) {
+            // the views are interned per root, so the plan is reused between validation passes
+            JsonSchemaValidationPlan plan = validationPlan;
+            if (plan == null || plan.getStrategy() != strategy) {
+                plan = new JsonSchemaValidationPlan(this, strategy);
+                validationPlan = plan;
+            }
+            return plan.getValidations(type, value);
+        }
         Iterable<JsonSchemaValidation> validations = strategy.getValidations(this, type, value);
         return validations != null ? validations : Collections.emptyList();
     }
@@ -115,7 +165,7 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
     @Override
     @Nullable
     public Boolean getConstantSchema() {
-        return booleanAndNullable(base, other, JsonSchemaObject::getConstantSchema);
+        return flattened(Keyword.CONSTANT_SCHEMA);
     }
 
     @Override
@@ -169,9 +219,35 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
         return names.iterator();
     }
 
+    @Override
+    @Nonnull
+    public PropertyNameTypoIndex getPropertyNameTypoIndex() {
+        // the views are interned per root, so the index is built once per merged schema
+        PropertyNameTypoIndex index = propertyNameTypoIndex;
+        if (index == null) {
+            index = new PropertyNameTypoIndex(getPropertyNames());
+            propertyNameTypoIndex = index;
+        }
+        return index;
+    }
+
     @Override
     @Nullable
     public JsonSchemaObject getPropertyByName(@Nonnull String name) {
+        ConcurrentMap<String, Object> table = propertyTable;
+        if (table == null) return mergePropertyByName(name);
+        Object value = table.get(name);
+        if (value == null) {
+            // not computeIfAbsent: merging the property may read other properties of the same view
+            JsonSchemaObject computed = mergePropertyByName(name);
+            table.putIfAbsent(name, computed == null ? NULL_VALUE : computed);
+            return computed;
+        }
+        return value == NULL_VALUE ? null : (JsonSchemaObject) value;
+    }
+
+    @Nullable
+    private JsonSchemaObject mergePropertyByName(@Nonnull String name) {
         JsonSchemaObject baseProp = base.getPropertyByName(name);
         if (baseProp == null) {
             return other.getPropertyByName(name);
@@ -219,78 +295,76 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
 
     @Override
     public boolean hasPatternProperties() {
-        return booleanOr(base, other, JsonSchemaObject::hasPatternProperties);
+        return flattened(Keyword.HAS_PATTERN_PROPERTIES);
     }
 
     @Override
     @Nullable
     public JsonSchemaType getType() {
-        var result =
-            LegacyJsonSchemaObjectMerger.computeMergedExclusionAndType(base.getType(), other.getType(), other.getTypeVariants());
-        return result != null ? result.getType() : base.getType();
+        return flattened(Keyword.TYPE);
     }
 
     @Override
     @Nullable
     public Number getMultipleOf() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMultipleOf, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MULTIPLE_OF);
     }
 
     @Override
     @Nullable
     public Number getMaximum() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMaximum, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MAXIMUM);
     }
 
     @Override
     public boolean isExclusiveMaximum() {
-        return booleanOr(base, other, JsonSchemaObject::isExclusiveMaximum);
+        return flattened(Keyword.EXCLUSIVE_MAXIMUM);
     }
 
     @Override
     @Nullable
     public Number getExclusiveMaximumNumber() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getExclusiveMaximumNumber, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.EXCLUSIVE_MAXIMUM_NUMBER);
     }
 
     @Override
     @Nullable
     public Number getExclusiveMinimumNumber() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getExclusiveMinimumNumber, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.EXCLUSIVE_MINIMUM_NUMBER);
     }
 
     @Override
     @Nullable
     public Number getMinimum() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMinimum, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MINIMUM);
     }
 
     @Override
     public boolean isExclusiveMinimum() {
-        return booleanOr(base, other, JsonSchemaObject::isExclusiveMinimum);
+        return flattened(Keyword.EXCLUSIVE_MINIMUM);
     }
 
     @Override
     @Nullable
     public Integer getMaxLength() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMaxLength, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MAX_LENGTH);
     }
 
     @Override
     @Nullable
     public Integer getMinLength() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMinLength, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MIN_LENGTH);
     }
 
     @Override
     @Nullable
     public String getPattern() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getPattern, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.PATTERN);
     }
 
     @Override
     public boolean getAdditionalPropertiesAllowed() {
-        return booleanAnd(base, other, JsonSchemaObject::getAdditionalPropertiesAllowed);
+        return flattened(Keyword.ADDITIONAL_PROPERTIES_ALLOWED);
     }
 
     @Override
@@ -301,168 +375,172 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
     @Override
     @Nullable
     public JsonSchemaObject getPropertyNamesSchema() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getPropertyNamesSchema, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.PROPERTY_NAMES_SCHEMA);
     }
 
     @Override
     @Nullable
     public JsonSchemaObject getAdditionalPropertiesSchema() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getAdditionalPropertiesSchema, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.ADDITIONAL_PROPERTIES_SCHEMA);
     }
 
     @Override
     @Nullable
     public JsonSchemaObject getUnevaluatedPropertiesSchema() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getUnevaluatedPropertiesSchema, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.UNEVALUATED_PROPERTIES_SCHEMA);
     }
 
     @Override
     @Nullable
     public Boolean getAdditionalItemsAllowed() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getAdditionalItemsAllowed, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.ADDITIONAL_ITEMS_ALLOWED);
     }
 
     @Override
     @Nullable
     public String getDeprecationMessage() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getDeprecationMessage, LightweightJsonSchemaObjectMerger::isNotBlank);
+        return flattened(Keyword.DEPRECATION_MESSAGE);
     }
 
     @Override
     @Nullable
     public JsonSchemaObject getAdditionalItemsSchema() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getAdditionalItemsSchema, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.ADDITIONAL_ITEMS_SCHEMA);
     }
 
     @Override
     @Nullable
     public JsonSchemaObject getItemsSchema() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getItemsSchema, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.ITEMS_SCHEMA);
     }
 
     @Override
     @Nullable
     public JsonSchemaObject getUnevaluatedItemsSchema() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getUnevaluatedItemsSchema, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.UNEVALUATED_ITEMS_SCHEMA);
     }
 
     @Override
     @Nullable
     public JsonSchemaObject getContainsSchema() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getContainsSchema, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.CONTAINS_SCHEMA);
     }
 
     @Override
     @Nullable
     public List<JsonSchemaObject> getItemsSchemaList() {
-        return mergeLists(this, JsonSchemaObject::getItemsSchemaList);
+        return flattened(Keyword.ITEMS_SCHEMA_LIST);
     }
 
     @Override
     @Nullable
     public Integer getMaxItems() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMaxItems, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MAX_ITEMS);
     }
 
     @Override
     @Nullable
     public Integer getMinItems() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMinItems, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MIN_ITEMS);
     }
 
     @Override
     public boolean isUniqueItems() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::isUniqueItems, Objects::nonNull);
+        return flattened(Keyword.UNIQUE_ITEMS);
     }
 
     @Override
     @Nullable
     public Integer getMaxProperties() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMaxProperties, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MAX_PROPERTIES);
     }
 
     @Override
     @Nullable
     public Integer getMinProperties() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getMinProperties, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.MIN_PROPERTIES);
     }
 
     @Override
     @Nullable
     public Set<String> getRequired() {
-        return mergeSets(base.getRequired(), other.getRequired());
+        return flattened(Keyword.REQUIRED);
     }
 
     @Override
     @Nullable
     public Map<String, List<String>> getPropertyDependencies() {
-        return mergeMaps(this, JsonSchemaObject::getPropertyDependencies);
+        return flattened(Keyword.PROPERTY_DEPENDENCIES);
     }
 
     @Override
     @Nullable
     public Map<String, JsonSchemaObject> getSchemaDependencies() {
-        return mergeMaps(this, JsonSchemaObject::getSchemaDependencies);
+        return flattened(Keyword.SCHEMA_DEPENDENCIES);
     }
 
     @Override
     @Nullable
     public List<Object> getEnum() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getEnum, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.ENUM);
+    }
+
+    @Override
+    @Nullable
+    public JsonSchemaEnumIndex getEnumIndex() {
+        return flattened(Keyword.ENUM_INDEX);
     }
 
     @Override
     @Nullable
     public List<JsonSchemaObject> getAllOf() {
-        return mergeLists(this, JsonSchemaObject::getAllOf);
+        return flattened(Keyword.ALL_OF);
     }
 
     @Override
     @Nullable
     public List<JsonSchemaObject> getAnyOf() {
-        return mergeLists(this, JsonSchemaObject::getAnyOf);
+        return flattened(Keyword.ANY_OF);
     }
 
     @Override
     @Nullable
     public List<JsonSchemaObject> getOneOf() {
-        return mergeLists(this, JsonSchemaObject::getOneOf);
+        return flattened(Keyword.ONE_OF);
     }
 
     @Override
     @Nullable
     public JsonSchemaObject getNot() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getNot, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.NOT);
     }
 
     @Override
     @Nullable
     public List<IfThenElse> getIfThenElse() {
-        return mergeLists(this, JsonSchemaObject::getIfThenElse);
+        return flattened(Keyword.IF_THEN_ELSE);
     }
 
     @Override
     @Nullable
     public Set<JsonSchemaType> getTypeVariants() {
-        LegacyJsonSchemaObjectMerger.TypeAndExclusion result =
-            LegacyJsonSchemaObjectMerger.mergeTypeVariantSets(base.getTypeVariants(), other.getTypeVariants());
-        return result != null ? result.getTypes() : null;
+        return flattened(Keyword.TYPE_VARIANTS);
     }
 
     @Override
     public boolean isRefRecursive() {
-        return booleanOr(base, other, JsonSchemaObject::isRefRecursive);
+        return flattened(Keyword.REF_RECURSIVE);
     }
 
     @Override
     public boolean isRecursiveAnchor() {
-        return booleanOr(base, other, JsonSchemaObject::isRecursiveAnchor);
+        return flattened(Keyword.RECURSIVE_ANCHOR);
     }
 
     @Override
     @Nullable
     public Object getDefault() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getDefault, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.DEFAULT);
     }
 
     @Override
@@ -477,31 +555,31 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
     @Override
     @Nullable
     public String getFormat() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getFormat, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.FORMAT);
     }
 
     @Override
     @Nullable
     public String getId() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getId, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.ID);
     }
 
     @Override
     @Nullable
     public String getSchema() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getSchema, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.SCHEMA);
     }
 
     @Override
     @Nullable
     public String getDescription() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getDescription, LightweightJsonSchemaObjectMerger::isNotBlank);
+        return flattened(Keyword.DESCRIPTION);
     }
 
     @Override
     @Nullable
     public String getTitle() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getTitle, LightweightJsonSchemaObjectMerger::isNotBlank);
+        return flattened(Keyword.TITLE);
     }
 
     @Override
@@ -523,7 +601,7 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
     @Override
     @Nullable
     public String getPatternError() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getPatternError, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.PATTERN_ERROR);
     }
 
     @Override
@@ -538,7 +616,7 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
     @Override
     @Nullable
     public Map<String, Map<String, String>> getEnumMetadata() {
-        return mergeMaps(this, JsonSchemaObject::getEnumMetadata);
+        return flattened(Keyword.ENUM_METADATA);
     }
 
     @Override
@@ -553,47 +631,47 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
     @Override
     @Nullable
     public String getHtmlDescription() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getHtmlDescription, LightweightJsonSchemaObjectMerger::isNotBlank);
+        return flattened(Keyword.HTML_DESCRIPTION);
     }
 
     @Override
     @Nullable
     public Map<String, Object> getExample() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getExample, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.EXAMPLE);
     }
 
     @Override
     @Nullable
     public JsonSchemaObject getBackReference() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getBackReference, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.BACK_REFERENCE);
     }
 
     @Override
     public boolean isForceCaseInsensitive() {
-        return booleanOr(base, other, JsonSchemaObject::isForceCaseInsensitive);
+        return flattened(Keyword.FORCE_CASE_INSENSITIVE);
     }
 
     @Override
     @Nullable
     public String getLanguageInjection() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getLanguageInjection, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.LANGUAGE_INJECTION);
     }
 
     @Override
     @Nullable
     public String getLanguageInjectionPrefix() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getLanguageInjectionPrefix, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.LANGUAGE_INJECTION_PREFIX);
     }
 
     @Override
     @Nullable
     public String getLanguageInjectionPostfix() {
-        return baseIfConditionOrOther(base, other, JsonSchemaObject::getLanguageInjectionPostfix, LightweightJsonSchemaObjectMerger::isNotNull);
+        return flattened(Keyword.LANGUAGE_INJECTION_POSTFIX);
     }
 
     @Override
     public boolean isShouldValidateAgainstJSType() {
-        return booleanOr(base, other, JsonSchemaObject::isShouldValidateAgainstJSType);
+        return flattened(Keyword.SHOULD_VALIDATE_AGAINST_JS_TYPE);
     }
 
     @Override
@@ -633,4 +711,83 @@ class MergedJsonSchemaObjectView extends JsonSchemaObject implements MergedJsonS
     public Map<String, JsonSchemaObject> getDefinitionsMap() {
         throw new UnsupportedOperationException("Must not call definitionsMap on light aggregated object");
     }
+
+    /**
+     * The keywords remembered by the flattened views, every keyword reads its merged value through the base/other chain.
+     * The computations capture nothing, so reading a keyword of a shallow view allocates nothing.
+     */
+    private enum Keyword {
+        TYPE(view -> {
+            var result =
+                LegacyJsonSchemaObjectMerger.computeMergedExclusionAndType(view.base.getType(), view.other.getType(), view.other.getTypeVariants());
+            return result != null ? result.getType() : view.base.getType();
+        }),
+        TYPE_VARIANTS(view -> {
+            LegacyJsonSchemaObjectMerger.TypeAndExclusion result =
+                LegacyJsonSchemaObjectMerger.mergeTypeVariantSets(view.base.getTypeVariants(), view.other.getTypeVariants());
+            return result != null ? result.getTypes() : null;
+        }),
+        CONSTANT_SCHEMA(view -> booleanAndNullable(view.base, view.other, JsonSchemaObject::getConstantSchema)),
+        HAS_PATTERN_PROPERTIES(view -> booleanOr(view.base, view.other, JsonSchemaObject::hasPatternProperties)),
+        MULTIPLE_OF(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMultipleOf, LightweightJsonSchemaObjectMerger::isNotNull)),
+        MAXIMUM(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMaximum, LightweightJsonSchemaObjectMerger::isNotNull)),
+        EXCLUSIVE_MAXIMUM(view -> booleanOr(view.base, view.other, JsonSchemaObject::isExclusiveMaximum)),
+        EXCLUSIVE_MAXIMUM_NUMBER(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getExclusiveMaximumNumber, LightweightJsonSchemaObjectMerger::isNotNull)),
+        EXCLUSIVE_MINIMUM_NUMBER(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getExclusiveMinimumNumber, LightweightJsonSchemaObjectMerger::isNotNull)),
+        MINIMUM(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMinimum, LightweightJsonSchemaObjectMerger::isNotNull)),
+        EXCLUSIVE_MINIMUM(view -> booleanOr(view.base, view.other, JsonSchemaObject::isExclusiveMinimum)),
+        MAX_LENGTH(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMaxLength, LightweightJsonSchemaObjectMerger::isNotNull)),
+        MIN_LENGTH(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMinLength, LightweightJsonSchemaObjectMerger::isNotNull)),
+        PATTERN(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getPattern, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ADDITIONAL_PROPERTIES_ALLOWED(view -> booleanAnd(view.base, view.other, JsonSchemaObject::getAdditionalPropertiesAllowed)),
+        PROPERTY_NAMES_SCHEMA(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getPropertyNamesSchema, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ADDITIONAL_PROPERTIES_SCHEMA(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getAdditionalPropertiesSchema, LightweightJsonSchemaObjectMerger::isNotNull)),
+        UNEVALUATED_PROPERTIES_SCHEMA(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getUnevaluatedPropertiesSchema, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ADDITIONAL_ITEMS_ALLOWED(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getAdditionalItemsAllowed, LightweightJsonSchemaObjectMerger::isNotNull)),
+        DEPRECATION_MESSAGE(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getDeprecationMessage, LightweightJsonSchemaObjectMerger::isNotBlank)),
+        ADDITIONAL_ITEMS_SCHEMA(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getAdditionalItemsSchema, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ITEMS_SCHEMA(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getItemsSchema, LightweightJsonSchemaObjectMerger::isNotNull)),
+        UNEVALUATED_ITEMS_SCHEMA(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getUnevaluatedItemsSchema, LightweightJsonSchemaObjectMerger::isNotNull)),
+        CONTAINS_SCHEMA(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getContainsSchema, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ITEMS_SCHEMA_LIST(view -> mergeLists(view, JsonSchemaObject::getItemsSchemaList)),
+        MAX_ITEMS(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMaxItems, LightweightJsonSchemaObjectMerger::isNotNull)),
+        MIN_ITEMS(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMinItems, LightweightJsonSchemaObjectMerger::isNotNull)),
+        UNIQUE_ITEMS(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::isUniqueItems, Objects::nonNull)),
+        MAX_PROPERTIES(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMaxProperties, LightweightJsonSchemaObjectMerger::isNotNull)),
+        MIN_PROPERTIES(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getMinProperties, LightweightJsonSchemaObjectMerger::isNotNull)),
+        REQUIRED(view -> mergeSets(view.base.getRequired(), view.other.getRequired())),
+        PROPERTY_DEPENDENCIES(view -> mergeMaps(view, JsonSchemaObject::getPropertyDependencies)),
+        SCHEMA_DEPENDENCIES(view -> mergeMaps(view, JsonSchemaObject::getSchemaDependencies)),
+        ENUM(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getEnum, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ENUM_INDEX(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getEnumIndex, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ALL_OF(view -> mergeLists(view, JsonSchemaObject::getAllOf)),
+        ANY_OF(view -> mergeLists(view, JsonSchemaObject::getAnyOf)),
+        ONE_OF(view -> mergeLists(view, JsonSchemaObject::getOneOf)),
+        NOT(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getNot, LightweightJsonSchemaObjectMerger::isNotNull)),
+        IF_THEN_ELSE(view -> mergeLists(view, JsonSchemaObject::getIfThenElse)),
+        REF_RECURSIVE(view -> booleanOr(view.base, view.other, JsonSchemaObject::isRefRecursive)),
+        RECURSIVE_ANCHOR(view -> booleanOr(view.base, view.other, JsonSchemaObject::isRecursiveAnchor)),
+        DEFAULT(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getDefault, LightweightJsonSchemaObjectMerger::isNotNull)),
+        FORMAT(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getFormat, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ID(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getId, LightweightJsonSchemaObjectMerger::isNotNull)),
+        SCHEMA(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getSchema, LightweightJsonSchemaObjectMerger::isNotNull)),
+        DESCRIPTION(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getDescription, LightweightJsonSchemaObjectMerger::isNotBlank)),
+        TITLE(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getTitle, LightweightJsonSchemaObjectMerger::isNotBlank)),
+        PATTERN_ERROR(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getPatternError, LightweightJsonSchemaObjectMerger::isNotNull)),
+        ENUM_METADATA(view -> mergeMaps(view, JsonSchemaObject::getEnumMetadata)),
+        HTML_DESCRIPTION(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getHtmlDescription, LightweightJsonSchemaObjectMerger::isNotBlank)),
+        EXAMPLE(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getExample, LightweightJsonSchemaObjectMerger::isNotNull)),
+        BACK_REFERENCE(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getBackReference, LightweightJsonSchemaObjectMerger::isNotNull)),
+        FORCE_CASE_INSENSITIVE(view -> booleanOr(view.base, view.other, JsonSchemaObject::isForceCaseInsensitive)),
+        LANGUAGE_INJECTION(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getLanguageInjection, LightweightJsonSchemaObjectMerger::isNotNull)),
+        LANGUAGE_INJECTION_PREFIX(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getLanguageInjectionPrefix, LightweightJsonSchemaObjectMerger::isNotNull)),
+        LANGUAGE_INJECTION_POSTFIX(view -> baseIfConditionOrOther(view.base, view.other, JsonSchemaObject::getLanguageInjectionPostfix, LightweightJsonSchemaObjectMerger::isNotNull)),
+        SHOULD_VALIDATE_AGAINST_JS_TYPE(view -> booleanOr(view.base, view.other, JsonSchemaObject::isShouldValidateAgainstJSType));
+
+        private final Function<MergedJsonSchemaObjectView, Object> computation;
+
+        Keyword(@Nonnull Function<MergedJsonSchemaObjectView, Object> computation) {
+            this.computation = computation;
+        }
+    }
 }
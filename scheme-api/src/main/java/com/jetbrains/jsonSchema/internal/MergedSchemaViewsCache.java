@@ -0,0 +1,63 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import jakarta.annotation.Nonnull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Interned {@link MergedJsonSchemaObjectView merged views} of a single schema root.
+ * <p>
+ * Merging the same schema objects again returns the same view, so the values cached on the views, and the caches keyed by
+ * the schema identity, survive between validation passes. The cache lives as long as the root schema object;
+ * once it is full the least recently used views are evicted one by one, so the views in use keep their identity.
+ */
+final class MergedSchemaViewsCache {
+  private static final int MAX_CACHED_VIEWS = 20_000;
+
+  // access-ordered, guarded by itself
+  private final Map<ViewKey, MergedJsonSchemaObjectView> myViews = new LinkedHashMap<>(256, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ViewKey, MergedJsonSchemaObjectView> eldest) {
+      return size() > MAX_CACHED_VIEWS;
+    }
+  };
+
+  @Nonnull
+  MergedJsonSchemaObjectView intern(@Nonnull JsonSchemaObject base, @Nonnull JsonSchemaObject other, @Nonnull JsonSchemaObject pointTo) {
+    ViewKey key = new ViewKey(base, other, pointTo);
+    synchronized (myViews) {
+      // creating a view only computes its depth, so it is cheap enough to be done under the lock
+      return myViews.computeIfAbsent(key, k -> new MergedJsonSchemaObjectView(base, other, pointTo));
+    }
+  }
+
+  private static final class ViewKey {
+    private final JsonSchemaObject myBase;
+    private final JsonSchemaObject myOther;
+    private final JsonSchemaObject myPointTo;
+
+    ViewKey(@Nonnull JsonSchemaObject base, @Nonnull JsonSchemaObject other, @Nonnull JsonSchemaObject pointTo) {
+      myBase = base;
+      myOther = other;
+      myPointTo = pointTo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof ViewKey)) return false;
+      ViewKey that = (ViewKey)o;
+      return myBase == that.myBase && myOther == that.myOther && myPointTo == that.myPointTo;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = System.identityHashCode(myBase);
+      result = 31 * result + System.identityHashCode(myOther);
+      return 31 * result + System.identityHashCode(myPointTo);
+    }
+  }
+}
@@ -23,6 +23,8 @@ public abstract class Operation {
   public final @Nonnull List<Operation> myChildOperations;
   public final @Nonnull JsonSchemaObject mySourceNode;
   public SchemaResolveState myState = SchemaResolveState.normal;
+  // whether the groups depend on the inspected instance, not only on the schema
+  protected boolean myDependsOnInspectedValue;
 
   protected Operation(@Nonnull JsonSchemaObject sourceNode, @Nullable JsonSchemaNodeExpansionRequest expansionRequest) {
     mySourceNode = sourceNode;
@@ -57,11 +59,20 @@ public abstract class Operation {
     for (Operation myChildOperation : myChildOperations) {
       ProgressManager.checkCanceled();
       myChildOperation.doReduce();
+      myDependsOnInspectedValue |= myChildOperation.myDependsOnInspectedValue;
     }
     reduce();
     myChildOperations.clear();
   }
 
+  /**
+   * @return whether the reduced groups were computed using the inspected instance of the expansion request,
+   * e.g. by choosing the if/then/else branches valid against it; valid after {@link #doReduce()}
+   */
+  public boolean dependsOnInspectedValue() {
+    return myDependsOnInspectedValue;
+  }
+
   private static void clearVariants(@Nonnull JsonSchemaObject object) {
     if (!(object instanceof JsonSchemaObjectImpl cst)) {
       return;
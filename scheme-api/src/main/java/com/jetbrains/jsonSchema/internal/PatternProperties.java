@@ -3,22 +3,29 @@ package com.jetbrains.jsonSchema.internal;
 
 import com.jetbrains.jsonSchema.JsonSchemaObject;
 import consulo.application.progress.ProgressManager;
-import consulo.util.collection.Maps;
 import consulo.util.lang.Pair;
 import consulo.util.lang.StringUtil;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.regex.Pattern;
 
-import static com.jetbrains.jsonSchema.internal.JsonSchemaObjectReadingUtils.matchPattern;
-
 public final class PatternProperties {
+  private static final int MATCH_CACHE_SIZE = 512;
+  private static final int[] NO_MATCHES = new int[0];
+
   public final @Nonnull Map<String, JsonSchemaObject> mySchemasMap;
   public final @Nonnull Map<String, Pattern> myCachedPatterns;
-  public final @Nonnull Map<String, String> myCachedPatternProperties;
+  private final @Nonnull List<String> myPatternKeys;
+  private final @Nonnull CombinedPatternMatcher myMatcher;
+  // property name -> indices of the matching patterns in myPatternKeys, misses are cached as well
+  private final @Nonnull Map<String, int[]> myMatchCache = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+      return size() > MATCH_CACHE_SIZE;
+    }
+  };
 
   public @Nonnull Map<String, JsonSchemaObject> getSchemasMap() {
     return mySchemasMap;
@@ -28,33 +35,42 @@ public final class PatternProperties {
     mySchemasMap = new HashMap<>();
     schemasMap.keySet().forEach(key -> mySchemasMap.put(StringUtil.unescapeBackSlashes(key), schemasMap.get(key)));
     myCachedPatterns = new HashMap<>();
-    myCachedPatternProperties = Maps.newConcurrentWeakKeyWeakValueHashMap();
+    myPatternKeys = new ArrayList<>();
+    List<SchemaPatternMatcher> matchers = new ArrayList<>();
     mySchemasMap.keySet().forEach(key -> {
       ProgressManager.checkCanceled();
-      final Pair<Pattern, String> pair = JsonSchemaObjectReadingUtils.compilePattern(key);
+      final Pair<SchemaPatternMatcher, String> pair = JsonSchemaObjectReadingUtils.compileSchemaPattern(key);
       if (pair.getSecond() == null) {
         assert pair.getFirst() != null;
-        myCachedPatterns.put(key, pair.getFirst());
+        myPatternKeys.add(key);
+        matchers.add(pair.getFirst());
+        myCachedPatterns.put(key, pair.getFirst().getPattern());
       }
     });
+    myMatcher = new CombinedPatternMatcher(matchers);
   }
 
   public @Nullable JsonSchemaObject getPatternPropertySchema(final @Nonnull String name) {
-    String value = myCachedPatternProperties.get(name);
-    if (value != null) {
-      assert mySchemasMap.containsKey(value);
-      return mySchemasMap.get(value);
+    int[] matches = getMatchingPatternIndices(name);
+    if (matches.length == 0) return null;
+
+    String value = myPatternKeys.get(matches[0]);
+    assert mySchemasMap.containsKey(value);
+    return mySchemasMap.get(value);
+  }
+
+  private @Nonnull int[] getMatchingPatternIndices(@Nonnull String name) {
+    if (myPatternKeys.isEmpty()) return NO_MATCHES;
+
+    synchronized (myMatchCache) {
+      int[] cached = myMatchCache.get(name);
+      if (cached != null) return cached;
     }
 
-    value = myCachedPatterns.keySet().stream()
-      .filter(key -> matchPattern(myCachedPatterns.get(key), name))
-      .findFirst()
-      .orElse(null);
-    if (value != null) {
-      myCachedPatternProperties.put(name, value);
-      assert mySchemasMap.containsKey(value);
-      return mySchemasMap.get(value);
+    int[] matches = myMatcher.matchAll(name);
+    synchronized (myMatchCache) {
+      myMatchCache.put(name, matches.length == 0 ? NO_MATCHES : matches);
     }
-    return null;
+    return matches;
   }
-}
\ No newline at end of file
+}
@@ -10,19 +10,19 @@ import jakarta.annotation.Nullable;
 import java.util.Map;
 import java.util.regex.Pattern;
 
-import static com.jetbrains.jsonSchema.internal.JsonSchemaObjectReadingUtils.matchPattern;
-
 public final class PropertyNamePattern {
   public final @Nonnull String myPattern;
   public final @Nullable Pattern myCompiledPattern;
+  public final @Nullable SchemaPatternMatcher myMatcher;
   public final @Nullable String myPatternError;
   public final @Nonnull Map<String, Boolean> myValuePatternCache;
 
   public PropertyNamePattern(@Nonnull String pattern) {
     myPattern = StringUtil.unescapeBackSlashes(pattern);
-    final Pair<Pattern, String> pair = JsonSchemaObjectReadingUtils.compilePattern(pattern);
+    final Pair<SchemaPatternMatcher, String> pair = JsonSchemaObjectReadingUtils.compileSchemaPattern(pattern);
     myPatternError = pair.getSecond();
-    myCompiledPattern = pair.getFirst();
+    myMatcher = pair.getFirst();
+    myCompiledPattern = myMatcher == null ? null : myMatcher.getPattern();
     myValuePatternCache = Maps.newConcurrentWeakKeyWeakValueHashMap();
   }
 
@@ -33,8 +33,8 @@ public final class PropertyNamePattern {
   public boolean checkByPattern(final @Nonnull String name) {
     if (myPatternError != null) return true;
     if (Boolean.TRUE.equals(myValuePatternCache.get(name))) return true;
-    assert myCompiledPattern != null;
-    boolean matches = matchPattern(myCompiledPattern, name);
+    assert myMatcher != null;
+    boolean matches = myMatcher.matches(name);
     myValuePatternCache.put(name, matches);
     return matches;
   }
@@ -0,0 +1,105 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.*;
+
+/**
+ * Symmetric-delete dictionary of the schema property names, finds the names within the case-insensitive
+ * optimal string alignment distance of 1 from a given name (one insertion, deletion, substitution or transposition of adjacent characters).
+ * <p>
+ * Every name is registered under itself and under all its single-character deletions, a lookup probes the same variants of the queried name,
+ * so the cost does not depend on the number of names. Probing yields a superset of the candidates, they are verified exactly.
+ */
+public final class PropertyNameTypoIndex {
+  private final List<String> myNames = new ArrayList<>();
+  private final List<String> myLowerCaseNames = new ArrayList<>();
+  // deletion variant -> indices of the names producing it
+  private final Map<String, int[]> myVariants = new HashMap<>();
+
+  public PropertyNameTypoIndex(@Nonnull Iterator<String> names) {
+    while (names.hasNext()) {
+      String name = names.next();
+      int index = myNames.size();
+      String lowerCaseName = name.toLowerCase(Locale.ROOT);
+      myNames.add(name);
+      myLowerCaseNames.add(lowerCaseName);
+      register(lowerCaseName, index);
+      for (int i = 0; i < lowerCaseName.length(); i++) {
+        register(deleteCharAt(lowerCaseName, i), index);
+      }
+    }
+  }
+
+  private void register(@Nonnull String variant, int index) {
+    myVariants.merge(variant, new int[]{index}, (existing, added) -> {
+      if (existing[existing.length - 1] == index) return existing;
+      int[] merged = Arrays.copyOf(existing, existing.length + 1);
+      merged[existing.length] = index;
+      return merged;
+    });
+  }
+
+  /**
+   * @return names within the distance of 1 from the given one, in the order of their declaration in the schema
+   */
+  @Nonnull
+  public List<String> findTypoCandidates(@Nonnull String name) {
+    if (myNames.isEmpty()) return Collections.emptyList();
+
+    String lowerCaseName = name.toLowerCase(Locale.ROOT);
+    BitSet candidates = new BitSet(myNames.size());
+    collect(lowerCaseName, candidates);
+    for (int i = 0; i < lowerCaseName.length(); i++) {
+      collect(deleteCharAt(lowerCaseName, i), candidates);
+    }
+    if (candidates.isEmpty()) return Collections.emptyList();
+
+    List<String> result = new ArrayList<>(candidates.cardinality());
+    for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+      if (isWithinOneEdit(myLowerCaseNames.get(index), lowerCaseName)) {
+        result.add(myNames.get(index));
+      }
+    }
+    return result;
+  }
+
+  private void collect(@Nonnull String variant, @Nonnull BitSet candidates) {
+    int[] indices = myVariants.get(variant);
+    if (indices == null) return;
+    for (int index : indices) {
+      candidates.set(index);
+    }
+  }
+
+  @Nonnull
+  private static String deleteCharAt(@Nonnull String s, int index) {
+    return s.substring(0, index) + s.substring(index + 1);
+  }
+
+  private static boolean isWithinOneEdit(@Nonnull String s1, @Nonnull String s2) {
+    int length1 = s1.length();
+    int length2 = s2.length();
+    if (Math.abs(length1 - length2) > 1) return false;
+
+    int prefix = 0;
+    int maxPrefix = Math.min(length1, length2);
+    while (prefix < maxPrefix && s1.charAt(prefix) == s2.charAt(prefix)) prefix++;
+    if (prefix == maxPrefix) return true;
+
+    if (length1 != length2) {
+      // a single insertion or deletion at the first mismatch
+      String longer = length1 > length2 ? s1 : s2;
+      String shorter = length1 > length2 ? s2 : s1;
+      return longer.regionMatches(prefix + 1, shorter, prefix, shorter.length() - prefix);
+    }
+    // a single substitution
+    if (s1.regionMatches(prefix + 1, s2, prefix + 1, length1 - prefix - 1)) return true;
+    // a transposition of two adjacent characters
+    return prefix + 1 < length1 &&
+           s1.charAt(prefix) == s2.charAt(prefix + 1) &&
+           s1.charAt(prefix + 1) == s2.charAt(prefix) &&
+           s1.regionMatches(prefix + 2, s2, prefix + 2, length1 - prefix - 2);
+  }
+}
@@ -28,6 +28,10 @@ interface RawJsonSchemaNodeAccessor<T> {
 
   boolean hasChildNode(@Nonnull T node, @Nonnull String relativeChildPath);
 
+  boolean isObjectNode(@Nonnull T node);
+
+  boolean isArrayNode(@Nonnull T node);
+
   @Nullable
   default String readTextNodeValue(@Nonnull T node, @Nullable String relativeChildPath) {
     return readTextNodeValue(node, relativeChildPath);
@@ -8,32 +8,41 @@ import consulo.virtualFileSystem.VirtualFile;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
-import java.util.*;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
-
-import static com.jetbrains.jsonSchema.internal.JacksonSchemaNodeAccessor.escapeForbiddenJsonPointerSymbols;
-import static com.jetbrains.jsonSchema.internal.JsonSchemaInterpretationStrategy.computeJsonSchemaVersion;
-import static com.jetbrains.jsonSchema.internal.SchemaKeywords.X_INTELLIJ_LANGUAGE_INJECTION;
+import java.util.function.Supplier;
 
 public class RootJsonSchemaObjectBackedByJackson extends JsonSchemaObjectBackedByJacksonBase
   implements RootJsonSchemaObject<JsonNode, JsonSchemaObjectBackedByJacksonBase> {
 
-  private static final Key<Map<String, String>> IDS_MAP_KEY = Key.create("ids");
-  private static final Key<Map<String, String>> DYNAMIC_ANCHORS_MAP_KEY = Key.create("dynamicAnchors");
-  private static final Key<Boolean> INJECTIONS_MAP_KEY = Key.create("injections");
-  private static final Key<Boolean> DEPRECATIONS_MAP_KEY = Key.create("deprecations");
   private static final Key<String> FILE_URL_MAP_KEY = Key.create("fileUrl");
+  private static final Key<ExpandedSchemaVariantsCache> EXPANDED_VARIANTS_KEY = Key.create("expandedVariants");
+  private static final Key<MergedSchemaViewsCache> MERGED_VIEWS_KEY = Key.create("mergedViews");
+  private static final Key<JsonSchemaValidityCache.Verdicts> VALIDITY_VERDICTS_KEY = Key.create("validityVerdicts");
 
   private final VirtualFile schemaFile;
+  private final SharedJsonSchemaData sharedData;
   private final JsonSchemaObjectBackedByJacksonFactory schemaObjectFactory;
-  private final JsonSchemaInterpretationStrategy schemaInterpretationStrategy;
 
   public RootJsonSchemaObjectBackedByJackson(@Nonnull JsonNode rootNode, @Nullable VirtualFile schemaFile) {
-    super(rootNode, SchemaKeywords.SCHEMA_ROOT_POINTER);
+    this(SharedJsonSchemaData.create(rootNode, false), schemaFile);
+  }
+
+  /**
+   * Creates a view of the shared parsed schema bound to the given file.
+   * Views are cheap, they only hold the file used for relative references resolution and the cache of child schema objects.
+   */
+  RootJsonSchemaObjectBackedByJackson(@Nonnull SharedJsonSchemaData sharedData, @Nullable VirtualFile schemaFile) {
+    super(sharedData.getRawRoot(), sharedData.getNodeAccessor(), SchemaKeywords.SCHEMA_ROOT_POINTER);
     this.schemaFile = schemaFile;
+    this.sharedData = sharedData;
     this.schemaObjectFactory = new JsonSchemaObjectBackedByJacksonFactory(this);
-    this.schemaInterpretationStrategy = computeJsonSchemaVersion(getSchema());
+  }
+
+  /**
+   * @return the compact representation backing this schema or null if the schema is backed by a Jackson tree
+   */
+  @Nullable
+  SchemaTape getTape() {
+    return sharedData.getTape();
   }
 
   @Nullable
@@ -44,7 +53,7 @@ public class RootJsonSchemaObjectBackedByJackson extends JsonSchemaObjectBackedB
   @Override
   @Nonnull
   public JsonSchemaInterpretationStrategy getSchemaInterpretationStrategy() {
-    return schemaInterpretationStrategy;
+    return sharedData.getInterpretationStrategy();
   }
 
   @Override
@@ -60,31 +69,35 @@ public class RootJsonSchemaObjectBackedByJackson extends JsonSchemaObjectBackedB
     return schemaObjectFactory.getSchemaObjectByAbsoluteJsonPointer(jsonPointer);
   }
 
+  @Nonnull
+  ExpandedSchemaVariantsCache getExpandedVariantsCache() {
+    return getOrComputeValue(EXPANDED_VARIANTS_KEY, ExpandedSchemaVariantsCache::new);
+  }
+
+  @Nonnull
+  MergedSchemaViewsCache getMergedViewsCache() {
+    return getOrComputeValue(MERGED_VIEWS_KEY, MergedSchemaViewsCache::new);
+  }
+
+  @Nonnull
+  JsonSchemaValidityCache.Verdicts getValidityVerdicts() {
+    return getOrComputeValue(VALIDITY_VERDICTS_KEY, JsonSchemaValidityCache.Verdicts::new);
+  }
+
+  /**
+   * Data computed from the schema nodes of this root by the consumers outside of this package,
+   * stored here so that it is dropped together with the parsed schema
+   */
+  public <V> V getOrComputeRootData(@Nonnull Key<V> key, @Nonnull Supplier<V> computation) {
+    return getOrComputeValue(key, computation);
+  }
+
   public boolean checkHasInjections() {
-    return getOrComputeValue(INJECTIONS_MAP_KEY, () -> {
-      Stream<Boolean> results = indexSchema(getRawSchemaNode(), Collections.emptyList(), (node, parentPointer) -> {
-        if (!parentPointer.isEmpty() && parentPointer.get(parentPointer.size() - 1).equals(X_INTELLIJ_LANGUAGE_INJECTION)) {
-          return true;
-        }
-        return null;
-      });
-      return results.findAny().orElse(false);
-    });
+    return !sharedData.getIndex().getInjectionPointers().isEmpty();
   }
 
   public boolean checkHasDeprecations() {
-    String deprecationMarker = schemaInterpretationStrategy.getDeprecationKeyword();
-    if (deprecationMarker == null) return false;
-
-    return getOrComputeValue(DEPRECATIONS_MAP_KEY, () -> {
-      Stream<Boolean> results = indexSchema(getRawSchemaNode(), Collections.emptyList(), (node, parentPointer) -> {
-        if (!parentPointer.isEmpty() && parentPointer.get(parentPointer.size() - 1).equals(deprecationMarker)) {
-          return true;
-        }
-        return null;
-      });
-      return results.findAny().orElse(false);
-    });
+    return !sharedData.getIndex().getDeprecationPointers().isEmpty();
   }
 
   @Override
@@ -109,81 +122,12 @@ public class RootJsonSchemaObjectBackedByJackson extends JsonSchemaObjectBackedB
   @Override
   @Nullable
   public String resolveId(@Nonnull String id) {
-    String schemaFeature = schemaInterpretationStrategy.getIdKeyword();
-    if (schemaFeature == null) return null;
-    return collectValuesWithKey(schemaFeature, IDS_MAP_KEY).get(id);
+    return sharedData.getIndex().resolveId(id);
   }
 
   @Override
   @Nullable
   public String resolveDynamicAnchor(@Nonnull String anchor) {
-    String schemaFeature = schemaInterpretationStrategy.getDynamicAnchorKeyword();
-    if (schemaFeature == null) return null;
-    return collectValuesWithKey(schemaFeature, DYNAMIC_ANCHORS_MAP_KEY).get(anchor);
-  }
-
-  @Nonnull
-  private Map<String, String> collectValuesWithKey(@Nonnull String expectedKey, @Nonnull Key<Map<String, String>> storeIn) {
-    return getOrComputeValue(storeIn, () -> {
-      Stream<Map.Entry<String, String>> entries = indexSchema(getRawSchemaNode(), Collections.emptyList(), (node, parentPointer) -> {
-        if (!node.isTextual() || parentPointer.isEmpty() || !parentPointer.get(parentPointer.size() - 1).equals(expectedKey)) {
-          return null;
-        }
-
-        String leafNodeText = node.asText();
-        StringBuilder jsonPointer = new StringBuilder("/");
-        for (int i = 0; i < parentPointer.size() - 1; i++) {
-          if (i > 0) jsonPointer.append("/");
-          jsonPointer.append(escapeForbiddenJsonPointerSymbols(parentPointer.get(i)));
-        }
-
-        return new AbstractMap.SimpleEntry<>(leafNodeText, jsonPointer.toString());
-      });
-
-      Map<String, String> result = new HashMap<>();
-      entries.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
-      return result;
-    });
-  }
-
-  @Nonnull
-  private <T> Stream<T> indexSchema(@Nonnull JsonNode root,
-                                    @Nonnull List<String> parentPointer,
-                                    @Nonnull java.util.function.BiFunction<JsonNode, List<String>, T> retrieveDataFromNode) {
-    if (root.isObject()) {
-      return StreamSupport.stream(
-        Spliterators.spliteratorUnknownSize(root.fields(), Spliterator.ORDERED),
-        false
-      ).flatMap(entry -> {
-        T retrievedValue = retrieveDataFromNode.apply(root, parentPointer);
-        if (retrievedValue != null) {
-          return Stream.of(retrievedValue);
-        }
-
-        List<String> newPointer = new ArrayList<>(parentPointer);
-        newPointer.add(entry.getKey());
-        return indexSchema(entry.getValue(), newPointer, retrieveDataFromNode);
-      });
-    } else if (root.isArray()) {
-      T retrievedValue = retrieveDataFromNode.apply(root, parentPointer);
-      if (retrievedValue != null) {
-        return Stream.of(retrievedValue);
-      }
-
-      List<Stream<T>> streams = new ArrayList<>();
-      int index = 0;
-      for (JsonNode arrayItem : root) {
-        List<String> newPointer = new ArrayList<>(parentPointer);
-        newPointer.add(String.valueOf(index));
-        streams.add(indexSchema(arrayItem, newPointer, retrieveDataFromNode));
-        index++;
-      }
-      return streams.stream().flatMap(s -> s);
-    } else if (root.isTextual()) {
-      T retrievedValue = retrieveDataFromNode.apply(root, parentPointer);
-      return retrievedValue != null ? Stream.of(retrievedValue) : Stream.empty();
-    } else {
-      return Stream.empty();
-    }
+    return sharedData.getIndex().resolveDynamicAnchor(anchor);
   }
 }
@@ -1,11 +1,9 @@
 // Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
 package com.jetbrains.jsonSchema.internal;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.annotation.Nullable;
 
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,38 +29,32 @@ public class SchemaImplOldHacks {
   // Consider adding a test if you know something about 'x-intellij-enum-metadata'
   @Nullable
   public static Map<String, Map<String, String>> tryReadEnumMetadata(JsonSchemaObjectBackedByJacksonBase schema) {
-    Iterator<Map.Entry<String, JsonNode>> properties = schema.getRawSchemaNode().fields();
-    JsonNode metadataNode = null;
-    while (properties.hasNext()) {
-      Map.Entry<String, JsonNode> entry = properties.next();
-      if (X_INTELLIJ_ENUM_METADATA.equals(entry.getKey())) {
-        metadataNode = entry.getValue();
-        break;
-      }
-    }
-
-    if (metadataNode == null) {
+    RawJsonSchemaNodeAccessor<Object> accessor = schema.getNodeAccessor();
+    Iterable<RawJsonSchemaNodeAccessor.Pair<String, Object>> metadataEntries =
+      accessor.readNodeAsMapEntries(schema.getRawNode(), X_INTELLIJ_ENUM_METADATA);
+    if (metadataEntries == null) {
       return null;
     }
 
     Map<String, Map<String, String>> result = new HashMap<>();
-    Iterator<Map.Entry<String, JsonNode>> metadataEntries = metadataNode.fields();
-    while (metadataEntries.hasNext()) {
-      Map.Entry<String, JsonNode> entry = metadataEntries.next();
-      String name = entry.getKey();
-      JsonNode valueNode = entry.getValue();
+    for (RawJsonSchemaNodeAccessor.Pair<String, Object> entry : metadataEntries) {
+      String name = entry.getFirst();
+      Object valueNode = entry.getSecond();
 
-      if (valueNode.isTextual()) {
+      String description = accessor.readTextNodeValue(valueNode);
+      if (description != null) {
         Map<String, String> innerMap = new HashMap<>();
-        innerMap.put(DESCRIPTION, valueNode.asText());
+        innerMap.put(DESCRIPTION, description);
         result.put(name, innerMap);
-      } else if (valueNode.isObject()) {
+      } else if (accessor.isObjectNode(valueNode)) {
         Map<String, String> innerMap = new HashMap<>();
-        Iterator<Map.Entry<String, JsonNode>> fieldEntries = valueNode.fields();
-        while (fieldEntries.hasNext()) {
-          Map.Entry<String, JsonNode> fieldEntry = fieldEntries.next();
-          if (fieldEntry.getValue().isTextual()) {
-            innerMap.put(fieldEntry.getKey(), fieldEntry.getValue().asText());
+        Iterable<RawJsonSchemaNodeAccessor.Pair<String, Object>> fieldEntries = accessor.readNodeAsMapEntries(valueNode);
+        if (fieldEntries != null) {
+          for (RawJsonSchemaNodeAccessor.Pair<String, Object> fieldEntry : fieldEntries) {
+            String fieldValue = accessor.readTextNodeValue(fieldEntry.getSecond());
+            if (fieldValue != null) {
+              innerMap.put(fieldEntry.getFirst(), fieldValue);
+            }
           }
         }
         result.put(name, innerMap);
@@ -73,6 +73,7 @@ public class SchemaKeywords {
   public static final String X_INTELLIJ_ENUM_METADATA = "x-intellij-enum-metadata";
   public static final String X_INTELLIJ_ENUM_ORDER_SENSITIVE = "x-intellij-enum-order-sensitive";
   public static final String X_INTELLIJ_METADATA = "x-intellij-metadata";
+  public static final String X_INTELLIJ_VALIDATE_FORMAT = "x-intellij-validate-format";
 
   public static final Set<String> ROOT_POINTER_VARIANTS = Set.of(SCHEMA_ROOT_POINTER, "#/", "#", "");
 }
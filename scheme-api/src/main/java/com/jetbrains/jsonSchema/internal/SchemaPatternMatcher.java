@@ -0,0 +1,41 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * Compiled schema {@code pattern}.
+ * Matching runs in linear time on the {@link LinearPatternAutomaton} when the pattern can be expressed by it,
+ * otherwise the time-limited {@code java.util.regex} matching of {@link JsonSchemaObjectReadingUtils#matchPattern} is used.
+ */
+public final class SchemaPatternMatcher {
+  private final Pattern myPattern;
+  private final @Nullable LinearPatternAutomaton myAutomaton;
+
+  SchemaPatternMatcher(@Nonnull Pattern pattern) {
+    myPattern = pattern;
+    myAutomaton = LinearPatternAutomaton.tryCompile(pattern.pattern());
+  }
+
+  @Nonnull
+  public Pattern getPattern() {
+    return myPattern;
+  }
+
+  /**
+   * @return whether the matching is guaranteed to take linear time
+   */
+  public boolean isLinear() {
+    return myAutomaton != null;
+  }
+
+  public boolean matches(@Nonnull String s) {
+    if (myAutomaton != null) {
+      return myAutomaton.matches(s);
+    }
+    return JsonSchemaObjectReadingUtils.matchPattern(myPattern, s);
+  }
+}
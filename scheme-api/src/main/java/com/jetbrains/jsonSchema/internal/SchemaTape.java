@@ -0,0 +1,602 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable flat representation of a parsed schema tree.
+ * <p>
+ * Nodes are laid out in pre-order, so the children of a container node directly follow it and
+ * {@link #myEnd} points past the whole subtree, letting sibling iteration skip nested containers.
+ * Property names and textual values are interned into a single string pool, property names are stored as pool ids,
+ * so looking up a keyword is an int comparison.
+ * The children of every container are additionally listed in {@link #myChildTable}, which gives constant time access to
+ * array elements, objects with many properties get an open addressing table of their children keyed by the property name id.
+ * A tape costs a few primitive array slots per node instead of a Jackson node object plus its field map entry.
+ */
+final class SchemaTape {
+  static final byte NULL = 0;
+  static final byte TRUE = 1;
+  static final byte FALSE = 2;
+  static final byte INT = 3;
+  static final byte LONG = 4;
+  static final byte DOUBLE = 5;
+  static final byte DECIMAL = 6;
+  static final byte TEXT = 7;
+  static final byte ARRAY = 8;
+  static final byte OBJECT = 9;
+
+  static final int NO_KEY = -1;
+
+  /**
+   * Objects with at most this many properties are searched linearly, the hash table does not pay off for them
+   */
+  private static final int LINEAR_LOOKUP_LIMIT = 8;
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private final byte[] myKinds;
+  /**
+   * int value for {@link #INT}, string pool id for {@link #TEXT} and {@link #DECIMAL}, index in {@link #myNumbers}
+   * for {@link #LONG} and {@link #DOUBLE}, children count for containers
+   */
+  private final int[] myPayloads;
+  private final int[] myEnd;
+  private final int[] myKeys;
+  private final long[] myNumbers;
+  private final String[] myStrings;
+  private final Map<String, Integer> myStringIds;
+  /**
+   * Start of the children of a container in {@link #myChildTable}, unused for scalars
+   */
+  private final int[] myChildStart;
+  /**
+   * Child indices of every container in document order, followed by the hash table of the children for large objects.
+   * The hash table has a power of two capacity of at least twice the children count, 0 marks an empty slot
+   * as the root is never a child.
+   */
+  private final int[] myChildTable;
+  /**
+   * Detached Jackson tree built on the first request, see {@link #toJsonNode(int)}
+   */
+  private volatile JsonNode[] myDetachedNodes;
+
+  private SchemaTape(@Nonnull byte[] kinds,
+                     @Nonnull int[] payloads,
+                     @Nonnull int[] end,
+                     @Nonnull int[] keys,
+                     @Nonnull long[] numbers,
+                     @Nonnull String[] strings,
+                     @Nonnull Map<String, Integer> stringIds) {
+    myKinds = kinds;
+    myPayloads = payloads;
+    myEnd = end;
+    myKeys = keys;
+    myNumbers = numbers;
+    myStrings = strings;
+    myStringIds = stringIds;
+    myChildStart = new int[kinds.length];
+    myChildTable = buildChildTable(kinds, payloads, end, keys, myChildStart);
+  }
+
+  @Nonnull
+  private static int[] buildChildTable(@Nonnull byte[] kinds,
+                                       @Nonnull int[] payloads,
+                                       @Nonnull int[] end,
+                                       @Nonnull int[] keys,
+                                       @Nonnull int[] childStart) {
+    int tableSize = 0;
+    for (int node = 0; node < kinds.length; node++) {
+      if (kinds[node] == OBJECT || kinds[node] == ARRAY) tableSize += payloads[node] + getHashCapacity(kinds[node], payloads[node]);
+    }
+
+    int[] table = new int[tableSize];
+    int position = 0;
+    for (int node = 0; node < kinds.length; node++) {
+      if (kinds[node] != OBJECT && kinds[node] != ARRAY) continue;
+      int count = payloads[node];
+      childStart[node] = position;
+      for (int i = 0, child = node + 1; i < count; i++, child = end[child]) {
+        table[position + i] = child;
+      }
+
+      int capacity = getHashCapacity(kinds[node], count);
+      int hashStart = position + count;
+      for (int i = 0; i < count && capacity > 0; i++) {
+        int child = table[position + i];
+        int slot = mix(keys[child]) & (capacity - 1);
+        while (table[hashStart + slot] != 0) {
+          slot = (slot + 1) & (capacity - 1);
+        }
+        table[hashStart + slot] = child;
+      }
+      position = hashStart + capacity;
+    }
+    return table;
+  }
+
+  private static int getHashCapacity(byte kind, int childrenCount) {
+    if (kind != OBJECT || childrenCount <= LINEAR_LOOKUP_LIMIT) return 0;
+    return Integer.highestOneBit(childrenCount * 2 - 1) << 1;
+  }
+
+  private static int mix(int keyId) {
+    int hash = keyId * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  @Nonnull
+  SchemaTapeNode getRoot() {
+    return new SchemaTapeNode(this, 0);
+  }
+
+  int size() {
+    return myKinds.length;
+  }
+
+  /**
+   * Rough estimation of the memory retained by the tape, used to weigh cached schemas against each other
+   */
+  long estimateRetainedSize() {
+    long size = (long)myKinds.length * (1 + 4 + 4 + 4 + 4) + (long)myChildTable.length * 4 + (long)myNumbers.length * 8;
+    for (String string : myStrings) {
+      size += 40 + string.length() * 2L;
+    }
+    return size;
+  }
+
+  byte getKind(int node) {
+    return myKinds[node];
+  }
+
+  boolean isContainer(int node) {
+    return myKinds[node] == OBJECT || myKinds[node] == ARRAY;
+  }
+
+  int getChildrenCount(int node) {
+    return isContainer(node) ? myPayloads[node] : 0;
+  }
+
+  /**
+   * @return the first child of the container node or -1 if there are none
+   */
+  int getFirstChild(int node) {
+    return getChildrenCount(node) > 0 ? node + 1 : -1;
+  }
+
+  /**
+   * @return the next sibling of the child node inside the given parent or -1 if it is the last one
+   */
+  int getNextSibling(int parent, int child) {
+    int next = myEnd[child];
+    return next < myEnd[parent] ? next : -1;
+  }
+
+  @Nullable
+  String getKey(int node) {
+    int key = myKeys[node];
+    return key == NO_KEY ? null : myStrings[key];
+  }
+
+  int findChild(int node, @Nonnull String name) {
+    if (myKinds[node] != OBJECT) return -1;
+    Integer boxedKeyId = myStringIds.get(name);
+    if (boxedKeyId == null) return -1;
+    int keyId = boxedKeyId;
+    int start = myChildStart[node];
+    int count = myPayloads[node];
+    if (count <= LINEAR_LOOKUP_LIMIT) {
+      for (int i = start; i < start + count; i++) {
+        if (myKeys[myChildTable[i]] == keyId) return myChildTable[i];
+      }
+      return -1;
+    }
+
+    int hashStart = start + count;
+    int mask = getHashCapacity(OBJECT, count) - 1;
+    for (int slot = mix(keyId) & mask; ; slot = (slot + 1) & mask) {
+      int child = myChildTable[hashStart + slot];
+      if (child == 0) return -1;
+      if (myKeys[child] == keyId) return child;
+    }
+  }
+
+  int getElement(int node, int index) {
+    if (myKinds[node] != ARRAY || index < 0 || index >= myPayloads[node]) return -1;
+    return myChildTable[myChildStart[node] + index];
+  }
+
+  @Nullable
+  String getText(int node) {
+    return myKinds[node] == TEXT ? myStrings[myPayloads[node]] : null;
+  }
+
+  @Nullable
+  Number getNumber(int node) {
+    switch (myKinds[node]) {
+      case INT:
+        return myPayloads[node];
+      case LONG:
+        return myNumbers[myPayloads[node]];
+      case DOUBLE:
+        return Double.longBitsToDouble(myNumbers[myPayloads[node]]);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Serializes the subtree of the given node the same way {@link JsonNode#toPrettyString()} does, without materializing it
+   */
+  @Nonnull
+  String toPrettyString(int node) {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = FACTORY.createGenerator(writer).useDefaultPrettyPrinter()) {
+      write(generator, node);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  private void write(@Nonnull JsonGenerator generator, int node) throws IOException {
+    switch (myKinds[node]) {
+      case NULL:
+        generator.writeNull();
+        break;
+      case TRUE:
+        generator.writeBoolean(true);
+        break;
+      case FALSE:
+        generator.writeBoolean(false);
+        break;
+      case INT:
+        generator.writeNumber(myPayloads[node]);
+        break;
+      case LONG:
+        generator.writeNumber(myNumbers[myPayloads[node]]);
+        break;
+      case DOUBLE:
+        generator.writeNumber(Double.longBitsToDouble(myNumbers[myPayloads[node]]));
+        break;
+      case DECIMAL:
+        generator.writeNumber(new BigDecimal(myStrings[myPayloads[node]]));
+        break;
+      case TEXT:
+        generator.writeString(myStrings[myPayloads[node]]);
+        break;
+      case ARRAY:
+        generator.writeStartArray();
+        for (int child = getFirstChild(node); child != -1; child = getNextSibling(node, child)) {
+          write(generator, child);
+        }
+        generator.writeEndArray();
+        break;
+      default:
+        generator.writeStartObject();
+        for (int child = getFirstChild(node); child != -1; child = getNextSibling(node, child)) {
+          generator.writeFieldName(myStrings[myKeys[child]]);
+          write(generator, child);
+        }
+        generator.writeEndObject();
+    }
+  }
+
+  /**
+   * Returns the subtree of the given node as a Jackson tree.
+   * The whole tape is materialized once on the first call and the nodes are shared by all callers, so they must not be modified.
+   * Intended for the rare consumers working with the raw tree, like schema rendering,
+   * schema reading goes through {@link SchemaTapeNodeAccessor} instead.
+   */
+  @Nonnull
+  JsonNode toJsonNode(int node) {
+    JsonNode[] detachedNodes = myDetachedNodes;
+    if (detachedNodes == null) {
+      // concurrent callers may both materialize the tree, either result is equally valid
+      detachedNodes = new JsonNode[myKinds.length];
+      materialize(0, detachedNodes);
+      myDetachedNodes = detachedNodes;
+    }
+    return detachedNodes[node];
+  }
+
+  @Nonnull
+  private JsonNode materialize(int node, @Nonnull JsonNode[] detachedNodes) {
+    JsonNode result = createJsonNode(node, detachedNodes);
+    detachedNodes[node] = result;
+    return result;
+  }
+
+  @Nonnull
+  private JsonNode createJsonNode(int node, @Nonnull JsonNode[] detachedNodes) {
+    JsonNodeFactory factory = JsonNodeFactory.instance;
+    switch (myKinds[node]) {
+      case NULL:
+        return factory.nullNode();
+      case TRUE:
+        return factory.booleanNode(true);
+      case FALSE:
+        return factory.booleanNode(false);
+      case INT:
+        return factory.numberNode(myPayloads[node]);
+      case LONG:
+        return factory.numberNode(myNumbers[myPayloads[node]]);
+      case DOUBLE:
+        return factory.numberNode(Double.longBitsToDouble(myNumbers[myPayloads[node]]));
+      case DECIMAL:
+        return factory.numberNode(new BigDecimal(myStrings[myPayloads[node]]));
+      case TEXT:
+        return factory.textNode(myStrings[myPayloads[node]]);
+      case ARRAY: {
+        ArrayNode array = factory.arrayNode(myPayloads[node]);
+        for (int child = getFirstChild(node); child != -1; child = getNextSibling(node, child)) {
+          array.add(materialize(child, detachedNodes));
+        }
+        return array;
+      }
+      default: {
+        ObjectNode object = factory.objectNode();
+        for (int child = getFirstChild(node); child != -1; child = getNextSibling(node, child)) {
+          object.set(myStrings[myKeys[child]], materialize(child, detachedNodes));
+        }
+        return object;
+      }
+    }
+  }
+
+  @Nonnull
+  static SchemaTape build(@Nonnull JsonNode rootNode) {
+    return new Builder().build(rootNode);
+  }
+
+  /**
+   * Writes the string pool and the node arrays, the child table is not written as it is rebuilt by {@link #read}
+   */
+  void write(@Nonnull DataOutputStream out) throws IOException {
+    out.writeInt(myStrings.length);
+    for (String string : myStrings) {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+    out.writeInt(myKinds.length);
+    out.write(myKinds);
+    writeInts(out, myPayloads);
+    writeInts(out, myEnd);
+    writeInts(out, myKeys);
+    out.writeInt(myNumbers.length);
+    for (long number : myNumbers) {
+      out.writeLong(number);
+    }
+  }
+
+  private static void writeInts(@Nonnull DataOutputStream out, @Nonnull int[] values) throws IOException {
+    for (int value : values) {
+      out.writeInt(value);
+    }
+  }
+
+  /**
+   * Reads a tape written by {@link #write}, the arrays are copied out of the buffer in bulk.
+   *
+   * @throws IllegalStateException if the data does not describe a well-formed tape
+   */
+  @Nonnull
+  static SchemaTape read(@Nonnull ByteBuffer buffer) {
+    String[] strings = new String[readCount(buffer, Integer.BYTES)];
+    Map<String, Integer> stringIds = new HashMap<>(strings.length * 2);
+    for (int i = 0; i < strings.length; i++) {
+      byte[] bytes = new byte[readCount(buffer, 1)];
+      buffer.get(bytes);
+      strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      stringIds.put(strings[i], i);
+    }
+    int size = readCount(buffer, 1 + 3 * Integer.BYTES);
+    byte[] kinds = new byte[size];
+    buffer.get(kinds);
+    int[] payloads = readInts(buffer, size);
+    int[] end = readInts(buffer, size);
+    int[] keys = readInts(buffer, size);
+    long[] numbers = new long[readCount(buffer, Long.BYTES)];
+    buffer.asLongBuffer().get(numbers);
+    buffer.position(buffer.position() + numbers.length * Long.BYTES);
+
+    checkWellFormed(kinds, payloads, end, keys, numbers.length, strings.length);
+    return new SchemaTape(kinds, payloads, end, keys, numbers, strings, stringIds);
+  }
+
+  // a corrupted count must not allocate more than the buffer can hold
+  private static int readCount(@Nonnull ByteBuffer buffer, int elementSize) {
+    int count = buffer.getInt();
+    if (count < 0 || (long)count * elementSize > buffer.remaining()) throw new IllegalStateException("Broken schema tape count " + count);
+    return count;
+  }
+
+  @Nonnull
+  private static int[] readInts(@Nonnull ByteBuffer buffer, int size) {
+    int[] values = new int[size];
+    buffer.asIntBuffer().get(values);
+    buffer.position(buffer.position() + size * Integer.BYTES);
+    return values;
+  }
+
+  // every index stored in the tape must point inside its array, so that a corrupted tape fails here rather than on a schema lookup
+  private static void checkWellFormed(@Nonnull byte[] kinds,
+                                      @Nonnull int[] payloads,
+                                      @Nonnull int[] end,
+                                      @Nonnull int[] keys,
+                                      int numbersCount,
+                                      int stringsCount) {
+    int size = kinds.length;
+    if (size == 0 || end[0] != size || keys[0] != NO_KEY) throw new IllegalStateException("Broken schema tape root");
+    for (int node = 0; node < size; node++) {
+      int payload = payloads[node];
+      boolean valid = end[node] > node && end[node] <= size && (keys[node] == NO_KEY || keys[node] >= 0 && keys[node] < stringsCount);
+      switch (kinds[node]) {
+        case NULL:
+        case TRUE:
+        case FALSE:
+        case INT:
+          break;
+        case LONG:
+        case DOUBLE:
+          valid &= payload >= 0 && payload < numbersCount;
+          break;
+        case DECIMAL:
+        case TEXT:
+          valid &= payload >= 0 && payload < stringsCount;
+          break;
+        case ARRAY:
+        case OBJECT: {
+          int child = node + 1;
+          for (int i = 0; valid && i < payload; i++, child = end[child]) {
+            valid = child < end[node] && end[child] > child && (keys[child] == NO_KEY) == (kinds[node] == ARRAY);
+          }
+          // the children must cover the whole subtree
+          valid &= payload >= 0 && child == end[node];
+          break;
+        }
+        default:
+          valid = false;
+      }
+      if (!valid) throw new IllegalStateException("Broken schema tape node " + node);
+    }
+  }
+
+  private static final class Builder {
+    private byte[] myKinds = new byte[256];
+    private int[] myPayloads = new int[256];
+    private int[] myEnd = new int[256];
+    private int[] myKeys = new int[256];
+    private int mySize;
+    private long[] myNumbers = new long[16];
+    private int myNumbersSize;
+    private final List<String> myStrings = new ArrayList<>();
+    private final Map<String, Integer> myStringIds = new HashMap<>();
+
+    @Nonnull
+    SchemaTape build(@Nonnull JsonNode rootNode) {
+      // iterative pre-order walk, the subtree end of a container is known once all of its children are written
+      Deque<Object[]> stack = new ArrayDeque<>();
+      int root = append(rootNode, NO_KEY);
+      if (rootNode.isContainerNode()) stack.push(new Object[]{root, rootNode.isObject() ? rootNode.fields() : rootNode.elements()});
+      while (!stack.isEmpty()) {
+        Object[] frame = stack.peek();
+        Iterator<?> children = (Iterator<?>)frame[1];
+        if (!children.hasNext()) {
+          myEnd[(Integer)frame[0]] = mySize;
+          stack.pop();
+          continue;
+        }
+
+        Object next = children.next();
+        JsonNode child;
+        int key;
+        if (next instanceof Map.Entry) {
+          @SuppressWarnings("unchecked") Map.Entry<String, JsonNode> field = (Map.Entry<String, JsonNode>)next;
+          child = field.getValue();
+          key = intern(field.getKey());
+        }
+        else {
+          child = (JsonNode)next;
+          key = NO_KEY;
+        }
+
+        int index = append(child, key);
+        if (child.isContainerNode() && child.size() > 0) {
+          stack.push(new Object[]{index, child.isObject() ? child.fields() : child.elements()});
+        }
+      }
+
+      return new SchemaTape(Arrays.copyOf(myKinds, mySize),
+                            Arrays.copyOf(myPayloads, mySize),
+                            Arrays.copyOf(myEnd, mySize),
+                            Arrays.copyOf(myKeys, mySize),
+                            Arrays.copyOf(myNumbers, myNumbersSize),
+                            myStrings.toArray(new String[0]),
+                            myStringIds);
+    }
+
+    private int append(@Nonnull JsonNode node, int key) {
+      if (mySize == myKinds.length) {
+        int newCapacity = mySize * 2;
+        myKinds = Arrays.copyOf(myKinds, newCapacity);
+        myPayloads = Arrays.copyOf(myPayloads, newCapacity);
+        myEnd = Arrays.copyOf(myEnd, newCapacity);
+        myKeys = Arrays.copyOf(myKeys, newCapacity);
+      }
+
+      int index = mySize++;
+      myKeys[index] = key;
+      myEnd[index] = mySize;
+      if (node.isObject()) {
+        myKinds[index] = OBJECT;
+        myPayloads[index] = node.size();
+      }
+      else if (node.isArray()) {
+        myKinds[index] = ARRAY;
+        myPayloads[index] = node.size();
+      }
+      else if (node.isTextual()) {
+        myKinds[index] = TEXT;
+        myPayloads[index] = intern(node.asText());
+      }
+      else if (node.isBoolean()) {
+        myKinds[index] = node.asBoolean() ? TRUE : FALSE;
+      }
+      else if (node.isInt()) {
+        myKinds[index] = INT;
+        myPayloads[index] = node.intValue();
+      }
+      else if (node.isLong()) {
+        myKinds[index] = LONG;
+        myPayloads[index] = appendNumber(node.longValue());
+      }
+      else if (node.isDouble()) {
+        myKinds[index] = DOUBLE;
+        myPayloads[index] = appendNumber(Double.doubleToRawLongBits(node.doubleValue()));
+      }
+      else if (node.isNumber()) {
+        myKinds[index] = DECIMAL;
+        myPayloads[index] = intern(node.decimalValue().toString());
+      }
+      else {
+        myKinds[index] = NULL;
+      }
+      return index;
+    }
+
+    private int appendNumber(long bits) {
+      if (myNumbersSize == myNumbers.length) {
+        myNumbers = Arrays.copyOf(myNumbers, myNumbersSize * 2);
+      }
+      myNumbers[myNumbersSize] = bits;
+      return myNumbersSize++;
+    }
+
+    private int intern(@Nonnull String string) {
+      Integer existing = myStringIds.get(string);
+      if (existing != null) return existing;
+      int id = myStrings.size();
+      myStrings.add(string);
+      myStringIds.put(string, id);
+      return id;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Lightweight handle of a single node of a {@link SchemaTape}
+ */
+final class SchemaTapeNode {
+  private final SchemaTape tape;
+  private final int index;
+
+  SchemaTapeNode(@Nonnull SchemaTape tape, int index) {
+    this.tape = tape;
+    this.index = index;
+  }
+
+  @Nonnull
+  SchemaTape getTape() {
+    return tape;
+  }
+
+  int getIndex() {
+    return index;
+  }
+
+  boolean isObject() {
+    return tape.getKind(index) == SchemaTape.OBJECT;
+  }
+
+  boolean isArray() {
+    return tape.getKind(index) == SchemaTape.ARRAY;
+  }
+
+  @Nonnull
+  SchemaTapeNode at(int otherIndex) {
+    return new SchemaTapeNode(tape, otherIndex);
+  }
+
+  @Nonnull
+  JsonNode toJsonNode() {
+    return tape.toJsonNode(index);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof SchemaTapeNode)) return false;
+    SchemaTapeNode node = (SchemaTapeNode)o;
+    return index == node.index && tape == node.tape;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * System.identityHashCode(tape) + index;
+  }
+}
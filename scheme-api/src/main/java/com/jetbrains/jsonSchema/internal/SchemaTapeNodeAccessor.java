@@ -0,0 +1,279 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static com.jetbrains.jsonSchema.internal.JacksonSchemaNodeAccessor.asDoubleQuotedString;
+
+/**
+ * {@link RawJsonSchemaNodeAccessor} over {@link SchemaTape} nodes.
+ * Mirrors the semantics of {@link JacksonSchemaNodeAccessor}, so both representations are interchangeable for schema objects.
+ */
+final class SchemaTapeNodeAccessor implements RawJsonSchemaNodeAccessor<SchemaTapeNode> {
+  static final SchemaTapeNodeAccessor INSTANCE = new SchemaTapeNodeAccessor();
+
+  private SchemaTapeNodeAccessor() {
+  }
+
+  @Override
+  @Nullable
+  public SchemaTapeNode resolveNode(@Nonnull SchemaTapeNode rootNode, @Nonnull String absoluteNodeJsonPointer) {
+    if (!absoluteNodeJsonPointer.startsWith("/")) return null;
+    if (absoluteNodeJsonPointer.equals("/")) return rootNode;
+
+    SchemaTape tape = rootNode.getTape();
+    String decodedPointer = URLDecoder.decode(absoluteNodeJsonPointer, StandardCharsets.UTF_8);
+    int current = rootNode.getIndex();
+    int segmentStart = 1;
+    while (current != -1 && segmentStart <= decodedPointer.length()) {
+      int segmentEnd = decodedPointer.indexOf('/', segmentStart);
+      if (segmentEnd == -1) segmentEnd = decodedPointer.length();
+      String segment = unescapeJsonPointerSegment(decodedPointer.substring(segmentStart, segmentEnd));
+      current = resolveSegment(tape, current, segment);
+      segmentStart = segmentEnd + 1;
+    }
+    return current == -1 ? null : rootNode.at(current);
+  }
+
+  @Override
+  @Nullable
+  public SchemaTapeNode resolveRelativeNode(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    int child = getChildOrSelf(node, relativeChildPath);
+    return child == -1 ? null : node.at(child);
+  }
+
+  @Override
+  @Nullable
+  public SchemaTapeNode resolveRelativeNode(@Nonnull SchemaTapeNode node) {
+    return node;
+  }
+
+  @Override
+  public boolean hasChildNode(@Nonnull SchemaTapeNode node, @Nonnull String relativeChildPath) {
+    return node.isObject() && getChildOrSelf(node, relativeChildPath) != -1;
+  }
+
+  @Override
+  public boolean isObjectNode(@Nonnull SchemaTapeNode node) {
+    return node.isObject();
+  }
+
+  @Override
+  public boolean isArrayNode(@Nonnull SchemaTapeNode node) {
+    return node.isArray();
+  }
+
+  @Override
+  @Nullable
+  public String readTextNodeValue(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    if (!node.isObject() && relativeChildPath != null) return null;
+    int child = getChildOrSelf(node, relativeChildPath);
+    return child == -1 ? null : node.getTape().getText(child);
+  }
+
+  @Override
+  @Nullable
+  public String readTextNodeValue(@Nonnull SchemaTapeNode node) {
+    return readTextNodeValue(node, null);
+  }
+
+  @Override
+  @Nullable
+  public Boolean readBooleanNodeValue(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    int child = getChildOrSelf(node, relativeChildPath);
+    if (child == -1 || (!node.isObject() && relativeChildPath != null)) return null;
+    byte kind = node.getTape().getKind(child);
+    return kind == SchemaTape.TRUE ? Boolean.TRUE : kind == SchemaTape.FALSE ? Boolean.FALSE : null;
+  }
+
+  @Override
+  @Nullable
+  public Boolean readBooleanNodeValue(@Nonnull SchemaTapeNode node) {
+    return readBooleanNodeValue(node, null);
+  }
+
+  @Override
+  @Nullable
+  public Number readNumberNodeValue(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    if (!node.isObject() && relativeChildPath != null) return null;
+    int child = getChildOrSelf(node, relativeChildPath);
+    return child == -1 ? null : node.getTape().getNumber(child);
+  }
+
+  @Override
+  @Nullable
+  public Number readNumberNodeValue(@Nonnull SchemaTapeNode node) {
+    return readNumberNodeValue(node, null);
+  }
+
+  @Override
+  @Nullable
+  public String readUntypedNodeValueAsText(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    if (!node.isObject() && relativeChildPath != null) return null;
+    int child = getChildOrSelf(node, relativeChildPath);
+    return child == -1 ? null : node.getTape().toPrettyString(child);
+  }
+
+  @Override
+  @Nullable
+  public String readUntypedNodeValueAsText(@Nonnull SchemaTapeNode node) {
+    return readUntypedNodeValueAsText(node, null);
+  }
+
+  @Override
+  @Nullable
+  public Iterable<String> readNodeKeys(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    int child = getChildOrSelf(node, relativeChildPath);
+    if (child == -1) return null;
+
+    SchemaTape tape = node.getTape();
+    if (tape.getKind(child) != SchemaTape.OBJECT || tape.getChildrenCount(child) == 0) return null;
+    List<String> keys = new ArrayList<>(tape.getChildrenCount(child));
+    for (int field = tape.getFirstChild(child); field != -1; field = tape.getNextSibling(child, field)) {
+      keys.add(tape.getKey(field));
+    }
+    return keys;
+  }
+
+  @Override
+  @Nullable
+  public Iterable<String> readNodeKeys(@Nonnull SchemaTapeNode node) {
+    return readNodeKeys(node, null);
+  }
+
+  @Override
+  @Nullable
+  public Iterable<Object> readUntypedNodesCollection(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    if (!node.isObject() && relativeChildPath != null) return null;
+    int child = getChildOrSelf(node, relativeChildPath);
+    if (child == -1) return null;
+
+    SchemaTape tape = node.getTape();
+    if (tape.getKind(child) != SchemaTape.ARRAY) return null;
+    List<Object> result = new ArrayList<>(tape.getChildrenCount(child));
+    for (int item = tape.getFirstChild(child); item != -1; item = tape.getNextSibling(child, item)) {
+      Object value = readAnything(tape, item);
+      if (value != null) result.add(value);
+    }
+    return result;
+  }
+
+  @Override
+  @Nullable
+  public Iterable<Object> readUntypedNodesCollection(@Nonnull SchemaTapeNode node) {
+    return readUntypedNodesCollection(node, null);
+  }
+
+  @Override
+  @Nullable
+  public Iterable<Pair<String, SchemaTapeNode>> readNodeAsMapEntries(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    if (!node.isObject() && relativeChildPath != null) return null;
+    int child = getChildOrSelf(node, relativeChildPath);
+    if (child == -1) return null;
+
+    SchemaTape tape = node.getTape();
+    if (tape.getKind(child) != SchemaTape.OBJECT) return null;
+    List<Pair<String, SchemaTapeNode>> result = new ArrayList<>(tape.getChildrenCount(child));
+    for (int field = tape.getFirstChild(child); field != -1; field = tape.getNextSibling(child, field)) {
+      result.add(new Pair<>(tape.getKey(field), node.at(field)));
+    }
+    return result;
+  }
+
+  @Override
+  @Nullable
+  public Iterable<Pair<String, SchemaTapeNode>> readNodeAsMapEntries(@Nonnull SchemaTapeNode node) {
+    return readNodeAsMapEntries(node, null);
+  }
+
+  @Override
+  @Nullable
+  public Iterable<Pair<String, List<String>>> readNodeAsMultiMapEntries(@Nonnull SchemaTapeNode node, @Nullable String relativeChildPath) {
+    Iterable<Pair<String, SchemaTapeNode>> entries = readNodeAsMapEntries(node, relativeChildPath);
+    if (entries == null) return null;
+
+    SchemaTape tape = node.getTape();
+    List<Pair<String, List<String>>> result = new ArrayList<>();
+    for (Pair<String, SchemaTapeNode> entry : entries) {
+      int array = entry.getSecond().getIndex();
+      if (tape.getKind(array) != SchemaTape.ARRAY) continue;
+
+      List<String> values = new ArrayList<>(tape.getChildrenCount(array));
+      for (int item = tape.getFirstChild(array); item != -1; item = tape.getNextSibling(array, item)) {
+        String text = tape.getText(item);
+        if (text != null) values.add(text);
+      }
+      result.add(new Pair<>(entry.getFirst(), values));
+    }
+    return result;
+  }
+
+  @Override
+  @Nullable
+  public Iterable<Pair<String, List<String>>> readNodeAsMultiMapEntries(@Nonnull SchemaTapeNode node) {
+    return readNodeAsMultiMapEntries(node, null);
+  }
+
+  private static int getChildOrSelf(@Nonnull SchemaTapeNode node, @Nullable String directChildName) {
+    if (directChildName == null) return node.getIndex();
+    return node.getTape().findChild(node.getIndex(), directChildName);
+  }
+
+  private static int resolveSegment(@Nonnull SchemaTape tape, int node, @Nonnull String segment) {
+    if (tape.getKind(node) == SchemaTape.OBJECT) return tape.findChild(node, segment);
+    if (tape.getKind(node) != SchemaTape.ARRAY) return -1;
+    try {
+      return tape.getElement(node, Integer.parseInt(segment));
+    }
+    catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  @Nonnull
+  private static String unescapeJsonPointerSegment(@Nonnull String segment) {
+    if (segment.indexOf('~') == -1) return segment;
+    return segment.replace("~1", "/").replace("~0", "~");
+  }
+
+  @Nullable
+  private static Object readAnything(@Nonnull SchemaTape tape, int node) {
+    switch (tape.getKind(node)) {
+      case SchemaTape.TEXT:
+        return asDoubleQuotedString(tape.getText(node));
+      case SchemaTape.NULL:
+        return "null";
+      case SchemaTape.TRUE:
+        return true;
+      case SchemaTape.FALSE:
+        return false;
+      case SchemaTape.INT:
+      case SchemaTape.LONG:
+      case SchemaTape.DOUBLE:
+        return tape.getNumber(node);
+      case SchemaTape.OBJECT: {
+        Map<String, Object> map = new HashMap<>();
+        for (int field = tape.getFirstChild(node); field != -1; field = tape.getNextSibling(node, field)) {
+          Object value = readAnything(tape, field);
+          if (value != null) map.put(tape.getKey(field), value);
+        }
+        return new EnumObjectValueWrapper(map);
+      }
+      case SchemaTape.ARRAY: {
+        List<Object> items = new ArrayList<>(tape.getChildrenCount(node));
+        for (int item = tape.getFirstChild(node); item != -1; item = tape.getNextSibling(node, item)) {
+          Object value = readAnything(tape, item);
+          if (value != null) items.add(value);
+        }
+        return new EnumArrayValueWrapper(items.toArray());
+      }
+      default:
+        return null;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import static com.jetbrains.jsonSchema.internal.JsonSchemaInterpretationStrategy.computeJsonSchemaVersion;
+import static com.jetbrains.jsonSchema.internal.SchemaKeywords.SCHEMA_KEYWORD_INVARIANT;
+
+/**
+ * Immutable, project independent part of a parsed schema: the raw tree, its interpretation strategy and keyword index.
+ * A single instance is shared by all {@link RootJsonSchemaObjectBackedByJackson} views created for the same schema content,
+ * see {@link JsonSchemaSharedStore}.
+ */
+final class SharedJsonSchemaData {
+  private final Object rawRoot;
+  private final RawJsonSchemaNodeAccessor<?> nodeAccessor;
+  private final SchemaTape tape;
+  private final JsonSchemaInterpretationStrategy interpretationStrategy;
+  private final JsonSchemaNodeIndex index;
+
+  private SharedJsonSchemaData(@Nonnull Object rawRoot,
+                               @Nonnull RawJsonSchemaNodeAccessor<?> nodeAccessor,
+                               @Nullable SchemaTape tape,
+                               @Nonnull JsonSchemaInterpretationStrategy interpretationStrategy,
+                               @Nonnull JsonSchemaNodeIndex index) {
+    this.rawRoot = rawRoot;
+    this.nodeAccessor = nodeAccessor;
+    this.tape = tape;
+    this.interpretationStrategy = interpretationStrategy;
+    this.index = index;
+  }
+
+  /**
+   * @param compact whether the parsed tree should be converted to a {@link SchemaTape}, so that the Jackson tree
+   *                is not retained after construction
+   */
+  @Nonnull
+  static SharedJsonSchemaData create(@Nonnull JsonNode rootNode, boolean compact) {
+    if (compact) {
+      return create(SchemaTape.build(rootNode), true);
+    }
+    JsonSchemaInterpretationStrategy strategy =
+      computeJsonSchemaVersion(JacksonSchemaNodeAccessor.INSTANCE.readTextNodeValue(rootNode, SCHEMA_KEYWORD_INVARIANT));
+    JsonSchemaNodeIndex index = JsonSchemaNodeIndex.build(rootNode, strategy);
+    return new SharedJsonSchemaData(rootNode, JacksonSchemaNodeAccessor.INSTANCE, null, strategy, index);
+  }
+
+  /**
+   * Creates the data of a schema read as a tape, like a {@link JsonSchemaSnapshotStorage snapshot}, no Jackson tree is built
+   * unless the compact mode is off
+   */
+  @Nonnull
+  static SharedJsonSchemaData create(@Nonnull SchemaTape tape, boolean compact) {
+    if (!compact) {
+      return create(tape.toJsonNode(0), false);
+    }
+    SchemaTapeNode root = tape.getRoot();
+    JsonSchemaInterpretationStrategy strategy =
+      computeJsonSchemaVersion(SchemaTapeNodeAccessor.INSTANCE.readTextNodeValue(root, SCHEMA_KEYWORD_INVARIANT));
+    JsonSchemaNodeIndex index = JsonSchemaNodeIndex.build(tape, strategy);
+    return new SharedJsonSchemaData(root, SchemaTapeNodeAccessor.INSTANCE, tape, strategy, index);
+  }
+
+  @Nonnull
+  Object getRawRoot() {
+    return rawRoot;
+  }
+
+  @Nonnull
+  RawJsonSchemaNodeAccessor<?> getNodeAccessor() {
+    return nodeAccessor;
+  }
+
+  @Nullable
+  SchemaTape getTape() {
+    return tape;
+  }
+
+  @Nonnull
+  JsonSchemaInterpretationStrategy getInterpretationStrategy() {
+    return interpretationStrategy;
+  }
+
+  @Nonnull
+  JsonSchemaNodeIndex getIndex() {
+    return index;
+  }
+}
@@ -0,0 +1,185 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal.adapter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import consulo.project.Project;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+/**
+ * Lightweight immutable tree of a JSON document, the PSI-free counterpart of a {@code JsonFile}.
+ * <p>
+ * The tree is read with the Jackson streaming parser and keeps only the structure and the offsets of the values,
+ * so documents which are never opened in an editor can be validated without building their PSI.
+ * The validations see the tree through the usual adapters, see {@link #getRootAdapter()},
+ * and report the errors against the {@link JsonTreeElement synthetic elements} of the nodes.
+ */
+public final class JsonTree {
+  private static final JsonFactory FACTORY = new JsonFactory();
+  // the part of JSON5 supported by the Jackson parser, hexadecimal numbers and multi-line strings are not
+  private static final JsonFactory JSON5_FACTORY = JsonFactory.builder()
+    .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS,
+            JsonReadFeature.ALLOW_SINGLE_QUOTES,
+            JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES,
+            JsonReadFeature.ALLOW_TRAILING_COMMA,
+            JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS,
+            JsonReadFeature.ALLOW_LEADING_DECIMAL_POINT_FOR_NUMBERS,
+            JsonReadFeature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER)
+    .build();
+
+  private final @Nonnull Project myProject;
+  private final @Nonnull String myText;
+  private final boolean myJson5;
+  private final @Nonnull JsonTreeNode myRoot;
+
+  private JsonTree(@Nonnull Project project, @Nonnull String text, boolean json5, @Nonnull JsonParser parser) throws IOException {
+    myProject = project;
+    myText = text;
+    myJson5 = json5;
+    myRoot = build(parser);
+  }
+
+  /**
+   * @throws IOException if the text is not a well-formed JSON document, see {@link JsonParseException#getLocation()}
+   */
+  @Nonnull
+  public static JsonTree parse(@Nonnull Project project, @Nonnull String text) throws IOException {
+    return parse(project, text, false);
+  }
+
+  /**
+   * @param json5 whether the relaxed syntax of JSON5 is allowed: comments, single quotes, unquoted names, trailing commas
+   * @throws IOException if the text is not a well-formed document, see {@link JsonParseException#getLocation()}
+   */
+  @Nonnull
+  public static JsonTree parse(@Nonnull Project project, @Nonnull String text, boolean json5) throws IOException {
+    try (JsonParser parser = (json5 ? JSON5_FACTORY : FACTORY).createParser(text)) {
+      return new JsonTree(project, text, json5, parser);
+    }
+  }
+
+  @Nonnull
+  public Project getProject() {
+    return myProject;
+  }
+
+  @Nonnull
+  public String getText() {
+    return myText;
+  }
+
+  public boolean isJson5() {
+    return myJson5;
+  }
+
+  @Nonnull
+  public JsonTreeNode getRoot() {
+    return myRoot;
+  }
+
+  @Nonnull
+  public JsonValueAdapter getRootAdapter() {
+    return JsonTreePropertyAdapter.createAdapterByKind(myRoot);
+  }
+
+  @Nonnull
+  private JsonTreeNode build(@Nonnull JsonParser parser) throws IOException {
+    // the open objects, arrays and properties
+    ArrayDeque<JsonTreeNode> open = new ArrayDeque<>();
+    JsonTreeNode root = null;
+    JsonToken token;
+    while ((token = parser.nextToken()) != null) {
+      if (root != null) throw new JsonParseException(parser, "Unexpected content after the top-level value");
+      int start = (int)parser.getTokenLocation().getCharOffset();
+      JsonTreeNode parent = open.peekLast();
+      JsonTreeNode completed;
+      switch (token) {
+        case FIELD_NAME: {
+          JsonTreeNode property = new JsonTreeNode(this, JsonTreeNode.Kind.PROPERTY, parent, parent.getChildCount(), start);
+          JsonTreeNode nameNode = new JsonTreeNode(this, JsonTreeNode.Kind.STRING, property, 0, start);
+          nameNode.finish(skipString(start));
+          property.setName(parser.getCurrentName(), nameNode);
+          parent.addChild(property);
+          open.addLast(property);
+          continue;
+        }
+        case START_OBJECT:
+        case START_ARRAY: {
+          JsonTreeNode.Kind kind = token == JsonToken.START_OBJECT ? JsonTreeNode.Kind.OBJECT : JsonTreeNode.Kind.ARRAY;
+          JsonTreeNode container = new JsonTreeNode(this, kind, parent, parent == null ? 0 : parent.getChildCount(), start);
+          if (parent != null) parent.addChild(container);
+          open.addLast(container);
+          continue;
+        }
+        case END_OBJECT:
+        case END_ARRAY:
+          completed = open.removeLast();
+          completed.finish(start + 1);
+          break;
+        default: {
+          JsonTreeNode.Kind kind = getScalarKind(token);
+          completed = new JsonTreeNode(this, kind, parent, parent == null ? 0 : parent.getChildCount(), start);
+          completed.finish(kind == JsonTreeNode.Kind.STRING ? skipString(start) : skipScalar(start));
+          if (parent != null) parent.addChild(completed);
+          break;
+        }
+      }
+      JsonTreeNode container = open.peekLast();
+      if (container != null && container.getKind() == JsonTreeNode.Kind.PROPERTY) {
+        open.removeLast().finish(completed.getEndOffset());
+      }
+      else if (container == null) {
+        root = completed;
+      }
+    }
+    if (root == null) throw new JsonParseException(parser, "No content to validate");
+    return root;
+  }
+
+  @Nonnull
+  private static JsonTreeNode.Kind getScalarKind(@Nonnull JsonToken token) {
+    switch (token) {
+      case VALUE_STRING:
+        return JsonTreeNode.Kind.STRING;
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return JsonTreeNode.Kind.NUMBER;
+      case VALUE_TRUE:
+      case VALUE_FALSE:
+        return JsonTreeNode.Kind.BOOLEAN;
+      default:
+        return JsonTreeNode.Kind.NULL;
+    }
+  }
+
+  // the offset after the closing quote of the string starting at the offset, the string is known to be well-formed
+  private int skipString(int start) {
+    char quote = myText.charAt(start);
+    if (quote != '"' && quote != '\'') {
+      // an unquoted name of JSON5
+      int i = start;
+      while (i < myText.length() && (Character.isLetterOrDigit(myText.charAt(i)) || myText.charAt(i) == '_' || myText.charAt(i) == '$')) i++;
+      return i;
+    }
+    int i = start + 1;
+    while (i < myText.length()) {
+      char c = myText.charAt(i);
+      if (c == quote) return i + 1;
+      i += c == '\\' ? 2 : 1;
+    }
+    return myText.length();
+  }
+
+  private int skipScalar(int start) {
+    int i = start;
+    while (i < myText.length() && ",]}: \t\r\n/".indexOf(myText.charAt(i)) < 0) i++;
+    return i;
+  }
+}
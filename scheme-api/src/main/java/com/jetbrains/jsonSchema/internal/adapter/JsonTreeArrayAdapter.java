@@ -0,0 +1,74 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal.adapter;
+
+import com.jetbrains.jsonSchema.extension.adapter.JsonArrayValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
+import com.jetbrains.jsonSchema.extension.adapter.JsonObjectValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import consulo.language.psi.PsiElement;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class JsonTreeArrayAdapter implements JsonArrayValueAdapter {
+  private final @Nonnull JsonTreeNode myNode;
+
+  public JsonTreeArrayAdapter(@Nonnull JsonTreeNode node) {myNode = node;}
+
+  @Override
+  public boolean isObject() {
+    return false;
+  }
+
+  @Override
+  public boolean isArray() {
+    return true;
+  }
+
+  @Override
+  public boolean isStringLiteral() {
+    return false;
+  }
+
+  @Override
+  public boolean isNumberLiteral() {
+    return false;
+  }
+
+  @Override
+  public boolean isBooleanLiteral() {
+    return false;
+  }
+
+  @Override
+  public @Nonnull PsiElement getDelegate() {
+    return myNode.getElement();
+  }
+
+  @Override
+  public @Nullable JsonObjectValueAdapter getAsObject() {
+    return null;
+  }
+
+  @Override
+  public @Nullable JsonArrayValueAdapter getAsArray() {
+    return this;
+  }
+
+  @Override
+  public @Nullable JsonLiteralValue getLiteral() {
+    return myNode.getLiteral();
+  }
+
+  @Override
+  public @Nonnull List<JsonValueAdapter> getElements() {
+    List<JsonTreeNode> elements = myNode.getChildren();
+    List<JsonValueAdapter> result = new ArrayList<>(elements.size());
+    for (JsonTreeNode element : elements) {
+      result.add(JsonTreePropertyAdapter.createAdapterByKind(element));
+    }
+    return result;
+  }
+}
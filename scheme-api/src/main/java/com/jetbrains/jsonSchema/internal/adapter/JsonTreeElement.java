@@ -0,0 +1,81 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal.adapter;
+
+import consulo.document.util.TextRange;
+import consulo.language.impl.psi.FakePsiElement;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
+import consulo.project.Project;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Synthetic element of a {@link JsonTreeNode}, used as the location of the validation errors reported for the node.
+ * <p>
+ * There is a single element per node, so the errors of the same node are grouped as they are for PSI.
+ * The element is not a part of any file, its range is the range of the node in the source text of the tree.
+ */
+public final class JsonTreeElement extends FakePsiElement {
+  private final @Nonnull JsonTreeNode myNode;
+
+  JsonTreeElement(@Nonnull JsonTreeNode node) {
+    myNode = node;
+  }
+
+  @Nonnull
+  public JsonTreeNode getNode() {
+    return myNode;
+  }
+
+  @Override
+  public @Nullable PsiElement getParent() {
+    JsonTreeNode parent = myNode.getParent();
+    return parent == null ? null : parent.getElement();
+  }
+
+  @Override
+  public @Nonnull Project getProject() {
+    return myNode.getTree().getProject();
+  }
+
+  @Override
+  public PsiManager getManager() {
+    return PsiManager.getInstance(getProject());
+  }
+
+  @Override
+  public @Nullable PsiFile getContainingFile() {
+    return null;
+  }
+
+  @Override
+  public String getText() {
+    return myNode.getText();
+  }
+
+  @Override
+  public TextRange getTextRange() {
+    return new TextRange(myNode.getStartOffset(), myNode.getEndOffset());
+  }
+
+  @Override
+  public int getTextOffset() {
+    return myNode.getStartOffset();
+  }
+
+  @Override
+  public int getTextLength() {
+    return myNode.getEndOffset() - myNode.getStartOffset();
+  }
+
+  @Override
+  public boolean isValid() {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "JsonTreeElement(" + myNode + ")";
+  }
+}
@@ -0,0 +1,66 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal.adapter;
+
+import com.jetbrains.jsonSchema.extension.adapter.JsonArrayValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
+import com.jetbrains.jsonSchema.extension.adapter.JsonObjectValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import consulo.language.psi.PsiElement;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+public final class JsonTreeGenericValueAdapter implements JsonValueAdapter {
+  private final @Nonnull JsonTreeNode myNode;
+
+  public JsonTreeGenericValueAdapter(@Nonnull JsonTreeNode node) {myNode = node;}
+
+  @Override
+  public boolean isObject() {
+    return false;
+  }
+
+  @Override
+  public boolean isArray() {
+    return false;
+  }
+
+  @Override
+  public boolean isStringLiteral() {
+    return myNode.getKind() == JsonTreeNode.Kind.STRING;
+  }
+
+  @Override
+  public boolean isNumberLiteral() {
+    return myNode.getKind() == JsonTreeNode.Kind.NUMBER;
+  }
+
+  @Override
+  public boolean isBooleanLiteral() {
+    return myNode.getKind() == JsonTreeNode.Kind.BOOLEAN;
+  }
+
+  @Override
+  public boolean isNull() {
+    return myNode.getKind() == JsonTreeNode.Kind.NULL;
+  }
+
+  @Override
+  public @Nonnull PsiElement getDelegate() {
+    return myNode.getElement();
+  }
+
+  @Override
+  public @Nullable JsonObjectValueAdapter getAsObject() {
+    return null;
+  }
+
+  @Override
+  public @Nullable JsonArrayValueAdapter getAsArray() {
+    return null;
+  }
+
+  @Override
+  public @Nullable JsonLiteralValue getLiteral() {
+    return myNode.getLiteral();
+  }
+}
@@ -0,0 +1,222 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal.adapter;
+
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Node of a {@link JsonTree}: a value, or a property of an object, with its location in the source text.
+ * <p>
+ * The structure mirrors the JSON PSI: the children of an object are its properties, a property has a name node and a value node,
+ * so the errors reported for a property, its name or its value have distinct locations.
+ * The text of a node is not stored, it is taken from the source of the tree on request.
+ * <p>
+ * Nodes are immutable once the tree is built.
+ */
+public final class JsonTreeNode {
+  public enum Kind {
+    OBJECT,
+    ARRAY,
+    PROPERTY,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL
+  }
+
+  private final @Nonnull JsonTree myTree;
+  private final @Nonnull Kind myKind;
+  private final @Nullable JsonTreeNode myParent;
+  private final int myIndex;
+  private final int myStartOffset;
+  // set by the builder, the node is published only once the tree is built
+  private int myEndOffset;
+  private @Nullable String myName;
+  private @Nullable JsonTreeNode myNameNode;
+  private @Nonnull List<JsonTreeNode> myChildren = Collections.emptyList();
+  private @Nullable ArrayList<JsonTreeNode> myPendingChildren;
+
+  private volatile JsonTreeElement myElement;
+  private volatile JsonLiteralValue myLiteral;
+
+  JsonTreeNode(@Nonnull JsonTree tree, @Nonnull Kind kind, @Nullable JsonTreeNode parent, int index, int startOffset) {
+    myTree = tree;
+    myKind = kind;
+    myParent = parent;
+    myIndex = index;
+    myStartOffset = startOffset;
+  }
+
+  @Nonnull
+  public JsonTree getTree() {
+    return myTree;
+  }
+
+  @Nonnull
+  public Kind getKind() {
+    return myKind;
+  }
+
+  @Nullable
+  public JsonTreeNode getParent() {
+    return myParent;
+  }
+
+  /**
+   * @return the index of the node among the children of its parent
+   */
+  public int getIndex() {
+    return myIndex;
+  }
+
+  public int getStartOffset() {
+    return myStartOffset;
+  }
+
+  public int getEndOffset() {
+    return myEndOffset;
+  }
+
+  /**
+   * @return the source text of the node, the quotes of strings included
+   */
+  @Nonnull
+  public String getText() {
+    return myTree.getText().substring(myStartOffset, myEndOffset);
+  }
+
+  /**
+   * @return the properties of an object, the elements of an array, the value of a property, nothing for scalars
+   */
+  @Nonnull
+  public List<JsonTreeNode> getChildren() {
+    return myChildren;
+  }
+
+  /**
+   * @return the unquoted name of a property, null for other nodes
+   */
+  @Nullable
+  public String getName() {
+    return myName;
+  }
+
+  /**
+   * @return the string node of the name of a property, null for other nodes
+   */
+  @Nullable
+  public JsonTreeNode getNameNode() {
+    return myNameNode;
+  }
+
+  /**
+   * @return the value of a property, null for other nodes
+   */
+  @Nullable
+  public JsonTreeNode getValue() {
+    return myKind == Kind.PROPERTY && !myChildren.isEmpty() ? myChildren.get(0) : null;
+  }
+
+  public boolean isPropertyName() {
+    return myParent != null && myParent.myNameNode == this;
+  }
+
+  /**
+   * @return the RFC 6901 pointer to the value, the pointer of the value for a property or a property name
+   */
+  @Nonnull
+  public String getPointer() {
+    StringBuilder result = new StringBuilder();
+    appendPointer(result);
+    return result.toString();
+  }
+
+  private void appendPointer(@Nonnull StringBuilder result) {
+    JsonTreeNode parent = myParent;
+    if (parent == null) return;
+    switch (parent.myKind) {
+      case PROPERTY:
+        // the property, its name and its value share the pointer
+        parent.appendPointer(result);
+        break;
+      case ARRAY:
+        parent.appendPointer(result);
+        result.append('/').append(myIndex);
+        break;
+      case OBJECT:
+        parent.appendPointer(result);
+        result.append('/');
+        String name = myName == null ? "" : myName;
+        for (int i = 0; i < name.length(); i++) {
+          char c = name.charAt(i);
+          if (c == '~') result.append("~0");
+          else if (c == '/') result.append("~1");
+          else result.append(c);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * @return the synthetic element standing for the node in the validation errors, the same one on every call
+   */
+  @Nonnull
+  public JsonTreeElement getElement() {
+    JsonTreeElement element = myElement;
+    if (element == null) {
+      synchronized (this) {
+        element = myElement;
+        if (element == null) {
+          element = new JsonTreeElement(this);
+          myElement = element;
+        }
+      }
+    }
+    return element;
+  }
+
+  @Nonnull
+  JsonLiteralValue getLiteral() {
+    JsonLiteralValue literal = myLiteral;
+    if (literal == null) {
+      // a benign race, the literals are equivalent
+      literal = JsonLiteralValue.ofText(getText());
+      myLiteral = literal;
+    }
+    return literal;
+  }
+
+  void setName(@Nonnull String name, @Nonnull JsonTreeNode nameNode) {
+    myName = name;
+    myNameNode = nameNode;
+  }
+
+  void addChild(@Nonnull JsonTreeNode child) {
+    if (myPendingChildren == null) myPendingChildren = new ArrayList<>();
+    myPendingChildren.add(child);
+  }
+
+  int getChildCount() {
+    return myPendingChildren == null ? myChildren.size() : myPendingChildren.size();
+  }
+
+  void finish(int endOffset) {
+    myEndOffset = endOffset;
+    if (myPendingChildren != null) {
+      myChildren = List.copyOf(myPendingChildren);
+      myPendingChildren = null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return myKind + "@" + myStartOffset + ":" + getPointer();
+  }
+}
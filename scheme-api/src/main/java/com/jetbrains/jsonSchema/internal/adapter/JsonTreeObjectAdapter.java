@@ -0,0 +1,74 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal.adapter;
+
+import com.jetbrains.jsonSchema.extension.adapter.JsonArrayValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
+import com.jetbrains.jsonSchema.extension.adapter.JsonObjectValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonPropertyAdapter;
+import consulo.language.psi.PsiElement;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class JsonTreeObjectAdapter implements JsonObjectValueAdapter {
+  private final @Nonnull JsonTreeNode myNode;
+
+  public JsonTreeObjectAdapter(@Nonnull JsonTreeNode node) {myNode = node;}
+
+  @Override
+  public boolean isObject() {
+    return true;
+  }
+
+  @Override
+  public boolean isArray() {
+    return false;
+  }
+
+  @Override
+  public boolean isStringLiteral() {
+    return false;
+  }
+
+  @Override
+  public boolean isNumberLiteral() {
+    return false;
+  }
+
+  @Override
+  public boolean isBooleanLiteral() {
+    return false;
+  }
+
+  @Override
+  public @Nonnull PsiElement getDelegate() {
+    return myNode.getElement();
+  }
+
+  @Override
+  public @Nullable JsonObjectValueAdapter getAsObject() {
+    return this;
+  }
+
+  @Override
+  public @Nullable JsonArrayValueAdapter getAsArray() {
+    return null;
+  }
+
+  @Override
+  public @Nullable JsonLiteralValue getLiteral() {
+    return myNode.getLiteral();
+  }
+
+  @Override
+  public @Nonnull List<JsonPropertyAdapter> getPropertyList() {
+    List<JsonTreeNode> properties = myNode.getChildren();
+    List<JsonPropertyAdapter> result = new ArrayList<>(properties.size());
+    for (JsonTreeNode property : properties) {
+      result.add(new JsonTreePropertyAdapter(property));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.internal.adapter;
+
+import com.jetbrains.jsonSchema.extension.adapter.JsonObjectValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonPropertyAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import consulo.language.psi.PsiElement;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public final class JsonTreePropertyAdapter implements JsonPropertyAdapter {
+  private final @Nonnull JsonTreeNode myProperty;
+
+  public JsonTreePropertyAdapter(@Nonnull JsonTreeNode property) {
+    myProperty = property;
+  }
+
+  @Override
+  public @Nullable String getName() {
+    return myProperty.getName();
+  }
+
+  @Override
+  public @Nonnull String getNameOrEmpty() {
+    String name = myProperty.getName();
+    return name == null ? "" : name;
+  }
+
+  @Override
+  public @Nonnull Collection<JsonValueAdapter> getValues() {
+    JsonTreeNode value = myProperty.getValue();
+    return value == null ? List.of() : Collections.singletonList(createAdapterByKind(value));
+  }
+
+  @Override
+  public @Nullable JsonValueAdapter getNameValueAdapter() {
+    JsonTreeNode nameNode = myProperty.getNameNode();
+    return nameNode == null ? null : createAdapterByKind(nameNode);
+  }
+
+  @Override
+  public @Nonnull PsiElement getDelegate() {
+    return myProperty.getElement();
+  }
+
+  @Override
+  public @Nullable JsonObjectValueAdapter getParentObject() {
+    JsonTreeNode parent = myProperty.getParent();
+    return parent != null && parent.getKind() == JsonTreeNode.Kind.OBJECT ? new JsonTreeObjectAdapter(parent) : null;
+  }
+
+  public static @Nonnull JsonValueAdapter createAdapterByKind(@Nonnull JsonTreeNode node) {
+    if (node.getKind() == JsonTreeNode.Kind.OBJECT) return new JsonTreeObjectAdapter(node);
+    if (node.getKind() == JsonTreeNode.Kind.ARRAY) return new JsonTreeArrayAdapter(node);
+    return new JsonTreeGenericValueAdapter(node);
+  }
+}
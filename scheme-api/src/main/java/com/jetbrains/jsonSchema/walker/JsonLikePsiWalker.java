@@ -7,6 +7,7 @@ import com.jetbrains.jsonSchema.JsonSchemaObject;
 import com.jetbrains.jsonSchema.JsonSchemaType;
 import com.jetbrains.jsonSchema.extension.adapter.JsonPropertyAdapter;
 import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTreeElement;
 import consulo.document.util.TextRange;
 import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiFile;
@@ -109,6 +110,9 @@ public interface JsonLikePsiWalker {
     }
 
     static @Nullable JsonLikePsiWalker getWalker(final @Nonnull PsiElement element, @Nullable JsonSchemaObject schemaObject) {
+        if (element instanceof JsonTreeElement) {
+            return JsonTreePsiWalker.getInstance(((JsonTreeElement) element).getNode().getTree());
+        }
         if (JsonOriginalPsiWalker.INSTANCE.handles(element)) {
             return JsonOriginalPsiWalker.INSTANCE;
         }
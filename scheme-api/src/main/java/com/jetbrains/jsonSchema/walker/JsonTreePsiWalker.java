@@ -0,0 +1,172 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.walker;
+
+import com.intellij.json.pointer.JsonPointerPosition;
+import com.jetbrains.jsonSchema.extension.adapter.JsonPropertyAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTree;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTreeElement;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTreeNode;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTreePropertyAdapter;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.util.lang.ThreeState;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Walker of the {@link JsonTreeElement synthetic elements} of a {@link JsonTree}, the syntax is the one of standard JSON
+ * or of JSON5, depending on the tree. Used by the validations running on documents without PSI.
+ */
+public final class JsonTreePsiWalker implements JsonLikePsiWalker {
+    private static final JsonTreePsiWalker JSON = new JsonTreePsiWalker(false);
+    private static final JsonTreePsiWalker JSON5 = new JsonTreePsiWalker(true);
+
+    private final boolean myJson5;
+
+    private JsonTreePsiWalker(boolean json5) {
+        myJson5 = json5;
+    }
+
+    public static @Nonnull JsonTreePsiWalker getInstance(@Nonnull JsonTree tree) {
+        return tree.isJson5() ? JSON5 : JSON;
+    }
+
+    @Override
+    public ThreeState isName(PsiElement element) {
+        JsonTreeNode node = getNode(element);
+        return node != null && node.isPropertyName() ? ThreeState.YES : ThreeState.NO;
+    }
+
+    @Override
+    public boolean isPropertyWithValue(@Nonnull PsiElement element) {
+        JsonTreeNode node = getNode(element);
+        if (node != null && node.isPropertyName()) node = node.getParent();
+        return node != null && node.getKind() == JsonTreeNode.Kind.PROPERTY && node.getValue() != null;
+    }
+
+    @Override
+    public PsiElement findElementToCheck(@Nonnull PsiElement element) {
+        JsonTreeNode node = getNode(element);
+        if (node == null) return null;
+        return node.isPropertyName() ? node.getParent().getElement() : element;
+    }
+
+    @Override
+    public @Nullable JsonPointerPosition findPosition(@Nonnull PsiElement element, boolean forceLastTransition) {
+        JsonTreeNode node = getNode(element);
+        if (node == null) return null;
+        JsonPointerPosition position = new JsonPointerPosition();
+        JsonTreeNode current = node;
+        while (current.getParent() != null) {
+            JsonTreeNode parent = current.getParent();
+            if (parent.getKind() == JsonTreeNode.Kind.ARRAY) {
+                position.addPrecedingStep(current.getIndex());
+            }
+            else if (current.getKind() == JsonTreeNode.Kind.PROPERTY) {
+                // if either value or not first in the chain - needed for completion variant
+                if (current != node || forceLastTransition) {
+                    position.addPrecedingStep(current.getName());
+                }
+            }
+            else if (parent.getKind() == JsonTreeNode.Kind.PROPERTY) {
+                if (current != node || forceLastTransition) {
+                    position.addPrecedingStep(parent.getName());
+                }
+                // the step of the property is taken, go to the object
+                current = parent;
+            }
+            current = current.getParent();
+        }
+        return position;
+    }
+
+    @Override
+    public boolean requiresNameQuotes() {
+        return !myJson5;
+    }
+
+    @Override
+    public boolean allowsSingleQuotes() {
+        return myJson5;
+    }
+
+    @Override
+    public boolean hasMissingCommaAfter(@Nonnull PsiElement element) {
+        // the tree is built from well-formed documents only
+        return false;
+    }
+
+    @Override
+    public Set<String> getPropertyNamesOfParentObject(@Nonnull PsiElement originalPosition, PsiElement computedPosition) {
+        JsonTreeNode node = getNode(computedPosition);
+        while (node != null && node.getKind() != JsonTreeNode.Kind.OBJECT) {
+            node = node.getParent();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        if (node != null) {
+            for (JsonTreeNode property : node.getChildren()) {
+                result.add(property.getName());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @Nullable JsonPropertyAdapter getParentPropertyAdapter(@Nonnull PsiElement element) {
+        JsonTreeNode node = getNode(element);
+        while (node != null && node.getKind() != JsonTreeNode.Kind.PROPERTY) {
+            node = node.getParent();
+        }
+        return node == null ? null : new JsonTreePropertyAdapter(node);
+    }
+
+    @Override
+    public boolean isTopJsonElement(@Nonnull PsiElement element) {
+        JsonTreeNode node = getNode(element);
+        return node != null && node.getParent() == null;
+    }
+
+    @Override
+    public @Nullable JsonValueAdapter createValueAdapter(@Nonnull PsiElement element) {
+        JsonTreeNode node = getNode(element);
+        if (node == null) return null;
+        // same contract as JsonOriginalPsiWalker: a property is represented by the adapter of its name
+        if (node.getKind() == JsonTreeNode.Kind.PROPERTY) {
+            JsonPropertyAdapter propertyAdapter = getParentPropertyAdapter(element);
+            return propertyAdapter == null ? null : propertyAdapter.getNameValueAdapter();
+        }
+        return JsonTreePropertyAdapter.createAdapterByKind(node);
+    }
+
+    @Override
+    public @Nullable PsiElement getParentContainer(PsiElement element) {
+        JsonTreeNode node = getNode(element);
+        while (node != null && node.getKind() != JsonTreeNode.Kind.PROPERTY) {
+            node = node.getParent();
+        }
+        JsonTreeNode container = node == null ? null : node.getParent();
+        return container == null ? null : container.getElement();
+    }
+
+    @Override
+    public @Nullable Collection<PsiElement> getRoots(@Nonnull PsiFile file) {
+        // trees are not bound to files
+        return null;
+    }
+
+    @Override
+    public @Nullable PsiElement getPropertyNameElement(@Nullable PsiElement property) {
+        JsonTreeNode node = property == null ? null : getNode(property);
+        JsonTreeNode nameNode = node == null ? null : node.getNameNode();
+        return nameNode == null ? null : nameNode.getElement();
+    }
+
+    private static @Nullable JsonTreeNode getNode(@Nullable PsiElement element) {
+        return element instanceof JsonTreeElement ? ((JsonTreeElement)element).getNode() : null;
+    }
+}
@@ -3,6 +3,7 @@ package com.jetbrains.jsonSchema;
 
 import com.intellij.json.JsonFileType;
 import com.jetbrains.jsonSchema.impl.JsonSchemaServiceImpl;
+import com.jetbrains.jsonSchema.internal.JsonSchemaReferenceGraph;
 import consulo.application.Application;
 import consulo.application.ApplicationManager;
 import consulo.application.ReadAction;
@@ -32,7 +33,6 @@ import java.util.concurrent.ExecutorService;
 
 public final class JsonSchemaVfsListener extends BulkVirtualFileListenerAdapter {
   public static final Topic<Runnable> JSON_SCHEMA_CHANGED = Topic.create("JsonSchemaVfsListener.Json.Schema.Changed", Runnable.class);
-  public static final Topic<Runnable> JSON_DEPS_CHANGED = Topic.create("JsonSchemaVfsListener.Json.Deps.Changed", Runnable.class);
 
   public static @Nonnull JsonSchemaUpdater startListening(@Nonnull Project project, @Nonnull JsonSchemaService service, @Nonnull MessageBusConnection connection) {
     final JsonSchemaUpdater updater = new JsonSchemaUpdater(project, service);
@@ -80,15 +80,19 @@ public final class JsonSchemaVfsListener extends BulkVirtualFileListenerAdapter
       myRunnable = () -> {
         if (myProject.isDisposed()) return;
         Collection<VirtualFile> scope = new HashSet<>(myDirtySchemas);
-        if (ContainerUtil.exists(scope, f -> service.possiblyHasReference(f.getName()))) {
-          myProject.getMessageBus().syncPublisher(JSON_DEPS_CHANGED).run();
-          JsonDependencyModificationTracker.forProject(myProject).incModificationCount();
-        }
         myDirtySchemas.removeAll(scope);
         if (scope.isEmpty()) return;
 
-        Collection<VirtualFile> finalScope = ContainerUtil.filter(scope, file -> myService.isApplicableToFile(file)
-                                                                                 && ((JsonSchemaServiceImpl)myService).isMappedSchema(file, false));
+        // the changed files together with the files referencing them, directly or transitively;
+        // only their own dependency trackers are incremented, the caches of unrelated schemas are kept
+        Set<VirtualFile> affected = new HashSet<>();
+        JsonSchemaReferenceGraph referenceGraph = JsonSchemaReferenceGraph.getInstance(myProject);
+        for (VirtualFile file : scope) {
+          affected.addAll(referenceGraph.invalidate(file));
+        }
+
+        Collection<VirtualFile> finalScope = ContainerUtil.filter(affected, file -> myService.isApplicableToFile(file)
+                                                                                    && ((JsonSchemaServiceImpl)myService).isMappedSchema(file, false));
         if (finalScope.isEmpty()) return;
         if (myProject.isDisposed()) return;
         myProject.getMessageBus().syncPublisher(JSON_SCHEMA_CHANGED).run();
@@ -122,7 +126,10 @@ public final class JsonSchemaVfsListener extends BulkVirtualFileListenerAdapter
     }
 
     private void onFileChange(final @Nonnull VirtualFile schemaFile) {
-      if (JsonFileType.DEFAULT_EXTENSION.equals(schemaFile.getExtension())) {
+      // schemas in other formats matter only when referenced from other schemas, deleted files are dropped from the reference graph
+      if (JsonFileType.DEFAULT_EXTENSION.equals(schemaFile.getExtension())
+          || !schemaFile.isValid()
+          || !JsonSchemaReferenceGraph.getInstance(myProject).getDependentFiles(schemaFile).isEmpty()) {
         myDirtySchemas.add(schemaFile);
         Application app = ApplicationManager.getApplication();
         if (app.isUnitTestMode()) {
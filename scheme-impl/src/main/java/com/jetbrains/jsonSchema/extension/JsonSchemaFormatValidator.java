@@ -0,0 +1,32 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.extension;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ExtensionAPI;
+import consulo.component.extension.ExtensionPointName;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Extension point to check the string values against a custom value of the {@code format} keyword,
+ * or to replace the built-in check of a standard format.
+ * <p>
+ * Formats are checked only in the schemas opting in with {@code "x-intellij-validate-format": true},
+ * on the node itself or on the schema root.
+ */
+@ExtensionAPI(ComponentScope.APPLICATION)
+public interface JsonSchemaFormatValidator {
+  ExtensionPointName<JsonSchemaFormatValidator> EP_NAME = ExtensionPointName.create(JsonSchemaFormatValidator.class);
+
+  /**
+   * @return the value of the {@code format} keyword handled by the validator
+   */
+  @Nonnull
+  String getFormat();
+
+  /**
+   * Called for every checked value, so the implementation should be cheap and should not allocate much.
+   *
+   * @param value the string value without the quotes and with the escape sequences resolved
+   */
+  boolean isValid(@Nonnull CharSequence value);
+}
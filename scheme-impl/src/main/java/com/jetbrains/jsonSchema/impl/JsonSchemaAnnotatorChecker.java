@@ -2,9 +2,11 @@
 package com.jetbrains.jsonSchema.impl;
 
 import com.intellij.codeInspection.util.InspectionMessage;
+import com.intellij.concurrency.JobLauncher;
 import com.intellij.ide.nls.NlsMessages;
 import consulo.json.localize.JsonLocalize;
 import com.intellij.json.impl.pointer.JsonPointerPosition;
+import com.intellij.json.internal.JsonRegistry;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.NlsSafe;
@@ -35,20 +37,32 @@ import static com.jetbrains.jsonSchema.impl.light.SchemaKeywordsKt.TYPE_OF;
 public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
   private static final Set<JsonSchemaType> PRIMITIVE_TYPES =
     Set.of(JsonSchemaType._integer, JsonSchemaType._number, JsonSchemaType._boolean, JsonSchemaType._string, JsonSchemaType._null);
+  // below this number of independent values the overhead of the concurrent check is not worth it
+  private static final int MIN_OBJECTS_TO_CHECK_CONCURRENTLY = 256;
+  private static final int OBJECTS_PER_CONCURRENT_TASK = 64;
   private final Map<PsiElement, JsonValidationError> myErrors;
   private final @Nonnull Project myProject;
   private final @Nonnull JsonComplianceCheckerOptions myOptions;
+  private final @Nullable JsonSchemaIncrementalValidation.Session myIncrementalSession;
   private boolean myHadTypeError;
 
   public JsonSchemaAnnotatorChecker(@Nonnull Project project, @Nonnull JsonComplianceCheckerOptions options) {
+    this(project, options, null);
+  }
+
+  JsonSchemaAnnotatorChecker(@Nonnull Project project,
+                             @Nonnull JsonComplianceCheckerOptions options,
+                             @Nullable JsonSchemaIncrementalValidation.Session incrementalSession) {
     myProject = project;
     myOptions = options;
+    myIncrementalSession = incrementalSession;
     myErrors = new HashMap<>();
   }
 
   public JsonSchemaAnnotatorChecker(@Nonnull JsonSchemaAnnotatorChecker oldChecker, Map<PsiElement, JsonValidationError> errors) {
     myProject = oldChecker.myProject;
     myOptions = oldChecker.myOptions;
+    myIncrementalSession = oldChecker.myIncrementalSession;
     myErrors = errors;
   }
 
@@ -65,15 +79,23 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
                                                               @Nonnull JsonValueAdapter elementToCheck,
                                                               final @Nonnull MatchResult result,
                                                               @Nonnull JsonComplianceCheckerOptions options) {
+    return checkByMatchResult(project, elementToCheck, result, options, null);
+  }
+
+  static JsonSchemaAnnotatorChecker checkByMatchResult(@Nonnull Project project,
+                                                       @Nonnull JsonValueAdapter elementToCheck,
+                                                       final @Nonnull MatchResult result,
+                                                       @Nonnull JsonComplianceCheckerOptions options,
+                                                       @Nullable JsonSchemaIncrementalValidation.Session incrementalSession) {
     final List<JsonSchemaAnnotatorChecker> checkers = new ArrayList<>();
     if (result.myExcludingSchemas.isEmpty() && result.mySchemas.size() == 1) {
-      final JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(project, options);
+      final JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(project, options, incrementalSession);
       checker.checkByScheme(elementToCheck, result.mySchemas.iterator().next());
       checkers.add(checker);
     }
     else {
       if (!result.mySchemas.isEmpty()) {
-        checkers.add(processSchemasVariants(project, result.mySchemas, elementToCheck, false, options).getSecond());
+        checkers.add(processSchemasVariants(project, result.mySchemas, elementToCheck, false, options, incrementalSession).getSecond());
       }
       if (!result.myExcludingSchemas.isEmpty()) {
         // we can have several oneOf groups, each about, for instance, a part of properties
@@ -81,7 +103,7 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
         final List<JsonSchemaAnnotatorChecker> list =
           ContainerUtil.map(result.myExcludingSchemas, group -> {
             ProgressManager.checkCanceled();
-            return processSchemasVariants(project, group, elementToCheck, true, options).getSecond();
+            return processSchemasVariants(project, group, elementToCheck, true, options, incrementalSession).getSecond();
           });
         checkers.add(mergeErrors(project, list, options, result.myExcludingSchemas));
       }
@@ -129,7 +151,9 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
 
   @Override
   public void error(final PsiElement newHolder, JsonValidationError error) {
-    error(error.getMessage(), newHolder, error.getFixableIssueKind(), error.getIssueData(), error.getPriority());
+    // the error is immutable and may be rendered lazily, keep it as is
+    if (myErrors.containsKey(newHolder)) return;
+    myErrors.put(newHolder, error);
   }
 
   @Override
@@ -144,25 +168,26 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
   @Override
   public void typeError(final @Nonnull PsiElement value, @Nullable JsonSchemaType currentType, final JsonSchemaType @Nonnull ... allowedTypes) {
     if (allowedTypes.length == 0) return;
+    error(() -> createTypeErrorMessage(currentType, allowedTypes), value,
+          JsonValidationError.FixableIssueKind.ProhibitedType,
+          () -> new JsonValidationError.TypeMismatchIssueData(allowedTypes),
+          JsonErrorPriority.TYPE_MISMATCH);
+    myHadTypeError = true;
+  }
+
+  static @InspectionMessage String createTypeErrorMessage(@Nullable JsonSchemaType currentType,
+                                                                  final JsonSchemaType @Nonnull ... allowedTypes) {
     String currentTypeDesc = currentType == null ? "" : (" " + JsonLocalize.schemaValidationActual().get() + currentType.getName() + ".");
     String prefix = JsonLocalize.schemaValidationIncompatibleTypes().get() + "\n";
     if (allowedTypes.length == 1) {
-      error(prefix + " " + JsonLocalize.schemaValidationRequiredOne(allowedTypes[0].getName().get(), currentTypeDesc), value,
-            JsonValidationError.FixableIssueKind.ProhibitedType,
-            new JsonValidationError.TypeMismatchIssueData(allowedTypes),
-            JsonErrorPriority.TYPE_MISMATCH);
-    } else {
-      final String typesText = Arrays.stream(allowedTypes)
-                                     .map(JsonSchemaType::getName)
-                                     .distinct()
-                                     .sorted(Comparator.naturalOrder())
-                                     .collect(Collectors.joining(", "));
-      error(prefix + " " + JsonLocalize.schemaValidationRequiredOneOf(typesText, currentTypeDesc).get(), value,
-            JsonValidationError.FixableIssueKind.ProhibitedType,
-            new JsonValidationError.TypeMismatchIssueData(allowedTypes),
-            JsonErrorPriority.TYPE_MISMATCH);
+      return prefix + " " + JsonLocalize.schemaValidationRequiredOne(allowedTypes[0].getName().get(), currentTypeDesc);
     }
-    myHadTypeError = true;
+    final String typesText = Arrays.stream(allowedTypes)
+                                   .map(JsonSchemaType::getName)
+                                   .distinct()
+                                   .sorted(Comparator.naturalOrder())
+                                   .collect(Collectors.joining(", "));
+    return prefix + " " + JsonLocalize.schemaValidationRequiredOneOf(typesText, currentTypeDesc).get();
   }
 
   @Override
@@ -199,14 +224,70 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
   }
 
   public void checkObjectBySchemaRecordErrors(@Nonnull JsonSchemaObject schema, @Nonnull JsonValueAdapter object, @Nonnull JsonPointerPosition position) {
+    // only the checks of a whole subtree against a schema are remembered between the passes
+    final JsonSchemaIncrementalValidation.Session session = position.isEmpty() ? myIncrementalSession : null;
+    if (session != null) {
+      JsonSchemaIncrementalValidation.SubtreeResult previousResult = session.getPreviousResult(object.getDelegate(), schema);
+      if (previousResult != null) {
+        myHadTypeError = previousResult.hadTypeError;
+        myErrors.putAll(previousResult.errors);
+        return;
+      }
+    }
+
     final JsonSchemaAnnotatorChecker checker = checkByMatchResult(myProject,
                                                                   object,
                                                                   new JsonSchemaResolver(myProject, schema, position, object).detailedResolve(),
-                                                                  myOptions);
+                                                                  myOptions,
+                                                                  myIncrementalSession);
     if (checker != null) {
       myHadTypeError = checker.isHadTypeError();
       myErrors.putAll(checker.getErrors());
     }
+    if (session != null) {
+      session.recordResult(object.getDelegate(), schema, checker != null ? checker.getErrors() : Collections.emptyMap(),
+                           checker != null && checker.isHadTypeError());
+    }
+  }
+
+  @Override
+  public void checkObjectsBySchemaRecordErrors(@Nonnull List<? extends JsonSchemaObject> schemas,
+                                               @Nonnull List<? extends JsonValueAdapter> objects) {
+    if (!JsonRegistry.JSON_SCHEMA_PARALLEL_VALIDATION ||
+        objects.size() < MIN_OBJECTS_TO_CHECK_CONCURRENTLY ||
+        myOptions.shouldStopValidationAfterAnyErrorFound()) {
+      JsonValidationHost.super.checkObjectsBySchemaRecordErrors(schemas, objects);
+      return;
+    }
+
+    // every task records the errors of its own range of objects into its own checker
+    final int taskCount = (objects.size() + OBJECTS_PER_CONCURRENT_TASK - 1) / OBJECTS_PER_CONCURRENT_TASK;
+    final List<JsonSchemaAnnotatorChecker> taskCheckers = new ArrayList<>(taskCount);
+    for (int i = 0; i < taskCount; i++) {
+      taskCheckers.add(new JsonSchemaAnnotatorChecker(myProject, myOptions, myIncrementalSession));
+    }
+    List<Integer> taskIndices = new ArrayList<>(taskCount);
+    for (int i = 0; i < taskCount; i++) {
+      taskIndices.add(i);
+    }
+    // the tasks run under the read action and the progress indicator of the calling thread
+    boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+      taskIndices, ProgressManager.getInstance().getProgressIndicator(), taskIndex -> {
+        JsonSchemaAnnotatorChecker taskChecker = taskCheckers.get(taskIndex);
+        int end = Math.min(objects.size(), (taskIndex + 1) * OBJECTS_PER_CONCURRENT_TASK);
+        for (int i = taskIndex * OBJECTS_PER_CONCURRENT_TASK; i < end; i++) {
+          taskChecker.checkObjectBySchemaRecordErrors(schemas.get(i), objects.get(i));
+        }
+        return true;
+      });
+    ProgressManager.checkCanceled();
+    assert completed;
+
+    // merge in the order of the objects, as the sequential check would do
+    for (JsonSchemaAnnotatorChecker taskChecker : taskCheckers) {
+      myErrors.putAll(taskChecker.myErrors);
+    }
+    myHadTypeError = taskCheckers.get(taskCount - 1).myHadTypeError;
   }
 
   @Override
@@ -221,21 +302,28 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
 
   private static @Nonnull Pair<JsonSchemaObject, JsonSchemaAnnotatorChecker> processSchemasVariants(
       @Nonnull Project project, final @Nonnull Collection<? extends JsonSchemaObject> collection,
-      final @Nonnull JsonValueAdapter value, boolean isOneOf, JsonComplianceCheckerOptions options) {
+      final @Nonnull JsonValueAdapter value, boolean isOneOf, JsonComplianceCheckerOptions options,
+      @Nullable JsonSchemaIncrementalValidation.Session incrementalSession) {
 
-    final JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(project, options);
+    final JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(project, options, incrementalSession);
     final JsonSchemaType type = JsonSchemaType.getType(value);
     JsonSchemaObject selected = null;
     if (type == null) {
       if (!value.isShouldBeIgnored()) checker.typeError(value.getDelegate(), null, getExpectedTypes(collection));
     }
     else {
-      final List<JsonSchemaObject> filtered = new ArrayList<>(collection.size());
+      final List<JsonSchemaObject> filtered;
       JsonSchemaType altType = value.getAlternateType(type);
-      for (JsonSchemaObject schema: collection) {
-        if (!areSchemaTypesCompatible(schema, type)
-            && !areSchemaTypesCompatible(schema, altType)) continue;
-        filtered.add(schema);
+      if (collection.size() >= JsonSchemaVariantsDispatch.MIN_VARIANTS_TO_DISPATCH) {
+        filtered = JsonSchemaVariantsDispatch.forVariants(collection).selectCandidates(value, type, altType);
+      }
+      else {
+        filtered = new ArrayList<>(collection.size());
+        for (JsonSchemaObject schema: collection) {
+          if (!areSchemaTypesCompatible(schema, type)
+              && !areSchemaTypesCompatible(schema, altType)) continue;
+          filtered.add(schema);
+        }
       }
       if (filtered.isEmpty()) {
         checker.typeError(value.getDelegate(), altType, getExpectedTypes(collection));
@@ -333,7 +421,7 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
       // skip it if something JS awaited, we do not process it currently
       if (object.hasChildNode(INSTANCE_OF) || object.hasChildNode(TYPE_OF) ||object.isShouldValidateAgainstJSType()) continue;
 
-      final JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(myProject, myOptions);
+      final JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(myProject, myOptions, myIncrementalSession);
       checker.checkByScheme(value, object);
 
       if (checker.isCorrect()) {
@@ -415,7 +503,7 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
     final List<JsonSchemaObject> candidateErroneousSchemas = new ArrayList<>();
 
     for (JsonSchemaObject object : anyOf) {
-      final JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(myProject, myOptions);
+      final JsonSchemaAnnotatorChecker checker = new JsonSchemaAnnotatorChecker(myProject, myOptions, myIncrementalSession);
       checker.checkByScheme(value, object);
       if (checker.isCorrect()) {
         return object;
@@ -506,26 +594,20 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
       else if (currentIssueKind != commonIssueKind) return null;
     }
 
+    // the merged messages are rendered lazily as well as the messages they are merged from
     if (commonIssueKind == JsonValidationError.FixableIssueKind.NonEnumValue) {
-      String prefix = JsonLocalize.schemaValidationEnumMismatch("").get();
-      @NlsSafe String text = errors.stream()
-        // todo remove this ugly textual cutting
-        .map(e -> StringUtil.trimEnd(StringUtil.trimStart(e.getMessage(), prefix), prefix) /*ltr and rtl*/)
-        .map(e -> StringUtil.split(e, ", "))
-        .flatMap(e -> e.stream())
-        .distinct()
-        .sorted()
-        .collect(Collectors.joining(", "));
-      return new JsonValidationError(prefix + text, commonIssueKind, null, errors.iterator().next().getPriority());
+      return new JsonValidationError(() -> mergeEnumMismatchMessages(errors), commonIssueKind, null, errors.iterator().next().getPriority());
     }
 
     if (commonIssueKind == JsonValidationError.FixableIssueKind.MissingProperty) {
-      String sets = errors.stream().map(e -> (JsonValidationError.MissingMultiplePropsIssueData)e.getIssueData())
-        .map(d -> d.getMessage(false)).collect(NlsMessages.joiningOr());
-      return new JsonValidationError(JsonBundle.message(
-        isOneOf ? "schema.validation.one.of.property.sets.required" : "schema.validation.at.least.one.of.property.sets.required", sets),
+      return new JsonValidationError(() -> {
+        String sets = errors.stream().map(e -> (JsonValidationError.MissingMultiplePropsIssueData)e.getIssueData())
+          .map(d -> d.getMessage(false)).collect(NlsMessages.joiningOr());
+        return JsonBundle.message(
+          isOneOf ? "schema.validation.one.of.property.sets.required" : "schema.validation.at.least.one.of.property.sets.required", sets);
+      },
                                      isOneOf ? JsonValidationError.FixableIssueKind.MissingOneOfProperty : JsonValidationError.FixableIssueKind.MissingAnyOfProperty,
-                                     new JsonValidationError.MissingOneOfPropsIssueData(
+                                     () -> new JsonValidationError.MissingOneOfPropsIssueData(
                                        ContainerUtil.map(errors, e -> (JsonValidationError.MissingMultiplePropsIssueData)e.getIssueData())), errors.iterator().next().getPriority());
     }
 
@@ -535,19 +617,34 @@ public final class JsonSchemaAnnotatorChecker implements JsonValidationHost {
 
       if (allTypes.size() == 1) return errors.iterator().next();
 
-      List<String> actualInfos = errors.stream().map(e -> e.getMessage()).map(JsonSchemaAnnotatorChecker::fetchActual).distinct().toList();
-      String actualInfo = actualInfos.size() == 1 ? (" " + JsonLocalize.schemaValidationActual().get() + actualInfos.get(0) + ".") : "";
-      String commonTypeMessage = JsonLocalize.schemaValidationIncompatibleTypes().get() + "\n" +
-                                 JsonLocalize.schemaValidationRequiredOneOf(allTypes.stream().get().map(t -> t.getDescription()).sorted().collect(Collectors.joining(", ")),
-                                                    actualInfo);
-      return new JsonValidationError(commonTypeMessage, JsonValidationError.FixableIssueKind.TypeMismatch,
-                                     new JsonValidationError.TypeMismatchIssueData(ContainerUtil.toArray(allTypes, JsonSchemaType[]::new)),
+      return new JsonValidationError(() -> {
+        List<String> actualInfos = errors.stream().map(e -> e.getMessage()).map(JsonSchemaAnnotatorChecker::fetchActual).distinct().toList();
+        String actualInfo = actualInfos.size() == 1 ? (" " + JsonLocalize.schemaValidationActual().get() + actualInfos.get(0) + ".") : "";
+        return JsonLocalize.schemaValidationIncompatibleTypes().get() + "\n" +
+               JsonLocalize.schemaValidationRequiredOneOf(allTypes.stream().get().map(t -> t.getDescription()).sorted().collect(Collectors.joining(", ")),
+                                  actualInfo);
+      },
+                                     JsonValidationError.FixableIssueKind.TypeMismatch,
+                                     () -> new JsonValidationError.TypeMismatchIssueData(ContainerUtil.toArray(allTypes, JsonSchemaType[]::new)),
                                      errors.iterator().next().getPriority());
     }
 
     return null;
   }
 
+  private static @InspectionMessage String mergeEnumMismatchMessages(@Nonnull Collection<JsonValidationError> errors) {
+    String prefix = JsonLocalize.schemaValidationEnumMismatch("").get();
+    @NlsSafe String text = errors.stream()
+      // todo remove this ugly textual cutting
+      .map(e -> StringUtil.trimEnd(StringUtil.trimStart(e.getMessage(), prefix), prefix) /*ltr and rtl*/)
+      .map(e -> StringUtil.split(e, ", "))
+      .flatMap(e -> e.stream())
+      .distinct()
+      .sorted()
+      .collect(Collectors.joining(", "));
+    return prefix + text;
+  }
+
   private static String fetchActual(String message) {
     String actualMessage = JsonLocalize.schemaValidationActual().get();
     int actual = message.indexOf(actualMessage);
@@ -0,0 +1,227 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Result of the validation of a single file by {@link JsonSchemaBatchValidator}.
+ * <p>
+ * The record is machine-readable: {@link #toJson()} renders it as a single line of JSON, so a stream of records is a JSON Lines document.
+ */
+public final class JsonSchemaBatchValidationRecord {
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  public enum Status {
+    VALID,
+    INVALID,
+    /**
+     * No schema is mapped to the file.
+     */
+    NO_SCHEMA,
+    /**
+     * The file is excluded from the validation by a mapping.
+     */
+    IGNORED,
+    /**
+     * The file is not well-formed, the problem describes the syntax error.
+     */
+    PARSE_ERROR,
+    /**
+     * The file could not be read or validated, the problem describes the failure.
+     */
+    FAILED;
+
+    public boolean isFailure() {
+      return this == INVALID || this == PARSE_ERROR || this == FAILED;
+    }
+  }
+
+  private final @Nonnull String myPath;
+  private final @Nonnull Status myStatus;
+  private final @Nullable String mySchema;
+  private final @Nonnull List<Problem> myProblems;
+  private final long myDurationNanos;
+
+  JsonSchemaBatchValidationRecord(@Nonnull String path,
+                                  @Nonnull Status status,
+                                  @Nullable String schema,
+                                  @Nonnull List<Problem> problems,
+                                  long durationNanos) {
+    myPath = path;
+    myStatus = status;
+    mySchema = schema;
+    myProblems = List.copyOf(problems);
+    myDurationNanos = durationNanos;
+  }
+
+  @Nonnull
+  public String getPath() {
+    return myPath;
+  }
+
+  @Nonnull
+  public Status getStatus() {
+    return myStatus;
+  }
+
+  /**
+   * @return the path or the URL of the schema the file was validated against, null if no schema was found
+   */
+  @Nullable
+  public String getSchema() {
+    return mySchema;
+  }
+
+  /**
+   * @return the problems ordered by their offsets
+   */
+  @Nonnull
+  public List<Problem> getProblems() {
+    return myProblems;
+  }
+
+  public long getDurationNanos() {
+    return myDurationNanos;
+  }
+
+  /**
+   * @return the record as a single line of JSON
+   */
+  @Nonnull
+  public String toJson() {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+      generator.writeStartObject();
+      generator.writeStringField("path", myPath);
+      generator.writeStringField("status", myStatus.name());
+      if (mySchema != null) generator.writeStringField("schema", mySchema);
+      generator.writeNumberField("durationMs", myDurationNanos / 1_000_000.0);
+      generator.writeArrayFieldStart("problems");
+      for (Problem problem : myProblems) {
+        generator.writeStartObject();
+        generator.writeStringField("message", problem.myMessage);
+        if (problem.myPointer != null) generator.writeStringField("pointer", problem.myPointer);
+        generator.writeNumberField("offset", problem.myStartOffset);
+        generator.writeNumberField("endOffset", problem.myEndOffset);
+        generator.writeStringField("offsetUnit", problem.myOffsetUnit.name());
+        generator.writeNumberField("line", problem.myLine);
+        generator.writeNumberField("column", problem.myColumn);
+        if (problem.myPriority != null) generator.writeStringField("priority", problem.myPriority);
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  @Override
+  public String toString() {
+    return toJson();
+  }
+
+  public static final class Problem {
+    /**
+     * Unit of the offsets of a problem, which depends on the way the file was validated
+     */
+    public enum OffsetUnit {
+      /**
+       * Offsets in the decoded text of the file
+       */
+      CHARS,
+      /**
+       * Offsets in the raw content of the file, used for the files validated by {@link JsonSchemaStreamingValidator streaming}
+       */
+      BYTES
+    }
+
+    private final @Nonnull String myMessage;
+    private final @Nullable String myPointer;
+    private final long myStartOffset;
+    private final long myEndOffset;
+    private final @Nonnull OffsetUnit myOffsetUnit;
+    private final int myLine;
+    private final int myColumn;
+    private final @Nullable String myPriority;
+
+    Problem(@Nonnull String message,
+            @Nullable String pointer,
+            long startOffset,
+            long endOffset,
+            @Nonnull OffsetUnit offsetUnit,
+            int line,
+            int column,
+            @Nullable String priority) {
+      myMessage = message;
+      myPointer = pointer;
+      myStartOffset = startOffset;
+      myEndOffset = endOffset;
+      myOffsetUnit = offsetUnit;
+      myLine = line;
+      myColumn = column;
+      myPriority = priority;
+    }
+
+    @Nonnull
+    public String getMessage() {
+      return myMessage;
+    }
+
+    /**
+     * @return the RFC 6901 pointer to the value the problem is reported for, null for syntax errors
+     */
+    @Nullable
+    public String getPointer() {
+      return myPointer;
+    }
+
+    /**
+     * @return the start offset, in the {@link #getOffsetUnit() unit} of the problem
+     */
+    public long getStartOffset() {
+      return myStartOffset;
+    }
+
+    public long getEndOffset() {
+      return myEndOffset;
+    }
+
+    @Nonnull
+    public OffsetUnit getOffsetUnit() {
+      return myOffsetUnit;
+    }
+
+    /**
+     * @return the 1-based line of the start offset
+     */
+    public int getLine() {
+      return myLine;
+    }
+
+    /**
+     * @return the 1-based column of the start offset
+     */
+    public int getColumn() {
+      return myColumn;
+    }
+
+    /**
+     * @return the name of the {@link com.jetbrains.jsonSchema.extension.JsonErrorPriority priority} of a validation error
+     */
+    @Nullable
+    public String getPriority() {
+      return myPriority;
+    }
+  }
+}
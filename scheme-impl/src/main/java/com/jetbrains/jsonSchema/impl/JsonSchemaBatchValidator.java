@@ -0,0 +1,372 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.impl;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.intellij.json.pointer.JsonPointerPosition;
+import com.jetbrains.jsonSchema.JsonComplianceCheckerOptions;
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import com.jetbrains.jsonSchema.JsonSchemaService;
+import com.jetbrains.jsonSchema.JsonValidationError;
+import com.jetbrains.jsonSchema.UserDefinedJsonSchemaConfiguration;
+import com.jetbrains.jsonSchema.extension.JsonSchemaFileProvider;
+import com.jetbrains.jsonSchema.extension.JsonSchemaUserDefinedProviderFactory;
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import com.jetbrains.jsonSchema.internal.JsonSchemaResolver;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTree;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTreeElement;
+import com.jetbrains.jsonSchema.internal.adapter.JsonTreeNode;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.application.ReadAction;
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.language.psi.PsiElement;
+import consulo.logging.Logger;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Headless validation of many files at once, for command line tools and CI checks.
+ * <p>
+ * The files are read into {@link JsonTree}s instead of PSI and validated on a bounded pool of workers,
+ * the files too large to be loaded are validated by a {@link JsonSchemaStreamingValidator}, or reported as failed if they are JSON5,
+ * which cannot be streamed.
+ * The schema of a file is found in the following order:
+ * <ol>
+ *   <li>the first of the given mappings matching the file, a matching mapping {@link UserDefinedJsonSchemaConfiguration#isIgnoredFile() ignoring}
+ *   the file excludes it from the validation;</li>
+ *   <li>the {@code $schema} property of the document;</li>
+ *   <li>the schemas {@link JsonSchemaServiceImpl#getSchemasForFile mapped} to the file in the project.</li>
+ * </ol>
+ * Schema objects are shared by all the files of a batch, so every schema is read and its validation plans are compiled once.
+ * The streaming validators are not thread-safe, so every worker keeps its own validator per schema and reuses it for its files.
+ * <p>
+ * The documents never get PSI. The schema lookup and the validation itself run in read actions though:
+ * the schema service reads the mapped and the referenced schema files through their PSI, and {@code $ref}s into other schema files
+ * are resolved lazily while the document is being validated.
+ * <p>
+ * The result of every file is passed to the sink as soon as it is known; the sink is never called concurrently.
+ */
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+@Singleton
+public class JsonSchemaBatchValidator {
+  private static final Logger LOG = Logger.getInstance(JsonSchemaBatchValidator.class);
+
+  private final @Nonnull Project myProject;
+
+  @Inject
+  public JsonSchemaBatchValidator(@Nonnull Project project) {
+    myProject = project;
+  }
+
+  public static JsonSchemaBatchValidator getInstance(@Nonnull Project project) {
+    return project.getInstance(JsonSchemaBatchValidator.class);
+  }
+
+  /**
+   * Validates the files and waits for all of them to be checked.
+   *
+   * @param mappings    the mappings taking precedence over the schema references of the documents and the mappings of the project
+   * @param parallelism the maximal number of files validated at the same time
+   * @param sink        receives the result of every file, in the order of completion
+   * @return the number of files which are invalid or could not be validated
+   */
+  public int validate(@Nonnull Collection<VirtualFile> files,
+                      @Nonnull List<UserDefinedJsonSchemaConfiguration> mappings,
+                      @Nonnull JsonComplianceCheckerOptions options,
+                      int parallelism,
+                      @Nonnull Consumer<? super JsonSchemaBatchValidationRecord> sink) throws InterruptedException {
+    Batch batch = new Batch(mappings, options, sink);
+    ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("JsonSchemaBatchValidation", Math.max(1, parallelism));
+    CountDownLatch done = new CountDownLatch(files.size());
+    try {
+      for (VirtualFile file : files) {
+        executor.execute(() -> {
+          try {
+            batch.report(validateFile(batch, file));
+          }
+          finally {
+            done.countDown();
+          }
+        });
+      }
+      done.await();
+    }
+    finally {
+      executor.shutdownNow();
+    }
+    return batch.myFailures.get();
+  }
+
+  private @Nonnull JsonSchemaBatchValidationRecord validateFile(@Nonnull Batch batch, @Nonnull VirtualFile file) {
+    long start = System.nanoTime();
+    String path = file.getPath();
+    String schemaPath = null;
+    try {
+      int mapping = ReadAction.compute(() -> batch.findMapping(file));
+      if (mapping >= 0 && batch.myMappings.get(mapping).isIgnoredFile()) {
+        return record(path, JsonSchemaBatchValidationRecord.Status.IGNORED, null, List.of(), start);
+      }
+      boolean json5 = "json5".equalsIgnoreCase(file.getExtension());
+      if (file.getLength() > JsonSchemaStreamingValidator.STREAMING_THRESHOLD) {
+        if (json5) {
+          // the streaming parser reads strict JSON only, and the file is too large to be loaded
+          return failed(path, null, "The JSON5 file is too large to be validated: " + file.getLength() + " bytes", start);
+        }
+        return validateByStreaming(batch, mapping, file, start);
+      }
+
+      String text = new String(file.contentsToByteArray(), file.getCharset());
+      JsonTree tree;
+      try {
+        tree = JsonTree.parse(myProject, text, json5);
+      }
+      catch (JsonParseException e) {
+        JsonLocation location = e.getLocation();
+        int offset = location == null ? 0 : (int)Math.min(Math.max(location.getCharOffset(), 0), text.length());
+        LineIndex lines = new LineIndex(text);
+        JsonSchemaBatchValidationRecord.Problem problem = new JsonSchemaBatchValidationRecord.Problem(
+          e.getOriginalMessage(), null, offset, offset, JsonSchemaBatchValidationRecord.Problem.OffsetUnit.CHARS,
+          lines.getLine(offset), lines.getColumn(offset), null);
+        return record(path, JsonSchemaBatchValidationRecord.Status.PARSE_ERROR, null, List.of(problem), start);
+      }
+
+      String reference = getSchemaReference(tree);
+      VirtualFile schemaFile = ReadAction.compute(() -> findSchemaFile(batch, mapping, file, reference));
+      if (schemaFile == null) {
+        return record(path, JsonSchemaBatchValidationRecord.Status.NO_SCHEMA, null, List.of(), start);
+      }
+      schemaPath = schemaFile.getPath();
+      JsonSchemaObject schema = batch.getSchema(schemaFile);
+      if (schema == null) {
+        return failed(path, schemaPath, "Cannot read the schema " + schemaPath, start);
+      }
+
+      Map<PsiElement, JsonValidationError> errors = ReadAction.compute(() -> check(tree, schema, batch.myOptions));
+      if (errors.isEmpty()) {
+        return record(path, JsonSchemaBatchValidationRecord.Status.VALID, schemaPath, List.of(), start);
+      }
+      return record(path, JsonSchemaBatchValidationRecord.Status.INVALID, schemaPath, toProblems(text, errors), start);
+    }
+    catch (Exception e) {
+      LOG.warn("Cannot validate " + path, e);
+      String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+      return failed(path, schemaPath, message, start);
+    }
+  }
+
+  /**
+   * Documents above the {@link JsonSchemaStreamingValidator#STREAMING_THRESHOLD threshold} are not loaded into memory:
+   * they are read once to find the {@code $schema} reference and once more by the streaming validator.
+   */
+  private @Nonnull JsonSchemaBatchValidationRecord validateByStreaming(@Nonnull Batch batch,
+                                                                       int mapping,
+                                                                       @Nonnull VirtualFile file,
+                                                                       long start) throws IOException {
+    String path = file.getPath();
+    String reference;
+    try (InputStream input = file.getInputStream()) {
+      reference = JsonSchemaStreamingValidator.findSchemaReference(input);
+    }
+    catch (JsonParseException e) {
+      // reported by the validation below, if a schema is found
+      reference = null;
+    }
+    String schemaReference = reference;
+    VirtualFile schemaFile = ReadAction.compute(() -> findSchemaFile(batch, mapping, file, schemaReference));
+    if (schemaFile == null) {
+      return record(path, JsonSchemaBatchValidationRecord.Status.NO_SCHEMA, null, List.of(), start);
+    }
+    String schemaPath = schemaFile.getPath();
+    JsonSchemaObject schema = batch.getSchema(schemaFile);
+    if (schema == null) {
+      return failed(path, schemaPath, "Cannot read the schema " + schemaPath, start);
+    }
+
+    List<JsonSchemaBatchValidationRecord.Problem> problems = new ArrayList<>();
+    try (InputStream input = file.getInputStream()) {
+      batch.getStreamingValidator(schema).validate(input, problems::add);
+    }
+    catch (JsonParseException e) {
+      JsonLocation location = e.getLocation();
+      long offset = location == null ? 0 : Math.max(location.getByteOffset(), 0);
+      int line = location == null ? 1 : Math.max(location.getLineNr(), 1);
+      int column = location == null ? 1 : Math.max(location.getColumnNr(), 1);
+      problems.add(new JsonSchemaBatchValidationRecord.Problem(e.getOriginalMessage(), null, offset, offset,
+                                                              JsonSchemaBatchValidationRecord.Problem.OffsetUnit.BYTES, line, column, null));
+      return record(path, JsonSchemaBatchValidationRecord.Status.PARSE_ERROR, schemaPath, problems, start);
+    }
+    JsonSchemaBatchValidationRecord.Status status = problems.isEmpty()
+                                                    ? JsonSchemaBatchValidationRecord.Status.VALID
+                                                    : JsonSchemaBatchValidationRecord.Status.INVALID;
+    return record(path, status, schemaPath, problems, start);
+  }
+
+  private @Nullable VirtualFile findSchemaFile(@Nonnull Batch batch, int mapping, @Nonnull VirtualFile file, @Nullable String reference) {
+    if (mapping >= 0) {
+      VirtualFile schemaFile = batch.myProviders.get(mapping).getSchemaFile();
+      if (schemaFile != null) return schemaFile;
+    }
+
+    JsonSchemaServiceImpl service = (JsonSchemaServiceImpl)JsonSchemaService.get(myProject);
+    if (reference != null) {
+      VirtualFile schemaFile = service.findSchemaFileByReference(reference, file);
+      if (schemaFile != null) return schemaFile;
+    }
+
+    Collection<VirtualFile> schemaFiles = service.getSchemasForFile(file, true, false);
+    return schemaFiles.isEmpty() ? null : schemaFiles.iterator().next();
+  }
+
+  private static @Nullable String getSchemaReference(@Nonnull JsonTree tree) {
+    JsonTreeNode root = tree.getRoot();
+    if (root.getKind() != JsonTreeNode.Kind.OBJECT) return null;
+    for (JsonTreeNode property : root.getChildren()) {
+      JsonTreeNode value = property.getValue();
+      if ("$schema".equals(property.getName()) && value != null && value.getKind() == JsonTreeNode.Kind.STRING) {
+        return JsonLiteralValue.ofText(value.getText()).getStringValue();
+      }
+    }
+    return null;
+  }
+
+  private @Nonnull Map<PsiElement, JsonValidationError> check(@Nonnull JsonTree tree,
+                                                              @Nonnull JsonSchemaObject schema,
+                                                              @Nonnull JsonComplianceCheckerOptions options) {
+    JsonValueAdapter root = tree.getRootAdapter();
+    MatchResult matchResult = new JsonSchemaResolver(myProject, schema, new JsonPointerPosition(), root).detailedResolve();
+    JsonSchemaAnnotatorChecker checker = JsonSchemaAnnotatorChecker.checkByMatchResult(myProject, root, matchResult, options);
+    return checker == null || checker.isCorrect() ? Map.of() : checker.getErrors();
+  }
+
+  private static @Nonnull List<JsonSchemaBatchValidationRecord.Problem> toProblems(@Nonnull String text,
+                                                                                  @Nonnull Map<PsiElement, JsonValidationError> errors) {
+    LineIndex lines = new LineIndex(text);
+    List<JsonSchemaBatchValidationRecord.Problem> problems = new ArrayList<>(errors.size());
+    for (Map.Entry<PsiElement, JsonValidationError> entry : errors.entrySet()) {
+      PsiElement element = entry.getKey();
+      JsonValidationError error = entry.getValue();
+      String pointer = element instanceof JsonTreeElement ? ((JsonTreeElement)element).getNode().getPointer() : null;
+      int startOffset = element.getTextRange().getStartOffset();
+      int endOffset = element.getTextRange().getEndOffset();
+      problems.add(new JsonSchemaBatchValidationRecord.Problem(error.getMessage(), pointer, startOffset, endOffset,
+                                                              JsonSchemaBatchValidationRecord.Problem.OffsetUnit.CHARS,
+                                                              lines.getLine(startOffset), lines.getColumn(startOffset),
+                                                              error.getPriority().name()));
+    }
+    problems.sort(Comparator.comparingLong(JsonSchemaBatchValidationRecord.Problem::getStartOffset)
+                    .thenComparing(JsonSchemaBatchValidationRecord.Problem::getMessage));
+    return problems;
+  }
+
+  private static @Nonnull JsonSchemaBatchValidationRecord failed(@Nonnull String path, @Nullable String schemaPath,
+                                                                @Nonnull String message, long start) {
+    JsonSchemaBatchValidationRecord.Problem problem =
+      new JsonSchemaBatchValidationRecord.Problem(message, null, 0, 0, JsonSchemaBatchValidationRecord.Problem.OffsetUnit.CHARS, 1, 1, null);
+    return record(path, JsonSchemaBatchValidationRecord.Status.FAILED, schemaPath, List.of(problem), start);
+  }
+
+  private static @Nonnull JsonSchemaBatchValidationRecord record(@Nonnull String path,
+                                                                @Nonnull JsonSchemaBatchValidationRecord.Status status,
+                                                                @Nullable String schemaPath,
+                                                                @Nonnull List<JsonSchemaBatchValidationRecord.Problem> problems,
+                                                                long start) {
+    return new JsonSchemaBatchValidationRecord(path, status, schemaPath, problems, System.nanoTime() - start);
+  }
+
+  private final class Batch {
+    private final @Nonnull List<UserDefinedJsonSchemaConfiguration> myMappings;
+    private final @Nonnull List<JsonSchemaFileProvider> myProviders;
+    private final @Nonnull JsonComplianceCheckerOptions myOptions;
+    private final @Nonnull Consumer<? super JsonSchemaBatchValidationRecord> mySink;
+    private final Map<VirtualFile, Optional<JsonSchemaObject>> mySchemas = new ConcurrentHashMap<>();
+    // the streaming validators keep their compiled nodes in plain maps, so every worker thread gets its own
+    private final ThreadLocal<Map<JsonSchemaObject, JsonSchemaStreamingValidator>> myStreamingValidators =
+      ThreadLocal.withInitial(HashMap::new);
+    private final AtomicInteger myFailures = new AtomicInteger();
+
+    private Batch(@Nonnull List<UserDefinedJsonSchemaConfiguration> mappings,
+                  @Nonnull JsonComplianceCheckerOptions options,
+                  @Nonnull Consumer<? super JsonSchemaBatchValidationRecord> sink) {
+      myMappings = List.copyOf(mappings);
+      JsonSchemaUserDefinedProviderFactory factory = new JsonSchemaUserDefinedProviderFactory();
+      myProviders = new ArrayList<>(myMappings.size());
+      for (UserDefinedJsonSchemaConfiguration mapping : myMappings) {
+        myProviders.add(factory.createProvider(myProject, mapping));
+      }
+      myOptions = options;
+      mySink = sink;
+    }
+
+    // the index of the first mapping matching the file, -1 if there is none
+    private int findMapping(@Nonnull VirtualFile file) {
+      for (int i = 0; i < myProviders.size(); i++) {
+        if (myProviders.get(i).isAvailable(file)) return i;
+      }
+      return -1;
+    }
+
+    private @Nonnull JsonSchemaStreamingValidator getStreamingValidator(@Nonnull JsonSchemaObject schema) {
+      return myStreamingValidators.get().computeIfAbsent(schema, s -> new JsonSchemaStreamingValidator(myProject, s, myOptions));
+    }
+
+    private @Nullable JsonSchemaObject getSchema(@Nonnull VirtualFile schemaFile) {
+      Optional<JsonSchemaObject> schema = mySchemas.get(schemaFile);
+      if (schema == null) {
+        // read outside of the map, a read action waiting for a write action must not block the other workers on the map
+        schema = Optional.ofNullable(ReadAction.compute(() -> JsonSchemaService.get(myProject).getSchemaObjectForSchemaFile(schemaFile)));
+        Optional<JsonSchemaObject> previous = mySchemas.putIfAbsent(schemaFile, schema);
+        if (previous != null) schema = previous;
+      }
+      return schema.orElse(null);
+    }
+
+    private void report(@Nonnull JsonSchemaBatchValidationRecord record) {
+      if (record.getStatus().isFailure()) myFailures.incrementAndGet();
+      synchronized (mySink) {
+        mySink.accept(record);
+      }
+    }
+  }
+
+  private static final class LineIndex {
+    private final int[] myLineStarts;
+
+    private LineIndex(@Nonnull String text) {
+      int count = 1;
+      for (int i = 0; i < text.length(); i++) {
+        if (text.charAt(i) == '\n') count++;
+      }
+      myLineStarts = new int[count];
+      int line = 1;
+      for (int i = 0; i < text.length(); i++) {
+        if (text.charAt(i) == '\n') myLineStarts[line++] = i + 1;
+      }
+    }
+
+    private int getLine(int offset) {
+      int index = Arrays.binarySearch(myLineStarts, offset);
+      return (index >= 0 ? index : -index - 2) + 1;
+    }
+
+    private int getColumn(int offset) {
+      return offset - myLineStarts[getLine(offset) - 1] + 1;
+    }
+  }
+}
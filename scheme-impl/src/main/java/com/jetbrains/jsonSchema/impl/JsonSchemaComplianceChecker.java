@@ -93,7 +93,11 @@ public class JsonSchemaComplianceChecker {
     if (rootToCheck != null) {
       Project project = element.getProject();
       final MatchResult matchResult = new JsonSchemaResolver(project, myRootSchema, new JsonPointerPosition(), rootToCheck).detailedResolve();
-      createWarnings(JsonSchemaAnnotatorChecker.checkByMatchResult(project, rootToCheck, matchResult, myOptions));
+      final JsonSchemaIncrementalValidation.Session session =
+        JsonSchemaIncrementalValidation.getInstance(project).startSession(rootToCheck.getDelegate(), myRootSchema, myOptions);
+      final JsonSchemaAnnotatorChecker checker = JsonSchemaAnnotatorChecker.checkByMatchResult(project, rootToCheck, matchResult, myOptions, session);
+      if (session != null) session.commit();
+      createWarnings(checker);
     }
   }
 
@@ -0,0 +1,268 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.impl;
+
+import com.intellij.json.internal.JsonRegistry;
+import com.jetbrains.jsonSchema.JsonComplianceCheckerOptions;
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import com.jetbrains.jsonSchema.JsonSchemaService;
+import com.jetbrains.jsonSchema.JsonValidationError;
+import com.jetbrains.jsonSchema.internal.JsonSchemaReferenceGraph;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.component.util.ModificationTracker;
+import consulo.disposer.Disposable;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
+import consulo.language.psi.event.PsiTreeChangeAdapter;
+import consulo.language.psi.event.PsiTreeChangeEvent;
+import consulo.project.Project;
+import consulo.util.dataholder.Key;
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the validation results of the value subtrees of a file between highlighting passes.
+ * <p>
+ * Every {@link JsonSchemaAnnotatorChecker#checkObjectBySchemaRecordErrors subtree check} of a pass is remembered
+ * by the checked PSI element and the schema it was checked against. PSI changes mark the changed element and all its ancestors dirty,
+ * so the next pass re-validates only the edited paths: the ancestors are re-validated as a whole, including the constraints depending
+ * on their children like {@code required}, {@code minProperties}, {@code uniqueItems} or {@code unevaluatedProperties},
+ * while the results of the untouched subtrees are taken from the previous pass.
+ * <p>
+ * Schemas are compared by identity: a re-parsed schema file produces new schema objects and therefore never matches the remembered results.
+ * The results are also dropped when the schema mappings change or when a file referenced from the root schema is changed,
+ * since the subtree schemas reached through {@code $ref} are not re-parsed together with the root schema file.
+ * The errors are remembered with their messages and issue data computed, so the results do not keep the checkers of the previous pass.
+ */
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+@Singleton
+public class JsonSchemaIncrementalValidation implements Disposable {
+  private static final Key<FileState> FILE_STATE_KEY = Key.create("JsonSchema.IncrementalValidation.State");
+
+  // incremented on the changes which cannot be attributed to a file
+  private final AtomicLong myGeneration = new AtomicLong();
+  private final Project myProject;
+
+  @Inject
+  public JsonSchemaIncrementalValidation(@Nonnull Project project) {
+    myProject = project;
+    PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+      @Override
+      public void childAdded(@Nonnull PsiTreeChangeEvent event) {
+        markDirty(event.getFile(), event.getParent());
+      }
+
+      @Override
+      public void childRemoved(@Nonnull PsiTreeChangeEvent event) {
+        markDirty(event.getFile(), event.getParent());
+      }
+
+      @Override
+      public void childReplaced(@Nonnull PsiTreeChangeEvent event) {
+        markDirty(event.getFile(), event.getParent());
+      }
+
+      @Override
+      public void childrenChanged(@Nonnull PsiTreeChangeEvent event) {
+        markDirty(event.getFile(), event.getParent());
+      }
+
+      @Override
+      public void childMoved(@Nonnull PsiTreeChangeEvent event) {
+        markDirty(event.getFile(), event.getOldParent());
+        markDirty(event.getFile(), event.getNewParent());
+      }
+
+      @Override
+      public void propertyChanged(@Nonnull PsiTreeChangeEvent event) {
+        markDirty(event.getFile(), null);
+      }
+    }, this);
+  }
+
+  public static JsonSchemaIncrementalValidation getInstance(@Nonnull Project project) {
+    return project.getInstance(JsonSchemaIncrementalValidation.class);
+  }
+
+  /**
+   * Starts a validation pass of the file containing the given top-level value.
+   * The results recorded during the pass become available to the next pass after {@link Session#commit()}.
+   *
+   * @return null if the incremental validation is not applicable
+   */
+  @Nullable
+  public Session startSession(@Nonnull PsiElement topLevelValue,
+                              @Nonnull JsonSchemaObject rootSchema,
+                              @Nonnull JsonComplianceCheckerOptions options) {
+    if (!JsonRegistry.JSON_SCHEMA_INCREMENTAL_VALIDATION) return null;
+    PsiFile file = topLevelValue.getContainingFile();
+    if (file == null) return null;
+
+    long generation = myGeneration.get();
+    long schemaStamp = getSchemaModificationCount(rootSchema);
+    FileState state = file.getUserData(FILE_STATE_KEY);
+    if (state == null || !state.isApplicable(rootSchema, options, generation, schemaStamp)) {
+      state = new FileState(rootSchema, options, generation, schemaStamp);
+      file.putUserData(FILE_STATE_KEY, state);
+    }
+    return new Session(state);
+  }
+
+  // changes on the schema mappings and on the files referenced from the root schema, directly or transitively
+  private long getSchemaModificationCount(@Nonnull JsonSchemaObject rootSchema) {
+    JsonSchemaService service = JsonSchemaService.get(myProject);
+    long count = service instanceof ModificationTracker tracker ? tracker.getModificationCount() : -1;
+    VirtualFile schemaFile = service.resolveSchemaFile(rootSchema);
+    if (schemaFile != null) {
+      count += JsonSchemaReferenceGraph.getInstance(myProject).getDependenciesTracker(schemaFile).getModificationCount();
+    }
+    return count;
+  }
+
+  private void markDirty(@Nullable PsiFile file, @Nullable PsiElement changedParent) {
+    if (file == null && changedParent != null && changedParent.isValid()) {
+      file = changedParent.getContainingFile();
+    }
+    if (file == null) {
+      myGeneration.incrementAndGet();
+      return;
+    }
+
+    FileState state = file.getUserData(FILE_STATE_KEY);
+    if (state == null) return;
+    if (changedParent == null) {
+      file.putUserData(FILE_STATE_KEY, null);
+      return;
+    }
+    for (PsiElement element = changedParent; element != null && !(element instanceof PsiFile); element = element.getParent()) {
+      // the ancestors of an element already marked dirty are dirty as well
+      if (!state.myDirtyElements.add(element)) break;
+    }
+  }
+
+  @Override
+  public void dispose() {
+  }
+
+  private static final class FileState {
+    private final JsonSchemaObject myRootSchema;
+    private final JsonComplianceCheckerOptions myOptions;
+    private final long myGeneration;
+    private final long mySchemaStamp;
+    private final Set<PsiElement> myDirtyElements = ConcurrentHashMap.newKeySet();
+    private volatile Map<PsiElement, List<SubtreeResult>> myResults = Collections.emptyMap();
+
+    FileState(@Nonnull JsonSchemaObject rootSchema, @Nonnull JsonComplianceCheckerOptions options, long generation, long schemaStamp) {
+      myRootSchema = rootSchema;
+      myOptions = options;
+      myGeneration = generation;
+      mySchemaStamp = schemaStamp;
+    }
+
+    boolean isApplicable(@Nonnull JsonSchemaObject rootSchema,
+                         @Nonnull JsonComplianceCheckerOptions options,
+                         long generation,
+                         long schemaStamp) {
+      return myRootSchema == rootSchema && myOptions.equals(options) && myGeneration == generation && mySchemaStamp == schemaStamp;
+    }
+  }
+
+  static final class SubtreeResult {
+    final JsonSchemaObject schema;
+    final Map<PsiElement, JsonValidationError> errors;
+    final boolean hadTypeError;
+
+    SubtreeResult(@Nonnull JsonSchemaObject schema, @Nonnull Map<PsiElement, JsonValidationError> errors, boolean hadTypeError) {
+      this.schema = schema;
+      this.errors = errors;
+      this.hadTypeError = hadTypeError;
+    }
+  }
+
+  public static final class Session {
+    private final FileState myState;
+    private final Map<PsiElement, List<SubtreeResult>> myPreviousResults;
+    private final Set<PsiElement> myDirtyElements;
+    private final Map<PsiElement, List<SubtreeResult>> myResults = new ConcurrentHashMap<>();
+    private final Set<PsiElement> myReusedElements = ConcurrentHashMap.newKeySet();
+
+    private Session(@Nonnull FileState state) {
+      myState = state;
+      myPreviousResults = state.myResults;
+      // no PSI changes are possible during the pass, the snapshot is only needed to keep the changes made after it
+      myDirtyElements = new HashSet<>(state.myDirtyElements);
+    }
+
+    @Nullable
+    SubtreeResult getPreviousResult(@Nonnull PsiElement value, @Nonnull JsonSchemaObject schema) {
+      if (myDirtyElements.contains(value) || !value.isValid()) return null;
+      List<SubtreeResult> results = myPreviousResults.get(value);
+      if (results == null) return null;
+      for (SubtreeResult result : results) {
+        if (result.schema == schema) {
+          myReusedElements.add(value);
+          record(value, result);
+          return result;
+        }
+      }
+      return null;
+    }
+
+    void recordResult(@Nonnull PsiElement value,
+                      @Nonnull JsonSchemaObject schema,
+                      @Nonnull Map<PsiElement, JsonValidationError> errors,
+                      boolean hadTypeError) {
+      record(value, new SubtreeResult(schema, errors.isEmpty() ? Collections.emptyMap() : materialize(errors), hadTypeError));
+    }
+
+    // computes the lazy messages and issue data now, their suppliers capture the checkers and the PSI of this pass
+    @Nonnull
+    private static Map<PsiElement, JsonValidationError> materialize(@Nonnull Map<PsiElement, JsonValidationError> errors) {
+      Map<PsiElement, JsonValidationError> result = new HashMap<>(errors.size());
+      for (Map.Entry<PsiElement, JsonValidationError> entry : errors.entrySet()) {
+        JsonValidationError error = entry.getValue();
+        result.put(entry.getKey(), new JsonValidationError(error.getMessage(), error.getFixableIssueKind(), error.getIssueData(),
+                                                           error.getPriority()));
+      }
+      return result;
+    }
+
+    private void record(@Nonnull PsiElement value, @Nonnull SubtreeResult result) {
+      myResults.computeIfAbsent(value, __ -> Collections.synchronizedList(new ArrayList<>(1))).add(result);
+    }
+
+    /**
+     * Publishes the results of the finished pass.
+     * The results of the previous pass are kept for the untouched elements inside the reused subtrees, since they were not visited by this pass,
+     * the results of the changed or removed elements and of the elements no longer validated are dropped.
+     */
+    public void commit() {
+      for (Map.Entry<PsiElement, List<SubtreeResult>> entry : myPreviousResults.entrySet()) {
+        PsiElement value = entry.getKey();
+        if (myResults.containsKey(value) || myDirtyElements.contains(value) || !value.isValid()) continue;
+        if (isInsideReusedSubtree(value)) {
+          myResults.put(value, entry.getValue());
+        }
+      }
+      myState.myResults = myResults;
+      myState.myDirtyElements.removeAll(myDirtyElements);
+    }
+
+    private boolean isInsideReusedSubtree(@Nonnull PsiElement value) {
+      for (PsiElement element = value.getParent(); element != null && !(element instanceof PsiFile); element = element.getParent()) {
+        if (myReusedElements.contains(element)) return true;
+      }
+      return false;
+    }
+  }
+}
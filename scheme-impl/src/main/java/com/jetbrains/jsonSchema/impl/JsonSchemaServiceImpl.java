@@ -26,7 +26,6 @@ import consulo.project.DumbService;
 import consulo.project.Project;
 import consulo.util.collection.ContainerUtil;
 import consulo.util.collection.SmartList;
-import consulo.util.lang.StringUtil;
 import consulo.util.lang.ref.Ref;
 import consulo.virtualFileSystem.VirtualFile;
 import consulo.virtualFileSystem.VirtualFileManager;
@@ -45,7 +44,6 @@ public class JsonSchemaServiceImpl implements JsonSchemaService, ModificationTra
   private final @Nonnull Project myProject;
   private final @Nonnull MyState myState;
   private final @Nonnull ClearableLazyValue<@Unmodifiable Set<String>> myBuiltInSchemaIds;
-  private final @Nonnull Set<String> myRefs = ConcurrentCollectionFactory.createConcurrentSet();
   private final AtomicLong myAnyChangeCount = new AtomicLong(0);
 
   private final @Nonnull JsonSchemaCatalogManager myCatalogManager;
@@ -70,10 +68,6 @@ public class JsonSchemaServiceImpl implements JsonSchemaService, ModificationTra
 
     MessageBusConnection connection = project.getMessageBus().connect(this);
     connection.subscribe(JsonSchemaVfsListener.JSON_SCHEMA_CHANGED, myAnyChangeCount::incrementAndGet);
-    connection.subscribe(JsonSchemaVfsListener.JSON_DEPS_CHANGED, () -> {
-      myRefs.clear();
-      myAnyChangeCount.incrementAndGet();
-    });
     mySchemaUpdater = JsonSchemaVfsListener.startListening(project, this, connection);
     myCatalogManager.startUpdates();
   }
@@ -478,20 +472,6 @@ public class JsonSchemaServiceImpl implements JsonSchemaService, ModificationTra
     myResetActions.remove(action);
   }
 
-  @Override
-  public void registerReference(String ref) {
-    int index = StringUtil.lastIndexOfAny(ref, "\\/");
-    if (index >= 0) {
-      ref = ref.substring(index + 1);
-    }
-    myRefs.add(ref);
-  }
-
-  @Override
-  public boolean possiblyHasReference(String ref) {
-    return myRefs.contains(ref);
-  }
-
   @Override
   public void triggerUpdateRemote() {
     myCatalogManager.triggerUpdateCatalog(myProject);
@@ -0,0 +1,585 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jetbrains.jsonSchema.JsonComplianceCheckerOptions;
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import com.jetbrains.jsonSchema.JsonSchemaService;
+import com.jetbrains.jsonSchema.JsonSchemaType;
+import com.jetbrains.jsonSchema.JsonValidationError;
+import com.jetbrains.jsonSchema.extension.JsonErrorPriority;
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
+import com.jetbrains.jsonSchema.internal.JsonSchemaEnumIndex;
+import com.jetbrains.jsonSchema.internal.JsonStructuralValue;
+import consulo.application.ReadAction;
+import consulo.json.localize.JsonLocalize;
+import consulo.project.Project;
+import consulo.util.lang.StringUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static com.jetbrains.jsonSchema.impl.validations.JsonSchemaNumbers.compare;
+import static com.jetbrains.jsonSchema.impl.validations.JsonSchemaNumbers.isMultipleOf;
+import static com.jetbrains.jsonSchema.internal.SchemaKeywords.X_INTELLIJ_CASE_INSENSITIVE;
+
+/**
+ * Validation of JSON documents too large to be loaded into PSI or a {@link com.jetbrains.jsonSchema.internal.adapter.JsonTree JsonTree}.
+ * <p>
+ * The document is read once with the Jackson pull parser, the memory used depends on the nesting depth of the document
+ * and on the size of the schema, but not on the size of the document. Only the keywords which can be checked in a single pass
+ * are evaluated: {@code type}, {@code enum} and {@code const} of scalars, the string and the numeric constraints,
+ * {@code required}, {@code minProperties}/{@code maxProperties}, {@code properties}, {@code patternProperties},
+ * {@code additionalProperties}, {@code items}, {@code additionalItems} and {@code minItems}/{@code maxItems}.
+ * References and {@code allOf} are followed. The keywords choosing between several branches or needing the whole value,
+ * like {@code anyOf}, {@code oneOf}, {@code not}, {@code if}, {@code uniqueItems} or {@code contains}, are not checked.
+ * <p>
+ * The problems are reported with the byte offsets of the values in the input and their JSON pointers.
+ * The schema nodes are compiled on the first use and kept by the validator, so an instance is meant to be reused
+ * for the files validated against the same schema, though not concurrently.
+ */
+public final class JsonSchemaStreamingValidator {
+  /**
+   * The size above which documents should be validated by streaming, the same as the default content load limit of the IDE.
+   */
+  public static final long STREAMING_THRESHOLD = 20L * 1024 * 1024;
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private final @Nonnull Project myProject;
+  private final @Nonnull JsonSchemaObject myRootSchema;
+  private final @Nonnull JsonComplianceCheckerOptions myOptions;
+  // the compiled nodes of every schema, with its references and allOf members; bounded by the size of the schema
+  private final Map<JsonSchemaObject, List<Node>> myNodes = new HashMap<>();
+
+  public JsonSchemaStreamingValidator(@Nonnull Project project,
+                                      @Nonnull JsonSchemaObject rootSchema,
+                                      @Nonnull JsonComplianceCheckerOptions options) {
+    myProject = project;
+    myRootSchema = rootSchema;
+    myOptions = options;
+  }
+
+  /**
+   * Validates the document read from the stream, the stream is not closed.
+   *
+   * @param sink receives the problems in the order of the document
+   * @return the number of the problems found
+   * @throws com.fasterxml.jackson.core.JsonParseException if the document is not well-formed,
+   *                                                      the problems found before the syntax error are already reported
+   */
+  public int validate(@Nonnull InputStream input,
+                      @Nonnull Consumer<? super JsonSchemaBatchValidationRecord.Problem> sink) throws IOException {
+    try (JsonParser parser = FACTORY.createParser(input)) {
+      parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+      Pass pass = new Pass(parser, sink);
+      pass.run();
+      return pass.myProblemCount;
+    }
+  }
+
+  /**
+   * Reads the {@code $schema} reference of a document, only if it is the first property of the top-level object,
+   * so that huge documents are not read twice.
+   */
+  public static @Nullable String findSchemaReference(@Nonnull InputStream input) throws IOException {
+    try (JsonParser parser = FACTORY.createParser(input)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+      if (parser.nextToken() != JsonToken.FIELD_NAME || !"$schema".equals(parser.getCurrentName())) return null;
+      return parser.nextToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
+    }
+  }
+
+  private @Nonnull List<Node> getNodes(@Nullable JsonSchemaObject schema) {
+    if (schema == null) return Collections.emptyList();
+    List<Node> nodes = myNodes.get(schema);
+    if (nodes != null) return nodes;
+    // an empty placeholder ends the reference cycles, a cycle adds no new constraints
+    myNodes.put(schema, Collections.emptyList());
+    nodes = ReadAction.compute(() -> compile(schema));
+    myNodes.put(schema, nodes);
+    return nodes;
+  }
+
+  private @Nonnull List<Node> compile(@Nonnull JsonSchemaObject schema) {
+    List<Node> nodes = new ArrayList<>(1);
+    nodes.add(new Node(schema, myOptions));
+    if (schema.getRef() != null) {
+      nodes.addAll(getNodes(schema.resolveRefSchema(JsonSchemaService.get(myProject))));
+    }
+    List<? extends JsonSchemaObject> allOf = schema.getAllOf();
+    if (allOf != null) {
+      for (JsonSchemaObject member : allOf) {
+        nodes.addAll(getNodes(member));
+      }
+    }
+    return List.copyOf(nodes);
+  }
+
+  /**
+   * The keywords of a single schema node checked by the streaming pass, read in advance.
+   */
+  private static final class Node {
+    private final @Nonnull JsonSchemaObject mySchema;
+    private final boolean myRejectsAll;
+    private final @Nullable Set<JsonSchemaType> myTypes;
+    private final @Nullable JsonSchemaEnumIndex myEnum;
+    private final boolean myCaseInsensitiveEnum;
+
+    private final @Nullable Integer myMinLength;
+    private final @Nullable Integer myMaxLength;
+    private final @Nullable String myPattern;
+    private final @Nullable String myPatternError;
+
+    private final @Nullable Number myMultipleOf;
+    private final @Nullable Number myMinimum;
+    private final boolean myExclusiveMinimum;
+    private final @Nullable Number myExclusiveMinimumNumber;
+    private final @Nullable Number myMaximum;
+    private final boolean myExclusiveMaximum;
+    private final @Nullable Number myExclusiveMaximumNumber;
+
+    private final @Nonnull Map<String, ? extends JsonSchemaObject> myProperties;
+    private final boolean myHasPatternProperties;
+    private final boolean myAdditionalPropertiesAllowed;
+    private final @Nullable JsonSchemaObject myAdditionalPropertiesSchema;
+    private final @Nullable Set<String> myRequired;
+    private final @Nullable Integer myMinProperties;
+    private final @Nullable Integer myMaxProperties;
+
+    private final @Nullable JsonSchemaObject myItemsSchema;
+    private final @Nullable List<? extends JsonSchemaObject> myItemsSchemaList;
+    private final boolean myAdditionalItemsAllowed;
+    private final @Nullable JsonSchemaObject myAdditionalItemsSchema;
+    private final @Nullable Integer myMinItems;
+    private final @Nullable Integer myMaxItems;
+
+    Node(@Nonnull JsonSchemaObject schema, @Nonnull JsonComplianceCheckerOptions options) {
+      mySchema = schema;
+      myRejectsAll = Boolean.FALSE.equals(schema.getConstantSchema());
+      Set<JsonSchemaType> variants = schema.getTypeVariants();
+      JsonSchemaType type = schema.getType();
+      myTypes = variants != null ? variants : type != null ? EnumSet.of(type) : null;
+      myEnum = schema.getEnumIndex();
+      myCaseInsensitiveEnum = options.isCaseInsensitiveEnumCheck()
+                              || Boolean.parseBoolean(schema.readChildNodeValue(X_INTELLIJ_CASE_INSENSITIVE))
+                              || schema.isForceCaseInsensitive();
+
+      myMinLength = schema.getMinLength();
+      myMaxLength = schema.getMaxLength();
+      myPattern = schema.getPattern();
+      myPatternError = myPattern != null ? schema.getPatternError() : null;
+
+      myMultipleOf = schema.getMultipleOf();
+      myMinimum = schema.getMinimum();
+      myExclusiveMinimum = schema.isExclusiveMinimum();
+      myExclusiveMinimumNumber = schema.getExclusiveMinimumNumber();
+      myMaximum = schema.getMaximum();
+      myExclusiveMaximum = schema.isExclusiveMaximum();
+      myExclusiveMaximumNumber = schema.getExclusiveMaximumNumber();
+
+      myProperties = schema.getProperties();
+      myHasPatternProperties = schema.hasPatternProperties();
+      myAdditionalPropertiesAllowed = schema.getAdditionalPropertiesAllowed();
+      myAdditionalPropertiesSchema = schema.getAdditionalPropertiesSchema();
+      Set<String> required = schema.getRequired();
+      myRequired = required == null || required.isEmpty() ? null : Set.copyOf(required);
+      myMinProperties = schema.getMinProperties();
+      myMaxProperties = schema.getMaxProperties();
+
+      myItemsSchema = schema.getItemsSchema();
+      myItemsSchemaList = myItemsSchema == null ? schema.getItemsSchemaList() : null;
+      myAdditionalItemsAllowed = Boolean.TRUE.equals(schema.getAdditionalItemsAllowed());
+      myAdditionalItemsSchema = myItemsSchemaList != null ? schema.getAdditionalItemsSchema() : null;
+      myMinItems = schema.getMinItems();
+      myMaxItems = schema.getMaxItems();
+    }
+
+    boolean acceptsType(@Nonnull JsonSchemaType actual) {
+      Set<JsonSchemaType> types = myTypes;
+      if (types == null || types.contains(actual) || types.contains(JsonSchemaType._any)) return true;
+      if (actual == JsonSchemaType._integer && types.contains(JsonSchemaType._number)) return true;
+      return types.contains(JsonSchemaType._string_number)
+             && (actual == JsonSchemaType._string || actual == JsonSchemaType._integer || actual == JsonSchemaType._number);
+    }
+  }
+
+  /**
+   * An open object or array of the document.
+   */
+  private static final class Frame {
+    private final boolean myObject;
+    private final @Nonnull List<Node> myNodes;
+    private final long myStartOffset;
+    private final int myLine;
+    private final int myColumn;
+    // the name of the current property, or the number of the items read so far
+    private @Nullable String myName;
+    private int myCount;
+    private @Nonnull List<Node> myValueNodes = Collections.emptyList();
+    private @Nullable Set<String> myMissing;
+
+    Frame(boolean object, @Nonnull List<Node> nodes, @Nonnull JsonLocation start) {
+      myObject = object;
+      myNodes = nodes;
+      myStartOffset = start.getByteOffset();
+      myLine = start.getLineNr();
+      myColumn = start.getColumnNr();
+      if (object) {
+        for (Node node : nodes) {
+          if (node.myRequired == null) continue;
+          if (myMissing == null) myMissing = new LinkedHashSet<>();
+          myMissing.addAll(node.myRequired);
+        }
+      }
+    }
+
+    void appendSegment(@Nonnull StringBuilder pointer) {
+      pointer.append('/');
+      if (!myObject) {
+        pointer.append(myCount - 1);
+        return;
+      }
+      String name = StringUtil.notNullize(myName);
+      for (int i = 0; i < name.length(); i++) {
+        char c = name.charAt(i);
+        if (c == '~') pointer.append("~0");
+        else if (c == '/') pointer.append("~1");
+        else pointer.append(c);
+      }
+    }
+  }
+
+  private final class Pass {
+    private final @Nonnull JsonParser myParser;
+    private final @Nonnull Consumer<? super JsonSchemaBatchValidationRecord.Problem> mySink;
+    private final ArrayDeque<Frame> myStack = new ArrayDeque<>();
+    private int myProblemCount;
+    private boolean myStopped;
+
+    Pass(@Nonnull JsonParser parser, @Nonnull Consumer<? super JsonSchemaBatchValidationRecord.Problem> sink) {
+      myParser = parser;
+      mySink = sink;
+    }
+
+    void run() throws IOException {
+      JsonToken token;
+      while (!myStopped && (token = myParser.nextToken()) != null) {
+        Frame frame = myStack.peekLast();
+        switch (token) {
+          case FIELD_NAME:
+            readPropertyName(frame);
+            break;
+          case END_OBJECT:
+          case END_ARRAY:
+            myStack.removeLast();
+            finish(frame);
+            break;
+          default:
+            List<Node> nodes;
+            if (frame == null) {
+              nodes = getNodes(myRootSchema);
+            }
+            else if (frame.myObject) {
+              nodes = frame.myValueNodes;
+            }
+            else {
+              frame.myCount++;
+              nodes = getItemNodes(frame);
+            }
+            readValue(token, nodes);
+            break;
+        }
+      }
+    }
+
+    private void readPropertyName(@Nonnull Frame frame) throws IOException {
+      String name = myParser.getCurrentName();
+      frame.myName = name;
+      frame.myCount++;
+      if (frame.myMissing != null) frame.myMissing.remove(name);
+      List<Node> valueNodes = null;
+      boolean prohibited = false;
+      for (Node node : frame.myNodes) {
+        JsonSchemaObject propertySchema = node.myProperties.get(name);
+        if (propertySchema == null && node.myHasPatternProperties) {
+          propertySchema = ReadAction.compute(() -> node.mySchema.getMatchingPatternPropertySchema(name));
+        }
+        if (propertySchema == null) {
+          if (!node.myAdditionalPropertiesAllowed) {
+            prohibited = true;
+            continue;
+          }
+          propertySchema = node.myAdditionalPropertiesSchema;
+        }
+        List<Node> nodes = getNodes(propertySchema);
+        if (nodes.isEmpty()) continue;
+        if (valueNodes == null) valueNodes = nodes;
+        else {
+          valueNodes = new ArrayList<>(valueNodes);
+          valueNodes.addAll(nodes);
+        }
+      }
+      frame.myValueNodes = valueNodes == null ? Collections.emptyList() : valueNodes;
+      if (prohibited) {
+        JsonLocation location = myParser.getTokenLocation();
+        // the parser has already read ahead into the value and the name may contain escapes, so only the start of the name is known
+        report(JsonLocalize.jsonSchemaAnnotationNotAllowedProperty(name).get(), location, location.getByteOffset(),
+               JsonErrorPriority.LOW_PRIORITY);
+      }
+    }
+
+    private @Nonnull List<Node> getItemNodes(@Nonnull Frame frame) {
+      int index = frame.myCount - 1;
+      List<Node> itemNodes = null;
+      for (Node node : frame.myNodes) {
+        JsonSchemaObject itemSchema;
+        if (node.myItemsSchema != null) {
+          itemSchema = node.myItemsSchema;
+        }
+        else if (node.myItemsSchemaList != null) {
+          if (index < node.myItemsSchemaList.size()) {
+            itemSchema = node.myItemsSchemaList.get(index);
+          }
+          else if (!node.myAdditionalItemsAllowed) {
+            JsonLocation location = myParser.getCurrentLocation();
+            report(JsonLocalize.schemaValidationArrayNoExtra().get(), location, location.getByteOffset(), JsonErrorPriority.LOW_PRIORITY);
+            continue;
+          }
+          else {
+            itemSchema = node.myAdditionalItemsSchema;
+          }
+        }
+        else {
+          continue;
+        }
+        List<Node> nodes = getNodes(itemSchema);
+        if (nodes.isEmpty()) continue;
+        if (itemNodes == null) itemNodes = nodes;
+        else {
+          itemNodes = new ArrayList<>(itemNodes);
+          itemNodes.addAll(nodes);
+        }
+      }
+      return itemNodes == null ? Collections.emptyList() : itemNodes;
+    }
+
+    private void readValue(@Nonnull JsonToken token, @Nonnull List<Node> nodes) throws IOException {
+      boolean container = token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+      if (nodes.isEmpty()) {
+        // nothing to check below, the value is only read through
+        if (container) myParser.skipChildren();
+        return;
+      }
+      JsonLocation start = myParser.getTokenLocation();
+      if (container) {
+        checkValue(token, nodes, start, start.getByteOffset() + 1, null);
+        myStack.addLast(new Frame(token == JsonToken.START_OBJECT, nodes, start));
+        return;
+      }
+      // strings are parsed lazily, the current location is past the closing quote only once the text is read
+      String text = myParser.getText();
+      long endOffset = myParser.getCurrentLocation().getByteOffset();
+      checkValue(token, nodes, start, endOffset, text);
+    }
+
+    private void checkValue(@Nonnull JsonToken token, @Nonnull List<Node> nodes, @Nonnull JsonLocation start, long endOffset,
+                            @Nullable String text) {
+      JsonLiteralValue number = token.isNumeric() && text != null ? JsonLiteralValue.ofText(text) : null;
+      JsonSchemaType actualType = getType(token, number);
+      for (Node node : nodes) {
+        if (myStopped) return;
+        if (node.myRejectsAll) {
+          report(JsonLocalize.schemaValidationConstantSchema().get(), start, endOffset, JsonErrorPriority.LOW_PRIORITY);
+          continue;
+        }
+        if (!node.acceptsType(actualType)) {
+          JsonSchemaType[] expected = node.myTypes.toArray(new JsonSchemaType[0]);
+          report(JsonSchemaAnnotatorChecker.createTypeErrorMessage(actualType, expected), start, endOffset, JsonErrorPriority.TYPE_MISMATCH);
+          continue;
+        }
+        JsonSchemaEnumIndex enumIndex = node.myEnum;
+        if (enumIndex != null && !containsValue(enumIndex, token, text, number, node.myCaseInsensitiveEnum)) {
+          report(JsonLocalize.schemaValidationEnumMismatch(enumIndex.getPresentableText()).get(), start, endOffset,
+                 JsonErrorPriority.MEDIUM_PRIORITY);
+          continue;
+        }
+        if (token == JsonToken.VALUE_STRING && text != null) {
+          checkString(node, text, start, endOffset);
+        }
+        else if (number != null) {
+          checkNumber(node, number, start, endOffset);
+        }
+      }
+    }
+
+    private void checkString(@Nonnull Node node, @Nonnull String value, @Nonnull JsonLocation start, long endOffset) {
+      if (node.myMinLength != null || node.myMaxLength != null) {
+        int length = value.codePointCount(0, value.length());
+        if (node.myMinLength != null && length < node.myMinLength) {
+          report(JsonLocalize.schemaValidationStringShorterThan(node.myMinLength).get(), start, endOffset, JsonErrorPriority.LOW_PRIORITY);
+          return;
+        }
+        if (node.myMaxLength != null && length > node.myMaxLength) {
+          report(JsonLocalize.schemaValidationStringLongerThan(node.myMaxLength).get(), start, endOffset, JsonErrorPriority.LOW_PRIORITY);
+          return;
+        }
+      }
+      String pattern = node.myPattern;
+      if (pattern == null) return;
+      if (node.myPatternError != null) {
+        report(JsonLocalize.schemaValidationInvalidStringPattern(StringUtil.convertLineSeparators(node.myPatternError)).get(), start,
+               endOffset, JsonErrorPriority.LOW_PRIORITY);
+      }
+      else if (!node.mySchema.checkByPattern(value)) {
+        report(JsonLocalize.schemaValidationStringViolatesPattern(StringUtil.convertLineSeparators(pattern)).get(), start, endOffset,
+               JsonErrorPriority.LOW_PRIORITY);
+      }
+    }
+
+    private void checkNumber(@Nonnull Node node, @Nonnull JsonLiteralValue value, @Nonnull JsonLocation start, long endOffset) {
+      Number multipleOf = node.myMultipleOf;
+      if (multipleOf != null && !isMultipleOf(value, multipleOf)) {
+        String multipleOfValue = String.valueOf(Math.abs(multipleOf.doubleValue() - multipleOf.intValue()) < 0.000001 ?
+                                                multipleOf.intValue() : multipleOf);
+        report(JsonLocalize.schemaValidationNotMultipleOf(multipleOfValue).get(), start, endOffset, JsonErrorPriority.LOW_PRIORITY);
+        return;
+      }
+      Number exclusiveMinimum = node.myExclusiveMinimumNumber != null ? node.myExclusiveMinimumNumber
+                                                                      : node.myExclusiveMinimum ? node.myMinimum : null;
+      Number exclusiveMaximum = node.myExclusiveMaximumNumber != null ? node.myExclusiveMaximumNumber
+                                                                      : node.myExclusiveMaximum ? node.myMaximum : null;
+      if (exclusiveMinimum != null && compare(value, exclusiveMinimum) <= 0) {
+        report(JsonLocalize.schemaValidationLessThanExclusiveMinimum(exclusiveMinimum).get(), start, endOffset,
+               JsonErrorPriority.LOW_PRIORITY);
+      }
+      else if (node.myMinimum != null && !node.myExclusiveMinimum && compare(value, node.myMinimum) < 0) {
+        report(JsonLocalize.schemaValidationLessThanMinimum(node.myMinimum).get(), start, endOffset, JsonErrorPriority.LOW_PRIORITY);
+      }
+      if (exclusiveMaximum != null && compare(value, exclusiveMaximum) >= 0) {
+        report(JsonLocalize.schemaValidationGreaterThanExclusiveMaximum(exclusiveMaximum).get(), start, endOffset,
+               JsonErrorPriority.LOW_PRIORITY);
+      }
+      else if (node.myMaximum != null && !node.myExclusiveMaximum && compare(value, node.myMaximum) > 0) {
+        report(JsonLocalize.schemaValidationGreaterThanMaximum(node.myMaximum).get(), start, endOffset, JsonErrorPriority.LOW_PRIORITY);
+      }
+    }
+
+    private void finish(@Nonnull Frame frame) {
+      long endOffset = myParser.getCurrentLocation().getByteOffset();
+      for (Node node : frame.myNodes) {
+        if (myStopped) return;
+        if (frame.myObject) {
+          if (node.myMinProperties != null && frame.myCount < node.myMinProperties) {
+            report(JsonLocalize.schemaValidationNumberOfPropsLessThan(node.myMinProperties).get(), frame, endOffset,
+                   JsonErrorPriority.LOW_PRIORITY);
+          }
+          if (node.myMaxProperties != null && frame.myCount > node.myMaxProperties) {
+            report(JsonLocalize.schemaValidationNumberOfPropsGreaterThan(node.myMaxProperties).get(), frame, endOffset,
+                   JsonErrorPriority.LOW_PRIORITY);
+          }
+        }
+        else {
+          if (node.myMinItems != null && frame.myCount < node.myMinItems) {
+            report(JsonLocalize.schemaValidationArrayShorterThan(node.myMinItems).get(), frame, endOffset, JsonErrorPriority.LOW_PRIORITY);
+          }
+          if (node.myMaxItems != null && frame.myCount > node.myMaxItems) {
+            report(JsonLocalize.schemaValidationArrayLongerThan(node.myMaxItems).get(), frame, endOffset, JsonErrorPriority.LOW_PRIORITY);
+          }
+        }
+      }
+      Set<String> missing = frame.myMissing;
+      if (missing != null && !missing.isEmpty() && !myStopped) {
+        List<JsonValidationError.MissingPropertyIssueData> properties = new ArrayList<>(missing.size());
+        for (String name : missing) {
+          properties.add(new JsonValidationError.MissingPropertyIssueData(name, null, null, 0));
+        }
+        String message = new JsonValidationError.MissingMultiplePropsIssueData(properties).getMessage(true);
+        report(JsonLocalize.schemaValidationMissingRequiredPropertyOrProperties(message).get(), frame, endOffset,
+               JsonErrorPriority.MISSING_PROPS);
+      }
+    }
+
+    private void report(@Nonnull String message, @Nonnull Frame frame, long endOffset, @Nonnull JsonErrorPriority priority) {
+      report(message, frame.myStartOffset, endOffset, frame.myLine, frame.myColumn, priority);
+    }
+
+    private void report(@Nonnull String message, @Nonnull JsonLocation start, long endOffset, @Nonnull JsonErrorPriority priority) {
+      report(message, start.getByteOffset(), endOffset, start.getLineNr(), start.getColumnNr(), priority);
+    }
+
+    private void report(@Nonnull String message, long startOffset, long endOffset, int line, int column,
+                        @Nonnull JsonErrorPriority priority) {
+      if (myStopped) return;
+      // the pointer of the open containers, with the value being read
+      StringBuilder pointer = new StringBuilder();
+      for (Frame frame : myStack) {
+        frame.appendSegment(pointer);
+      }
+      mySink.accept(new JsonSchemaBatchValidationRecord.Problem(message, pointer.toString(), startOffset, endOffset,
+                                                                JsonSchemaBatchValidationRecord.Problem.OffsetUnit.BYTES, line, column,
+                                                                priority.name()));
+      myProblemCount++;
+      myStopped = myOptions.shouldStopValidationAfterAnyErrorFound();
+    }
+  }
+
+  private static @Nonnull JsonSchemaType getType(@Nonnull JsonToken token, @Nullable JsonLiteralValue number) {
+    switch (token) {
+      case START_OBJECT:
+        return JsonSchemaType._object;
+      case START_ARRAY:
+        return JsonSchemaType._array;
+      case VALUE_STRING:
+        return JsonSchemaType._string;
+      case VALUE_NUMBER_INT:
+        return JsonSchemaType._integer;
+      case VALUE_NUMBER_FLOAT:
+        return number != null && number.isIntegral() ? JsonSchemaType._integer : JsonSchemaType._number;
+      case VALUE_TRUE:
+      case VALUE_FALSE:
+        return JsonSchemaType._boolean;
+      default:
+        return JsonSchemaType._null;
+    }
+  }
+
+  private static boolean containsValue(@Nonnull JsonSchemaEnumIndex enumIndex,
+                                       @Nonnull JsonToken token,
+                                       @Nullable String text,
+                                       @Nullable JsonLiteralValue number,
+                                       boolean ignoreCase) {
+    JsonStructuralValue value;
+    switch (token) {
+      case START_OBJECT:
+      case START_ARRAY:
+        // container values are not kept, only the enums of scalars reject them
+        return enumIndex.hasContainerValues();
+      case VALUE_STRING:
+        value = JsonStructuralValue.ofString(StringUtil.notNullize(text));
+        break;
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        BigDecimal decimal = number == null ? null : number.getDecimalValue();
+        if (decimal == null) return true;
+        value = JsonStructuralValue.ofNumber(decimal);
+        break;
+      case VALUE_TRUE:
+      case VALUE_FALSE:
+        value = JsonStructuralValue.ofBoolean(token == JsonToken.VALUE_TRUE);
+        break;
+      default:
+        value = JsonStructuralValue.ofNull();
+        break;
+    }
+    return enumIndex.contains(value, ignoreCase, false);
+  }
+}
@@ -0,0 +1,215 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.impl;
+
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import com.jetbrains.jsonSchema.JsonSchemaType;
+import com.jetbrains.jsonSchema.extension.adapter.JsonObjectValueAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonPropertyAdapter;
+import com.jetbrains.jsonSchema.extension.adapter.JsonValueAdapter;
+import com.jetbrains.jsonSchema.internal.JsonSchemaEnumIndex;
+import com.jetbrains.jsonSchema.internal.JsonStructuralValue;
+import com.jetbrains.jsonSchema.internal.RootJsonSchemaObjectBackedByJackson;
+import com.jetbrains.jsonSchema.walker.JsonLikePsiWalker;
+import consulo.application.progress.ProgressManager;
+import consulo.util.dataholder.Key;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+
+/**
+ * Precomputed dispatch of an instance to the branches of a {@code oneOf}/{@code anyOf} group worth validating against.
+ * <p>
+ * Branches are bucketed by the JSON types they accept. For object instances a discriminator is detected as well:
+ * a property required by every object branch whose schema is a {@code const} (or a single-value {@code enum}) in each of them,
+ * as in the {@code "type": {"const": "Microsoft.Storage"}} or {@code "task": {"enum": ["Bash@3"]}} style of large schemas.
+ * The discriminator value of the instance then selects the matching branches only, all other branches are invalid anyway.
+ * <p>
+ * The discriminator values are compared in the most relaxed way, ignoring the case and the scalar types,
+ * so the selection is a superset of the branches the {@code enum} validation would accept.
+ * If no branch matches the value, or the instance has no such property, all the type-compatible branches are returned
+ * to keep the error reporting of the least erroneous branch.
+ * <p>
+ * Dispatches are cached on the root of the first variant, so they live no longer than the parsed schema.
+ */
+final class JsonSchemaVariantsDispatch {
+  static final int MIN_VARIANTS_TO_DISPATCH = 4;
+  private static final int MAX_CACHED_DISPATCHES = 128;
+  private static final Key<DispatchesCache> DISPATCHES_KEY = Key.create("JsonSchemaVariantsDispatches");
+
+  private final List<JsonSchemaObject> myVariants;
+  private final Map<JsonSchemaType, BitSet> myVariantsByType = new EnumMap<>(JsonSchemaType.class);
+  private final @Nullable String myDiscriminator;
+  private final Map<JsonStructuralValue, BitSet> myVariantsByDiscriminatorValue = new HashMap<>();
+
+  private JsonSchemaVariantsDispatch(@Nonnull List<JsonSchemaObject> variants) {
+    myVariants = variants;
+    for (JsonSchemaType type : JsonSchemaType.values()) {
+      BitSet compatible = new BitSet(variants.size());
+      for (int i = 0; i < variants.size(); i++) {
+        if (JsonSchemaAnnotatorChecker.areSchemaTypesCompatible(variants.get(i), type)) compatible.set(i);
+      }
+      myVariantsByType.put(type, compatible);
+    }
+    myDiscriminator = detectDiscriminator();
+  }
+
+  @Nonnull
+  static JsonSchemaVariantsDispatch forVariants(@Nonnull Collection<? extends JsonSchemaObject> variants) {
+    VariantsKey key = new VariantsKey(new ArrayList<>(variants));
+    DispatchesCache cache = getDispatchesCache(key.myVariants.get(0));
+    if (cache == null) return new JsonSchemaVariantsDispatch(key.myVariants);
+
+    synchronized (cache) {
+      JsonSchemaVariantsDispatch dispatch = cache.get(key);
+      if (dispatch != null) return dispatch;
+    }
+    JsonSchemaVariantsDispatch dispatch = new JsonSchemaVariantsDispatch(key.myVariants);
+    synchronized (cache) {
+      cache.put(key, dispatch);
+    }
+    return dispatch;
+  }
+
+  @Nullable
+  private static DispatchesCache getDispatchesCache(@Nonnull JsonSchemaObject variant) {
+    // the legacy schema objects have no root to attach the cache to
+    return variant.getRootSchemaObject() instanceof RootJsonSchemaObjectBackedByJackson root
+           ? root.getOrComputeRootData(DISPATCHES_KEY, DispatchesCache::new)
+           : null;
+  }
+
+  /**
+   * @return the branches to validate the value against, in their declaration order; empty if no branch accepts the value type
+   */
+  @Nonnull
+  List<JsonSchemaObject> selectCandidates(@Nonnull JsonValueAdapter value, @Nonnull JsonSchemaType type, @Nullable JsonSchemaType altType) {
+    BitSet candidates = (BitSet)myVariantsByType.get(type).clone();
+    if (altType != null) candidates.or(myVariantsByType.get(altType));
+
+    if (myDiscriminator != null && !candidates.isEmpty()) {
+      BitSet matching = findVariantsByDiscriminator(value, myDiscriminator);
+      if (matching != null && matching.intersects(candidates)) {
+        candidates.and(matching);
+      }
+    }
+
+    List<JsonSchemaObject> result = new ArrayList<>(candidates.cardinality());
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      result.add(myVariants.get(i));
+    }
+    return result;
+  }
+
+  @Nullable
+  private BitSet findVariantsByDiscriminator(@Nonnull JsonValueAdapter value, @Nonnull String discriminator) {
+    JsonObjectValueAdapter object = value.getAsObject();
+    if (object == null) return null;
+    for (JsonPropertyAdapter property : object.getPropertyList()) {
+      if (!discriminator.equals(property.getName())) continue;
+      Collection<JsonValueAdapter> values = property.getValues();
+      if (values.size() != 1) return null;
+      JsonValueAdapter discriminatorValue = values.iterator().next();
+      if (!discriminatorValue.shouldCheckAsValue()) return null;
+      JsonLikePsiWalker walker = JsonLikePsiWalker.getWalker(discriminatorValue.getDelegate(), myVariants.get(0));
+      if (walker == null) return null;
+      return myVariantsByDiscriminatorValue.get(JsonStructuralValue.of(discriminatorValue, walker).relax(true, true));
+    }
+    return null;
+  }
+
+  @Nullable
+  private String detectDiscriminator() {
+    BitSet objectVariants = myVariantsByType.get(JsonSchemaType._object);
+    if (objectVariants.cardinality() < MIN_VARIANTS_TO_DISPATCH) return null;
+
+    Set<String> commonRequired = null;
+    for (int i = objectVariants.nextSetBit(0); i >= 0; i = objectVariants.nextSetBit(i + 1)) {
+      Set<String> required = myVariants.get(i).getRequired();
+      if (required == null || required.isEmpty()) return null;
+      if (commonRequired == null) {
+        commonRequired = new LinkedHashSet<>(required);
+      }
+      else {
+        commonRequired.retainAll(required);
+      }
+      if (commonRequired.isEmpty()) return null;
+    }
+    if (commonRequired == null) return null;
+
+    String bestDiscriminator = null;
+    Map<JsonStructuralValue, BitSet> bestValues = null;
+    for (String candidate : commonRequired) {
+      ProgressManager.checkCanceled();
+      Map<JsonStructuralValue, BitSet> values = collectConstantValues(objectVariants, candidate);
+      if (values != null && (bestValues == null || values.size() > bestValues.size())) {
+        bestDiscriminator = candidate;
+        bestValues = values;
+      }
+    }
+    // a discriminator with a single value for all the branches does not select anything
+    if (bestValues == null || bestValues.size() < 2) return null;
+    myVariantsByDiscriminatorValue.putAll(bestValues);
+    return bestDiscriminator;
+  }
+
+  @Nullable
+  private Map<JsonStructuralValue, BitSet> collectConstantValues(@Nonnull BitSet objectVariants, @Nonnull String propertyName) {
+    Map<JsonStructuralValue, BitSet> values = new HashMap<>();
+    for (int i = objectVariants.nextSetBit(0); i >= 0; i = objectVariants.nextSetBit(i + 1)) {
+      JsonSchemaObject propertySchema = myVariants.get(i).getPropertyByName(propertyName);
+      if (propertySchema == null) return null;
+      JsonSchemaEnumIndex enumIndex = propertySchema.getEnumIndex();
+      if (enumIndex == null || enumIndex.getValues().size() != 1) return null;
+      JsonStructuralValue value = JsonStructuralValue.ofSchemaValue(enumIndex.getValues().get(0)).relax(true, true);
+      values.computeIfAbsent(value, __ -> new BitSet(myVariants.size())).set(i);
+    }
+    return values;
+  }
+
+  /**
+   * Dispatches of the variant groups of a single root, the least recently used ones are evicted first.
+   * Variant groups are compared by identity, see {@link VariantsKey}.
+   */
+  private static final class DispatchesCache extends LinkedHashMap<VariantsKey, JsonSchemaVariantsDispatch> {
+    DispatchesCache() {
+      super(16, 0.75f, true);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<VariantsKey, JsonSchemaVariantsDispatch> eldest) {
+      return size() > MAX_CACHED_DISPATCHES;
+    }
+  }
+
+  private static final class VariantsKey {
+    private final List<JsonSchemaObject> myVariants;
+    private final int myHash;
+
+    VariantsKey(@Nonnull List<JsonSchemaObject> variants) {
+      myVariants = variants;
+      int hash = 0;
+      for (JsonSchemaObject variant : variants) {
+        hash = 31 * hash + System.identityHashCode(variant);
+      }
+      myHash = hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof VariantsKey)) return false;
+      List<JsonSchemaObject> other = ((VariantsKey)o).myVariants;
+      if (myHash != ((VariantsKey)o).myHash || other.size() != myVariants.size()) return false;
+      for (int i = 0; i < myVariants.size(); i++) {
+        if (myVariants.get(i) != other.get(i)) return false;
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return myHash;
+    }
+  }
+}
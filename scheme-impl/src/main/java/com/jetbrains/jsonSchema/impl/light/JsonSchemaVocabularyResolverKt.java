@@ -1,7 +1,6 @@
 // Copyright 2000-2024 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
 package com.jetbrains.jsonSchema.impl.light;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.jetbrains.jsonSchema.JsonSchemaObject;
 import com.jetbrains.jsonSchema.JsonSchemaService;
 import com.jetbrains.jsonSchema.impl.light.nodes.JsonSchemaObjectBackedByJacksonBase;
@@ -11,6 +10,7 @@ import jakarta.annotation.Nullable;
 
 import java.util.List;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.jetbrains.jsonSchema.impl.light.SchemaKeywords.VOCABULARY;
 
@@ -21,16 +21,15 @@ public class JsonSchemaVocabularyResolverKt {
                                                    JsonSchemaObjectBackedByJacksonBase currentSchemaNode,
                                                    JsonSchemaService jsonSchemaService,
                                                    List<StandardJsonSchemaVocabulary.Bundled> bundledVocabularies) {
-    JsonNode rootNode = currentSchemaNode.getRootSchemaObject().getRawSchemaNode();
-    Stream<String> instanceVocabularyIds = JacksonSchemaNodeAccessor.readNodeKeys(rootNode, VOCABULARY);
+    Iterable<String> instanceVocabularyIds = currentSchemaNode.getRootSchemaObject().readChildKeys(VOCABULARY);
     if (instanceVocabularyIds == null) {
       return null;
     }
 
-    StandardJsonSchemaVocabulary vocabularyToLoad = findBundledVocabulary(searchedVocabularyId, instanceVocabularyIds, bundledVocabularies);
+    StandardJsonSchemaVocabulary vocabularyToLoad =
+      findBundledVocabulary(searchedVocabularyId, StreamSupport.stream(instanceVocabularyIds.spliterator(), false), bundledVocabularies);
     if (vocabularyToLoad == null) {
-      instanceVocabularyIds = JacksonSchemaNodeAccessor.readNodeKeys(rootNode, VOCABULARY);
-      vocabularyToLoad = findRemoteVocabulary(searchedVocabularyId, instanceVocabularyIds);
+      vocabularyToLoad = findRemoteVocabulary(searchedVocabularyId, StreamSupport.stream(instanceVocabularyIds.spliterator(), false));
     }
 
     if (vocabularyToLoad == null) {
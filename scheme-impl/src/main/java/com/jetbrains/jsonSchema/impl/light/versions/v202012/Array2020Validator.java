@@ -10,7 +10,9 @@ import com.jetbrains.jsonSchema.impl.validations.ArrayValidation;
 import consulo.json.localize.JsonLocalize;
 import org.jetbrains.annotations.Nls;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class Array2020Validator extends ArrayValidation {
   public static final Array2020Validator INSTANCE = new Array2020Validator();
@@ -48,7 +50,7 @@ public class Array2020Validator extends ArrayValidation {
         firstRegularItemIndex,
         consumer,
         options,
-        JsonLocalize.schemaValidationArrayNoExtra().get()
+        () -> JsonLocalize.schemaValidationArrayNoExtra().get()
       );
       if (!isValid && options.shouldStopValidationAfterAnyErrorFound()) return false;
     }
@@ -61,7 +63,7 @@ public class Array2020Validator extends ArrayValidation {
         firstRegularItemIndex,
         consumer,
         options,
-        JsonLocalize.schemaValidationArrayNoUnevaluated().get()
+        () -> JsonLocalize.schemaValidationArrayNoUnevaluated().get()
       );
       if (!isValid && options.shouldStopValidationAfterAnyErrorFound()) return false;
     }
@@ -74,7 +76,7 @@ public class Array2020Validator extends ArrayValidation {
                                                       int firstRegularItemIndex,
                                                       JsonValidationHost consumer,
                                                       JsonComplianceCheckerOptions options,
-                                                      @Nls String errorMessage) {
+                                                      Supplier<@Nls String> errorMessage) {
     Boolean constantSchema = nonPositionalItemsSchema.getConstantSchema();
     if (Boolean.TRUE.equals(constantSchema)) {
       return true;
@@ -85,6 +87,13 @@ public class Array2020Validator extends ArrayValidation {
       return false;
     }
 
+    if (!options.shouldStopValidationAfterAnyErrorFound() && firstRegularItemIndex < instanceArrayItems.size()) {
+      // the items are independent, let the host check them concurrently
+      List<JsonValueAdapter> regularItems = instanceArrayItems.subList(firstRegularItemIndex, instanceArrayItems.size());
+      consumer.checkObjectsBySchemaRecordErrors(Collections.nCopies(regularItems.size(), nonPositionalItemsSchema), regularItems);
+      return consumer.getErrors().isEmpty();
+    }
+
     boolean isValid = true;
     for (int index = firstRegularItemIndex; index < instanceArrayItems.size(); index++) {
       JsonValueAdapter instanceArrayItem = instanceArrayItems.get(index);
@@ -116,6 +116,9 @@ public class JsonSchema202012Strategy implements JsonSchemaInterpretationStrateg
           validations.add(Array2020Validator.INSTANCE);
         }
       }
+      if (schemaNode.getFormat() != null && value.isStringLiteral()) {
+        validations.add(FormatValidation.INSTANCE);
+      }
       if (JsonSchemaObjectReadingUtils.hasObjectChecks(schemaNode) && value.isObject()) {
         validations.add(ObjectValidation.INSTANCE);
       }
@@ -2,7 +2,6 @@
 package com.jetbrains.jsonSchema.impl.validations;
 
 import consulo.json.localize.JsonLocalize;
-import com.intellij.util.containers.MultiMap;
 import com.jetbrains.jsonSchema.extension.JsonErrorPriority;
 import com.jetbrains.jsonSchema.extension.JsonLikePsiWalker;
 import com.jetbrains.jsonSchema.extension.JsonSchemaValidation;
@@ -15,10 +14,14 @@ import com.jetbrains.jsonSchema.JsonComplianceCheckerOptions;
 import com.jetbrains.jsonSchema.JsonSchemaObject;
 import com.jetbrains.jsonSchema.JsonSchemaType;
 import com.jetbrains.jsonSchema.JsonValidationError;
+import com.jetbrains.jsonSchema.internal.JsonStructuralValue;
+import consulo.util.collection.primitive.ints.IntList;
+import consulo.util.collection.primitive.ints.IntLists;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
-import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -72,10 +75,15 @@ public class ArrayValidation implements JsonSchemaValidation {
     var isValid = true;
 
     if (schema.getItemsSchema() != null) {
+      if (!options.shouldStopValidationAfterAnyErrorFound()) {
+        // the items are independent, let the host check them concurrently
+        consumer.checkObjectsBySchemaRecordErrors(Collections.nCopies(list.size(), schema.getItemsSchema()), list);
+        return consumer.getErrors().isEmpty();
+      }
       for (JsonValueAdapter item : list) {
         consumer.checkObjectBySchemaRecordErrors(schema.getItemsSchema(), item);
         isValid &= consumer.getErrors().isEmpty();
-        if (!isValid && options.shouldStopValidationAfterAnyErrorFound()) return false;
+        if (!isValid) return false;
       }
     }
     else if (schema.getItemsSchemaList() != null) {
@@ -88,7 +96,7 @@ public class ArrayValidation implements JsonSchemaValidation {
         }
         else {
           if (!Boolean.TRUE.equals(schema.getAdditionalItemsAllowed())) {
-            consumer.error(JsonLocalize.schemaValidationArrayNoExtra().get(), arrayValue.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
+            consumer.error(() -> JsonLocalize.schemaValidationArrayNoExtra().get(), arrayValue.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
             isValid = false;
             if (options.shouldStopValidationAfterAnyErrorFound()) return false;
           }
@@ -111,11 +119,11 @@ public class ArrayValidation implements JsonSchemaValidation {
                                                          JsonComplianceCheckerOptions options) {
     // these two are not correct by the schema spec, but are used in some schemas
     if (schema.getMinLength() != null && list.size() < schema.getMinLength()) {
-      consumer.error(JsonLocalize.schemaValidationArrayShorterThan(schema.getMinLength().get()), array.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
+      consumer.error(() -> JsonLocalize.schemaValidationArrayShorterThan(schema.getMinLength().get()), array.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
       return false;
     }
     if (schema.getMaxLength() != null && list.size() > schema.getMaxLength()) {
-      consumer.error(JsonLocalize.schemaValidationArrayLongerThan(schema.getMaxLength().get()), array.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
+      consumer.error(() -> JsonLocalize.schemaValidationArrayLongerThan(schema.getMaxLength().get()), array.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
       return false;
     }
     return true;
@@ -126,11 +134,11 @@ public class ArrayValidation implements JsonSchemaValidation {
                                             JsonSchemaObject schema,
                                             JsonValidationHost consumer, JsonComplianceCheckerOptions options) {
     if (schema.getMinItems() != null && list.size() < schema.getMinItems()) {
-      consumer.error(JsonLocalize.schemaValidationArrayShorterThan(schema.getMinItems().get()), array.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
+      consumer.error(() -> JsonLocalize.schemaValidationArrayShorterThan(schema.getMinItems().get()), array.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
       return false;
     }
     if (schema.getMaxItems() != null && list.size() > schema.getMaxItems()) {
-      consumer.error(JsonLocalize.schemaValidationArrayLongerThan(schema.getMaxItems().get()), array.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
+      consumer.error(() -> JsonLocalize.schemaValidationArrayLongerThan(schema.getMaxItems().get()), array.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
       return false;
     }
     return true;
@@ -151,7 +159,7 @@ public class ArrayValidation implements JsonSchemaValidation {
         }
       }
       if (!match) {
-        consumer.error(JsonLocalize.schemaValidationArrayNotContains().get(), array.getDelegate(), JsonErrorPriority.MEDIUM_PRIORITY);
+        consumer.error(() -> JsonLocalize.schemaValidationArrayNotContains().get(), array.getDelegate(), JsonErrorPriority.MEDIUM_PRIORITY);
         return false;
       }
     }
@@ -164,25 +172,25 @@ public class ArrayValidation implements JsonSchemaValidation {
                                 JsonValidationHost consumer,
                                 @Nonnull JsonComplianceCheckerOptions options) {
     if (schema.isUniqueItems()) {
-      final MultiMap<String, JsonValueAdapter> valueTexts = new MultiMap<>();
       final JsonLikePsiWalker walker = JsonLikePsiWalker.getWalker(array.getDelegate(), schema);
       assert walker != null;
-      for (JsonValueAdapter adapter : list) {
-        valueTexts.putValue(walker.getNodeTextForValidation(adapter.getDelegate()), adapter);
+      // item indices grouped by the canonical item value, in the order of the first occurrence
+      final Map<JsonStructuralValue, IntList> indicesByValue = new LinkedHashMap<>();
+      for (int i = 0; i < list.size(); i++) {
+        indicesByValue.computeIfAbsent(JsonStructuralValue.of(list.get(i), walker), __ -> IntLists.newArrayList(1)).add(i);
       }
 
-      for (Map.Entry<String, Collection<JsonValueAdapter>> entry: valueTexts.entrySet()) {
-        if (entry.getValue().size() > 1) {
-          for (JsonValueAdapter item: entry.getValue()) {
-            if (!item.shouldCheckAsValue()) continue;
-            consumer.error(JsonLocalize.schemaValidationNotUnique().get(), item.getDelegate(),
-                           JsonValidationError.FixableIssueKind.DuplicateArrayItem,
-                           new JsonValidationError.DuplicateArrayItemIssueData(
-                             entry.getValue().stream().mapToInt(v -> list.indexOf(v)).toArray()
-                           ),
-                           JsonErrorPriority.TYPE_MISMATCH);
-            if (options.shouldStopValidationAfterAnyErrorFound()) return false;
-          }
+      for (IntList indices : indicesByValue.values()) {
+        if (indices.size() < 2) continue;
+        final int[] duplicateIndices = indices.toArray();
+        for (int index : duplicateIndices) {
+          JsonValueAdapter item = list.get(index);
+          if (!item.shouldCheckAsValue()) continue;
+          consumer.error(() -> JsonLocalize.schemaValidationNotUnique().get(), item.getDelegate(),
+                         JsonValidationError.FixableIssueKind.DuplicateArrayItem,
+                         () -> new JsonValidationError.DuplicateArrayItemIssueData(duplicateIndices),
+                         JsonErrorPriority.TYPE_MISMATCH);
+          if (options.shouldStopValidationAfterAnyErrorFound()) return false;
         }
       }
     }
@@ -11,6 +11,7 @@ import com.jetbrains.jsonSchema.fus.JsonSchemaHighlightingSessionStatisticsColle
 import com.jetbrains.jsonSchema.impl.JsonComplianceCheckerOptions;
 import com.jetbrains.jsonSchema.impl.JsonSchemaObject;
 import com.jetbrains.jsonSchema.impl.JsonSchemaType;
+import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
 public class ConstantSchemaValidation implements JsonSchemaValidation {
@@ -25,9 +26,15 @@ public class ConstantSchemaValidation implements JsonSchemaValidation {
     JsonSchemaHighlightingSessionStatisticsCollector.getInstance().reportSchemaUsageFeature(JsonSchemaFusCountedFeature.ConstantNodeValidation);
     Boolean constantSchema = schema.getConstantSchema();
     if (Boolean.FALSE.equals(constantSchema)) {
-      consumer.error(JsonLocalize.schemaValidationConstantSchema().get(), propValue.getDelegate().getParent(), JsonErrorPriority.LOW_PRIORITY);
+      consumer.error(() -> JsonLocalize.schemaValidationConstantSchema().get(), propValue.getDelegate().getParent(), JsonErrorPriority.LOW_PRIORITY);
       return false;
     }
     return true;
   }
+
+  @Override
+  public @Nullable JsonSchemaValidation compile(@Nonnull JsonSchemaObject schema) {
+    // only the 'false' schema rejects anything
+    return Boolean.FALSE.equals(schema.getConstantSchema()) ? this : null;
+  }
 }
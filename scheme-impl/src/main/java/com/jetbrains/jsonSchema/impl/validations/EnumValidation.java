@@ -18,6 +18,8 @@ import com.jetbrains.jsonSchema.extension.adapters.JsonValueAdapter;
 import com.jetbrains.jsonSchema.fus.JsonSchemaFusCountedFeature;
 import com.jetbrains.jsonSchema.fus.JsonSchemaHighlightingSessionStatisticsCollector;
 import com.jetbrains.jsonSchema.impl.*;
+import com.jetbrains.jsonSchema.internal.JsonSchemaEnumIndex;
+import com.jetbrains.jsonSchema.internal.JsonStructuralValue;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
@@ -36,23 +38,36 @@ public final class EnumValidation implements JsonSchemaValidation {
                           @Nonnull JsonValidationHost consumer,
                           @Nonnull JsonComplianceCheckerOptions options) {
     JsonSchemaHighlightingSessionStatisticsCollector.getInstance().reportSchemaUsageFeature(JsonSchemaFusCountedFeature.EnumValidation);
-    List<Object> enumItems = schema.getEnum();
-    if (enumItems == null) return true;
+    JsonSchemaEnumIndex enumIndex = schema.getEnumIndex();
+    if (enumIndex == null) return true;
+    if (!propValue.shouldCheckAsValue()) return true;
     final JsonLikePsiWalker walker = JsonLikePsiWalker.getWalker(propValue.getDelegate(), schema);
     if (walker == null) return true;
-    final String text = StringUtil.notNullize(walker.getNodeTextForValidation(propValue.getDelegate()));
-    boolean caseInsensitive = Boolean.parseBoolean(schema.readChildNodeValue(X_INTELLIJ_CASE_INSENSITIVE)) || schema.isForceCaseInsensitive();
-    BiFunction<String, String, Boolean> eq = options.isCaseInsensitiveEnumCheck() || caseInsensitive
-                                             ? String::equalsIgnoreCase
-                                             : String::equals;
-    for (Object object : enumItems) {
-      if (checkEnumValue(object, walker, propValue, text, eq)) return true;
+    boolean caseInsensitive = options.isCaseInsensitiveEnumCheck()
+                              || Boolean.parseBoolean(schema.readChildNodeValue(X_INTELLIJ_CASE_INSENSITIVE))
+                              || schema.isForceCaseInsensitive();
+    // languages with unquoted scalars, like YAML, compare the values by their unquoted text
+    boolean scalarsAsText = walker.allowsSingleQuotes() && !walker.requiresValueQuotes();
+    if (enumIndex.contains(JsonStructuralValue.of(propValue, walker), caseInsensitive, scalarsAsText)) return true;
+
+    // nested values may be excluded from the check, see JsonValueAdapter#shouldCheckAsValue
+    if (enumIndex.hasContainerValues() && (propValue.isArray() || propValue.isObject())) {
+      final String text = StringUtil.notNullize(walker.getNodeTextForValidation(propValue.getDelegate()));
+      BiFunction<String, String, Boolean> eq = caseInsensitive ? String::equalsIgnoreCase : String::equals;
+      for (Object object : enumIndex.getValues()) {
+        if (checkEnumValue(object, walker, propValue, text, eq)) return true;
+      }
     }
-    consumer.error(JsonLocalize.schemaValidationEnumMismatch(StringUtil.join(enumItems, o -> o.toString().get(), ", ")), propValue.getDelegate(),
+    consumer.error(() -> JsonLocalize.schemaValidationEnumMismatch(enumIndex.getPresentableText()).get(), propValue.getDelegate(),
                    JsonValidationError.FixableIssueKind.NonEnumValue, null, JsonErrorPriority.MEDIUM_PRIORITY);
     return false;
   }
 
+  @Override
+  public @Nullable JsonSchemaValidation compile(@Nonnull JsonSchemaObject schema) {
+    return schema.getEnumIndex() != null ? this : null;
+  }
+
   private static boolean checkEnumValue(@Nonnull Object object,
                                         @Nonnull JsonLikePsiWalker walker,
                                         @Nullable JsonValueAdapter adapter,
@@ -0,0 +1,90 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.impl.validations;
+
+import consulo.json.localize.JsonLocalize;
+import com.jetbrains.jsonSchema.JsonComplianceCheckerOptions;
+import com.jetbrains.jsonSchema.JsonSchemaObject;
+import com.jetbrains.jsonSchema.JsonSchemaType;
+import com.jetbrains.jsonSchema.extension.JsonErrorPriority;
+import com.jetbrains.jsonSchema.extension.JsonSchemaFormatValidator;
+import com.jetbrains.jsonSchema.extension.JsonSchemaValidation;
+import com.jetbrains.jsonSchema.extension.JsonValidationHost;
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
+import com.jetbrains.jsonSchema.extension.adapters.JsonValueAdapter;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import static com.jetbrains.jsonSchema.internal.SchemaKeywords.X_INTELLIJ_VALIDATE_FORMAT;
+
+/**
+ * Checks string values against the {@code format} keyword, see {@link JsonSchemaFormats} for the standard formats
+ * and {@link JsonSchemaFormatValidator} for the custom ones.
+ * <p>
+ * The format is an annotation by default, so the check is made only for the schemas opting in with
+ * {@code "x-intellij-validate-format": true}, on the node itself or on the schema root. Unknown formats are not checked.
+ */
+public final class FormatValidation implements JsonSchemaValidation {
+  public static final FormatValidation INSTANCE = new FormatValidation();
+
+  @Override
+  public boolean validate(@Nonnull JsonValueAdapter propValue,
+                          @Nonnull JsonSchemaObject schema,
+                          @Nullable JsonSchemaType schemaType,
+                          @Nonnull JsonValidationHost consumer,
+                          @Nonnull JsonComplianceCheckerOptions options) {
+    JsonSchemaValidation compiled = compile(schema);
+    return compiled == null || compiled.validate(propValue, schema, schemaType, consumer, options);
+  }
+
+  @Override
+  public @Nullable JsonSchemaValidation compile(@Nonnull JsonSchemaObject schema) {
+    String format = schema.getFormat();
+    if (format == null || !isFormatValidationEnabled(schema)) return null;
+    JsonSchemaFormatValidator custom = findCustomValidator(format);
+    if (custom != null) return new FormatConstraint(format, custom);
+    return JsonSchemaFormats.isKnownFormat(format) ? new FormatConstraint(format, null) : null;
+  }
+
+  private static boolean isFormatValidationEnabled(@Nonnull JsonSchemaObject schema) {
+    String value = schema.readChildNodeValue(X_INTELLIJ_VALIDATE_FORMAT);
+    if (value == null) {
+      value = schema.getRootSchemaObject().readChildNodeValue(X_INTELLIJ_VALIDATE_FORMAT);
+    }
+    return Boolean.parseBoolean(value);
+  }
+
+  private static @Nullable JsonSchemaFormatValidator findCustomValidator(@Nonnull String format) {
+    for (JsonSchemaFormatValidator validator : JsonSchemaFormatValidator.EP_NAME.getExtensionList()) {
+      if (format.equals(validator.getFormat())) return validator;
+    }
+    return null;
+  }
+
+  /**
+   * The format of a single schema node with its checker resolved in advance.
+   */
+  private static final class FormatConstraint implements JsonSchemaValidation {
+    private final @Nonnull String myFormat;
+    private final @Nullable JsonSchemaFormatValidator myCustomValidator;
+
+    FormatConstraint(@Nonnull String format, @Nullable JsonSchemaFormatValidator customValidator) {
+      myFormat = format;
+      myCustomValidator = customValidator;
+    }
+
+    @Override
+    public boolean validate(@Nonnull JsonValueAdapter propValue,
+                            @Nonnull JsonSchemaObject schema,
+                            @Nullable JsonSchemaType schemaType,
+                            @Nonnull JsonValidationHost consumer,
+                            @Nonnull JsonComplianceCheckerOptions options) {
+      JsonLiteralValue literal = propValue.getLiteral();
+      if (literal == null) return true;
+      String value = literal.getStringValue();
+      boolean valid = myCustomValidator != null ? myCustomValidator.isValid(value) : JsonSchemaFormats.isValid(myFormat, value);
+      if (valid) return true;
+      consumer.error(() -> JsonLocalize.schemaValidationInvalidFormat(myFormat).get(), propValue.getDelegate(), JsonErrorPriority.LOW_PRIORITY);
+      return false;
+    }
+  }
+}
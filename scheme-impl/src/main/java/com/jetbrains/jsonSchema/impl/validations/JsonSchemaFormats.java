@@ -0,0 +1,632 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.impl.validations;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Scanners of the standard {@code format} values of JSON Schema.
+ * <p>
+ * The scanners walk the value once and allocate nothing, no regular expressions or {@code java.time} parsing are involved,
+ * since the values are checked on every change of the document.
+ */
+public final class JsonSchemaFormats {
+  private static final int MAX_HOSTNAME_LENGTH = 253;
+  private static final int MAX_LABEL_LENGTH = 63;
+  private static final int MAX_LOCAL_PART_LENGTH = 64;
+  private static final int QUANTIFIER_OUT_OF_ORDER = -2;
+
+  private JsonSchemaFormats() {
+  }
+
+  /**
+   * @return whether the format is checked by {@link #isValid}
+   */
+  public static boolean isKnownFormat(@Nonnull String format) {
+    switch (format) {
+      case "date-time":
+      case "date":
+      case "time":
+      case "duration":
+      case "email":
+      case "hostname":
+      case "ipv4":
+      case "ipv6":
+      case "uri":
+      case "uri-reference":
+      case "uuid":
+      case "json-pointer":
+      case "regex":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * @return whether the value matches the standard format, true for the formats not {@link #isKnownFormat known}
+   */
+  public static boolean isValid(@Nonnull String format, @Nonnull CharSequence value) {
+    switch (format) {
+      case "date-time":
+        return isDateTime(value);
+      case "date":
+        return isDate(value, 0, value.length());
+      case "time":
+        return isTime(value, 0, value.length());
+      case "duration":
+        return isDuration(value);
+      case "email":
+        return isEmail(value);
+      case "hostname":
+        return isHostname(value, 0, value.length());
+      case "ipv4":
+        return isIpv4(value, 0, value.length());
+      case "ipv6":
+        return isIpv6(value, 0, value.length());
+      case "uri":
+        return isUri(value, true);
+      case "uri-reference":
+        return isUri(value, false);
+      case "uuid":
+        return isUuid(value);
+      case "json-pointer":
+        return isJsonPointer(value);
+      case "regex":
+        return isRegex(value);
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * RFC 3339 {@code date-time}, e.g. {@code 2025-01-31T23:59:60.5+01:00}.
+   */
+  public static boolean isDateTime(@Nonnull CharSequence value) {
+    int length = value.length();
+    if (length < 20) return false;
+    char separator = value.charAt(10);
+    if (separator != 'T' && separator != 't') return false;
+    return isDate(value, 0, 10) && isTime(value, 11, length);
+  }
+
+  /**
+   * RFC 3339 {@code full-date}: {@code YYYY-MM-DD}, the day is checked against the month and the leap years.
+   */
+  public static boolean isDate(@Nonnull CharSequence value, int start, int end) {
+    if (end - start != 10) return false;
+    if (value.charAt(start + 4) != '-' || value.charAt(start + 7) != '-') return false;
+    int year = readDigits(value, start, start + 4);
+    int month = readDigits(value, start + 5, start + 7);
+    int day = readDigits(value, start + 8, start + 10);
+    if (year < 0 || month < 1 || month > 12 || day < 1) return false;
+    return day <= getDaysInMonth(year, month);
+  }
+
+  /**
+   * RFC 3339 {@code full-time}: {@code HH:MM:SS[.fraction](Z|+HH:MM|-HH:MM)}, a leap second is allowed.
+   */
+  public static boolean isTime(@Nonnull CharSequence value, int start, int end) {
+    if (end - start < 9) return false;
+    if (value.charAt(start + 2) != ':' || value.charAt(start + 5) != ':') return false;
+    int hour = readDigits(value, start, start + 2);
+    int minute = readDigits(value, start + 3, start + 5);
+    int second = readDigits(value, start + 6, start + 8);
+    if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) return false;
+
+    int i = start + 8;
+    if (value.charAt(i) == '.') {
+      int fractionStart = ++i;
+      while (i < end && isDigit(value.charAt(i))) i++;
+      if (i == fractionStart) return false;
+    }
+    if (i >= end) return false;
+    char offset = value.charAt(i);
+    if (offset == 'Z' || offset == 'z') return i + 1 == end;
+    if (offset != '+' && offset != '-') return false;
+    if (end - i != 6 || value.charAt(i + 3) != ':') return false;
+    int offsetHour = readDigits(value, i + 1, i + 3);
+    int offsetMinute = readDigits(value, i + 4, i + 6);
+    return offsetHour >= 0 && offsetHour <= 23 && offsetMinute >= 0 && offsetMinute <= 59;
+  }
+
+  /**
+   * ISO 8601 duration as restricted by the appendix A of RFC 3339, e.g. {@code P1Y2M}, {@code PT1H30M}, {@code P2W}.
+   * The designators of the date and of the time parts are contiguous and ordered, fractions are not allowed.
+   */
+  public static boolean isDuration(@Nonnull CharSequence value) {
+    int length = value.length();
+    if (length < 3 || value.charAt(0) != 'P') return false;
+
+    int i = 1;
+    int digitsEnd = skipDigits(value, i, length);
+    if (digitsEnd > i && digitsEnd == length - 1 && value.charAt(digitsEnd) == 'W') return true;
+
+    int dateEnd = indexOf(value, 'T', i, length);
+    if (dateEnd < 0) dateEnd = length;
+    int dateComponents = scanDurationComponents(value, i, dateEnd, "YMD");
+    if (dateComponents < 0) return false;
+    if (dateEnd == length) return dateComponents > 0;
+
+    int timeComponents = scanDurationComponents(value, dateEnd + 1, length, "HMS");
+    return timeComponents > 0;
+  }
+
+  // the number of the components, -1 if the part is malformed
+  private static int scanDurationComponents(@Nonnull CharSequence value, int start, int end, @Nonnull String designators) {
+    int count = 0;
+    int lastDesignator = -1;
+    int i = start;
+    while (i < end) {
+      int digitsEnd = skipDigits(value, i, end);
+      if (digitsEnd == i || digitsEnd >= end) return -1;
+      int designator = designators.indexOf(value.charAt(digitsEnd));
+      if (designator < 0 || (lastDesignator >= 0 && designator != lastDesignator + 1)) return -1;
+      lastDesignator = designator;
+      count++;
+      i = digitsEnd + 1;
+    }
+    return count;
+  }
+
+  /**
+   * RFC 5321 mailbox: a dot-atom or a quoted local part, a hostname or an address literal as the domain.
+   */
+  public static boolean isEmail(@Nonnull CharSequence value) {
+    int length = value.length();
+    int at = lastIndexOf(value, '@', length);
+    if (at <= 0 || at == length - 1) return false;
+    if (!isLocalPart(value, 0, at)) return false;
+
+    int domainStart = at + 1;
+    if (value.charAt(domainStart) == '[') {
+      if (value.charAt(length - 1) != ']') return false;
+      if (startsWith(value, domainStart + 1, "IPv6:")) return isIpv6(value, domainStart + 6, length - 1);
+      return isIpv4(value, domainStart + 1, length - 1);
+    }
+    return isHostname(value, domainStart, length);
+  }
+
+  private static boolean isLocalPart(@Nonnull CharSequence value, int start, int end) {
+    if (end - start > MAX_LOCAL_PART_LENGTH) return false;
+    if (value.charAt(start) == '"') {
+      if (end - start < 2 || value.charAt(end - 1) != '"') return false;
+      for (int i = start + 1; i < end - 1; i++) {
+        char c = value.charAt(i);
+        if (c == '\\') {
+          if (++i >= end - 1) return false;
+          c = value.charAt(i);
+          if (c < 0x20 || c > 0x7e) return false;
+        }
+        else if (c == '"' || c < 0x20 || c > 0x7e) {
+          return false;
+        }
+      }
+      return true;
+    }
+    char previous = '.';
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      if (c == '.') {
+        if (previous == '.') return false;
+      }
+      else if (!isAtext(c)) {
+        return false;
+      }
+      previous = c;
+    }
+    return previous != '.';
+  }
+
+  private static boolean isAtext(char c) {
+    if (isAsciiLetterOrDigit(c)) return true;
+    return "!#$%&'*+-/=?^_`{|}~".indexOf(c) >= 0;
+  }
+
+  /**
+   * RFC 1123 hostname: dot-separated labels of letters, digits and hyphens, a label neither starts nor ends with a hyphen.
+   */
+  public static boolean isHostname(@Nonnull CharSequence value, int start, int end) {
+    // a single trailing dot denotes the root label
+    if (end > start && value.charAt(end - 1) == '.') end--;
+    if (end <= start || end - start > MAX_HOSTNAME_LENGTH) return false;
+    int labelStart = start;
+    for (int i = start; i <= end; i++) {
+      if (i == end || value.charAt(i) == '.') {
+        int labelLength = i - labelStart;
+        if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH) return false;
+        if (value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') return false;
+        labelStart = i + 1;
+      }
+      else if (!isAsciiLetterOrDigit(value.charAt(i)) && value.charAt(i) != '-') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Dotted-quad IPv4 address, the octets have no leading zeros.
+   */
+  public static boolean isIpv4(@Nonnull CharSequence value, int start, int end) {
+    int octets = 0;
+    int i = start;
+    while (true) {
+      int digitsEnd = skipDigits(value, i, end);
+      int digits = digitsEnd - i;
+      if (digits == 0 || digits > 3) return false;
+      if (digits > 1 && value.charAt(i) == '0') return false;
+      if (readDigits(value, i, digitsEnd) > 255) return false;
+      octets++;
+      if (digitsEnd == end) return octets == 4;
+      if (value.charAt(digitsEnd) != '.' || octets == 4) return false;
+      i = digitsEnd + 1;
+    }
+  }
+
+  /**
+   * RFC 4291 IPv6 address: eight groups of up to four hex digits, a single {@code ::} may replace the zero groups,
+   * the last two groups may be written as an IPv4 address.
+   */
+  public static boolean isIpv6(@Nonnull CharSequence value, int start, int end) {
+    if (end - start < 2) return false;
+    int groups = 0;
+    boolean compressed = false;
+    int i = start;
+    if (value.charAt(i) == ':') {
+      if (value.charAt(i + 1) != ':') return false;
+      compressed = true;
+      i += 2;
+      if (i == end) return true;
+    }
+    while (i < end) {
+      int groupEnd = i;
+      while (groupEnd < end && isHexDigit(value.charAt(groupEnd))) groupEnd++;
+      if (groupEnd < end && value.charAt(groupEnd) == '.') {
+        // the embedded IPv4 address ends the address and takes two groups
+        if (!isIpv4(value, i, end)) return false;
+        groups += 2;
+        break;
+      }
+      int digits = groupEnd - i;
+      if (digits == 0 || digits > 4) return false;
+      groups++;
+      if (groupEnd == end) break;
+      if (value.charAt(groupEnd) != ':') return false;
+      i = groupEnd + 1;
+      if (i < end && value.charAt(i) == ':') {
+        if (compressed) return false;
+        compressed = true;
+        i++;
+        if (i == end) break;
+      }
+      else if (i == end) {
+        return false;
+      }
+    }
+    return compressed ? groups < 8 : groups == 8;
+  }
+
+  /**
+   * RFC 3986 URI, or URI reference if the scheme is not required: the scheme is checked,
+   * the rest is checked to consist of the allowed characters and valid percent-encodings only.
+   */
+  public static boolean isUri(@Nonnull CharSequence value, boolean requireScheme) {
+    int length = value.length();
+    int schemeEnd = -1;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c == ':') {
+        schemeEnd = i;
+        break;
+      }
+      if (c == '/' || c == '?' || c == '#') break;
+    }
+    if (schemeEnd >= 0) {
+      if (!isScheme(value, 0, schemeEnd)) return false;
+    }
+    else if (requireScheme) {
+      return false;
+    }
+
+    boolean inFragment = false;
+    boolean inIpLiteral = false;
+    for (int i = schemeEnd + 1; i < length; i++) {
+      char c = value.charAt(i);
+      if (c == '%') {
+        if (i + 2 >= length || !isHexDigit(value.charAt(i + 1)) || !isHexDigit(value.charAt(i + 2))) return false;
+        i += 2;
+      }
+      else if (c == '#') {
+        if (inFragment) return false;
+        inFragment = true;
+      }
+      else if (c == '[') {
+        // IP literals are allowed in the authority only
+        if (inIpLiteral || !isAfterAuthorityStart(value, schemeEnd + 1, i)) return false;
+        inIpLiteral = true;
+      }
+      else if (c == ']') {
+        if (!inIpLiteral) return false;
+        inIpLiteral = false;
+      }
+      else if (!isUriChar(c)) {
+        return false;
+      }
+    }
+    return !inIpLiteral;
+  }
+
+  private static boolean isAfterAuthorityStart(@Nonnull CharSequence value, int hierStart, int index) {
+    if (!startsWith(value, hierStart, "//")) return false;
+    for (int i = hierStart + 2; i < index; i++) {
+      char c = value.charAt(i);
+      if (c == '/' || c == '?' || c == '#' || c == '[') return false;
+    }
+    return true;
+  }
+
+  private static boolean isScheme(@Nonnull CharSequence value, int start, int end) {
+    if (end <= start || !isAsciiLetter(value.charAt(start))) return false;
+    for (int i = start + 1; i < end; i++) {
+      char c = value.charAt(i);
+      if (!isAsciiLetterOrDigit(c) && c != '+' && c != '-' && c != '.') return false;
+    }
+    return true;
+  }
+
+  // unreserved, sub-delims and the gen-delims allowed outside of IP literals
+  private static boolean isUriChar(char c) {
+    if (isAsciiLetterOrDigit(c)) return true;
+    return "-._~!$&'()*+,;=:@/?".indexOf(c) >= 0;
+  }
+
+  /**
+   * RFC 4122 UUID in the canonical {@code 8-4-4-4-12} hex form.
+   */
+  public static boolean isUuid(@Nonnull CharSequence value) {
+    if (value.length() != 36) return false;
+    for (int i = 0; i < 36; i++) {
+      char c = value.charAt(i);
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (c != '-') return false;
+      }
+      else if (!isHexDigit(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * RFC 6901 JSON pointer: empty or starting with a slash, {@code ~} only in the {@code ~0} and {@code ~1} escapes.
+   */
+  public static boolean isJsonPointer(@Nonnull CharSequence value) {
+    int length = value.length();
+    if (length == 0) return true;
+    if (value.charAt(0) != '/') return false;
+    for (int i = 1; i < length; i++) {
+      if (value.charAt(i) == '~') {
+        if (i + 1 >= length) return false;
+        char escaped = value.charAt(++i);
+        if (escaped != '0' && escaped != '1') return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Syntax check of an ECMA-262 regular expression: balanced groups and character classes,
+   * complete escapes and quantifiers following something to repeat.
+   */
+  public static boolean isRegex(@Nonnull CharSequence value) {
+    int length = value.length();
+    int groupDepth = 0;
+    // whether the previous token can be repeated, and whether it is a quantifier already
+    boolean canRepeat = false;
+    boolean afterQuantifier = false;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\':
+          if (++i >= length) return false;
+          canRepeat = true;
+          afterQuantifier = false;
+          break;
+        case '[': {
+          int classEnd = skipCharacterClass(value, i + 1, length);
+          if (classEnd < 0) return false;
+          i = classEnd;
+          canRepeat = true;
+          afterQuantifier = false;
+          break;
+        }
+        case '(':
+          groupDepth++;
+          if (i + 1 < length && value.charAt(i + 1) == '?') {
+            int groupKindEnd = skipGroupKind(value, i + 2, length);
+            if (groupKindEnd < 0) return false;
+            i = groupKindEnd - 1;
+          }
+          canRepeat = false;
+          afterQuantifier = false;
+          break;
+        case ')':
+          if (--groupDepth < 0) return false;
+          canRepeat = true;
+          afterQuantifier = false;
+          break;
+        case '|':
+          canRepeat = false;
+          afterQuantifier = false;
+          break;
+        case '*':
+        case '+':
+        case '?':
+          if (afterQuantifier && c == '?') {
+            // a lazy quantifier
+            afterQuantifier = false;
+            canRepeat = false;
+            break;
+          }
+          if (!canRepeat) return false;
+          canRepeat = false;
+          afterQuantifier = true;
+          break;
+        case '{': {
+          int quantifierEnd = skipBracedQuantifier(value, i + 1, length);
+          if (quantifierEnd == QUANTIFIER_OUT_OF_ORDER) return false;
+          if (quantifierEnd < 0) {
+            // not a quantifier, a literal brace
+            canRepeat = true;
+            afterQuantifier = false;
+            break;
+          }
+          if (!canRepeat) return false;
+          i = quantifierEnd;
+          canRepeat = false;
+          afterQuantifier = true;
+          break;
+        }
+        case '^':
+        case '$':
+          canRepeat = false;
+          afterQuantifier = false;
+          break;
+        default:
+          canRepeat = true;
+          afterQuantifier = false;
+      }
+    }
+    return groupDepth == 0;
+  }
+
+  // the index of the closing bracket, -1 if the class is not closed
+  private static int skipCharacterClass(@Nonnull CharSequence value, int start, int end) {
+    int i = start;
+    // unlike in Java, the first bracket closes the class, so [] matches nothing and [^] matches anything
+    if (i < end && value.charAt(i) == '^') i++;
+    while (i < end) {
+      char c = value.charAt(i);
+      if (c == '\\') {
+        i += 2;
+        continue;
+      }
+      if (c == ']') return i;
+      i++;
+    }
+    return -1;
+  }
+
+  // the index after the kind of a group following "(?": one of (?: (?= (?! (?<= (?<! (?<name>, -1 if there is no valid kind
+  private static int skipGroupKind(@Nonnull CharSequence value, int start, int end) {
+    if (start >= end) return -1;
+    char c = value.charAt(start);
+    if (c == ':' || c == '=' || c == '!') return start + 1;
+    if (c != '<' || start + 1 >= end) return -1;
+    char next = value.charAt(start + 1);
+    if (next == '=' || next == '!') return start + 2;
+    int nameEnd = start + 1;
+    while (nameEnd < end && isGroupNameChar(value.charAt(nameEnd))) {
+      nameEnd++;
+    }
+    if (nameEnd == start + 1 || nameEnd >= end || value.charAt(nameEnd) != '>') return -1;
+    return nameEnd + 1;
+  }
+
+  private static boolean isGroupNameChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+  }
+
+  // the index of the closing brace of {n}, {n,} or {n,m}, -1 if the brace does not start a quantifier, QUANTIFIER_OUT_OF_ORDER if n > m
+  private static int skipBracedQuantifier(@Nonnull CharSequence value, int start, int end) {
+    int minEnd = skipDigits(value, start, end);
+    if (minEnd == start || minEnd >= end) return -1;
+    if (value.charAt(minEnd) == '}') return minEnd;
+    if (value.charAt(minEnd) != ',') return -1;
+    int maxEnd = skipDigits(value, minEnd + 1, end);
+    if (maxEnd >= end || value.charAt(maxEnd) != '}') return -1;
+    if (maxEnd > minEnd + 1 && readNumber(value, start, minEnd) > readNumber(value, minEnd + 1, maxEnd)) return QUANTIFIER_OUT_OF_ORDER;
+    return maxEnd;
+  }
+
+  private static int getDaysInMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+        return leap ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  // the value of the digits, -1 if any of the chars is not a digit
+  private static int readDigits(@Nonnull CharSequence value, int start, int end) {
+    int result = 0;
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      if (!isDigit(c)) return -1;
+      result = result * 10 + (c - '0');
+    }
+    return result;
+  }
+
+  // the value of the digits saturated at Long.MAX_VALUE, the chars are known to be digits
+  private static long readNumber(@Nonnull CharSequence value, int start, int end) {
+    long result = 0;
+    for (int i = start; i < end; i++) {
+      result = result * 10 + (value.charAt(i) - '0');
+      if (result < 0) return Long.MAX_VALUE;
+    }
+    return result;
+  }
+
+  private static int skipDigits(@Nonnull CharSequence value, int start, int end) {
+    int i = start;
+    while (i < end && isDigit(value.charAt(i))) i++;
+    return i;
+  }
+
+  private static int indexOf(@Nonnull CharSequence value, char c, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (value.charAt(i) == c) return i;
+    }
+    return -1;
+  }
+
+  private static int lastIndexOf(@Nonnull CharSequence value, char c, int end) {
+    for (int i = end - 1; i >= 0; i--) {
+      if (value.charAt(i) == c) return i;
+    }
+    return -1;
+  }
+
+  private static boolean startsWith(@Nonnull CharSequence value, int start, @Nullable String prefix) {
+    if (prefix == null || start + prefix.length() > value.length()) return false;
+    for (int i = 0; i < prefix.length(); i++) {
+      if (value.charAt(start + i) != prefix.charAt(i)) return false;
+    }
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isHexDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  private static boolean isAsciiLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isAsciiLetterOrDigit(char c) {
+    return isAsciiLetter(c) || isDigit(c);
+  }
+}
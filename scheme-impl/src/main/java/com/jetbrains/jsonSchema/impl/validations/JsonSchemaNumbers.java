@@ -0,0 +1,56 @@
+// Copyright 2000-2025 JetBrains s.r.o. and contributors. Use of this source code is governed by the Apache 2.0 license.
+package com.jetbrains.jsonSchema.impl.validations;
+
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Comparisons of numeric values with the numeric keywords of a schema, shared by the PSI and the streaming validations.
+ * <p>
+ * The comparisons are exact when both numbers have a decimal representation, so big integers are not rounded to the double precision.
+ */
+public final class JsonSchemaNumbers {
+  private JsonSchemaNumbers() {
+  }
+
+  public static boolean isMultipleOf(@Nonnull JsonLiteralValue value, @Nonnull Number multipleOf) {
+    BigDecimal decimalValue = value.getDecimalValue();
+    BigDecimal decimalMultipleOf = toDecimal(multipleOf);
+    if (decimalValue != null && decimalMultipleOf != null && decimalMultipleOf.signum() != 0) {
+      return decimalValue.remainder(decimalMultipleOf).signum() == 0;
+    }
+    final double leftOver = value.getDoubleValue() % multipleOf.doubleValue();
+    return !(leftOver > 0.000001);
+  }
+
+  public static int compare(@Nonnull JsonLiteralValue value, @Nonnull Number bound) {
+    BigDecimal decimalValue = value.getDecimalValue();
+    BigDecimal decimalBound = toDecimal(bound);
+    if (decimalValue != null && decimalBound != null) {
+      return decimalValue.compareTo(decimalBound);
+    }
+    final double doubleValue = value.getDoubleValue();
+    final double doubleBound = bound.doubleValue();
+    return doubleValue < doubleBound ? -1 : doubleValue > doubleBound ? 1 : 0;
+  }
+
+  private static @Nullable BigDecimal toDecimal(@Nonnull Number number) {
+    if (number instanceof BigDecimal) return (BigDecimal)number;
+    if (number instanceof BigInteger) return new BigDecimal((BigInteger)number);
+    if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+      return BigDecimal.valueOf(number.longValue());
+    }
+    if (!Double.isFinite(number.doubleValue())) return null;
+    try {
+      // the shortest decimal representation, as written in the schema
+      return new BigDecimal(number.toString());
+    }
+    catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
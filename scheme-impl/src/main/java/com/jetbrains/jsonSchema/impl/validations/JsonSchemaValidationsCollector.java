@@ -83,6 +83,9 @@ public final class JsonSchemaValidationsCollector {
                     validations.add(ArrayValidation.INSTANCE);
                 }
             }
+            if (schema.getFormat() != null && value.isStringLiteral()) {
+                validations.add(FormatValidation.INSTANCE);
+            }
             if (JsonSchemaObjectReadingUtils.hasObjectChecks(schema) && value.isObject()) {
                 validations.add(ObjectValidation.INSTANCE);
             }
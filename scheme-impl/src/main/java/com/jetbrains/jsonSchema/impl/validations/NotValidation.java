@@ -41,10 +41,15 @@ public final class NotValidation implements JsonSchemaValidation {
                                   new JsonComplianceCheckerOptions(options.isCaseInsensitiveEnumCheck(), true, false,
                                                                    JsonAnnotationsCollectionMode.FIND_FIRST));
     if (checker == null || checker.isValid()) {
-      consumer.error(JsonLocalize.schemaValidationAgainstNot().get(), propValue.getDelegate(), JsonErrorPriority.NOT_SCHEMA);
+      consumer.error(() -> JsonLocalize.schemaValidationAgainstNot().get(), propValue.getDelegate(), JsonErrorPriority.NOT_SCHEMA);
       return false;
     }
 
     return true;
   }
+
+  @Override
+  public @Nullable JsonSchemaValidation compile(@Nonnull JsonSchemaObject schema) {
+    return schema.getNot() != null ? this : null;
+  }
 }
@@ -10,90 +10,86 @@ import com.jetbrains.jsonSchema.JsonValidationError;
 import com.jetbrains.jsonSchema.extension.JsonErrorPriority;
 import com.jetbrains.jsonSchema.extension.JsonSchemaValidation;
 import com.jetbrains.jsonSchema.extension.JsonValidationHost;
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
 import com.jetbrains.jsonSchema.extension.adapters.JsonValueAdapter;
 import com.jetbrains.jsonSchema.fus.JsonSchemaFusCountedFeature;
 import com.jetbrains.jsonSchema.fus.JsonSchemaHighlightingSessionStatisticsCollector;
-import com.jetbrains.jsonSchema.impl.*;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import static com.jetbrains.jsonSchema.impl.validations.JsonSchemaNumbers.compare;
+import static com.jetbrains.jsonSchema.impl.validations.JsonSchemaNumbers.isMultipleOf;
+
 public final class NumericValidation implements JsonSchemaValidation {
   public static final NumericValidation INSTANCE = new NumericValidation();
-  private static boolean checkNumber(PsiElement propValue,
-                                     JsonSchemaObject schema,
+  private static boolean checkNumber(JsonValueAdapter adapter,
+                                     NumericConstraints constraints,
                                      JsonSchemaType schemaType,
                                      JsonValidationHost consumer,
                                      @Nonnull JsonComplianceCheckerOptions options) {
-    Number value;
-    String valueText = JsonSchemaAnnotatorChecker.getValue(propValue, schema);
-    if (valueText == null) return true;
+    JsonLiteralValue value = adapter.getLiteral();
+    if (value == null) return true;
+    PsiElement propValue = adapter.getDelegate();
     if (JsonSchemaType._integer.equals(schemaType)) {
-      value = JsonSchemaType.getIntegerValue(valueText);
-      if (value == null) {
-        consumer.error(JsonLocalize.schemaValidationIntegerExpected().get(), propValue,
+      if (!value.isIntegral()) {
+        consumer.error(() -> JsonLocalize.schemaValidationIntegerExpected().get(), propValue,
                        JsonValidationError.FixableIssueKind.TypeMismatch,
-                       new JsonValidationError.TypeMismatchIssueData(new JsonSchemaType[]{schemaType}), JsonErrorPriority.TYPE_MISMATCH);
+                       () -> new JsonValidationError.TypeMismatchIssueData(new JsonSchemaType[]{schemaType}), JsonErrorPriority.TYPE_MISMATCH);
         return false;
       }
     }
-    else {
-      try {
-        value = Double.valueOf(valueText);
-      }
-      catch (NumberFormatException e) {
-        if (!JsonSchemaType._string_number.equals(schemaType)) {
-          consumer.error(JsonLocalize.schemaValidationNumberExpected().get(), propValue,
-                JsonValidationError.FixableIssueKind.TypeMismatch,
-                new JsonValidationError.TypeMismatchIssueData(new JsonSchemaType[]{schemaType}), JsonErrorPriority.TYPE_MISMATCH);
-          return false;
-        }
-        return true;
+    else if (!value.isNumber()) {
+      if (!JsonSchemaType._string_number.equals(schemaType)) {
+        consumer.error(() -> JsonLocalize.schemaValidationNumberExpected().get(), propValue,
+              JsonValidationError.FixableIssueKind.TypeMismatch,
+              () -> new JsonValidationError.TypeMismatchIssueData(new JsonSchemaType[]{schemaType}), JsonErrorPriority.TYPE_MISMATCH);
+        return false;
       }
+      return true;
     }
-    final Number multipleOf = schema.getMultipleOf();
+    final Number multipleOf = constraints.myMultipleOf;
     if (multipleOf != null) {
-      final double leftOver = value.doubleValue() % multipleOf.doubleValue();
-      if (leftOver > 0.000001) {
-        final String multipleOfValue = String.valueOf(Math.abs(multipleOf.doubleValue() - multipleOf.intValue()) < 0.000001 ?
-                                                      multipleOf.intValue() : multipleOf);
-        consumer.error(JsonLocalize.schemaValidationNotMultipleOf(multipleOfValue).get(), propValue, JsonErrorPriority.LOW_PRIORITY);
+      if (!isMultipleOf(value, multipleOf)) {
+        consumer.error(() -> {
+          final String multipleOfValue = String.valueOf(Math.abs(multipleOf.doubleValue() - multipleOf.intValue()) < 0.000001 ?
+                                                        multipleOf.intValue() : multipleOf);
+          return JsonLocalize.schemaValidationNotMultipleOf(multipleOfValue).get();
+        }, propValue, JsonErrorPriority.LOW_PRIORITY);
         return false;
       }
     }
 
-    return checkMinimum(schema, value, propValue, consumer, options) &
-           checkMaximum(schema, value, propValue, consumer, options);
+    return checkMinimum(constraints, value, propValue, consumer, options) &
+           checkMaximum(constraints, value, propValue, consumer, options);
   }
 
-  private static boolean checkMaximum(JsonSchemaObject schema,
-                                   Number value,
+  private static boolean checkMaximum(NumericConstraints constraints,
+                                   JsonLiteralValue value,
                                    PsiElement propertyValue,
                                    JsonValidationHost consumer,
                                    @Nonnull JsonComplianceCheckerOptions options) {
     var isValid = true;
-    Number exclusiveMaximumNumber = schema.getExclusiveMaximumNumber();
+    Number exclusiveMaximumNumber = constraints.myExclusiveMaximumNumber;
     if (exclusiveMaximumNumber != null) {
-      final double doubleValue = exclusiveMaximumNumber.doubleValue();
-      if (value.doubleValue() >= doubleValue) {
-        consumer.error(JsonLocalize.schemaValidationGreaterThanExclusiveMaximum(exclusiveMaximumNumber).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
+      if (compare(value, exclusiveMaximumNumber) >= 0) {
+        consumer.error(() -> JsonLocalize.schemaValidationGreaterThanExclusiveMaximum(exclusiveMaximumNumber).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
     }
-    Number maximum = schema.getMaximum();
+    Number maximum = constraints.myMaximum;
     if (maximum == null) return isValid;
-    boolean isExclusive = schema.isExclusiveMaximum();
-    final double doubleValue = maximum.doubleValue();
+    boolean isExclusive = constraints.myExclusiveMaximum;
     if (isExclusive) {
-      if (value.doubleValue() >= doubleValue) {
-        consumer.error(JsonLocalize.schemaValidationGreaterThanExclusiveMaximum(maximum).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
+      if (compare(value, maximum) >= 0) {
+        consumer.error(() -> JsonLocalize.schemaValidationGreaterThanExclusiveMaximum(maximum).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
     }
     else {
-      if (value.doubleValue() > doubleValue) {
-        consumer.error(JsonLocalize.schemaValidationGreaterThanMaximum(maximum).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
+      if (compare(value, maximum) > 0) {
+        consumer.error(() -> JsonLocalize.schemaValidationGreaterThanMaximum(maximum).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
@@ -102,36 +98,34 @@ public final class NumericValidation implements JsonSchemaValidation {
     return isValid;
   }
 
-  private static boolean checkMinimum(JsonSchemaObject schema,
-                                      Number value,
+  private static boolean checkMinimum(NumericConstraints constraints,
+                                      JsonLiteralValue value,
                                       PsiElement propertyValue,
                                       JsonValidationHost consumer, @Nonnull JsonComplianceCheckerOptions options) {
     var isValid = true;
     // schema v6 - exclusiveMinimum is numeric now
-    Number exclusiveMinimumNumber = schema.getExclusiveMinimumNumber();
+    Number exclusiveMinimumNumber = constraints.myExclusiveMinimumNumber;
     if (exclusiveMinimumNumber != null) {
-      final double doubleValue = exclusiveMinimumNumber.doubleValue();
-      if (value.doubleValue() <= doubleValue) {
-        consumer.error(JsonLocalize.schemaValidationLessThanExclusiveMinimum(exclusiveMinimumNumber).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
+      if (compare(value, exclusiveMinimumNumber) <= 0) {
+        consumer.error(() -> JsonLocalize.schemaValidationLessThanExclusiveMinimum(exclusiveMinimumNumber).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
     }
 
-    Number minimum = schema.getMinimum();
+    Number minimum = constraints.myMinimum;
     if (minimum == null) return isValid;
-    boolean isExclusive = schema.isExclusiveMinimum();
-    final double doubleValue = minimum.doubleValue();
+    boolean isExclusive = constraints.myExclusiveMinimum;
     if (isExclusive) {
-      if (value.doubleValue() <= doubleValue) {
-        consumer.error(JsonLocalize.schemaValidationLessThanExclusiveMinimum(minimum).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
+      if (compare(value, minimum) <= 0) {
+        consumer.error(() -> JsonLocalize.schemaValidationLessThanExclusiveMinimum(minimum).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
     }
     else {
-      if (value.doubleValue() < doubleValue) {
-        consumer.error(JsonLocalize.schemaValidationLessThanMinimum(minimum).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
+      if (compare(value, minimum) < 0) {
+        consumer.error(() -> JsonLocalize.schemaValidationLessThanMinimum(minimum).get(), propertyValue, JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
@@ -146,7 +140,45 @@ public final class NumericValidation implements JsonSchemaValidation {
                           @Nullable JsonSchemaType schemaType,
                           @Nonnull JsonValidationHost consumer,
                           @Nonnull JsonComplianceCheckerOptions options) {
-    JsonSchemaHighlightingSessionStatisticsCollector.getInstance().reportSchemaUsageFeature(JsonSchemaFusCountedFeature.NumberValidation);
-    return checkNumber(propValue.getDelegate(), schema, schemaType, consumer, options);
+    return new NumericConstraints(schema).validate(propValue, schema, schemaType, consumer, options);
+  }
+
+  @Override
+  public @Nonnull JsonSchemaValidation compile(@Nonnull JsonSchemaObject schema) {
+    // never empty: the instance is still checked to be a number
+    return new NumericConstraints(schema);
+  }
+
+  /**
+   * The numeric keywords of a single schema node, read in advance.
+   */
+  private static final class NumericConstraints implements JsonSchemaValidation {
+    private final @Nullable Number myMultipleOf;
+    private final @Nullable Number myMinimum;
+    private final boolean myExclusiveMinimum;
+    private final @Nullable Number myExclusiveMinimumNumber;
+    private final @Nullable Number myMaximum;
+    private final boolean myExclusiveMaximum;
+    private final @Nullable Number myExclusiveMaximumNumber;
+
+    NumericConstraints(@Nonnull JsonSchemaObject schema) {
+      myMultipleOf = schema.getMultipleOf();
+      myMinimum = schema.getMinimum();
+      myExclusiveMinimum = schema.isExclusiveMinimum();
+      myExclusiveMinimumNumber = schema.getExclusiveMinimumNumber();
+      myMaximum = schema.getMaximum();
+      myExclusiveMaximum = schema.isExclusiveMaximum();
+      myExclusiveMaximumNumber = schema.getExclusiveMaximumNumber();
+    }
+
+    @Override
+    public boolean validate(@Nonnull JsonValueAdapter propValue,
+                            @Nonnull JsonSchemaObject schema,
+                            @Nullable JsonSchemaType schemaType,
+                            @Nonnull JsonValidationHost consumer,
+                            @Nonnull JsonComplianceCheckerOptions options) {
+      JsonSchemaHighlightingSessionStatisticsCollector.getInstance().reportSchemaUsageFeature(JsonSchemaFusCountedFeature.NumberValidation);
+      return checkNumber(propValue, this, schemaType, consumer, options);
+    }
   }
 }
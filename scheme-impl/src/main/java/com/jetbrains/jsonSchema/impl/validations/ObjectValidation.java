@@ -10,7 +10,6 @@ import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.util.ThreeState;
 import com.intellij.util.containers.ContainerUtil;
-import com.intellij.util.text.EditDistance;
 import com.jetbrains.jsonSchema.JsonComplianceCheckerOptions;
 import com.jetbrains.jsonSchema.JsonSchemaObject;
 import com.jetbrains.jsonSchema.JsonSchemaType;
@@ -25,12 +24,13 @@ import com.jetbrains.jsonSchema.fus.JsonSchemaFusCountedFeature;
 import com.jetbrains.jsonSchema.fus.JsonSchemaHighlightingSessionStatisticsCollector;
 import com.jetbrains.jsonSchema.impl.MatchResult;
 import consulo.json.localize.JsonLocalize;
+import consulo.util.lang.lazy.LazyValue;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import kotlin.collections.CollectionsKt;
 import one.util.streamex.StreamEx;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -45,14 +45,50 @@ public final class ObjectValidation implements JsonSchemaValidation {
                           @Nullable JsonSchemaType schemaType,
                           @Nonnull JsonValidationHost consumer,
                           @Nonnull JsonComplianceCheckerOptions options) {
-    JsonSchemaHighlightingSessionStatisticsCollector.getInstance().reportSchemaUsageFeature(JsonSchemaFusCountedFeature.ObjectValidation);
-    return checkObject(propValue, schema, consumer, options);
+    return new ObjectConstraints(schema).validate(propValue, schema, schemaType, consumer, options);
+  }
+
+  @Override
+  public @Nonnull JsonSchemaValidation compile(@Nonnull JsonSchemaObject schema) {
+    return new ObjectConstraints(schema);
   }
 
   private static final int MIN_LENGTH_TO_FIX_TYPOS = 3;
 
+  /**
+   * The object keywords of a single schema node, read in advance.
+   * The property schemas are still resolved through the node, since they may follow references into other schema files.
+   */
+  private static final class ObjectConstraints implements JsonSchemaValidation {
+    private final @Nullable JsonSchemaObject myPropertyNamesSchema;
+    private final @Nullable Set<String> myRequired;
+    private final @Nullable Integer myMinProperties;
+    private final @Nullable Integer myMaxProperties;
+    private final @Nullable Map<String, List<String>> myPropertyDependencies;
+
+    ObjectConstraints(@Nonnull JsonSchemaObject schema) {
+      myPropertyNamesSchema = schema.getPropertyNamesSchema();
+      Set<String> required = schema.getRequired();
+      myRequired = required == null ? null : Collections.unmodifiableSet(new LinkedHashSet<>(required));
+      myMinProperties = schema.getMinProperties();
+      myMaxProperties = schema.getMaxProperties();
+      myPropertyDependencies = schema.getPropertyDependencies();
+    }
+
+    @Override
+    public boolean validate(@Nonnull JsonValueAdapter propValue,
+                            @Nonnull JsonSchemaObject schema,
+                            @Nullable JsonSchemaType schemaType,
+                            @Nonnull JsonValidationHost consumer,
+                            @Nonnull JsonComplianceCheckerOptions options) {
+      JsonSchemaHighlightingSessionStatisticsCollector.getInstance().reportSchemaUsageFeature(JsonSchemaFusCountedFeature.ObjectValidation);
+      return checkObject(propValue, schema, this, consumer, options);
+    }
+  }
+
   private static boolean checkObject(@Nonnull JsonValueAdapter value,
                                      @Nonnull JsonSchemaObject schema,
+                                     @Nonnull ObjectConstraints constraints,
                                      JsonValidationHost consumer,
                                      JsonComplianceCheckerOptions options) {
     final JsonObjectValueAdapter object = value.getAsObject();
@@ -62,9 +98,13 @@ public final class ObjectValidation implements JsonSchemaValidation {
 
     final List<JsonPropertyAdapter> propertyList = object.getPropertyList();
     final Set<String> set = new HashSet<>();
+    // unless the first error stops the validation, the property values are independent and are checked together after the loop
+    final boolean deferValueChecks = !options.shouldStopValidationAfterAnyErrorFound();
+    final List<JsonSchemaObject> deferredSchemas = new ArrayList<>();
+    final List<JsonValueAdapter> deferredValues = new ArrayList<>();
     for (JsonPropertyAdapter property : propertyList) {
-      final String name = StringUtil.notNullize(property.getName());
-      JsonSchemaObject propertyNamesSchema = schema.getPropertyNamesSchema();
+      final String name = property.getNameOrEmpty();
+      JsonSchemaObject propertyNamesSchema = constraints.myPropertyNamesSchema;
       JsonValueAdapter nameValueAdapter = property.getNameValueAdapter();
       if (propertyNamesSchema != null) {
         if (nameValueAdapter != null) {
@@ -81,62 +121,74 @@ public final class ObjectValidation implements JsonSchemaValidation {
       final JsonPointerPosition step = JsonPointerPosition.createSingleProperty(name);
       final Pair<ThreeState, JsonSchemaObject> pair = doSingleStep(step, schema);
       if (ThreeState.NO.equals(pair.getFirst()) && !set.contains(name)) {
-        Iterator<String> propertyNamesIterator = schema.getPropertyNames();
-        List<@NlsSafe String> typoCandidates = CollectionsKt.filter(
-          iteratorToList(propertyNamesIterator),
-          s -> EditDistance.optimalAlignment(s, name, false, 1) <= 1
-        );
-        consumer.error(JsonBundle.message(
-                         name.length() < MIN_LENGTH_TO_FIX_TYPOS || typoCandidates.isEmpty() ?
+        // the typo candidates are searched for only if the error is shown or merged with the errors of other branches
+        Supplier<List<@NlsSafe String>> typoCandidates = LazyValue.notNull(
+          () -> name.length() >= MIN_LENGTH_TO_FIX_TYPOS
+                ? schema.getPropertyNameTypoIndex().findTypoCandidates(name)
+                : Collections.emptyList());
+        consumer.error(() -> JsonBundle.message(
+                         typoCandidates.get().isEmpty() ?
           "json.schema.annotation.not.allowed.property" :
           "json.schema.annotation.not.allowed.property.possibly.typo", name),
                        nameValueAdapter != null ? nameValueAdapter.getDelegate() : property.getDelegate(),
                        JsonValidationError.FixableIssueKind.ProhibitedProperty,
-                       new JsonValidationError.ProhibitedPropertyIssueData(
+                       () -> new JsonValidationError.ProhibitedPropertyIssueData(
                          name,
-                         name.length() >= MIN_LENGTH_TO_FIX_TYPOS ? typoCandidates : Collections.emptyList()
+                         typoCandidates.get()
                        ), JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
       else if (ThreeState.UNSURE.equals(pair.getFirst()) && pair.second.getConstantSchema() == null) {
         for (JsonValueAdapter propertyValue : property.getValues()) {
+          if (deferValueChecks) {
+            deferredSchemas.add(pair.getSecond());
+            deferredValues.add(propertyValue);
+            continue;
+          }
           consumer.checkObjectBySchemaRecordErrors(pair.getSecond(), propertyValue);
           isValid &= consumer.getErrors().isEmpty();
-          if (!isValid && options.shouldStopValidationAfterAnyErrorFound()) return false;
+          if (!isValid) return false;
         }
       }
       set.add(name);
     }
+    if (!deferredValues.isEmpty()) {
+      consumer.checkObjectsBySchemaRecordErrors(deferredSchemas, deferredValues);
+      isValid &= consumer.getErrors().isEmpty();
+    }
     reportMissingOptionalProperties(value, schema, consumer, options);
 
     if (object.shouldCheckIntegralRequirements() || options.isForceStrict()) {
-      final Set<String> required = schema.getRequired();
+      final Set<String> required = constraints.myRequired;
       if (required != null) {
         HashSet<String> requiredNames = new LinkedHashSet<>(required);
         requiredNames.removeAll(set);
         if (!requiredNames.isEmpty()) {
-          JsonValidationError.MissingMultiplePropsIssueData data = createMissingPropertiesData(schema, requiredNames, consumer, value);
-          consumer.error(JsonLocalize.schemaValidationMissingRequiredPropertyOrProperties(data.getMessage(false).get()),
+          Supplier<JsonValidationError.MissingMultiplePropsIssueData> data =
+            LazyValue.notNull(() -> createMissingPropertiesData(schema, requiredNames, consumer, value));
+          consumer.error(() -> JsonLocalize.schemaValidationMissingRequiredPropertyOrProperties(data.get().getMessage(false).get()),
                          value.getDelegate(), JsonValidationError.FixableIssueKind.MissingProperty, data,
                          JsonErrorPriority.MISSING_PROPS);
           isValid = false;
           if (options.shouldStopValidationAfterAnyErrorFound()) return false;
         }
       }
-      if (schema.getMinProperties() != null && propertyList.size() < schema.getMinProperties()) {
-        consumer.error(JsonLocalize.schemaValidationNumberOfPropsLessThan(schema.getMinProperties().get()), value.getDelegate(),
+      final Integer minProperties = constraints.myMinProperties;
+      if (minProperties != null && propertyList.size() < minProperties) {
+        consumer.error(() -> JsonLocalize.schemaValidationNumberOfPropsLessThan(minProperties).get(), value.getDelegate(),
                        JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
-      if (schema.getMaxProperties() != null && propertyList.size() > schema.getMaxProperties()) {
-        consumer.error(JsonLocalize.schemaValidationNumberOfPropsGreaterThan(schema.getMaxProperties().get()), value.getDelegate(),
+      final Integer maxProperties = constraints.myMaxProperties;
+      if (maxProperties != null && propertyList.size() > maxProperties) {
+        consumer.error(() -> JsonLocalize.schemaValidationNumberOfPropsGreaterThan(maxProperties).get(), value.getDelegate(),
                        JsonErrorPriority.LOW_PRIORITY);
         isValid = false;
         if (options.shouldStopValidationAfterAnyErrorFound()) return false;
       }
-      final Map<String, List<String>> dependencies = schema.getPropertyDependencies();
+      final Map<String, List<String>> dependencies = constraints.myPropertyDependencies;
       if (dependencies != null) {
         for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
           if (set.contains(entry.getKey())) {
@@ -144,9 +196,11 @@ public final class ObjectValidation implements JsonSchemaValidation {
             HashSet<String> deps = new HashSet<>(list);
             deps.removeAll(set);
             if (!deps.isEmpty()) {
-              JsonValidationError.MissingMultiplePropsIssueData data = createMissingPropertiesData(schema, deps, consumer, value);
+              Supplier<JsonValidationError.MissingMultiplePropsIssueData> data =
+                LazyValue.notNull(() -> createMissingPropertiesData(schema, deps, consumer, value));
+              String dependentName = entry.getKey();
               consumer.error(
-                JsonLocalize.schemaValidationViolatedDependency(data.getMessage(false).get(), entry.getKey()),
+                () -> JsonLocalize.schemaValidationViolatedDependency(data.get().getMessage(false).get(), dependentName),
                 value.getDelegate(),
                 JsonValidationError.FixableIssueKind.MissingProperty,
                 data, JsonErrorPriority.MISSING_PROPS);
@@ -168,22 +222,6 @@ public final class ObjectValidation implements JsonSchemaValidation {
     return checkUnevaluatedPropertiesSchemaViolation(consumer, schema, object, options);
   }
 
-  private static @Nonnull ArrayList<@NlsSafe String> iteratorToList(Iterator<String> propertyNamesIterator) {
-    return Collections.list(
-      new Enumeration<>() {
-        @Override
-        public boolean hasMoreElements() {
-          return propertyNamesIterator.hasNext();
-        }
-
-        @Override
-        public String nextElement() {
-          return propertyNamesIterator.next();
-        }
-      }
-    );
-  }
-
   private static boolean checkUnevaluatedPropertiesSchemaViolation(@Nonnull JsonValidationHost consumer,
                                                                    @Nonnull JsonSchemaObject schemaNode,
                                                                    @Nonnull JsonObjectValueAdapter inspectedObject,
@@ -304,7 +342,6 @@ public final class ObjectValidation implements JsonSchemaValidation {
     return null;
   }
 
-
   private static @Nullable Object getDefaultValueFromEnum(@Nonnull JsonSchemaObject propertySchema, @Nonnull Ref<Integer> enumCount) {
     List<Object> enumValues = propertySchema.getEnum();
     if (enumValues != null) {
@@ -331,9 +368,10 @@ public final class ObjectValidation implements JsonSchemaValidation {
     Iterable<String> iter = (() -> schema.getPropertyNames());
     var missingProperties =
       StreamSupport.stream(iter.spliterator(), false).filter(it -> !existingProperties.contains(it)).collect(Collectors.toSet());
-    var missingPropertiesData = createMissingPropertiesData(schema, missingProperties, validationHost, objectValueAdapter);
+    Supplier<JsonValidationError.MissingMultiplePropsIssueData> missingPropertiesData =
+      LazyValue.notNull(() -> createMissingPropertiesData(schema, missingProperties, validationHost, objectValueAdapter));
     validationHost.error(
-      JsonLocalize.schemaValidationMissingNotRequiredPropertyOrProperties(missingPropertiesData.getMessage(false).get()),
+      () -> JsonLocalize.schemaValidationMissingNotRequiredPropertyOrProperties(missingPropertiesData.get().getMessage(false).get()),
       inspectedValue.getDelegate(),
       JsonValidationError.FixableIssueKind.MissingOptionalProperty,
       missingPropertiesData,
@@ -7,6 +7,7 @@ import com.intellij.psi.PsiElement;
 import com.jetbrains.jsonSchema.extension.JsonErrorPriority;
 import com.jetbrains.jsonSchema.extension.JsonSchemaValidation;
 import com.jetbrains.jsonSchema.extension.JsonValidationHost;
+import com.jetbrains.jsonSchema.extension.adapter.JsonLiteralValue;
 import com.jetbrains.jsonSchema.extension.adapters.JsonValueAdapter;
 import com.jetbrains.jsonSchema.fus.JsonSchemaFusCountedFeature;
 import com.jetbrains.jsonSchema.fus.JsonSchemaHighlightingSessionStatisticsCollector;
@@ -16,8 +17,6 @@ import com.jetbrains.jsonSchema.JsonSchemaType;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
-import static com.jetbrains.jsonSchema.impl.JsonSchemaAnnotatorChecker.getValue;
-
 public final class StringValidation implements JsonSchemaValidation {
   public static final StringValidation INSTANCE = new StringValidation();
   @Override
@@ -26,40 +25,75 @@ public final class StringValidation implements JsonSchemaValidation {
                           @Nullable JsonSchemaType schemaType,
                           @Nonnull JsonValidationHost consumer,
                           @Nonnull JsonComplianceCheckerOptions options) {
-    JsonSchemaHighlightingSessionStatisticsCollector.getInstance().reportSchemaUsageFeature(JsonSchemaFusCountedFeature.StringValidation);
-    return checkString(propValue.getDelegate(), schema, consumer, options);
+    return new StringConstraints(schema).validate(propValue, schema, schemaType, consumer, options);
   }
 
-  private static boolean checkString(PsiElement propValue,
-                                  JsonSchemaObject schema,
-                                  JsonValidationHost consumer,
-                                  @Nonnull JsonComplianceCheckerOptions options) {
-    String v = getValue(propValue, schema);
-    if (v == null) return true;
-    final String value = StringUtil.unquoteString(v);
-    if (schema.getMinLength() != null) {
-      if (value.length() < schema.getMinLength()) {
-        consumer.error(JsonLocalize.schemaValidationStringShorterThan(schema.getMinLength().get()), propValue, JsonErrorPriority.LOW_PRIORITY);
-        return false;
-      }
+  @Override
+  public @Nullable JsonSchemaValidation compile(@Nonnull JsonSchemaObject schema) {
+    StringConstraints constraints = new StringConstraints(schema);
+    return constraints.isEmpty() ? null : constraints;
+  }
+
+  /**
+   * The string keywords of a single schema node, read in advance.
+   */
+  private static final class StringConstraints implements JsonSchemaValidation {
+    private final @Nullable Integer myMinLength;
+    private final @Nullable Integer myMaxLength;
+    private final @Nullable String myPattern;
+    private final @Nullable String myPatternError;
+
+    StringConstraints(@Nonnull JsonSchemaObject schema) {
+      myMinLength = schema.getMinLength();
+      myMaxLength = schema.getMaxLength();
+      myPattern = schema.getPattern();
+      myPatternError = myPattern != null ? schema.getPatternError() : null;
     }
-    if (schema.getMaxLength() != null) {
-      if (value.length() > schema.getMaxLength()) {
-        consumer.error(JsonLocalize.schemaValidationStringLongerThan(schema.getMaxLength().get()), propValue, JsonErrorPriority.LOW_PRIORITY);
-        return false;
-      }
+
+    boolean isEmpty() {
+      return myMinLength == null && myMaxLength == null && myPattern == null;
     }
-    if (schema.getPattern() != null) {
-      if (schema.getPatternError() != null) {
-        consumer.error(JsonLocalize.schemaValidationInvalidStringPattern(StringUtil.convertLineSeparators(schema.getPatternError().get())),
-              propValue, JsonErrorPriority.LOW_PRIORITY);
+
+    @Override
+    public boolean validate(@Nonnull JsonValueAdapter propValue,
+                            @Nonnull JsonSchemaObject schema,
+                            @Nullable JsonSchemaType schemaType,
+                            @Nonnull JsonValidationHost consumer,
+                            @Nonnull JsonComplianceCheckerOptions options) {
+      JsonSchemaHighlightingSessionStatisticsCollector.getInstance().reportSchemaUsageFeature(JsonSchemaFusCountedFeature.StringValidation);
+      return checkString(propValue, schema, consumer);
+    }
+
+    private boolean checkString(JsonValueAdapter adapter,
+                                JsonSchemaObject schema,
+                                JsonValidationHost consumer) {
+      if (isEmpty()) return true;
+      JsonLiteralValue literal = adapter.getLiteral();
+      if (literal == null) return true;
+      PsiElement propValue = adapter.getDelegate();
+      Integer minLength = myMinLength;
+      if (minLength != null && literal.getCodePointLength() < minLength) {
+        consumer.error(() -> JsonLocalize.schemaValidationStringShorterThan(minLength).get(), propValue, JsonErrorPriority.LOW_PRIORITY);
         return false;
       }
-      if (!schema.checkByPattern(value)) {
-        consumer.error(JsonLocalize.schemaValidationStringViolatesPattern(StringUtil.convertLineSeparators(schema.getPattern().get())), propValue, JsonErrorPriority.LOW_PRIORITY);
+      Integer maxLength = myMaxLength;
+      if (maxLength != null && literal.getCodePointLength() > maxLength) {
+        consumer.error(() -> JsonLocalize.schemaValidationStringLongerThan(maxLength).get(), propValue, JsonErrorPriority.LOW_PRIORITY);
         return false;
       }
+      if (myPattern != null) {
+        if (myPatternError != null) {
+          consumer.error(() -> JsonLocalize.schemaValidationInvalidStringPattern(StringUtil.convertLineSeparators(myPatternError)).get(),
+                propValue, JsonErrorPriority.LOW_PRIORITY);
+          return false;
+        }
+        // the compiled pattern is cached on the schema node
+        if (!schema.checkByPattern(literal.getStringValue())) {
+          consumer.error(() -> JsonLocalize.schemaValidationStringViolatesPattern(StringUtil.convertLineSeparators(myPattern)).get(), propValue, JsonErrorPriority.LOW_PRIORITY);
+          return false;
+        }
+      }
+      return true;
     }
-    return true;
   }
 }